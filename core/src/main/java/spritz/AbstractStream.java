@@ -15,11 +15,28 @@ abstract class AbstractStream<UpstreamT, DownstreamT>
    */
   @Nonnull
   private final Stream<UpstreamT> _upstream;
+  /**
+   * The cached qualified name of the stream.
+   * Streams are immutable once assembled so the qualified name is computed at most once per stage and
+   * downstream stages build on the cached value rather than walking the entire chain.
+   */
+  @Nullable
+  private String _qualifiedName;
+  /**
+   * True if the upstream stage may emit the completion signal.
+   */
+  private final boolean _upstreamCanComplete;
+  /**
+   * True if the upstream stage may emit the error signal.
+   */
+  private final boolean _upstreamCanError;
 
   AbstractStream( @Nullable final String name, @Nonnull final Stream<UpstreamT> upstream )
   {
     super( name );
     _upstream = Objects.requireNonNull( upstream );
+    _upstreamCanComplete = upstream.canComplete();
+    _upstreamCanError = upstream.canError();
   }
 
   /**
@@ -37,6 +54,76 @@ abstract class AbstractStream<UpstreamT, DownstreamT>
   @Override
   final String getQualifiedName()
   {
-    return getUpstream().getQualifiedName() + "." + getName();
+    if ( null == _qualifiedName )
+    {
+      _qualifiedName = getUpstream().getQualifiedName() + "." + getName();
+    }
+    return _qualifiedName;
+  }
+
+  /**
+   * Return true if the upstream stage may emit the completion signal.
+   *
+   * @return true if the upstream stage may emit the completion signal.
+   */
+  final boolean upstreamCanComplete()
+  {
+    return _upstreamCanComplete;
+  }
+
+  /**
+   * Return true if the upstream stage may emit the error signal.
+   *
+   * @return true if the upstream stage may emit the error signal.
+   */
+  final boolean upstreamCanError()
+  {
+    return _upstreamCanError;
+  }
+
+  /**
+   * {@inheritDoc}
+   * By default, an operator can only emit the signal if the upstream stage can emit the signal.
+   */
+  @Override
+  boolean canComplete()
+  {
+    return _upstreamCanComplete;
+  }
+
+  /**
+   * {@inheritDoc}
+   * By default, an operator can only emit the signal if the upstream stage can emit the signal.
+   */
+  @Override
+  boolean canError()
+  {
+    return _upstreamCanError;
+  }
+
+  /**
+   * Log a warning if the upstream stage can never emit the completion signal.
+   * This is invoked by operators that only emit items when the upstream stage completes.
+   */
+  final void warnIfUpstreamCannotComplete()
+  {
+    if ( Spritz.shouldCheckApiInvariants() && Spritz.areNamesEnabled() && !_upstreamCanComplete )
+    {
+      SpritzLogger.log( "Spritz-0060: Stream '" + getQualifiedName() + "' waits for the completion signal " +
+                        "but the upstream stream never completes.", null );
+    }
+  }
+
+  /**
+   * Log a warning if the upstream stage can never emit the error signal.
+   * This is invoked by operators that exist to handle the error signal.
+   */
+  final void warnIfUpstreamCannotError()
+  {
+    if ( Spritz.shouldCheckApiInvariants() && Spritz.areNamesEnabled() && !_upstreamCanError )
+    {
+      SpritzLogger.log( "Spritz-0061: Stream '" + getQualifiedName() + "' handles the error signal " +
+                        "but the upstream stream never emits an error.", null );
+    }
   }
 }
@@ -3,7 +3,6 @@ package spritz;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import zemeckis.Cancelable;
-import zemeckis.Zemeckis;
 
 abstract class AbstractThrottlingSubscription<T, StreamT extends Stream<T>>
   extends PassThroughSubscription<T, StreamT>
@@ -23,7 +22,7 @@ abstract class AbstractThrottlingSubscription<T, StreamT extends Stream<T>>
   @Override
   public final void onItem( @Nonnull final T item )
   {
-    final int now = Zemeckis.now();
+    final int now = Scheduler.now();
 
     /*
      * Sometimes the schedulers are lagging behind and thus we check to see if there is an item
@@ -118,8 +117,8 @@ abstract class AbstractThrottlingSubscription<T, StreamT extends Stream<T>>
   final void scheduleTask( final int delay )
   {
     assert delay > 0;
-    _task = Zemeckis.delayedTask( Spritz.areNamesEnabled() ? getStream().getName() : null, this::executeTask, delay );
-    _nextTaskTime = Zemeckis.now() + delay;
+    _task = Scheduler.delayedTask( Spritz.areNamesEnabled() ? getStream().getName() : null, this::executeTask, delay );
+    _nextTaskTime = Scheduler.now() + delay;
   }
 
   /**
@@ -0,0 +1,171 @@
+package spritz;
+
+import elemental2.core.ArrayBuffer;
+import elemental2.core.DataView;
+import java.util.Objects;
+import java.util.function.IntUnaryOperator;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import spritz.dom.BinaryFraming;
+import spritz.dom.WebSocketArrayBufferMessage;
+import spritz.dom.WebSocketResponse;
+
+/**
+ * Operator that splits binary WebSocket frames into messages and decodes each message.
+ * Each message is exposed to the decoder as a {@link DataView} over the received buffer so
+ * the bytes of the frame are never copied. Responses other than binary messages are dropped.
+ */
+final class BinaryFramesOperator<T>
+  extends AbstractStream<WebSocketResponse, T>
+{
+  @Nonnull
+  private final BinaryFraming _framing;
+  @Nonnull
+  private final BinaryMessageDecoder<T> _decoder;
+
+  BinaryFramesOperator( @Nullable final String name,
+                        @Nonnull final Stream<WebSocketResponse> upstream,
+                        @Nonnull final BinaryFraming framing,
+                        @Nonnull final BinaryMessageDecoder<T> decoder )
+  {
+    super( Spritz.areNamesEnabled() ?
+           generateName( name, "binaryFrames", String.valueOf( framing.getHeaderSize() ) ) :
+           null, upstream );
+    _framing = Objects.requireNonNull( framing );
+    _decoder = Objects.requireNonNull( decoder );
+  }
+
+  @Override
+  boolean canError()
+  {
+    return true;
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final Subscriber<? super T> subscriber )
+  {
+    final WorkerSubscription<T> subscription = new WorkerSubscription<>( this, subscriber );
+    getUpstream().subscribe( subscription );
+    return subscription;
+  }
+
+  /**
+   * Split a frame into messages and pass the offset and length of each message to the handler.
+   * Splitting stops early if the handler returns false.
+   *
+   * @param framing the framing. Must have a length header.
+   * @param byteAt  the function that returns the unsigned byte at an offset in the frame.
+   * @param size    the size of the frame in bytes.
+   * @param handler the handler invoked for each message.
+   * @return the offset of the header of the first message that is truncated or -1 if the frame is well formed.
+   */
+  static int splitFrame( @Nonnull final BinaryFraming framing,
+                         @Nonnull final IntUnaryOperator byteAt,
+                         final int size,
+                         @Nonnull final MessageHandler handler )
+  {
+    final int headerSize = framing.getHeaderSize();
+    assert 0 != headerSize;
+    int offset = 0;
+    while ( offset < size )
+    {
+      final int start = offset + headerSize;
+      final int length = start <= size ? readLength( framing, byteAt, offset ) : -1;
+      if ( length < 0 || length > size - start )
+      {
+        return offset;
+      }
+      else if ( !handler.onMessage( start, length ) )
+      {
+        break;
+      }
+      offset = start + length;
+    }
+    return -1;
+  }
+
+  /**
+   * Read the length of the message whose header starts at the specified offset.
+   * A negative value is returned if the length can not be represented as a positive int.
+   *
+   * @param framing the framing. Must have a length header.
+   * @param byteAt  the function that returns the unsigned byte at an offset in the frame.
+   * @param offset  the offset of the header.
+   * @return the length of the message in bytes.
+   */
+  static int readLength( @Nonnull final BinaryFraming framing,
+                         @Nonnull final IntUnaryOperator byteAt,
+                         final int offset )
+  {
+    final int headerSize = framing.getHeaderSize();
+    final boolean littleEndian = framing.isLittleEndian();
+    long length = 0;
+    for ( int i = 0; i < headerSize; i++ )
+    {
+      length = ( length << 8 ) | byteAt.applyAsInt( offset + ( littleEndian ? headerSize - 1 - i : i ) );
+    }
+    return length > Integer.MAX_VALUE ? -1 : (int) length;
+  }
+
+  /**
+   * Handler invoked for each message in a frame.
+   */
+  @FunctionalInterface
+  interface MessageHandler
+  {
+    /**
+     * Handle the message.
+     *
+     * @param start  the offset of the first byte of the message.
+     * @param length the length of the message in bytes.
+     * @return true to continue splitting the frame, false to stop.
+     */
+    boolean onMessage( int start, int length );
+  }
+
+  private static final class WorkerSubscription<T>
+    extends AbstractOperatorSubscription<WebSocketResponse, T, BinaryFramesOperator<T>>
+  {
+    WorkerSubscription( @Nonnull final BinaryFramesOperator<T> stream, @Nonnull final Subscriber<? super T> subscriber )
+    {
+      super( stream, subscriber );
+    }
+
+    @Override
+    public void onItem( @Nonnull final WebSocketResponse item )
+    {
+      if ( item instanceof WebSocketArrayBufferMessage )
+      {
+        final ArrayBuffer buffer = ( (WebSocketArrayBufferMessage) item ).getData();
+        final BinaryFraming framing = getStream()._framing;
+        final BinaryMessageDecoder<T> decoder = getStream()._decoder;
+        final int headerSize = framing.getHeaderSize();
+        if ( 0 == headerSize )
+        {
+          getSubscriber().onItem( decoder.decode( new DataView( buffer ) ) );
+        }
+        else
+        {
+          final int size = buffer.byteLength;
+          final DataView frame = new DataView( buffer );
+          final int malformedOffset = splitFrame( framing, frame::getUint8, size, ( start, length ) -> {
+            getSubscriber().onItem( decoder.decode( new DataView( buffer, start, length ) ) );
+            return isNotDone();
+          } );
+          if ( malformedOffset >= 0 )
+          {
+            onMalformedFrame( malformedOffset, size );
+          }
+        }
+      }
+    }
+
+    private void onMalformedFrame( final int offset, final int size )
+    {
+      getUpstream().cancel();
+      super.onError( new IllegalStateException( "Binary frame of " + size + " bytes contains a truncated " +
+                                                "message starting at offset " + offset ) );
+    }
+  }
+}
@@ -0,0 +1,25 @@
+package spritz;
+
+import elemental2.core.DataView;
+import javax.annotation.Nonnull;
+import jsinterop.annotations.JsFunction;
+
+/**
+ * Functional interface for decoding a binary message received over a WebSocket.
+ * The view is over the region of the received frame that contains the message and
+ * the underlying buffer is shared with other messages in the frame. The decoder
+ * should read the values it needs from the view rather than retaining the view.
+ */
+@FunctionalInterface
+@JsFunction
+public interface BinaryMessageDecoder<T>
+{
+  /**
+   * Decode the message.
+   *
+   * @param view the view over the bytes of the message.
+   * @return the decoded message.
+   */
+  @Nonnull
+  T decode( @Nonnull DataView view );
+}
@@ -0,0 +1,247 @@
+package spritz;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * An iterable that consumes a stream through a bounded queue.
+ * Each call to {@link #iterator()} subscribes to the stream on a new daemon thread. Items are added to a
+ * queue that holds at most {@code prefetch} items and the thread that emits an item blocks while the queue is
+ * full. The consumer thread blocks in {@link Iterator#hasNext()} until an item or a terminal signal arrives.
+ * A consumer that stops before the stream terminates must {@link CloseableIterator#close() close} the iterator
+ * so that the subscription is cancelled and the emitting thread is released.
+ *
+ * @param <T> the type of the items.
+ * @see Stream#toBlockingIterable(int)
+ */
+@GwtIncompatible
+public final class BlockingIterable<T>
+  implements Iterable<T>
+{
+  /**
+   * Marker placed in the queue when the stream completes.
+   */
+  private static final Object COMPLETE = new Object();
+  /**
+   * The time in milliseconds that the emitting thread waits for space in the queue before checking whether the
+   * iterator has been closed.
+   */
+  private static final long CLOSE_CHECK_PERIOD = 10;
+  @Nonnull
+  private final Stream<T> _stream;
+  private final int _prefetch;
+
+  BlockingIterable( @Nonnull final Stream<T> stream, final int prefetch )
+  {
+    assert prefetch > 0;
+    _stream = Objects.requireNonNull( stream );
+    _prefetch = prefetch;
+  }
+
+  @Nonnull
+  @Override
+  public CloseableIterator<T> iterator()
+  {
+    final BlockingIterator<T> iterator = new BlockingIterator<>( _prefetch );
+    final Thread thread =
+      new Thread( () -> _stream.subscribe( iterator ),
+                  Spritz.areNamesEnabled() ? "Spritz-" + _stream.getQualifiedName() : "Spritz-BlockingIterable" );
+    thread.setDaemon( true );
+    thread.start();
+    return iterator;
+  }
+
+  private static final class BlockingIterator<T>
+    implements CloseableIterator<T>, Subscriber<T>
+  {
+    /**
+     * The queue of items and signals. The queue contains items, a {@link Throwable} wrapped in a
+     * {@link ErrorSignal} or the {@link #COMPLETE} marker.
+     */
+    @Nonnull
+    private final BlockingQueue<Object> _queue;
+    /**
+     * The next element taken from the queue but not yet consumed by the iterator.
+     */
+    @Nullable
+    private Object _next;
+    /**
+     * Flag set once a terminal signal has been taken from the queue.
+     */
+    private boolean _done;
+    /**
+     * Flag set when the consumer closes the iterator.
+     */
+    private volatile boolean _closed;
+    @Nullable
+    private volatile Subscription _subscription;
+    /**
+     * Flag set when the subscription has been cancelled so that it is cancelled at most once, regardless of
+     * whether the iterator is closed before or after the subscribe signal arrives.
+     */
+    @Nonnull
+    private final AtomicBoolean _cancelled = new AtomicBoolean();
+
+    BlockingIterator( final int prefetch )
+    {
+      _queue = new ArrayBlockingQueue<>( prefetch );
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+      if ( _closed )
+      {
+        return false;
+      }
+      else if ( null == _next && !_done )
+      {
+        final Object next = take();
+        if ( COMPLETE == next )
+        {
+          _done = true;
+        }
+        else if ( next instanceof ErrorSignal )
+        {
+          _done = true;
+          final Throwable error = ( (ErrorSignal) next )._error;
+          if ( error instanceof RuntimeException )
+          {
+            throw (RuntimeException) error;
+          }
+          else if ( error instanceof Error )
+          {
+            throw (Error) error;
+          }
+          else
+          {
+            throw new CompletionException( error );
+          }
+        }
+        else
+        {
+          _next = next;
+        }
+      }
+      return null != _next;
+    }
+
+    @SuppressWarnings( "unchecked" )
+    @Override
+    public T next()
+    {
+      if ( !hasNext() )
+      {
+        throw new NoSuchElementException();
+      }
+      final T next = (T) _next;
+      _next = null;
+      return next;
+    }
+
+    @Nonnull
+    private Object take()
+    {
+      try
+      {
+        return _queue.take();
+      }
+      catch ( final InterruptedException ie )
+      {
+        Thread.currentThread().interrupt();
+        throw new CompletionException( ie );
+      }
+    }
+
+    /**
+     * Add the element to the queue, waiting for space if the queue is full.
+     * Gives up once the iterator is closed as the consumer will never take the element.
+     */
+    private void put( @Nonnull final Object element )
+    {
+      try
+      {
+        while ( !_closed )
+        {
+          if ( _queue.offer( element, CLOSE_CHECK_PERIOD, TimeUnit.MILLISECONDS ) )
+          {
+            return;
+          }
+        }
+      }
+      catch ( final InterruptedException ie )
+      {
+        Thread.currentThread().interrupt();
+      }
+    }
+
+    @Override
+    public void close()
+    {
+      if ( !_closed )
+      {
+        _closed = true;
+        _next = null;
+        _queue.clear();
+        cancelSubscription();
+      }
+    }
+
+    private void cancelSubscription()
+    {
+      final Subscription subscription = _subscription;
+      if ( null != subscription && _cancelled.compareAndSet( false, true ) )
+      {
+        subscription.cancel();
+      }
+    }
+
+    @Override
+    public void onSubscribe( @Nonnull final Subscription subscription )
+    {
+      _subscription = subscription;
+      if ( _closed )
+      {
+        // The iterator was closed before the subscription was established
+        cancelSubscription();
+      }
+    }
+
+    @Override
+    public void onItem( @Nonnull final T item )
+    {
+      put( item );
+    }
+
+    @Override
+    public void onError( @Nonnull final Throwable error )
+    {
+      put( new ErrorSignal( error ) );
+    }
+
+    @Override
+    public void onComplete()
+    {
+      put( COMPLETE );
+    }
+  }
+
+  private static final class ErrorSignal
+  {
+    @Nonnull
+    private final Throwable _error;
+
+    ErrorSignal( @Nonnull final Throwable error )
+    {
+      _error = Objects.requireNonNull( error );
+    }
+  }
+}
@@ -0,0 +1,94 @@
+package spritz;
+
+import elemental2.dom.MessageEvent;
+import elemental2.dom.WebSocket;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import spritz.dom.WebSocketConfig;
+
+/**
+ * The transport that uses the browser WebSocket implementation.
+ */
+final class BrowserWebSocketTransport
+  implements WebSocketTransport
+{
+  @Nonnull
+  static final BrowserWebSocketTransport INSTANCE = new BrowserWebSocketTransport();
+
+  private BrowserWebSocketTransport()
+  {
+  }
+
+  @Nonnull
+  @Override
+  public WebSocket connect( @Nonnull final WebSocketConfig config, @Nonnull final Listener listener )
+  {
+    final String url = config.getUrl();
+    final String[] protocols = config.getProtocols();
+    final WebSocket webSocket = null == protocols ? new WebSocket( url ) : new WebSocket( url, protocols );
+    final String binaryType = config.getBinaryType();
+    if ( null != binaryType )
+    {
+      webSocket.binaryType = binaryType;
+    }
+    webSocket.onerror = listener::onError;
+    webSocket.onmessage = e -> onMessage( listener, e );
+    webSocket.onopen = e -> listener.onOpen();
+    webSocket.onclose = listener::onClose;
+    return webSocket;
+  }
+
+  private void onMessage( @Nonnull final Listener listener,
+                          @Nonnull final MessageEvent<WebSocket.OnmessageFn.EventMessageEventTypeParameterUnionType> event )
+  {
+    final WebSocket.OnmessageFn.EventMessageEventTypeParameterUnionType data = event.data;
+    if ( data.isString() )
+    {
+      listener.onStringMessage( data.asString() );
+    }
+    else if ( data.isArrayBuffer() )
+    {
+      listener.onArrayBufferMessage( data.asArrayBuffer() );
+    }
+    else
+    {
+      assert data.isBlob();
+      listener.onBlobMessage( data.asBlob() );
+    }
+  }
+
+  @Override
+  public void send( @Nonnull final WebSocket webSocket, @Nonnull final WebSocket.SendDataUnionType data )
+  {
+    webSocket.send( data );
+  }
+
+  @Override
+  public void sendText( @Nonnull final WebSocket webSocket, @Nonnull final String data )
+  {
+    webSocket.send( data );
+  }
+
+  @Override
+  public void close( @Nonnull final WebSocket webSocket, final int code, @Nullable final String reason )
+  {
+    if ( 0 == code )
+    {
+      webSocket.close();
+    }
+    else if ( null == reason )
+    {
+      webSocket.close( code );
+    }
+    else
+    {
+      webSocket.close( code, reason );
+    }
+  }
+
+  @Override
+  public boolean isOpenOrConnecting( @Nonnull final WebSocket webSocket )
+  {
+    return WebSocket.OPEN == webSocket.readyState || WebSocket.CONNECTING == webSocket.readyState;
+  }
+}
@@ -4,17 +4,38 @@ import java.util.Objects;
 import java.util.concurrent.Callable;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import zemeckis.VirtualProcessorUnit;
 
 final class CallableStreamSource<T>
   extends Stream<T>
 {
   @Nonnull
   private final Callable<T> _callable;
+  /**
+   * The VirtualProcessorUnit on which subsequent chunks are emitted or null if all items are emitted synchronously.
+   */
+  @Nullable
+  private final VirtualProcessorUnit _virtualProcessorUnit;
+  /**
+   * The maximum number of items emitted per task when {@link #_virtualProcessorUnit} is specified.
+   */
+  private final int _chunkSize;
 
   CallableStreamSource( @Nullable final String name, @Nonnull final Callable<T> callable )
+  {
+    this( name, callable, null, 0 );
+  }
+
+  CallableStreamSource( @Nullable final String name,
+                        @Nonnull final Callable<T> callable,
+                        @Nullable final VirtualProcessorUnit virtualProcessorUnit,
+                        final int chunkSize )
   {
     super( Spritz.areNamesEnabled() ? generateName( name, "fromCallable" ) : null );
+    assert null == virtualProcessorUnit || chunkSize > 0;
     _callable = Objects.requireNonNull( callable );
+    _virtualProcessorUnit = virtualProcessorUnit;
+    _chunkSize = chunkSize;
   }
 
   @Override
@@ -37,12 +58,31 @@ final class CallableStreamSource<T>
 
     void pushData()
     {
+      final CallableStreamSource<T> stream = getStream();
       final Subscriber<? super T> subscriber = getSubscriber();
       try
       {
-        while ( isNotDone() )
+        if ( null == stream._virtualProcessorUnit )
+        {
+          while ( isNotDone() )
+          {
+            subscriber.onItem( stream._callable.call() );
+          }
+        }
+        else
         {
-          subscriber.onItem( getStream()._callable.call() );
+          int remaining = stream._chunkSize;
+          while ( remaining > 0 && isNotDone() )
+          {
+            remaining--;
+            subscriber.onItem( stream._callable.call() );
+          }
+          if ( isNotDone() )
+          {
+            Scheduler.queue( stream._virtualProcessorUnit,
+                             Spritz.areNamesEnabled() ? stream.getName() : null,
+                             this::pushData );
+          }
         }
       }
       catch ( final Throwable error )
@@ -0,0 +1,237 @@
+package spritz;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import zemeckis.Cancelable;
+import zemeckis.Zemeckis;
+
+/**
+ * A scan operator that restores the accumulated value from a {@link StateStore} when subscribed and
+ * saves the accumulated value to the store after every {@code checkpointItemInterval} items, every
+ * {@code checkpointPeriod} milliseconds and when the subscription terminates. Errors saving the
+ * accumulated value are reported as uncaught errors and do not terminate the stream as the next
+ * checkpoint will save the latest value.
+ *
+ * <p>Saves are kept off the item path. Delivering an item only records the latest value and, once
+ * {@code checkpointItemInterval} items have accumulated, schedules a checkpoint task. Timer tasks may run on
+ * another thread on the JVM so the latest value is guarded by the subscription and checkpoints are serialized
+ * so that the store is only ever saving a single value at a time and never saves an older value over a newer one.</p>
+ */
+final class CheckpointedScanOperator<UpstreamT, DownstreamT>
+  extends AbstractStream<UpstreamT, DownstreamT>
+{
+  @Nonnull
+  private final AccumulatorFunction<UpstreamT, DownstreamT> _accumulator;
+  @Nonnull
+  private final DownstreamT _initialValue;
+  @Nonnull
+  private final StateStore<DownstreamT> _stateStore;
+  /**
+   * The number of items after which the accumulated value is saved or 0 to not checkpoint based on item count.
+   */
+  private final int _checkpointItemInterval;
+  /**
+   * The time in milliseconds after which the accumulated value is saved or 0 to not checkpoint periodically.
+   */
+  private final int _checkpointPeriod;
+
+  CheckpointedScanOperator( @Nullable final String name,
+                            @Nonnull final Stream<UpstreamT> upstream,
+                            @Nonnull final AccumulatorFunction<UpstreamT, DownstreamT> accumulator,
+                            @Nonnull final DownstreamT initialValue,
+                            @Nonnull final StateStore<DownstreamT> stateStore,
+                            final int checkpointItemInterval,
+                            final int checkpointPeriod )
+  {
+    super( Spritz.areNamesEnabled() ?
+           generateName( name, "scan", checkpointItemInterval + "," + checkpointPeriod ) :
+           null, upstream );
+    assert checkpointItemInterval >= 0;
+    assert checkpointPeriod >= 0;
+    _accumulator = Objects.requireNonNull( accumulator );
+    _initialValue = Objects.requireNonNull( initialValue );
+    _stateStore = Objects.requireNonNull( stateStore );
+    _checkpointItemInterval = checkpointItemInterval;
+    _checkpointPeriod = checkpointPeriod;
+  }
+
+  @Override
+  boolean canError()
+  {
+    return true;
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final Subscriber<? super DownstreamT> subscriber )
+  {
+    final WorkerSubscription<UpstreamT, DownstreamT> subscription = new WorkerSubscription<>( this, subscriber );
+    getUpstream().subscribe( subscription );
+    return subscription;
+  }
+
+  private static final class WorkerSubscription<UpstreamT, DownstreamT>
+    extends AbstractOperatorSubscription<UpstreamT, DownstreamT, CheckpointedScanOperator<UpstreamT, DownstreamT>>
+  {
+    /**
+     * Lock held while taking and saving a checkpoint so that saves never run concurrently.
+     */
+    @Nonnull
+    private final Object _checkpointLock = new Object();
+    /**
+     * The latest accumulated value. Guarded by this subscription.
+     */
+    @Nonnull
+    private DownstreamT _value;
+    /**
+     * The number of items accumulated since the last checkpoint. Guarded by this subscription.
+     */
+    private int _uncheckpointedCount;
+    /**
+     * The periodic checkpoint task if {@code checkpointPeriod} is non-zero.
+     */
+    @Nullable
+    private Cancelable _checkpointTask;
+    /**
+     * The task scheduled once {@code checkpointItemInterval} items have accumulated. Guarded by this subscription.
+     */
+    @Nullable
+    private Cancelable _itemCheckpointTask;
+
+    WorkerSubscription( @Nonnull final CheckpointedScanOperator<UpstreamT, DownstreamT> stream,
+                        @Nonnull final Subscriber<? super DownstreamT> subscriber )
+    {
+      super( stream, subscriber );
+      _value = stream._initialValue;
+    }
+
+    @Override
+    public void onSubscribe( @Nonnull final Subscription subscription )
+    {
+      final CheckpointedScanOperator<UpstreamT, DownstreamT> stream = getStream();
+      final DownstreamT restored;
+      try
+      {
+        restored = stream._stateStore.load();
+      }
+      catch ( final Exception e )
+      {
+        super.onSubscribe( subscription );
+        if ( isNotDone() )
+        {
+          subscription.cancel();
+          super.onError( e );
+        }
+        return;
+      }
+      if ( null != restored )
+      {
+        synchronized ( this )
+        {
+          _value = restored;
+        }
+      }
+      super.onSubscribe( subscription );
+      if ( isNotDone() && stream._checkpointPeriod > 0 )
+      {
+        _checkpointTask =
+          Scheduler.periodicTask( Spritz.areNamesEnabled() ? stream.getName() + ".checkpoint" : null,
+                                  this::checkpoint,
+                                  stream._checkpointPeriod );
+      }
+    }
+
+    @Override
+    public void onItem( @Nonnull final UpstreamT item )
+    {
+      final CheckpointedScanOperator<UpstreamT, DownstreamT> stream = getStream();
+      final DownstreamT value;
+      synchronized ( this )
+      {
+        value = stream._accumulator.accumulate( item, _value );
+        _value = value;
+        _uncheckpointedCount++;
+        final int interval = stream._checkpointItemInterval;
+        if ( interval > 0 && _uncheckpointedCount >= interval && null == _itemCheckpointTask )
+        {
+          _itemCheckpointTask =
+            Scheduler.delayedTask( Spritz.areNamesEnabled() ? stream.getName() + ".checkpoint" : null,
+                                   this::checkpoint,
+                                   0 );
+        }
+      }
+      getSubscriber().onItem( value );
+    }
+
+    @Override
+    public void onError( @Nonnull final Throwable error )
+    {
+      terminate();
+      super.onError( error );
+    }
+
+    @Override
+    public void onComplete()
+    {
+      terminate();
+      super.onComplete();
+    }
+
+    @Override
+    void doCancel()
+    {
+      terminate();
+      super.doCancel();
+    }
+
+    private void terminate()
+    {
+      if ( null != _checkpointTask )
+      {
+        _checkpointTask.cancel();
+        _checkpointTask = null;
+      }
+      synchronized ( this )
+      {
+        if ( null != _itemCheckpointTask )
+        {
+          _itemCheckpointTask.cancel();
+          _itemCheckpointTask = null;
+        }
+      }
+      // The final checkpoint is saved synchronously so that the latest value is saved before termination
+      checkpoint();
+    }
+
+    /**
+     * Save the latest value if it has changed since the last checkpoint.
+     * This is invoked from timer tasks and when the subscription terminates.
+     */
+    private void checkpoint()
+    {
+      synchronized ( _checkpointLock )
+      {
+        final DownstreamT value;
+        synchronized ( this )
+        {
+          _itemCheckpointTask = null;
+          if ( 0 == _uncheckpointedCount )
+          {
+            return;
+          }
+          _uncheckpointedCount = 0;
+          value = _value;
+        }
+        try
+        {
+          getStream()._stateStore.save( value );
+        }
+        catch ( final Throwable t )
+        {
+          Zemeckis.reportUncaughtError( t );
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,22 @@
+package spritz;
+
+import java.util.Iterator;
+
+/**
+ * An iterator that holds resources that should be released if the iterator is not consumed to the end.
+ * The iterator should be used within a try-with-resources statement when the consumer may stop early.
+ *
+ * @param <T> the type of the items.
+ * @see BlockingIterable
+ */
+@GwtIncompatible
+public interface CloseableIterator<T>
+  extends Iterator<T>, AutoCloseable
+{
+  /**
+   * Release the resources held by the iterator.
+   * Subsequent calls to {@link #hasNext()} return false. Closing an iterator that is already closed has no effect.
+   */
+  @Override
+  void close();
+}
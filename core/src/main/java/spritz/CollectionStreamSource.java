@@ -1,19 +1,54 @@
 package spritz;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.Objects;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import zemeckis.VirtualProcessorUnit;
 
 final class CollectionStreamSource<T>
   extends Stream<T>
 {
   private final Collection<T> _data;
+  /**
+   * The VirtualProcessorUnit on which subsequent chunks are emitted or null if all items are emitted synchronously.
+   */
+  @Nullable
+  private final VirtualProcessorUnit _virtualProcessorUnit;
+  /**
+   * The maximum number of items emitted per task when {@link #_virtualProcessorUnit} is specified.
+   */
+  private final int _chunkSize;
 
   CollectionStreamSource( @Nullable final String name, @Nonnull final Collection<T> data )
   {
-    super( Spritz.areNamesEnabled() ? generateName( name, "fromCollection", String.valueOf( data ) ) : null );
+    this( name, data, null, 0 );
+  }
+
+  CollectionStreamSource( @Nullable final String name,
+                          @Nonnull final Collection<T> data,
+                          @Nullable final VirtualProcessorUnit virtualProcessorUnit,
+                          final int chunkSize )
+  {
+    super( Spritz.areNamesEnabled() ? name : null, true );
+    assert null == virtualProcessorUnit || chunkSize > 0;
     _data = Objects.requireNonNull( data );
+    _virtualProcessorUnit = virtualProcessorUnit;
+    _chunkSize = chunkSize;
+  }
+
+  @Nonnull
+  @Override
+  String computeName()
+  {
+    return generateName( null, "fromCollection", "[" + SpritzUtil.describeValues( _data ) + "]" );
+  }
+
+  @Override
+  boolean canError()
+  {
+    return false;
   }
 
   @Nonnull
@@ -35,20 +70,43 @@ final class CollectionStreamSource<T>
       super( stream, subscriber );
     }
 
+    /**
+     * The iterator positioned at the next item to emit. Created when the first item is emitted.
+     */
+    @Nullable
+    private Iterator<T> _iterator;
+
     void pushData()
     {
+      final CollectionStreamSource<T> stream = getStream();
       final Subscriber<? super T> subscriber = getSubscriber();
-      for ( final T item : getStream()._data )
+      if ( null == _iterator )
+      {
+        _iterator = stream._data.iterator();
+      }
+      int remaining = null == stream._virtualProcessorUnit ? Integer.MAX_VALUE : stream._chunkSize;
+      while ( remaining > 0 && _iterator.hasNext() )
       {
         if ( isDone() )
         {
           return;
         }
-        subscriber.onItem( item );
+        remaining--;
+        subscriber.onItem( _iterator.next() );
       }
       if ( isNotDone() )
       {
-        subscriber.onComplete();
+        if ( _iterator.hasNext() )
+        {
+          assert null != stream._virtualProcessorUnit;
+          Scheduler.queue( stream._virtualProcessorUnit,
+                           Spritz.areNamesEnabled() ? stream.getName() : null,
+                           this::pushData );
+        }
+        else
+        {
+          subscriber.onComplete();
+        }
       }
     }
   }
@@ -51,7 +51,38 @@ public final class ConnectableStream<T>
   @DocCategory( DocCategory.Type.UNKNOWN )
   public final Stream<T> refCount( @Nullable final String name )
   {
-    return compose( s -> new RefCountOperator<>( name, (ConnectableStream<T>) s ) );
+    return refCount( name, 0 );
+  }
+
+  /**
+   * Return a stream that ensures that as long as there is at least one subscriber to this stream, then this stream will be subscribed to upstream.
+   * When the last subscriber unsubscribes, the stream waits for the grace period before disconnecting from upstream
+   * and if a subscriber subscribes during the grace period then the existing connection is reused.
+   *
+   * @param gracePeriod the time in milliseconds to wait after the last subscriber unsubscribes before disconnecting.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.UNKNOWN )
+  public final Stream<T> refCount( final int gracePeriod )
+  {
+    return refCount( null, gracePeriod );
+  }
+
+  /**
+   * Return a stream that ensures that as long as there is at least one subscriber to this stream, then this stream will be subscribed to upstream.
+   * When the last subscriber unsubscribes, the stream waits for the grace period before disconnecting from upstream
+   * and if a subscriber subscribes during the grace period then the existing connection is reused.
+   *
+   * @param name        the name specified by the user.
+   * @param gracePeriod the time in milliseconds to wait after the last subscriber unsubscribes before disconnecting.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.UNKNOWN )
+  public final Stream<T> refCount( @Nullable final String name, final int gracePeriod )
+  {
+    return compose( s -> new RefCountOperator<>( name, (ConnectableStream<T>) s, gracePeriod ) );
   }
 
   public void connect()
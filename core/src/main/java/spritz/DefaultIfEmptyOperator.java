@@ -17,12 +17,18 @@ final class DefaultIfEmptyOperator<T>
     super( Spritz.areNamesEnabled() ? generateName( name, "defaultIfEmpty", String.valueOf( defaultValue ) ) : null,
            upstream );
     _defaultValue = Objects.requireNonNull( defaultValue );
+    warnIfUpstreamCannotComplete();
   }
 
   @Nonnull
   @Override
   Subscription doSubscribe( @Nonnull final Subscriber<? super T> subscriber )
   {
+    if ( !upstreamCanComplete() )
+    {
+      // The default value is never emitted so there is no need to track whether an item was emitted
+      return getUpstream().doSubscribe( subscriber );
+    }
     final WorkerSubscription<T> subscription = new WorkerSubscription<>( this, subscriber );
     getUpstream().subscribe( subscription );
     return subscription;
@@ -0,0 +1,70 @@
+package spritz;
+
+import elemental2.dom.Element;
+import elemental2.dom.Event;
+import elemental2.dom.EventTarget;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import spritz.dom.DelegatedEvent;
+
+/**
+ * Emit the events dispatched within a container where the event target, or one of its ancestors within the
+ * container, matches a selector. This allows a single listener on the container to replace a listener on
+ * each of the matching elements.
+ */
+final class DelegatedEventOperator
+  extends AbstractStream<Event, DelegatedEvent>
+{
+  @Nonnull
+  private final Element _container;
+  @Nonnull
+  private final String _selector;
+
+  DelegatedEventOperator( @Nullable final String name,
+                          @Nonnull final Stream<Event> upstream,
+                          @Nonnull final Element container,
+                          @Nonnull final String selector )
+  {
+    super( Spritz.areNamesEnabled() ? generateName( name, "delegate", selector ) : null, upstream );
+    _container = Objects.requireNonNull( container );
+    _selector = Objects.requireNonNull( selector );
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final Subscriber<? super DelegatedEvent> subscriber )
+  {
+    final WorkerSubscription subscription = new WorkerSubscription( this, subscriber );
+    getUpstream().subscribe( subscription );
+    return subscription;
+  }
+
+  private static final class WorkerSubscription
+    extends AbstractOperatorSubscription<Event, DelegatedEvent, DelegatedEventOperator>
+  {
+    WorkerSubscription( @Nonnull final DelegatedEventOperator stream,
+                        @Nonnull final Subscriber<? super DelegatedEvent> subscriber )
+    {
+      super( stream, subscriber );
+    }
+
+    @Override
+    public void onItem( @Nonnull final Event item )
+    {
+      final EventTarget target = item.target;
+      if ( target instanceof Element )
+      {
+        final DelegatedEventOperator stream = getStream();
+        final Element matchedElement = ( (Element) target ).closest( stream._selector );
+        // closest() may match the container or one of its ancestors which are outside the delegated scope
+        if ( null != matchedElement &&
+             matchedElement != stream._container &&
+             stream._container.contains( matchedElement ) )
+        {
+          getSubscriber().onItem( new DelegatedEvent( item, matchedElement ) );
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,154 @@
+package spritz;
+
+import elemental2.dom.AddEventListenerOptions;
+import elemental2.dom.Event;
+import elemental2.dom.EventListener;
+import elemental2.dom.EventTarget;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A source that emits the events of a type dispatched to an {@link EventTarget}.
+ * A single native listener is added for each combination of target, type and listener options, regardless
+ * of how many streams are created or how many subscribers subscribe. The native listener is added when the
+ * first subscriber subscribes and is removed when the last subscriber cancels. Events are fanned out to
+ * the subscribers via a {@link Subject}.
+ */
+final class DomEventSource
+  extends Stream<Event>
+{
+  /**
+   * The native listeners currently added, keyed by target and then by type and listener options.
+   */
+  @Nonnull
+  private static final Map<EventTarget, Map<String, SharedListener>> c_listeners = new HashMap<>();
+  @Nonnull
+  private final EventTarget _target;
+  @Nonnull
+  private final String _type;
+  private final boolean _capture;
+  private final boolean _passive;
+
+  DomEventSource( @Nullable final String name,
+                  @Nonnull final EventTarget target,
+                  @Nonnull final String type,
+                  final boolean capture,
+                  final boolean passive )
+  {
+    super( Spritz.areNamesEnabled() ?
+           generateName( name, "fromEvent", type + ",capture=" + capture + ",passive=" + passive ) :
+           null );
+    _target = Objects.requireNonNull( target );
+    _type = Objects.requireNonNull( type );
+    _capture = capture;
+    _passive = passive;
+  }
+
+  @Override
+  boolean canComplete()
+  {
+    return false;
+  }
+
+  @Override
+  boolean canError()
+  {
+    return false;
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final Subscriber<? super Event> subscriber )
+  {
+    final SharedListener listener = acquireListener();
+    final WorkerSubscription subscription = new WorkerSubscription( this, subscriber, listener );
+    listener._subject.subscribe( subscription );
+    return subscription;
+  }
+
+  @Nonnull
+  private SharedListener acquireListener()
+  {
+    final String key = _type + "|" + _capture + "|" + _passive;
+    final Map<String, SharedListener> listeners = c_listeners.computeIfAbsent( _target, t -> new HashMap<>() );
+    SharedListener listener = listeners.get( key );
+    if ( null == listener )
+    {
+      listener = new SharedListener( this, key );
+      listeners.put( key, listener );
+    }
+    listener._subscriberCount++;
+    return listener;
+  }
+
+  private static final class SharedListener
+  {
+    @Nonnull
+    private final EventTarget _target;
+    @Nonnull
+    private final String _type;
+    @Nonnull
+    private final String _key;
+    private final boolean _capture;
+    @Nonnull
+    private final Subject<Event> _subject;
+    @Nonnull
+    private final EventListener _listener;
+    private int _subscriberCount;
+
+    SharedListener( @Nonnull final DomEventSource source, @Nonnull final String key )
+    {
+      _target = source._target;
+      _type = source._type;
+      _key = key;
+      _capture = source._capture;
+      _subject = new Subject<>( Spritz.areNamesEnabled() ? source.getName() + ".hub" : null );
+      _listener = _subject::next;
+      final AddEventListenerOptions options = AddEventListenerOptions.create();
+      options.setCapture( source._capture );
+      options.setPassive( source._passive );
+      _target.addEventListener( _type, _listener, options );
+    }
+
+    void release()
+    {
+      _subscriberCount--;
+      if ( 0 == _subscriberCount )
+      {
+        _target.removeEventListener( _type, _listener, _capture );
+        final Map<String, SharedListener> listeners = c_listeners.get( _target );
+        assert null != listeners;
+        listeners.remove( _key );
+        if ( listeners.isEmpty() )
+        {
+          c_listeners.remove( _target );
+        }
+      }
+    }
+  }
+
+  private static final class WorkerSubscription
+    extends PassThroughSubscription<Event, DomEventSource>
+  {
+    @Nonnull
+    private final SharedListener _listener;
+
+    WorkerSubscription( @Nonnull final DomEventSource stream,
+                        @Nonnull final Subscriber<? super Event> subscriber,
+                        @Nonnull final SharedListener listener )
+    {
+      super( stream, subscriber );
+      _listener = Objects.requireNonNull( listener );
+    }
+
+    @Override
+    void doCancel()
+    {
+      super.doCancel();
+      _listener.release();
+    }
+  }
+}
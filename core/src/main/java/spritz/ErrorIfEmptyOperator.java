@@ -17,6 +17,13 @@ final class ErrorIfEmptyOperator<T>
   {
     super( Spritz.areNamesEnabled() ? generateName( name, "errorIfEmpty" ) : null, upstream );
     _errorFactory = Objects.requireNonNull( errorFactory );
+    warnIfUpstreamCannotComplete();
+  }
+
+  @Override
+  boolean canError()
+  {
+    return upstreamCanError() || upstreamCanComplete();
   }
 
   @Nonnull
@@ -11,6 +11,18 @@ final class ExhaustOperator<T>
     super( Spritz.areNamesEnabled() ? generateName( null, "exhaust" ) : null, upstream );
   }
 
+  @Override
+  boolean canComplete()
+  {
+    return true;
+  }
+
+  @Override
+  boolean canError()
+  {
+    return true;
+  }
+
   @Nonnull
   @Override
   Subscription doSubscribe( @Nonnull final Subscriber<? super T> subscriber )
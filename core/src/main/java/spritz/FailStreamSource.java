@@ -16,6 +16,12 @@ final class FailStreamSource<T>
     _error = Objects.requireNonNull( error );
   }
 
+  @Override
+  boolean canComplete()
+  {
+    return false;
+  }
+
   @Nonnull
   @Override
   Subscription doSubscribe( @Nonnull final Subscriber<? super T> subscriber )
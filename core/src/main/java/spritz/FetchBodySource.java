@@ -0,0 +1,124 @@
+package spritz;
+
+import elemental2.core.Uint8Array;
+import elemental2.dom.IteratorResult;
+import elemental2.dom.ReadableStreamDefaultReader;
+import elemental2.dom.Response;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import spritz.dom.FetchException;
+import zemeckis.Zemeckis;
+
+/**
+ * A source that reads the body of a response and emits each chunk as it is received.
+ * The body is read as the chunks arrive rather than buffering the entire body. Cancelling the subscription
+ * cancels the reader which stops the remainder of the body being downloaded.
+ */
+final class FetchBodySource
+  extends Stream<Uint8Array>
+{
+  @Nonnull
+  private final Response _response;
+
+  FetchBodySource( @Nullable final String name, @Nonnull final Response response )
+  {
+    super( Spritz.areNamesEnabled() ? generateName( name, "body", response.url ) : null );
+    _response = Objects.requireNonNull( response );
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final Subscriber<? super Uint8Array> subscriber )
+  {
+    final WorkerSubscription subscription = new WorkerSubscription( this, subscriber );
+    subscriber.onSubscribe( subscription );
+    if ( subscription.isNotDone() )
+    {
+      subscription.start();
+    }
+    return subscription;
+  }
+
+  private static final class WorkerSubscription
+    extends AbstractStreamSubscription<Uint8Array, FetchBodySource>
+  {
+    @Nullable
+    private ReadableStreamDefaultReader _reader;
+
+    WorkerSubscription( @Nonnull final FetchBodySource stream,
+                        @Nonnull final Subscriber<? super Uint8Array> subscriber )
+    {
+      super( stream, subscriber );
+    }
+
+    void start()
+    {
+      final Response response = getStream()._response;
+      if ( null == response.body )
+      {
+        // Responses such as those with a 204 status have no body
+        markAsDone();
+        getSubscriber().onComplete();
+      }
+      else
+      {
+        _reader = response.body.getReader().asReadableStreamDefaultReader();
+        readChunk();
+      }
+    }
+
+    private void readChunk()
+    {
+      assert null != _reader;
+      _reader.read().then( result -> {
+        onChunk( result );
+        return null;
+      }, reason -> {
+        if ( isNotDone() )
+        {
+          markAsDone();
+          getSubscriber().onError( new FetchException( getStream()._response, reason ) );
+        }
+        return null;
+      } );
+    }
+
+    private void onChunk( @Nonnull final IteratorResult result )
+    {
+      try
+      {
+        if ( isNotDone() )
+        {
+          if ( result.isDone() )
+          {
+            markAsDone();
+            getSubscriber().onComplete();
+          }
+          else
+          {
+            getSubscriber().onItem( (Uint8Array) result.getValue() );
+            if ( isNotDone() )
+            {
+              readChunk();
+            }
+          }
+        }
+      }
+      catch ( final Throwable t )
+      {
+        Zemeckis.reportUncaughtError( t );
+      }
+    }
+
+    @Override
+    void doCancel()
+    {
+      if ( null != _reader )
+      {
+        _reader.cancel( null );
+        _reader = null;
+      }
+    }
+  }
+}
@@ -0,0 +1,104 @@
+package spritz;
+
+import elemental2.core.JsObject;
+import elemental2.dom.AbortController;
+import elemental2.dom.DomGlobal;
+import elemental2.dom.RequestInit;
+import elemental2.dom.Response;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import spritz.dom.FetchException;
+import zemeckis.Zemeckis;
+
+/**
+ * A source that performs a fetch and emits the response. Each subscription performs a separate request
+ * using a separate {@link AbortController} so that cancelling the subscription before the response is
+ * received aborts the request rather than leaving it to download in the background.
+ */
+final class FetchSource
+  extends Stream<Response>
+{
+  @Nonnull
+  private final String _url;
+  @Nullable
+  private final RequestInit _init;
+
+  FetchSource( @Nullable final String name, @Nonnull final String url, @Nullable final RequestInit init )
+  {
+    super( Spritz.areNamesEnabled() ? generateName( name, "fetch", url ) : null );
+    _url = Objects.requireNonNull( url );
+    _init = init;
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final Subscriber<? super Response> subscriber )
+  {
+    final WorkerSubscription subscription = new WorkerSubscription( this, subscriber );
+    subscriber.onSubscribe( subscription );
+    if ( subscription.isNotDone() )
+    {
+      subscription.fetch();
+    }
+    return subscription;
+  }
+
+  private static final class WorkerSubscription
+    extends AbstractStreamSubscription<Response, FetchSource>
+  {
+    @Nonnull
+    private final AbortController _abortController = new AbortController();
+
+    WorkerSubscription( @Nonnull final FetchSource stream, @Nonnull final Subscriber<? super Response> subscriber )
+    {
+      super( stream, subscriber );
+    }
+
+    void fetch()
+    {
+      final FetchSource stream = getStream();
+      // Copy the init so that the abort signal of this subscription is not added to the init supplied by the user
+      final RequestInit init = (RequestInit) JsObject.assign( RequestInit.create(), stream._init );
+      init.setSignal( _abortController.signal );
+      DomGlobal.fetch( stream._url, init ).then( response -> {
+        onResponse( response );
+        return null;
+      }, reason -> {
+        // The request is rejected with an AbortError when the subscription is cancelled so ignore it
+        if ( isNotDone() )
+        {
+          markAsDone();
+          getSubscriber().onError( new FetchException( null, reason ) );
+        }
+        return null;
+      } );
+    }
+
+    private void onResponse( @Nonnull final Response response )
+    {
+      try
+      {
+        if ( isNotDone() )
+        {
+          getSubscriber().onItem( response );
+          if ( isNotDone() )
+          {
+            markAsDone();
+            getSubscriber().onComplete();
+          }
+        }
+      }
+      catch ( final Throwable t )
+      {
+        Zemeckis.reportUncaughtError( t );
+      }
+    }
+
+    @Override
+    void doCancel()
+    {
+      _abortController.abort();
+    }
+  }
+}
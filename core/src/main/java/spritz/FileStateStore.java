@@ -0,0 +1,71 @@
+package spritz;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link StateStore} that saves the state to a local file.
+ * The state is written to a temporary file that is then moved over the previous state so that
+ * the file always contains a complete state even if the process stops while the state is being saved.
+ *
+ * @param <T> the type of the state.
+ */
+@GwtIncompatible
+public final class FileStateStore<T>
+  implements StateStore<T>
+{
+  @Nonnull
+  private final Path _file;
+  @Nonnull
+  private final Path _tempFile;
+  @Nonnull
+  private final ItemCodec<T> _codec;
+
+  /**
+   * Create the store.
+   *
+   * @param file  the file in which the state is saved.
+   * @param codec the codec used to convert the state to and from bytes.
+   */
+  public FileStateStore( @Nonnull final Path file, @Nonnull final ItemCodec<T> codec )
+  {
+    _file = Objects.requireNonNull( file );
+    _tempFile = file.resolveSibling( file.getFileName() + ".tmp" );
+    _codec = Objects.requireNonNull( codec );
+  }
+
+  @Nullable
+  @Override
+  public T load()
+  {
+    try
+    {
+      return Files.exists( _file ) ? _codec.decode( ByteBuffer.wrap( Files.readAllBytes( _file ) ) ) : null;
+    }
+    catch ( final IOException e )
+    {
+      throw new UncheckedIOException( e );
+    }
+  }
+
+  @Override
+  public void save( @Nonnull final T state )
+  {
+    try
+    {
+      Files.write( _tempFile, _codec.encode( state ) );
+      Files.move( _tempFile, _file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+    }
+    catch ( final IOException e )
+    {
+      throw new UncheckedIOException( e );
+    }
+  }
+}
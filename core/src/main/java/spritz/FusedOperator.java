@@ -0,0 +1,34 @@
+package spritz;
+
+import java.util.Objects;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+final class FusedOperator<UpstreamT, DownstreamT>
+  extends AbstractStream<UpstreamT, DownstreamT>
+{
+  @Nonnull
+  private final Function<Subscriber<? super DownstreamT>, FusedSubscriber<UpstreamT, DownstreamT>> _factory;
+
+  FusedOperator( @Nullable final String name,
+                 @Nonnull final Stream<UpstreamT> upstream,
+                 @Nonnull final Function<Subscriber<? super DownstreamT>, FusedSubscriber<UpstreamT, DownstreamT>> factory )
+  {
+    super( Spritz.areNamesEnabled() ? generateName( name, "fuse" ) : null, upstream );
+    _factory = Objects.requireNonNull( factory );
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final Subscriber<? super DownstreamT> subscriber )
+  {
+    final FusedSubscriber<UpstreamT, DownstreamT> subscription = _factory.apply( subscriber );
+    if ( Spritz.areNamesEnabled() )
+    {
+      subscription._stream = this;
+    }
+    getUpstream().subscribe( subscription );
+    return subscription;
+  }
+}
@@ -0,0 +1,92 @@
+package spritz;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import javax.annotation.Nonnull;
+
+/**
+ * Mark a type as a template for a pipeline of stages that are fused into a single stage at compile time.
+ * The annotation processor generates a {@link FusedSubscriber} subclass named {@code Fused_[TemplateName]}
+ * in the same package as the template. The generated class invokes the stage methods directly, one after
+ * the other, from a single {@link Subscriber#onItem(Object)} method and thus the pipeline allocates no
+ * per-stage subscriptions and performs no calls through functional interfaces. The generated class has a
+ * static {@code fuse(Stream)} method that applies the pipeline to a stream.
+ *
+ * <p>The stages are the static methods of the template annotated with {@link Map}, {@link Filter} or
+ * {@link Scan}, applied in the order in which they are declared. The template and the stage methods must
+ * not have type parameters and the stage methods must not be private.</p>
+ *
+ * <pre>{@code
+ * @FusedPipeline
+ * final class Prices
+ * {
+ *   @FusedPipeline.Map
+ *   static Double toPrice( final Tick tick ) { return tick.getPrice(); }
+ *
+ *   @FusedPipeline.Filter
+ *   static boolean isPositive( final Double price ) { return price > 0; }
+ *
+ *   @FusedPipeline.Scan( initialValue = "zero" )
+ *   static Double sum( final Double price, final Double total ) { return price + total; }
+ *
+ *   static Double zero() { return 0D; }
+ * }
+ *
+ * final Stream<Double> totals = ticks.compose( Fused_Prices::fuse );
+ * }</pre>
+ */
+@Documented
+@Retention( RetentionPolicy.SOURCE )
+@Target( ElementType.TYPE )
+public @interface FusedPipeline
+{
+  /**
+   * Mark a method as a stage that transforms each item.
+   * The method must accept a single parameter and return the transformed item.
+   *
+   * @see Stream#map(java.util.function.Function)
+   */
+  @Documented
+  @Retention( RetentionPolicy.SOURCE )
+  @Target( ElementType.METHOD )
+  @interface Map
+  {
+  }
+
+  /**
+   * Mark a method as a stage that drops items that do not match a predicate.
+   * The method must accept a single parameter and return a boolean.
+   *
+   * @see Stream#filter(java.util.function.Predicate)
+   */
+  @Documented
+  @Retention( RetentionPolicy.SOURCE )
+  @Target( ElementType.METHOD )
+  @interface Filter
+  {
+  }
+
+  /**
+   * Mark a method as a stage that accumulates items and emits the accumulated value.
+   * The method must accept the item and the accumulated value and return the new accumulated value.
+   *
+   * @see Stream#scan(AccumulatorFunction, Object)
+   */
+  @Documented
+  @Retention( RetentionPolicy.SOURCE )
+  @Target( ElementType.METHOD )
+  @interface Scan
+  {
+    /**
+     * Return the name of the static method on the template that returns the initial accumulated value.
+     * The method is invoked each time the pipeline is subscribed to.
+     *
+     * @return the name of the method that returns the initial accumulated value.
+     */
+    @Nonnull
+    String initialValue();
+  }
+}
@@ -0,0 +1,91 @@
+package spritz;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.realityforge.braincheck.Guards;
+
+/**
+ * Base class for subscribers that implement several stream stages within a single stage.
+ * The subscriber is also the subscription passed downstream and thus a fused stage requires a single
+ * object per subscription regardless of how many stages are fused. Subclasses implement
+ * {@link #onItem(Object)} and pass items to the subscriber returned by {@link #getDownstream()}.
+ * Subclasses are typically generated from a {@link FusedPipeline} template.
+ *
+ * @param <UpstreamT>   the type of items received from upstream.
+ * @param <DownstreamT> the type of items emitted downstream.
+ * @see Stream#fuse(java.util.function.Function)
+ */
+public abstract class FusedSubscriber<UpstreamT, DownstreamT>
+  extends Subscription
+  implements Subscriber<UpstreamT>
+{
+  @Nonnull
+  private final Subscriber<? super DownstreamT> _downstream;
+  /**
+   * The stream that created the subscriber. Only used to name the subscription.
+   */
+  @Nullable
+  Stream<DownstreamT> _stream;
+  /**
+   * The upstream subscription.
+   */
+  @Nullable
+  private Subscription _upstream;
+
+  protected FusedSubscriber( @Nonnull final Subscriber<? super DownstreamT> downstream )
+  {
+    _downstream = Objects.requireNonNull( downstream );
+  }
+
+  /**
+   * Return the subscriber that items are emitted to.
+   *
+   * @return the subscriber that items are emitted to.
+   */
+  @Nonnull
+  protected final Subscriber<? super DownstreamT> getDownstream()
+  {
+    return _downstream;
+  }
+
+  @Override
+  public final void onSubscribe( @Nonnull final Subscription subscription )
+  {
+    _upstream = Objects.requireNonNull( subscription );
+    _downstream.onSubscribe( this );
+  }
+
+  @Override
+  public final void onError( @Nonnull final Throwable error )
+  {
+    markAsDone();
+    _downstream.onError( error );
+  }
+
+  @Override
+  public final void onComplete()
+  {
+    markAsDone();
+    _downstream.onComplete();
+  }
+
+  @Override
+  final void doCancel()
+  {
+    if ( Spritz.shouldCheckInvariants() )
+    {
+      Guards.invariant( () -> null != _upstream,
+                        () -> "Spritz-0002: Attempted to invoke getUpstream() when subscription is not present" );
+    }
+    assert null != _upstream;
+    _upstream.cancel();
+  }
+
+  @Override
+  final String getQualifiedName()
+  {
+    assert null != _stream;
+    return _stream.getQualifiedName();
+  }
+}
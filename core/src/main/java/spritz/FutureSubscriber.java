@@ -0,0 +1,53 @@
+package spritz;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A subscriber that completes a future with the first item emitted by the stream.
+ * The subscription is cancelled once the first item has been received. If the stream completes
+ * without emitting an item then the future completes exceptionally with a {@link NoSuchElementException}.
+ */
+@GwtIncompatible
+final class FutureSubscriber<T>
+  implements Subscriber<T>
+{
+  @Nonnull
+  private final CompletableFuture<T> _future = new CompletableFuture<>();
+  @Nullable
+  private Subscription _subscription;
+
+  @Nonnull
+  CompletableFuture<T> getFuture()
+  {
+    return _future;
+  }
+
+  @Override
+  public void onSubscribe( @Nonnull final Subscription subscription )
+  {
+    _subscription = subscription;
+  }
+
+  @Override
+  public void onItem( @Nonnull final T item )
+  {
+    assert null != _subscription;
+    _subscription.cancel();
+    _future.complete( item );
+  }
+
+  @Override
+  public void onError( @Nonnull final Throwable error )
+  {
+    _future.completeExceptionally( error );
+  }
+
+  @Override
+  public void onComplete()
+  {
+    _future.completeExceptionally( new NoSuchElementException() );
+  }
+}
@@ -0,0 +1,56 @@
+package spritz;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import javax.annotation.Nonnull;
+
+/**
+ * Converts items to and from the bytes stored in a journal or a file.
+ *
+ * @param <T> the type of the item.
+ * @see Stream#journaledReplaySubject(java.nio.file.Path, ItemCodec)
+ * @see FileStateStore
+ */
+@GwtIncompatible
+public interface ItemCodec<T>
+{
+  /**
+   * A codec that stores strings as UTF-8 bytes.
+   */
+  ItemCodec<String> UTF8 = new ItemCodec<String>()
+  {
+    @Nonnull
+    @Override
+    public byte[] encode( @Nonnull final String item )
+    {
+      return item.getBytes( StandardCharsets.UTF_8 );
+    }
+
+    @Nonnull
+    @Override
+    public String decode( @Nonnull final ByteBuffer data )
+    {
+      return StandardCharsets.UTF_8.decode( data ).toString();
+    }
+  };
+
+  /**
+   * Encode the item as bytes.
+   *
+   * @param item the item.
+   * @return the bytes.
+   */
+  @Nonnull
+  byte[] encode( @Nonnull T item );
+
+  /**
+   * Decode an item from the bytes previously returned by {@link #encode(Object)}.
+   * The buffer may be a read-only view of the journal positioned at the start of the item and limited
+   * to the end of the item. The codec must not retain the buffer after this method returns.
+   *
+   * @param data the bytes.
+   * @return the item.
+   */
+  @Nonnull
+  T decode( @Nonnull ByteBuffer data );
+}
@@ -0,0 +1,313 @@
+package spritz;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+
+/**
+ * An append-only log of records stored in a directory as a sequence of memory-mapped segment files.
+ * Each record is stored as a 4 byte record size, an 8 byte timestamp and the record data. The size is
+ * written after the timestamp and the data so a record that was partially written when the process
+ * stopped is ignored when the journal is reopened. Records are removed by deleting whole segments.
+ *
+ * <p>Writes are made to the mapped memory and are written to disk by the operating system. The
+ * {@link #flush()} method forces the current segment to disk.</p>
+ */
+@GwtIncompatible
+final class Journal
+{
+  private static final String SEGMENT_SUFFIX = ".journal";
+  private static final int HEADER_SIZE = 4 + 8;
+  @Nonnull
+  private final Path _directory;
+  private final int _segmentSize;
+  @Nonnull
+  private final List<Segment> _segments = new ArrayList<>();
+  /**
+   * The number of records in the journal.
+   */
+  private long _size;
+  /**
+   * The sequence number used to name the next segment.
+   */
+  private long _nextSegmentSequence;
+
+  Journal( @Nonnull final Path directory, final int segmentSize )
+  {
+    assert segmentSize > HEADER_SIZE;
+    _directory = Objects.requireNonNull( directory );
+    _segmentSize = segmentSize;
+    try
+    {
+      Files.createDirectories( directory );
+      final List<Path> files = new ArrayList<>();
+      try ( DirectoryStream<Path> stream = Files.newDirectoryStream( directory, "*" + SEGMENT_SUFFIX ) )
+      {
+        stream.forEach( files::add );
+      }
+      // Segment names are zero padded sequence numbers so lexical order is creation order
+      Collections.sort( files );
+      for ( final Path file : files )
+      {
+        final Segment segment = new Segment( file, map( file, Files.size( file ) ) );
+        _segments.add( segment );
+        _size += segment._count;
+        final String filename = file.getFileName().toString();
+        _nextSegmentSequence =
+          Long.parseLong( filename.substring( 0, filename.length() - SEGMENT_SUFFIX.length() ) ) + 1;
+      }
+    }
+    catch ( final IOException e )
+    {
+      throw new UncheckedIOException( e );
+    }
+  }
+
+  /**
+   * Return the number of records in the journal.
+   *
+   * @return the number of records in the journal.
+   */
+  long size()
+  {
+    return _size;
+  }
+
+  /**
+   * Return the number of segment files in the journal.
+   *
+   * @return the number of segment files in the journal.
+   */
+  int getSegmentCount()
+  {
+    return _segments.size();
+  }
+
+  /**
+   * Append a record to the journal.
+   *
+   * @param time the time associated with the record.
+   * @param data the record data.
+   */
+  void append( final long time, @Nonnull final byte[] data )
+  {
+    final int recordSize = HEADER_SIZE + data.length;
+    Segment segment = _segments.isEmpty() ? null : _segments.get( _segments.size() - 1 );
+    if ( null == segment || segment._buffer.capacity() - segment._end < recordSize )
+    {
+      segment = newSegment( Math.max( _segmentSize, recordSize ) );
+    }
+    final MappedByteBuffer buffer = segment._buffer;
+    final int position = segment._end;
+    buffer.putLong( position + 4, time );
+    final ByteBuffer target = buffer.duplicate();
+    target.position( position + HEADER_SIZE );
+    target.put( data );
+    buffer.putInt( position, recordSize );
+    segment.add( time, recordSize );
+    _size++;
+  }
+
+  /**
+   * Delete the oldest segments that are no longer needed.
+   * A segment is deleted if the newer segments contain at least {@code maxSize} records or if every
+   * record in the segment is older than {@code minTime}. The segment currently being written is never deleted.
+   *
+   * @param maxSize the number of records to retain or {@link ReplaySubject#DEFAULT_VALUE} to retain all records.
+   * @param minTime the time of the oldest record to retain.
+   */
+  void retain( final int maxSize, final long minTime )
+  {
+    while ( _segments.size() > 1 )
+    {
+      final Segment oldest = _segments.get( 0 );
+      if ( ( ReplaySubject.DEFAULT_VALUE != maxSize && _size - oldest._count >= maxSize ) ||
+           oldest._lastTime < minTime )
+      {
+        _segments.remove( 0 );
+        _size -= oldest._count;
+        try
+        {
+          // The mapping remains valid until it is garbage collected so a concurrent read can complete
+          Files.deleteIfExists( oldest._file );
+        }
+        catch ( final IOException e )
+        {
+          throw new UncheckedIOException( e );
+        }
+      }
+      else
+      {
+        return;
+      }
+    }
+  }
+
+  /**
+   * Read the records in the journal in the order they were appended, skipping the first {@code skip}
+   * records and any record older than {@code minTime}. Records appended while reading are not read.
+   *
+   * @param skip    the number of records to skip.
+   * @param minTime the time of the oldest record to read.
+   * @param reader  the reader that is passed each record.
+   */
+  void read( final long skip, final long minTime, @Nonnull final RecordReader reader )
+  {
+    final Segment[] segments = _segments.toArray( new Segment[ 0 ] );
+    final int[] ends = new int[ segments.length ];
+    final int[] counts = new int[ segments.length ];
+    for ( int i = 0; i < segments.length; i++ )
+    {
+      ends[ i ] = segments[ i ]._end;
+      counts[ i ] = segments[ i ]._count;
+    }
+    long remainingToSkip = skip;
+    for ( int i = 0; i < segments.length; i++ )
+    {
+      final Segment segment = segments[ i ];
+      if ( remainingToSkip >= counts[ i ] || segment._lastTime < minTime )
+      {
+        // Avoid touching the pages of segments that contain no records to read
+        remainingToSkip = Math.max( 0, remainingToSkip - counts[ i ] );
+      }
+      else
+      {
+        final ByteBuffer view = segment._buffer.asReadOnlyBuffer();
+        final int end = ends[ i ];
+        int position = 0;
+        while ( position < end )
+        {
+          final int recordSize = segment._buffer.getInt( position );
+          if ( remainingToSkip > 0 )
+          {
+            remainingToSkip--;
+          }
+          else
+          {
+            final long time = segment._buffer.getLong( position + 4 );
+            if ( time >= minTime )
+            {
+              view.clear();
+              view.position( position + HEADER_SIZE );
+              view.limit( position + recordSize );
+              if ( !reader.read( time, view ) )
+              {
+                return;
+              }
+            }
+          }
+          position += recordSize;
+        }
+      }
+    }
+  }
+
+  /**
+   * Force any changes to the current segment to be written to disk.
+   */
+  void flush()
+  {
+    if ( !_segments.isEmpty() )
+    {
+      _segments.get( _segments.size() - 1 )._buffer.force();
+    }
+  }
+
+  @Nonnull
+  private Segment newSegment( final int size )
+  {
+    final Path file = _directory.resolve( String.format( "%020d%s", _nextSegmentSequence++, SEGMENT_SUFFIX ) );
+    try
+    {
+      final Segment segment = new Segment( file, map( file, size ) );
+      _segments.add( segment );
+      return segment;
+    }
+    catch ( final IOException e )
+    {
+      throw new UncheckedIOException( e );
+    }
+  }
+
+  @Nonnull
+  private static MappedByteBuffer map( @Nonnull final Path file, final long size )
+    throws IOException
+  {
+    try ( FileChannel channel =
+            FileChannel.open( file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE ) )
+    {
+      return channel.map( FileChannel.MapMode.READ_WRITE, 0, size );
+    }
+  }
+
+  /**
+   * The callback passed records as they are read from the journal.
+   */
+  interface RecordReader
+  {
+    /**
+     * Read a record.
+     *
+     * @param time the time associated with the record.
+     * @param data a read-only view of the record data that must not be retained.
+     * @return true to continue reading, false to stop.
+     */
+    boolean read( long time, @Nonnull ByteBuffer data );
+  }
+
+  private static final class Segment
+  {
+    @Nonnull
+    private final Path _file;
+    @Nonnull
+    private final MappedByteBuffer _buffer;
+    /**
+     * The number of records in the segment.
+     */
+    private int _count;
+    /**
+     * The offset at which the next record is written.
+     */
+    private int _end;
+    /**
+     * The time associated with the last record in the segment.
+     */
+    private long _lastTime = Long.MIN_VALUE;
+
+    Segment( @Nonnull final Path file, @Nonnull final MappedByteBuffer buffer )
+    {
+      _file = Objects.requireNonNull( file );
+      _buffer = Objects.requireNonNull( buffer );
+      // Locate the end of the records written before the segment was last closed. Unwritten space is
+      // zero filled and a record that was partially written has a size of zero.
+      final int capacity = buffer.capacity();
+      while ( _end + HEADER_SIZE <= capacity )
+      {
+        final int recordSize = buffer.getInt( _end );
+        if ( recordSize < HEADER_SIZE || recordSize > capacity - _end )
+        {
+          break;
+        }
+        add( buffer.getLong( _end + 4 ), recordSize );
+      }
+    }
+
+    void add( final long time, final int recordSize )
+    {
+      _lastTime = time;
+      _count++;
+      _end += recordSize;
+    }
+  }
+}
@@ -0,0 +1,107 @@
+package spritz;
+
+import java.nio.file.Path;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A ReplaySubject that records values in a {@link Journal} on disk rather than on the heap.
+ * Values are replayed to new subscribers by decoding them from the journal. As the journal is
+ * stored in a directory, a subject created over the directory used by an earlier subject will
+ * replay the values recorded by the earlier subject, including those recorded by a previous process.
+ *
+ * <p>The time of each value is recorded as the number of milliseconds since the epoch so that
+ * the maximum age of values is respected across process restarts.</p>
+ */
+@GwtIncompatible
+final class JournaledReplaySubject<T>
+  extends Subject<T>
+{
+  static final int DEFAULT_SEGMENT_SIZE = 1024 * 1024;
+  @Nonnull
+  private final ItemCodec<T> _codec;
+  @Nonnull
+  private final Journal _journal;
+  private final int _maxSize;
+  private final int _maxAge;
+  /**
+   * The offset added to the scheduler time to derive the number of milliseconds since the epoch.
+   */
+  private final long _epochOffset;
+
+  JournaledReplaySubject( @Nullable final String name,
+                          @Nonnull final Path directory,
+                          @Nonnull final ItemCodec<T> codec,
+                          final int segmentSize,
+                          final int maxSize,
+                          final int maxAge )
+  {
+    super( Spritz.areNamesEnabled() ?
+           generateName( name,
+                         "journaledReplaySubject",
+                         directory + "," +
+                         ( ReplaySubject.DEFAULT_VALUE == maxSize ? "unbound" : String.valueOf( maxSize ) ) + "," +
+                         ( ReplaySubject.DEFAULT_VALUE == maxAge ? "unbound" : String.valueOf( maxAge ) ) ) :
+           null );
+    assert maxSize > 0 || ReplaySubject.DEFAULT_VALUE == maxSize;
+    assert maxAge > 0 || ReplaySubject.DEFAULT_VALUE == maxAge;
+    _codec = Objects.requireNonNull( codec );
+    _journal = new Journal( directory, segmentSize );
+    _maxSize = maxSize;
+    _maxAge = maxAge;
+    _epochOffset = System.currentTimeMillis() - Scheduler.now();
+    _journal.retain( maxSize, getMinTime() );
+  }
+
+  @Override
+  void completeSubscribe( @Nonnull final DownstreamSubscription subscription )
+  {
+    final Subscriber<? super T> subscriber = subscription.getSubscriber();
+    final long skip = ReplaySubject.DEFAULT_VALUE == _maxSize ? 0 : Math.max( 0, _journal.size() - _maxSize );
+    _journal.read( skip, getMinTime(), ( time, data ) -> {
+      if ( isNotDone() && subscription.isNotDone() )
+      {
+        subscriber.onItem( _codec.decode( data ) );
+        return true;
+      }
+      else
+      {
+        return false;
+      }
+    } );
+  }
+
+  @Override
+  void downstreamNext( @Nonnull final T item )
+  {
+    _journal.append( _epochOffset + Scheduler.now(), _codec.encode( item ) );
+    _journal.retain( _maxSize, getMinTime() );
+    super.downstreamNext( item );
+  }
+
+  @Override
+  void performError( @Nonnull final Throwable error )
+  {
+    _journal.flush();
+    super.performError( error );
+  }
+
+  @Override
+  void performComplete()
+  {
+    _journal.flush();
+    super.performComplete();
+  }
+
+  @Nonnull
+  Journal getJournal()
+  {
+    return _journal;
+  }
+
+  private long getMinTime()
+  {
+    return ReplaySubject.DEFAULT_VALUE == _maxAge ? Long.MIN_VALUE : _epochOffset + Scheduler.now() - _maxAge;
+  }
+}
@@ -13,6 +13,7 @@ final class LastOperator<T>
     super( Spritz.areNamesEnabled() ? generateName( name, "last", String.valueOf( maxBufferSize ) ) : null, upstream );
     _maxBufferSize = maxBufferSize;
     assert maxBufferSize > 0;
+    warnIfUpstreamCannotComplete();
   }
 
   @Nonnull
@@ -27,18 +28,26 @@ final class LastOperator<T>
   private static final class WorkerSubscription<T>
     extends PassThroughSubscription<T, LastOperator<T>>
   {
-    @Nonnull
+    /**
+     * The buffer of the last items or null if the upstream stage never completes and thus the buffer
+     * would never be emitted.
+     */
+    @Nullable
     private final CircularBuffer<T> _buffer;
 
     WorkerSubscription( @Nonnull final LastOperator<T> stream, @Nonnull final Subscriber<? super T> subscriber )
     {
       super( stream, subscriber );
-      _buffer = new CircularBuffer<>( stream._maxBufferSize );
+      _buffer = stream.upstreamCanComplete() ? new CircularBuffer<>( stream._maxBufferSize ) : null;
     }
 
     @Override
     public void onItem( @Nonnull final T item )
     {
+      if ( null == _buffer )
+      {
+        return;
+      }
       if ( _buffer.size() == _buffer.getCapacity() )
       {
         _buffer.pop();
@@ -49,6 +58,7 @@ final class LastOperator<T>
     @Override
     public void onComplete()
     {
+      assert null != _buffer;
       T value;
       while ( null != ( value = _buffer.pop() ) )
       {
@@ -60,7 +70,10 @@ final class LastOperator<T>
     @Override
     public void onError( @Nonnull final Throwable error )
     {
-      _buffer.clear();
+      if ( null != _buffer )
+      {
+        _buffer.clear();
+      }
       super.onError( error );
     }
   }
@@ -15,6 +15,12 @@ final class LimitOperator<T>
     _count = count;
   }
 
+  @Override
+  boolean canComplete()
+  {
+    return true;
+  }
+
   @Nonnull
   @Override
   Subscription doSubscribe( @Nonnull final Subscriber<? super T> subscriber )
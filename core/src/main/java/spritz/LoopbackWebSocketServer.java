@@ -0,0 +1,452 @@
+package spritz;
+
+import elemental2.core.ArrayBuffer;
+import elemental2.dom.CloseEvent;
+import elemental2.dom.Event;
+import elemental2.dom.WebSocket;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import spritz.dom.WebSocketConfig;
+import zemeckis.Cancelable;
+import static org.realityforge.braincheck.Guards.*;
+
+/**
+ * An in-process stand-in for a WebSocket server that allows {@link Stream#webSocket(WebSocketConfig)} hubs
+ * to be exercised outside a browser. While the server is installed every socket created by a hub is
+ * connected to the server rather than the network and the test drives the socket via the {@link Connection}
+ * created for the socket.
+ *
+ * <p>Events are delivered synchronously on the thread that invokes the {@link Connection} method. A
+ * connection can also replay recorded messages at a fixed rate using the timers used by the time-based
+ * stream stages, so a replay can be driven by the {@link VirtualTimeScheduler} to simulate sustained load
+ * without waiting for real time to pass.</p>
+ *
+ * <pre>{@code
+ * final LoopbackWebSocketServer server = LoopbackWebSocketServer.install();
+ * try
+ * {
+ *   final WebSocketHub hub = Stream.webSocket( new WebSocketConfig( "ws://example.com" ) );
+ *   hub.forEach( System.out::println );
+ *   server.getConnection( 0 ).open();
+ *   server.getConnection( 0 ).sendText( "Hello" );
+ * }
+ * finally
+ * {
+ *   LoopbackWebSocketServer.uninstall();
+ * }
+ * }</pre>
+ */
+@GwtIncompatible
+public final class LoopbackWebSocketServer
+{
+  @Nonnull
+  private final List<Connection> _connections = new ArrayList<>();
+  /**
+   * Flag indicating whether connections are opened as soon as they are created.
+   */
+  private boolean _autoOpen;
+
+  /**
+   * Create a server and install it as the transport used by WebSocket hubs.
+   *
+   * @return the new server.
+   */
+  @Nonnull
+  public static LoopbackWebSocketServer install()
+  {
+    final LoopbackWebSocketServer server = new LoopbackWebSocketServer();
+    WebSocketSource.setTransport( server.new LoopbackTransport() );
+    return server;
+  }
+
+  /**
+   * Remove the currently installed server (if any) and restore the browser transport.
+   */
+  public static void uninstall()
+  {
+    WebSocketSource.setTransport( null );
+  }
+
+  /**
+   * Create the data for a {@link spritz.dom.WebSocketMessageRequest} that sends a text message.
+   * The browser representation of the data can not be created outside a browser so this method
+   * creates a placeholder that the server and the hub recognize as a text message.
+   *
+   * @param data the text.
+   * @return the data.
+   */
+  @Nonnull
+  public static WebSocket.SendDataUnionType text( @Nonnull final String data )
+  {
+    return new TextData( data );
+  }
+
+  private LoopbackWebSocketServer()
+  {
+  }
+
+  /**
+   * Specify whether connections are opened as soon as they are created.
+   * If false, connections remain connecting until {@link Connection#open()} is invoked.
+   *
+   * @param autoOpen true to open connections as soon as they are created.
+   */
+  public void setAutoOpen( final boolean autoOpen )
+  {
+    _autoOpen = autoOpen;
+  }
+
+  /**
+   * Return the connections created since the server was installed, in the order they were created.
+   *
+   * @return the connections.
+   */
+  @Nonnull
+  public List<Connection> getConnections()
+  {
+    return Collections.unmodifiableList( _connections );
+  }
+
+  /**
+   * Return the connection at the specified index.
+   *
+   * @param index the index of the connection.
+   * @return the connection.
+   */
+  @Nonnull
+  public Connection getConnection( final int index )
+  {
+    return _connections.get( index );
+  }
+
+  /**
+   * Return the number of connections that are connecting or open.
+   *
+   * @return the number of connections that are connecting or open.
+   */
+  public int getActiveConnectionCount()
+  {
+    int count = 0;
+    for ( final Connection connection : _connections )
+    {
+      if ( !connection.isClosed() )
+      {
+        count++;
+      }
+    }
+    return count;
+  }
+
+  /**
+   * The server side of a socket.
+   */
+  public static final class Connection
+  {
+    @Nonnull
+    private final WebSocketConfig _config;
+    @Nonnull
+    private final WebSocket _webSocket;
+    @Nonnull
+    private final WebSocketTransport.Listener _listener;
+    /**
+     * The messages received from the client. Text messages are recorded as strings.
+     */
+    @Nonnull
+    private final List<Object> _received = new ArrayList<>();
+    private boolean _open;
+    private boolean _closed;
+    private int _closeCode;
+    @Nullable
+    private String _closeReason;
+
+    Connection( @Nonnull final WebSocketConfig config,
+                @Nonnull final WebSocket webSocket,
+                @Nonnull final WebSocketTransport.Listener listener )
+    {
+      _config = Objects.requireNonNull( config );
+      _webSocket = Objects.requireNonNull( webSocket );
+      _listener = Objects.requireNonNull( listener );
+    }
+
+    @Nonnull
+    public String getUrl()
+    {
+      return _config.getUrl();
+    }
+
+    public boolean isOpen()
+    {
+      return _open;
+    }
+
+    public boolean isClosed()
+    {
+      return _closed;
+    }
+
+    /**
+     * Return the code passed when the client closed the connection, 0 if no code was passed
+     * or -1 if the client has not closed the connection.
+     *
+     * @return the close code.
+     */
+    public int getCloseCode()
+    {
+      return _closed ? _closeCode : -1;
+    }
+
+    @Nullable
+    public String getCloseReason()
+    {
+      return _closeReason;
+    }
+
+    /**
+     * Return the messages received from the client in the order they were received.
+     * Text messages are recorded as strings and other messages as the data passed to the socket.
+     *
+     * @return the messages received from the client.
+     */
+    @Nonnull
+    public List<Object> getReceived()
+    {
+      return Collections.unmodifiableList( _received );
+    }
+
+    /**
+     * Complete the connection handshake.
+     */
+    public void open()
+    {
+      ensureNotClosed();
+      if ( Spritz.shouldCheckApiInvariants() )
+      {
+        apiInvariant( () -> !_open,
+                      () -> "Spritz-0057: LoopbackWebSocketServer.Connection.open() invoked on connection to '" +
+                            getUrl() + "' but the connection is already open" );
+      }
+      _open = true;
+      _listener.onOpen();
+    }
+
+    /**
+     * Send a text message to the client.
+     *
+     * @param data the message.
+     */
+    public void sendText( @Nonnull final String data )
+    {
+      ensureOpen();
+      _listener.onStringMessage( data );
+    }
+
+    /**
+     * Send a binary message to the client.
+     *
+     * @param data the message.
+     */
+    public void sendBinary( @Nonnull final ArrayBuffer data )
+    {
+      ensureOpen();
+      _listener.onArrayBufferMessage( data );
+    }
+
+    /**
+     * Send each message to the client, sending {@code messagesPerPeriod} messages every {@code period}
+     * milliseconds. The replay stops early if the connection is closed.
+     *
+     * @param messages          the messages to send.
+     * @param period            the time in milliseconds between each group of messages.
+     * @param messagesPerPeriod the number of messages sent each period.
+     * @return the cancelable used to stop the replay.
+     */
+    @Nonnull
+    public Cancelable replay( @Nonnull final List<String> messages, final int period, final int messagesPerPeriod )
+    {
+      ensureOpen();
+      assert period > 0;
+      assert messagesPerPeriod > 0;
+      final int[] offset = new int[ 1 ];
+      final Cancelable[] task = new Cancelable[ 1 ];
+      task[ 0 ] = Scheduler.periodicTask( Spritz.areNamesEnabled() ? "Loopback[" + getUrl() + "].replay" : null,
+                                          () -> {
+                                            final int end = Math.min( messages.size(), offset[ 0 ] + messagesPerPeriod );
+                                            while ( _open && offset[ 0 ] < end )
+                                            {
+                                              _listener.onStringMessage( messages.get( offset[ 0 ]++ ) );
+                                            }
+                                            if ( !_open || offset[ 0 ] >= messages.size() )
+                                            {
+                                              task[ 0 ].cancel();
+                                            }
+                                          },
+                                          period );
+      return task[ 0 ];
+    }
+
+    /**
+     * Close the connection cleanly from the server.
+     *
+     * @param code   the close code.
+     * @param reason the close reason.
+     */
+    public void close( final int code, @Nonnull final String reason )
+    {
+      ensureNotClosed();
+      doClose( code, reason, true );
+    }
+
+    /**
+     * Fail the connection as occurs when the network connection is lost.
+     * The client receives an error event followed by a close event that was not clean.
+     */
+    public void fail()
+    {
+      ensureNotClosed();
+      _listener.onError( new Event( "error" ) );
+      doClose( 1006, "", false );
+    }
+
+    void receive( @Nonnull final Object data )
+    {
+      ensureOpen();
+      _received.add( data instanceof TextData ? ( (TextData) data )._data : data );
+    }
+
+    void closeFromClient( final int code, @Nullable final String reason )
+    {
+      if ( !_closed )
+      {
+        _closeCode = code;
+        _closeReason = reason;
+        doClose( 0 == code ? 1000 : code, null == reason ? "" : reason, true );
+      }
+    }
+
+    private void doClose( final int code, @Nonnull final String reason, final boolean wasClean )
+    {
+      _open = false;
+      _closed = true;
+      final CloseEvent event = new CloseEvent( "close" );
+      event.code = code;
+      event.reason = reason;
+      event.wasClean = wasClean;
+      _listener.onClose( event );
+    }
+
+    private void ensureOpen()
+    {
+      if ( Spritz.shouldCheckApiInvariants() )
+      {
+        apiInvariant( () -> _open,
+                      () -> "Spritz-0058: LoopbackWebSocketServer.Connection method invoked on connection to '" +
+                            getUrl() + "' but the connection is not open" );
+      }
+    }
+
+    private void ensureNotClosed()
+    {
+      if ( Spritz.shouldCheckApiInvariants() )
+      {
+        apiInvariant( () -> !_closed,
+                      () -> "Spritz-0059: LoopbackWebSocketServer.Connection method invoked on connection to '" +
+                            getUrl() + "' but the connection is closed" );
+      }
+    }
+  }
+
+  private final class LoopbackTransport
+    implements WebSocketTransport
+  {
+    @Nonnull
+    @Override
+    public WebSocket connect( @Nonnull final WebSocketConfig config, @Nonnull final Listener listener )
+    {
+      final WebSocket webSocket = new WebSocket( config.getUrl() );
+      final Connection connection = new Connection( config, webSocket, listener );
+      _connections.add( connection );
+      if ( _autoOpen )
+      {
+        // The listener must not be notified before connect returns so open the connection in a separate task
+        Scheduler.delayedTask( Spritz.areNamesEnabled() ? "Loopback[" + config.getUrl() + "].open" : null,
+                               () -> {
+                                 if ( !connection.isClosed() )
+                                 {
+                                   connection.open();
+                                 }
+                               },
+                               0 );
+      }
+      return webSocket;
+    }
+
+    @Override
+    public void send( @Nonnull final WebSocket webSocket, @Nonnull final WebSocket.SendDataUnionType data )
+    {
+      findConnection( webSocket ).receive( data );
+    }
+
+    @Override
+    public void sendText( @Nonnull final WebSocket webSocket, @Nonnull final String data )
+    {
+      findConnection( webSocket ).receive( data );
+    }
+
+    @Override
+    public void close( @Nonnull final WebSocket webSocket, final int code, @Nullable final String reason )
+    {
+      findConnection( webSocket ).closeFromClient( code, reason );
+    }
+
+    @Override
+    public boolean isOpenOrConnecting( @Nonnull final WebSocket webSocket )
+    {
+      return !findConnection( webSocket ).isClosed();
+    }
+
+    @Nonnull
+    private Connection findConnection( @Nonnull final WebSocket webSocket )
+    {
+      for ( final Connection connection : _connections )
+      {
+        if ( connection._webSocket == webSocket )
+        {
+          return connection;
+        }
+      }
+      throw new IllegalStateException( "Unknown WebSocket" );
+    }
+  }
+
+  /**
+   * Placeholder for text data sent by the client.
+   * The union type methods are overridden as the default implementations rely on the JavaScript type of the data.
+   */
+  private static final class TextData
+    implements WebSocket.SendDataUnionType
+  {
+    @Nonnull
+    private final String _data;
+
+    TextData( @Nonnull final String data )
+    {
+      _data = Objects.requireNonNull( data );
+    }
+
+    @Override
+    public boolean isString()
+    {
+      return true;
+    }
+
+    @Override
+    public String asString()
+    {
+      return _data;
+    }
+  }
+}
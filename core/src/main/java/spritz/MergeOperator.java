@@ -20,6 +20,18 @@ final class MergeOperator<T>
     assert maxConcurrency > 0;
   }
 
+  @Override
+  boolean canComplete()
+  {
+    return true;
+  }
+
+  @Override
+  boolean canError()
+  {
+    return true;
+  }
+
   @Nonnull
   @Override
   Subscription doSubscribe( @Nonnull final Subscriber<? super T> subscriber )
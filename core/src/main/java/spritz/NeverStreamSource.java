@@ -11,14 +11,33 @@ final class NeverStreamSource<T>
     super( Spritz.areNamesEnabled() ? generateName( name, "never" ) : null );
   }
 
+  @Override
+  boolean canComplete()
+  {
+    return false;
+  }
+
+  @Override
+  boolean canError()
+  {
+    return false;
+  }
+
   @Nonnull
   @Override
   Subscription doSubscribe( @Nonnull final Subscriber<? super T> subscriber )
   {
-    final PassThroughSubscription<T, NeverStreamSource<T>> subscription =
-      new PassThroughSubscription<>( this, subscriber );
+    final WorkerSubscription<T> subscription = new WorkerSubscription<>( this, subscriber );
     subscriber.onSubscribe( subscription );
     return subscription;
+  }
 
+  private static final class WorkerSubscription<T>
+    extends AbstractStreamSubscription<T, NeverStreamSource<T>>
+  {
+    WorkerSubscription( @Nonnull final NeverStreamSource<T> stream, @Nonnull final Subscriber<? super T> subscriber )
+    {
+      super( stream, subscriber );
+    }
   }
 }
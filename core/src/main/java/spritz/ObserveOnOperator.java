@@ -1,23 +1,45 @@
 package spritz;
 
 import java.util.Objects;
+import java.util.function.BinaryOperator;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import zemeckis.VirtualProcessorUnit;
 
+/**
+ * Emit signals and items on a {@link VirtualProcessorUnit}.
+ * Items received while a task is pending on the VPU are either buffered until the task runs or, if a
+ * conflate function is supplied, merged into a single pending item so that a slow consumer only sees
+ * the freshest value rather than a growing queue of items.
+ */
 final class ObserveOnOperator<T>
   extends AbstractStream<T, T>
 {
   @Nonnull
   private final VirtualProcessorUnit _virtualProcessorUnit;
+  /**
+   * The function that merges an item received into the item pending delivery or null if every item is delivered.
+   */
+  @Nullable
+  private final BinaryOperator<T> _conflateFn;
 
   ObserveOnOperator( @Nullable final String name,
                      @Nonnull final Stream<T> upstream,
                      @Nonnull final VirtualProcessorUnit virtualProcessorUnit )
   {
-    super( Spritz.areNamesEnabled() ? generateName( name, "observeOn", virtualProcessorUnit.getName() ) : null,
+    this( name, "observeOn", upstream, virtualProcessorUnit, null );
+  }
+
+  ObserveOnOperator( @Nullable final String name,
+                     @Nonnull final String operatorName,
+                     @Nonnull final Stream<T> upstream,
+                     @Nonnull final VirtualProcessorUnit virtualProcessorUnit,
+                     @Nullable final BinaryOperator<T> conflateFn )
+  {
+    super( Spritz.areNamesEnabled() ? generateName( name, operatorName, virtualProcessorUnit.getName() ) : null,
            upstream );
     _virtualProcessorUnit = Objects.requireNonNull( virtualProcessorUnit );
+    _conflateFn = conflateFn;
   }
 
   @Nonnull
@@ -33,13 +55,21 @@ final class ObserveOnOperator<T>
     extends PassThroughSubscription<T, ObserveOnOperator<T>>
   {
     static final int INITIAL_CAPACITY = 10;
-    @Nullable
-    private Subscription _subscription;
+    private boolean _subscribePending;
     @Nullable
     private CircularBuffer<T> _buffer;
+    /**
+     * The item pending delivery when items are conflated.
+     */
+    @Nullable
+    private T _pendingItem;
     @Nullable
     private Throwable _error;
     private boolean _complete;
+    /**
+     * True if a task to emit items and signals is queued on the VPU.
+     */
+    private boolean _observeScheduled;
 
     WorkerSubscription( @Nonnull final ObserveOnOperator<T> stream, @Nonnull final Subscriber<? super T> subscriber )
     {
@@ -49,18 +79,28 @@ final class ObserveOnOperator<T>
     @Override
     public void onSubscribe( @Nonnull final Subscription subscription )
     {
-      _subscription = subscription;
+      // Set the upstream immediately so that downstream can cancel before the subscribe signal is delivered
+      setUpstream( subscription );
+      _subscribePending = true;
       scheduleObserve();
     }
 
     @Override
     public void onItem( @Nonnull final T item )
     {
-      if ( null == _buffer )
+      final BinaryOperator<T> conflateFn = getStream()._conflateFn;
+      if ( null != conflateFn )
+      {
+        _pendingItem = null == _pendingItem ? item : conflateFn.apply( _pendingItem, item );
+      }
+      else
       {
-        _buffer = new CircularBuffer<>( INITIAL_CAPACITY );
+        if ( null == _buffer )
+        {
+          _buffer = new CircularBuffer<>( INITIAL_CAPACITY );
+        }
+        _buffer.add( item );
       }
-      _buffer.add( item );
       scheduleObserve();
     }
 
@@ -78,9 +118,19 @@ final class ObserveOnOperator<T>
       scheduleObserve();
     }
 
+    /**
+     * Queue a task to emit items and signals unless a task is already queued.
+     * A single queued task emits every item and signal received before it runs.
+     */
     private void scheduleObserve()
     {
-      getStream()._virtualProcessorUnit.queue( Spritz.areNamesEnabled() ? getStream().getName() : null, this::observe );
+      if ( !_observeScheduled )
+      {
+        _observeScheduled = true;
+        Scheduler.queue( getStream()._virtualProcessorUnit,
+                         Spritz.areNamesEnabled() ? getStream().getName() : null,
+                         this::observe );
+      }
     }
 
     /**
@@ -89,25 +139,39 @@ final class ObserveOnOperator<T>
      */
     private void observe()
     {
-      if ( null != _subscription )
+      _observeScheduled = false;
+      if ( _subscribePending )
       {
-        super.onSubscribe( _subscription );
+        _subscribePending = false;
+        getSubscriber().onSubscribe( this );
       }
       if ( null != _buffer )
       {
         T item;
-        while ( null != ( item = _buffer.pop() ) )
+        while ( isNotDone() && null != ( item = _buffer.pop() ) )
         {
           super.onItem( item );
         }
       }
-      if ( null != _error )
+      if ( null != _pendingItem )
       {
-        super.onError( _error );
+        final T item = _pendingItem;
+        _pendingItem = null;
+        if ( isNotDone() )
+        {
+          super.onItem( item );
+        }
       }
-      else if ( _complete )
+      if ( isNotDone() )
       {
-        super.onComplete();
+        if ( null != _error )
+        {
+          super.onError( _error );
+        }
+        else if ( _complete )
+        {
+          super.onComplete();
+        }
       }
     }
   }
@@ -17,6 +17,13 @@ final class OnErrorResumeWithOperator<T>
   {
     super( Spritz.areNamesEnabled() ? generateName( name, "onErrorResumeWith" ) : null, upstream );
     _streamFromErrorFn = Objects.requireNonNull( streamFromErrorFn );
+    warnIfUpstreamCannotError();
+  }
+
+  @Override
+  boolean canComplete()
+  {
+    return upstreamCanComplete() || upstreamCanError();
   }
 
   @Nonnull
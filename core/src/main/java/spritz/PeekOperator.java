@@ -54,26 +54,130 @@ final class PeekOperator<T>
     _afterCancel = afterCancel;
   }
 
+  /**
+   * Create a stream that peeks at the signals of the upstream stream.
+   * If the upstream stream is also a PeekOperator then the hooks are merged into a single
+   * stage rather than creating an additional stage. The hooks are ordered in the merged stage
+   * so that they are invoked in the same order as if the stages were chained.
+   */
+  @Nonnull
+  static <T> PeekOperator<T> create( @Nullable final String name,
+                                     @Nonnull final Stream<T> upstream,
+                                     @Nullable final Consumer<Subscription> onSubscription,
+                                     @Nullable final Consumer<Subscription> afterSubscription,
+                                     @Nullable final Consumer<? super T> onItem,
+                                     @Nullable final Consumer<? super T> afterItem,
+                                     @Nullable final Consumer<Throwable> onError,
+                                     @Nullable final Consumer<Throwable> afterError,
+                                     @Nullable final Runnable onComplete,
+                                     @Nullable final Runnable afterComplete,
+                                     @Nullable final Runnable onCancel,
+                                     @Nullable final Runnable afterCancel )
+  {
+    if ( upstream instanceof PeekOperator )
+    {
+      final PeekOperator<T> prev = (PeekOperator<T>) upstream;
+      // The merged name retains the name of both stages so that the qualified name is unchanged
+      return new PeekOperator<>( Spritz.areNamesEnabled() ? prev.getName() + "." + name : null,
+                                 prev.getUpstream(),
+                                 chain( prev._onSubscription, onSubscription ),
+                                 chain( afterSubscription, prev._afterSubscription ),
+                                 chain( prev._onItem, onItem ),
+                                 chain( afterItem, prev._afterItem ),
+                                 chain( prev._onError, onError ),
+                                 chain( afterError, prev._afterError ),
+                                 chain( prev._onComplete, onComplete ),
+                                 chain( afterComplete, prev._afterComplete ),
+                                 chain( onCancel, prev._onCancel ),
+                                 chain( prev._afterCancel, afterCancel ) );
+    }
+    else
+    {
+      return new PeekOperator<>( name,
+                                 upstream,
+                                 onSubscription,
+                                 afterSubscription,
+                                 onItem,
+                                 afterItem,
+                                 onError,
+                                 afterError,
+                                 onComplete,
+                                 afterComplete,
+                                 onCancel,
+                                 afterCancel );
+    }
+  }
+
+  @Nullable
+  private static <T> Consumer<T> chain( @Nullable final Consumer<? super T> first,
+                                        @Nullable final Consumer<? super T> second )
+  {
+    if ( null == first && null == second )
+    {
+      return null;
+    }
+    else if ( null == second )
+    {
+      return first::accept;
+    }
+    else if ( null == first )
+    {
+      return second::accept;
+    }
+    else
+    {
+      return v -> {
+        first.accept( v );
+        second.accept( v );
+      };
+    }
+  }
+
+  @Nullable
+  private static Runnable chain( @Nullable final Runnable first, @Nullable final Runnable second )
+  {
+    if ( null == first )
+    {
+      return second;
+    }
+    else if ( null == second )
+    {
+      return first;
+    }
+    else
+    {
+      return () -> {
+        first.run();
+        second.run();
+      };
+    }
+  }
+
   @Nonnull
   @Override
   Subscription doSubscribe( @Nonnull final Subscriber<? super T> subscriber )
   {
-    final WorkerSubscription<T> subscription = new WorkerSubscription<>( this, subscriber );
+    final SignalWorkerSubscription<T> subscription =
+      null == _onItem && null == _afterItem ?
+      new SignalWorkerSubscription<>( this, subscriber ) :
+      new WorkerSubscription<>( this, subscriber );
     getUpstream().subscribe( subscription );
     return subscription;
   }
 
-  private static final class WorkerSubscription<T>
+  /**
+   * The subscription used when no item hooks are present and thus items are passed through unchanged.
+   */
+  private static class SignalWorkerSubscription<T>
     extends PassThroughSubscription<T, PeekOperator<T>>
-    implements Subscriber<T>
   {
-    WorkerSubscription( @Nonnull final PeekOperator<T> stream, @Nonnull final Subscriber<? super T> subscriber )
+    SignalWorkerSubscription( @Nonnull final PeekOperator<T> stream, @Nonnull final Subscriber<? super T> subscriber )
     {
       super( stream, subscriber );
     }
 
     @Override
-    public void onSubscribe( @Nonnull final Subscription subscription )
+    public final void onSubscribe( @Nonnull final Subscription subscription )
     {
       setUpstream( subscription );
       final Consumer<Subscription> onSubscription = getStream()._onSubscription;
@@ -90,23 +194,7 @@ final class PeekOperator<T>
     }
 
     @Override
-    public void onItem( @Nonnull final T item )
-    {
-      final Consumer<? super T> onItem = getStream()._onItem;
-      if ( null != onItem )
-      {
-        onItem.accept( item );
-      }
-      super.onItem( item );
-      final Consumer<? super T> afterNext = getStream()._afterItem;
-      if ( null != afterNext )
-      {
-        afterNext.accept( item );
-      }
-    }
-
-    @Override
-    public void onError( @Nonnull final Throwable error )
+    public final void onError( @Nonnull final Throwable error )
     {
       markAsDone();
       final Consumer<Throwable> onError = getStream()._onError;
@@ -123,7 +211,7 @@ final class PeekOperator<T>
     }
 
     @Override
-    public void onComplete()
+    public final void onComplete()
     {
       markAsDone();
       final Runnable onComplete = getStream()._onComplete;
@@ -155,4 +243,29 @@ final class PeekOperator<T>
       }
     }
   }
+
+  private static final class WorkerSubscription<T>
+    extends SignalWorkerSubscription<T>
+  {
+    WorkerSubscription( @Nonnull final PeekOperator<T> stream, @Nonnull final Subscriber<? super T> subscriber )
+    {
+      super( stream, subscriber );
+    }
+
+    @Override
+    public void onItem( @Nonnull final T item )
+    {
+      final Consumer<? super T> onItem = getStream()._onItem;
+      if ( null != onItem )
+      {
+        onItem.accept( item );
+      }
+      super.onItem( item );
+      final Consumer<? super T> afterNext = getStream()._afterItem;
+      if ( null != afterNext )
+      {
+        afterNext.accept( item );
+      }
+    }
+  }
 }
@@ -17,6 +17,18 @@ final class PeriodicStreamSource
     _period = period;
   }
 
+  @Override
+  boolean canComplete()
+  {
+    return false;
+  }
+
+  @Override
+  boolean canError()
+  {
+    return false;
+  }
+
   @Nonnull
   @Override
   Subscription doSubscribe( @Nonnull final Subscriber<? super Integer> subscriber )
@@ -42,9 +54,9 @@ final class PeriodicStreamSource
 
     synchronized void startTimer()
     {
-      _task = Zemeckis.periodicTask( Spritz.areNamesEnabled() ? getStream().getName() : null,
-                                     this::pushItem,
-                                     getStream()._period );
+      _task = Scheduler.periodicTask( Spritz.areNamesEnabled() ? getStream().getName() : null,
+                                      this::pushItem,
+                                      getStream()._period );
     }
 
     synchronized void pushItem()
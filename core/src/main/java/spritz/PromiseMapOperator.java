@@ -0,0 +1,211 @@
+package spritz;
+
+import elemental2.promise.Promise;
+import java.util.Objects;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import zemeckis.Zemeckis;
+
+/**
+ * Map each item to a promise and emit the values that the promises resolve to.
+ * This is equivalent to mapping each item to a stream created by {@link Stream#fromPromise(Promise)} and
+ * merging or switching between the streams, but avoids creating a stream and an inner subscription for
+ * each item. Promises can not be cancelled so the result of a promise is ignored if the subscription was
+ * cancelled or, when switching, a later item was received before the promise settled.
+ */
+final class PromiseMapOperator<UpstreamT, DownstreamT>
+  extends AbstractStream<UpstreamT, DownstreamT>
+{
+  @Nonnull
+  private final Function<UpstreamT, Promise<DownstreamT>> _mapper;
+  /**
+   * The maximum number of promises that can be pending at one time. Ignored when switching.
+   */
+  private final int _maxConcurrency;
+  /**
+   * True if the result of a pending promise should be ignored when a later item is received.
+   */
+  private final boolean _switch;
+
+  PromiseMapOperator( @Nonnull final Stream<UpstreamT> upstream,
+                      @Nonnull final Function<UpstreamT, Promise<DownstreamT>> mapper,
+                      final int maxConcurrency,
+                      final boolean switchToLatest )
+  {
+    super( Spritz.areNamesEnabled() ?
+           switchToLatest ?
+           generateName( null, "switchMapPromise" ) :
+           generateName( null, "mergeMapPromise", String.valueOf( maxConcurrency ) ) :
+           null,
+           upstream );
+    assert maxConcurrency > 0;
+    _mapper = Objects.requireNonNull( mapper );
+    _maxConcurrency = maxConcurrency;
+    _switch = switchToLatest;
+  }
+
+  @Override
+  boolean canError()
+  {
+    return true;
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final Subscriber<? super DownstreamT> subscriber )
+  {
+    final WorkerSubscription<UpstreamT, DownstreamT> subscription = new WorkerSubscription<>( this, subscriber );
+    getUpstream().subscribe( subscription );
+    return subscription;
+  }
+
+  private static final class WorkerSubscription<UpstreamT, DownstreamT>
+    extends AbstractOperatorSubscription<UpstreamT, DownstreamT, PromiseMapOperator<UpstreamT, DownstreamT>>
+  {
+    /**
+     * The items that have been received from upstream but have yet to be mapped as too many promises are pending.
+     */
+    @Nullable
+    private CircularBuffer<UpstreamT> _pendingItems;
+    /**
+     * The number of promises that are pending.
+     */
+    private int _activeCount;
+    /**
+     * The sequence number of the last promise created. Used when switching to ignore earlier promises.
+     */
+    private int _sequence;
+    /**
+     * Flag indicating that the upstream has completed. If the upstream has completed and there
+     * are no pending promises or items then the downstream is completed.
+     */
+    private boolean _upstreamCompleted;
+
+    WorkerSubscription( @Nonnull final PromiseMapOperator<UpstreamT, DownstreamT> stream,
+                        @Nonnull final Subscriber<? super DownstreamT> subscriber )
+    {
+      super( stream, subscriber );
+    }
+
+    @Override
+    public void onItem( @Nonnull final UpstreamT item )
+    {
+      final PromiseMapOperator<UpstreamT, DownstreamT> stream = getStream();
+      if ( stream._switch )
+      {
+        // Any pending promise is superseded and its result will be ignored
+        _activeCount = 1;
+        mapItem( item );
+      }
+      else if ( _activeCount < stream._maxConcurrency )
+      {
+        _activeCount++;
+        mapItem( item );
+      }
+      else
+      {
+        if ( null == _pendingItems )
+        {
+          _pendingItems = new CircularBuffer<>( 10 );
+        }
+        _pendingItems.add( item );
+      }
+    }
+
+    @Override
+    public void onComplete()
+    {
+      _upstreamCompleted = true;
+      if ( 0 == _activeCount )
+      {
+        super.onComplete();
+      }
+    }
+
+    private void mapItem( @Nonnull final UpstreamT item )
+    {
+      final int sequence = ++_sequence;
+      final Promise<DownstreamT> promise;
+      try
+      {
+        promise = Objects.requireNonNull( getStream()._mapper.apply( item ) );
+      }
+      catch ( final Throwable t )
+      {
+        terminate( t );
+        return;
+      }
+      promise.then( value -> {
+        onResolve( sequence, value );
+        return null;
+      }, reason -> {
+        onReject( sequence, reason );
+        return null;
+      } );
+    }
+
+    private boolean isStale( final int sequence )
+    {
+      return isDone() || ( getStream()._switch && sequence != _sequence );
+    }
+
+    private void onResolve( final int sequence, @Nullable final DownstreamT value )
+    {
+      if ( !isStale( sequence ) )
+      {
+        if ( null != value )
+        {
+          try
+          {
+            getSubscriber().onItem( value );
+          }
+          catch ( final Throwable t )
+          {
+            Zemeckis.reportUncaughtError( t );
+          }
+        }
+        if ( isNotDone() )
+        {
+          _activeCount--;
+          final UpstreamT nextItem = null != _pendingItems ? _pendingItems.pop() : null;
+          if ( null != nextItem )
+          {
+            _activeCount++;
+            mapItem( nextItem );
+          }
+          else if ( _upstreamCompleted && 0 == _activeCount )
+          {
+            super.onComplete();
+          }
+        }
+      }
+    }
+
+    private void onReject( final int sequence, @Nullable final Object reason )
+    {
+      if ( !isStale( sequence ) )
+      {
+        terminate( PromiseSource.toError( reason ) );
+      }
+    }
+
+    /**
+     * Cancel the upstream, discard any items that have yet to be mapped and emit the error downstream.
+     *
+     * @param error the error.
+     */
+    private void terminate( @Nonnull final Throwable error )
+    {
+      if ( !_upstreamCompleted )
+      {
+        getUpstream().cancel();
+      }
+      if ( null != _pendingItems )
+      {
+        _pendingItems.clear();
+      }
+      super.onError( error );
+    }
+  }
+}
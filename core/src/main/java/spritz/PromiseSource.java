@@ -0,0 +1,103 @@
+package spritz;
+
+import elemental2.promise.Promise;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import spritz.dom.PromiseRejectedException;
+import zemeckis.Zemeckis;
+
+/**
+ * A source that emits the value that a promise resolves to and then completes.
+ * A promise that resolves to null or undefined completes without emitting an item.
+ */
+final class PromiseSource<T>
+  extends Stream<T>
+{
+  @Nonnull
+  private final Promise<T> _promise;
+
+  PromiseSource( @Nullable final String name, @Nonnull final Promise<T> promise )
+  {
+    super( Spritz.areNamesEnabled() ? generateName( name, "fromPromise" ) : null );
+    _promise = Objects.requireNonNull( promise );
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final Subscriber<? super T> subscriber )
+  {
+    final WorkerSubscription<T> subscription = new WorkerSubscription<>( this, subscriber );
+    subscriber.onSubscribe( subscription );
+    if ( subscription.isNotDone() )
+    {
+      _promise.then( value -> {
+        subscription.onResolve( value );
+        return null;
+      }, reason -> {
+        subscription.onReject( reason );
+        return null;
+      } );
+    }
+    return subscription;
+  }
+
+  /**
+   * Convert the value that a promise was rejected with into an error.
+   *
+   * @param reason the rejection reason.
+   * @return the error.
+   */
+  @Nonnull
+  static Throwable toError( @Nullable final Object reason )
+  {
+    return reason instanceof Throwable ? (Throwable) reason : new PromiseRejectedException( reason );
+  }
+
+  private static final class WorkerSubscription<T>
+    extends AbstractStreamSubscription<T, PromiseSource<T>>
+  {
+    WorkerSubscription( @Nonnull final PromiseSource<T> stream, @Nonnull final Subscriber<? super T> subscriber )
+    {
+      super( stream, subscriber );
+    }
+
+    void onResolve( @Nullable final T value )
+    {
+      // A promise can not be cancelled so the callbacks of a cancelled subscription are ignored
+      if ( isNotDone() )
+      {
+        try
+        {
+          if ( null != value )
+          {
+            getSubscriber().onItem( value );
+          }
+          if ( isNotDone() )
+          {
+            markAsDone();
+            getSubscriber().onComplete();
+          }
+        }
+        catch ( final Throwable t )
+        {
+          Zemeckis.reportUncaughtError( t );
+        }
+      }
+    }
+
+    void onReject( @Nullable final Object reason )
+    {
+      if ( isNotDone() )
+      {
+        markAsDone();
+        getSubscriber().onError( toError( reason ) );
+      }
+    }
+
+    @Override
+    void doCancel()
+    {
+    }
+  }
+}
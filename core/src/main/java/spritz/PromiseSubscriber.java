@@ -0,0 +1,55 @@
+package spritz;
+
+import elemental2.promise.Promise;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A subscriber that resolves a promise with the first item emitted by the stream.
+ * The promise is resolved with null if the stream completes without emitting an item and
+ * rejected with the error if the stream emits an error.
+ */
+final class PromiseSubscriber<T>
+  implements Subscriber<T>
+{
+  @Nonnull
+  private final Promise.PromiseExecutorCallbackFn.ResolveCallbackFn<T> _resolve;
+  @Nonnull
+  private final Promise.PromiseExecutorCallbackFn.RejectCallbackFn _reject;
+  @Nullable
+  private Subscription _subscription;
+
+  PromiseSubscriber( @Nonnull final Promise.PromiseExecutorCallbackFn.ResolveCallbackFn<T> resolve,
+                     @Nonnull final Promise.PromiseExecutorCallbackFn.RejectCallbackFn reject )
+  {
+    _resolve = Objects.requireNonNull( resolve );
+    _reject = Objects.requireNonNull( reject );
+  }
+
+  @Override
+  public void onSubscribe( @Nonnull final Subscription subscription )
+  {
+    _subscription = subscription;
+  }
+
+  @Override
+  public void onItem( @Nonnull final T item )
+  {
+    assert null != _subscription;
+    _subscription.cancel();
+    _resolve.onInvoke( item );
+  }
+
+  @Override
+  public void onError( @Nonnull final Throwable error )
+  {
+    _reject.onInvoke( error );
+  }
+
+  @Override
+  public void onComplete()
+  {
+    _resolve.onInvoke( (T) null );
+  }
+}
@@ -0,0 +1,123 @@
+package spritz;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.reactivestreams.Publisher;
+
+/**
+ * A source that subscribes to a Reactive Streams {@link Publisher} and emits the items it publishes.
+ * The source requests items in batches of {@code prefetch} items and requests more items once
+ * three quarters of the batch has been emitted. Items are emitted downstream as they arrive as
+ * Spritz has no concept of demand.
+ */
+@GwtIncompatible
+final class PublisherStreamSource<T>
+  extends Stream<T>
+{
+  @Nonnull
+  private final Publisher<T> _publisher;
+  private final int _prefetch;
+
+  PublisherStreamSource( @Nullable final String name, @Nonnull final Publisher<T> publisher, final int prefetch )
+  {
+    super( Spritz.areNamesEnabled() ? generateName( name, "fromPublisher", String.valueOf( prefetch ) ) : null );
+    assert prefetch > 0;
+    _publisher = Objects.requireNonNull( publisher );
+    _prefetch = prefetch;
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final Subscriber<? super T> subscriber )
+  {
+    final WorkerSubscription<T> subscription = new WorkerSubscription<>( this, subscriber );
+    subscriber.onSubscribe( subscription );
+    if ( subscription.isNotDone() )
+    {
+      _publisher.subscribe( subscription );
+    }
+    return subscription;
+  }
+
+  private static final class WorkerSubscription<T>
+    extends AbstractStreamSubscription<T, PublisherStreamSource<T>>
+    implements org.reactivestreams.Subscriber<T>
+  {
+    /**
+     * The number of items to emit before requesting the next batch.
+     */
+    private final int _replenishThreshold;
+    @Nullable
+    private org.reactivestreams.Subscription _upstream;
+    /**
+     * The number of items emitted since the last request.
+     */
+    private int _consumed;
+
+    WorkerSubscription( @Nonnull final PublisherStreamSource<T> stream, @Nonnull final Subscriber<? super T> subscriber )
+    {
+      super( stream, subscriber );
+      _replenishThreshold = Math.max( 1, stream._prefetch - ( stream._prefetch >> 2 ) );
+    }
+
+    @Override
+    public synchronized void onSubscribe( @Nonnull final org.reactivestreams.Subscription subscription )
+    {
+      if ( null != _upstream || isDone() )
+      {
+        // Rule 2.5: Cancel any subscription that arrives after the first or after we have been cancelled
+        subscription.cancel();
+      }
+      else
+      {
+        _upstream = subscription;
+        subscription.request( getStream()._prefetch );
+      }
+    }
+
+    @Override
+    public synchronized void onNext( @Nonnull final T item )
+    {
+      if ( isNotDone() )
+      {
+        getSubscriber().onItem( item );
+        if ( isNotDone() && ++_consumed >= _replenishThreshold )
+        {
+          assert null != _upstream;
+          _upstream.request( _consumed );
+          _consumed = 0;
+        }
+      }
+    }
+
+    @Override
+    public synchronized void onError( @Nonnull final Throwable error )
+    {
+      if ( isNotDone() )
+      {
+        markAsDone();
+        getSubscriber().onError( error );
+      }
+    }
+
+    @Override
+    public synchronized void onComplete()
+    {
+      if ( isNotDone() )
+      {
+        markAsDone();
+        getSubscriber().onComplete();
+      }
+    }
+
+    @Override
+    synchronized void doCancel()
+    {
+      if ( null != _upstream )
+      {
+        _upstream.cancel();
+      }
+    }
+  }
+}
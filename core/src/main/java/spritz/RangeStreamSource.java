@@ -2,6 +2,7 @@ package spritz;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import zemeckis.VirtualProcessorUnit;
 
 /**
  * A synchronous implementation of the {@link spritz.Stream} that can
@@ -19,6 +20,15 @@ final class RangeStreamSource
    * The number of items to emit.
    */
   private final int _count;
+  /**
+   * The VirtualProcessorUnit on which subsequent chunks are emitted or null if all items are emitted synchronously.
+   */
+  @Nullable
+  private final VirtualProcessorUnit _virtualProcessorUnit;
+  /**
+   * The maximum number of items emitted per task when {@link #_virtualProcessorUnit} is specified.
+   */
+  private final int _chunkSize;
 
   /**
    * Constructs a RangeStreamSource instance with the given start and count values
@@ -28,11 +38,39 @@ final class RangeStreamSource
    * @param count the number of items to emit
    */
   RangeStreamSource( @Nullable final String name, final int start, final int count )
+  {
+    this( name, start, count, null, 0 );
+  }
+
+  /**
+   * Constructs a RangeStreamSource instance with the given start and count values
+   * that yields a sequence of [start, start + count) emitting at most chunkSize
+   * items per task on the specified VirtualProcessorUnit.
+   *
+   * @param start                the starting value of the range
+   * @param count                the number of items to emit
+   * @param virtualProcessorUnit the VirtualProcessorUnit on which to emit subsequent chunks or null to emit all items synchronously.
+   * @param chunkSize            the maximum number of items to emit per task.
+   */
+  RangeStreamSource( @Nullable final String name,
+                     final int start,
+                     final int count,
+                     @Nullable final VirtualProcessorUnit virtualProcessorUnit,
+                     final int chunkSize )
   {
     super( Spritz.areNamesEnabled() ? generateName( name, "range", start + ", " + count ) : null );
     assert count >= 0;
+    assert null == virtualProcessorUnit || chunkSize > 0;
     _start = start;
     _count = count;
+    _virtualProcessorUnit = virtualProcessorUnit;
+    _chunkSize = chunkSize;
+  }
+
+  @Override
+  boolean canError()
+  {
+    return false;
   }
 
   @Nonnull
@@ -48,26 +86,42 @@ final class RangeStreamSource
   private static final class WorkerSubscription
     extends AbstractStreamSubscription<Integer, RangeStreamSource>
   {
+    /**
+     * The next value to emit.
+     */
+    private int _current;
+
     WorkerSubscription( @Nonnull final RangeStreamSource stream, @Nonnull final Subscriber<? super Integer> subscriber )
     {
       super( stream, subscriber );
+      _current = stream._start;
     }
 
     void pushData()
     {
       final RangeStreamSource stream = getStream();
-      final int start = stream._start;
-      final int end = start + stream._count - 1;
-      int current = start;
-      while ( current <= end && isNotDone() )
+      final int end = stream._start + stream._count - 1;
+      final int chunkEnd =
+        null == stream._virtualProcessorUnit ? end : Math.min( end, _current + stream._chunkSize - 1 );
+      while ( _current <= chunkEnd && isNotDone() )
       {
-        final int value = current;
-        current++;
+        final int value = _current;
+        _current++;
         getSubscriber().onItem( value );
       }
       if ( isNotDone() )
       {
-        getSubscriber().onComplete();
+        if ( _current <= end )
+        {
+          assert null != stream._virtualProcessorUnit;
+          Scheduler.queue( stream._virtualProcessorUnit,
+                           Spritz.areNamesEnabled() ? stream.getName() : null,
+                           this::pushData );
+        }
+        else
+        {
+          getSubscriber().onComplete();
+        }
       }
     }
   }
@@ -2,83 +2,117 @@ package spritz;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import zemeckis.Cancelable;
 
 final class RefCountOperator<T>
   extends AbstractStream<T, T>
 {
-  RefCountOperator( @Nullable final String name, @Nonnull final ConnectableStream<T> upstream )
+  /**
+   * The time to wait after the last subscriber leaves before disconnecting upstream.
+   */
+  private final int _gracePeriod;
+  /**
+   * The task that will disconnect upstream when the grace period expires, if any.
+   */
+  @Nullable
+  private Cancelable _pendingDisconnect;
+
+  RefCountOperator( @Nullable final String name, @Nonnull final ConnectableStream<T> upstream, final int gracePeriod )
   {
-    super( Spritz.areNamesEnabled() ? generateName( name, "refCount" ) : null, upstream );
+    super( Spritz.areNamesEnabled() ?
+           generateName( name, "refCount", 0 == gracePeriod ? null : String.valueOf( gracePeriod ) ) :
+           null,
+           upstream );
+    assert gracePeriod >= 0;
+    _gracePeriod = gracePeriod;
   }
 
   @Nonnull
   @Override
   Subscription doSubscribe( @Nonnull final Subscriber<? super T> subscriber )
   {
+    cancelPendingDisconnect();
     final WorkerSubscription<T> subscription = new WorkerSubscription<>( this, subscriber );
     getUpstream().subscribe( subscription );
+    // Connect once the hub has added the subscriber so that items emitted synchronously when connecting
+    // are delivered to the subscriber. A hub that has terminated has replayed its terminal signal to the
+    // subscriber so it must not be reconnected.
+    final ConnectableStream<T> stream = getConnectableStream();
+    if ( subscription.isNotDone() && !stream.isConnected() && !stream.getHub().isDone() )
+    {
+      stream.connect();
+    }
     return subscription;
   }
 
-  private static final class WorkerSubscription<T>
-    extends PassThroughSubscription<T, RefCountOperator<T>>
+  @Nonnull
+  private ConnectableStream<T> getConnectableStream()
   {
-    WorkerSubscription( @Nonnull final RefCountOperator<T> stream,
-                        @Nonnull final Subscriber<? super T> subscriber )
+    return (ConnectableStream<T>) getUpstream();
+  }
+
+  private void cancelPendingDisconnect()
+  {
+    if ( null != _pendingDisconnect )
     {
-      super( stream, subscriber );
+      _pendingDisconnect.cancel();
+      _pendingDisconnect = null;
     }
+  }
 
-    @Override
-    public void onSubscribe( @Nonnull final Subscription subscription )
+  private void disconnectIfUnused( final boolean terminated )
+  {
+    final ConnectableStream<T> stream = getConnectableStream();
+    if ( stream.isConnected() && !stream.getHub().hasDownstreamSubscribers() )
     {
-      final ConnectableStream<T> stream = getConnectableStream();
-      final boolean needsConnect = subjectHasZeroSubscribers( stream );
-      super.onSubscribe( subscription );
-      if ( needsConnect )
+      if ( terminated || 0 == _gracePeriod )
       {
-        stream.connect();
+        cancelPendingDisconnect();
+        stream.disconnect();
+      }
+      else if ( null == _pendingDisconnect )
+      {
+        _pendingDisconnect = Scheduler.delayedTask( Spritz.areNamesEnabled() ? getName() : null,
+                                                    this::onGracePeriodExpired,
+                                                    _gracePeriod );
       }
     }
+  }
+
+  private void onGracePeriodExpired()
+  {
+    _pendingDisconnect = null;
+    disconnectIfUnused( true );
+  }
+
+  private static final class WorkerSubscription<T>
+    extends PassThroughSubscription<T, RefCountOperator<T>>
+  {
+    WorkerSubscription( @Nonnull final RefCountOperator<T> stream,
+                        @Nonnull final Subscriber<? super T> subscriber )
+    {
+      super( stream, subscriber );
+    }
 
     @Override
     public void onError( @Nonnull final Throwable error )
     {
       super.onError( error );
-      onDone();
+      getStream().disconnectIfUnused( true );
     }
 
     @Override
     public void onComplete()
     {
       super.onComplete();
-      onDone();
+      getStream().disconnectIfUnused( true );
     }
 
     @Override
     void doCancel()
     {
       super.doCancel();
-      onDone();
-    }
-
-    private void onDone()
-    {
-      final ConnectableStream<T> stream = getConnectableStream();
-      if ( subjectHasZeroSubscribers( stream ) )
-      {
-        stream.disconnect();
-      }
-    }
-
-    boolean subjectHasZeroSubscribers( @Nonnull final ConnectableStream<T> stream )
-    {
-      return !stream.getHub().hasDownstreamSubscribers();
-    }
-
-    private ConnectableStream<T> getConnectableStream()
-    {
-      return (ConnectableStream<T>) getStream().getUpstream();
+      getStream().disconnectIfUnused( false );
     }
   }
 }
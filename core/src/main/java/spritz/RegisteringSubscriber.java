@@ -0,0 +1,60 @@
+package spritz;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * Subscriber that records the subscription in the {@link SubscriptionRegistry} until it terminates.
+ * Cancellation of the subscription is recorded by {@link Subscription#cancel()}.
+ */
+final class RegisteringSubscriber<T>
+  implements Subscriber<T>
+{
+  @Nonnull
+  private final Subscriber<T> _target;
+  @Nullable
+  private Subscription _subscription;
+
+  RegisteringSubscriber( @Nonnull final Subscriber<T> target )
+  {
+    _target = Objects.requireNonNull( target );
+  }
+
+  @Override
+  public void onSubscribe( @Nonnull final Subscription subscription )
+  {
+    _subscription = subscription;
+    SubscriptionRegistry.get().registerSubscription( subscription );
+    _target.onSubscribe( subscription );
+  }
+
+  @Override
+  public void onItem( @Nonnull final T item )
+  {
+    _target.onItem( item );
+  }
+
+  @Override
+  public void onError( @Nonnull final Throwable error )
+  {
+    deregister();
+    _target.onError( error );
+  }
+
+  @Override
+  public void onComplete()
+  {
+    deregister();
+    _target.onComplete();
+  }
+
+  private void deregister()
+  {
+    if ( null != _subscription )
+    {
+      SubscriptionRegistry.get().deregisterSubscription( _subscription );
+      _subscription = null;
+    }
+  }
+}
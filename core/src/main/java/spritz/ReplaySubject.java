@@ -3,7 +3,6 @@ package spritz;
 import java.util.Objects;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
-import zemeckis.Zemeckis;
 
 /**
  * A ReplaySubject records multiple values from the stream execution and replays them to new subscribers.
@@ -36,7 +35,7 @@ final class ReplaySubject<T>
   @Override
   void completeSubscribe( @Nonnull final DownstreamSubscription subscription )
   {
-    final int now = Zemeckis.now();
+    final int now = Scheduler.now();
     final Subscriber<? super T> subscriber = subscription.getSubscriber();
     final int size = _buffer.size();
     for ( int i = 0; i < size; i++ )
@@ -45,7 +44,7 @@ final class ReplaySubject<T>
       assert null != entry;
       if ( DEFAULT_VALUE == _maxAge || entry.getTime() + _maxAge >= now )
       {
-        if ( isNotDone() && subscription.isNotDone() )
+        if ( subscription.isNotDone() )
         {
           subscriber.onItem( entry.getItem() );
         }
@@ -60,21 +59,21 @@ final class ReplaySubject<T>
   @Override
   void downstreamNext( @Nonnull final T item )
   {
-    final int size = _buffer.size();
-    if ( DEFAULT_VALUE != _maxSize && size == _maxSize )
+    if ( DEFAULT_VALUE != _maxSize && _buffer.size() == _maxSize )
     {
       _buffer.pop();
     }
-    if ( DEFAULT_VALUE != _maxAge && size == _buffer.getCapacity() )
+    // The size is re-read as the buffer may be empty if the entry was removed to respect the max size
+    if ( DEFAULT_VALUE != _maxAge && _buffer.size() == _buffer.getCapacity() )
     {
       final Entry<T> peek = _buffer.peek();
       assert null != peek;
-      if ( peek._time + _maxAge < Zemeckis.now() )
+      if ( peek._time + _maxAge < Scheduler.now() )
       {
         _buffer.pop();
       }
     }
-    _buffer.add( new Entry<>( Zemeckis.now(), item ) );
+    _buffer.add( new Entry<>( Scheduler.now(), item ) );
     super.downstreamNext( item );
   }
 
@@ -0,0 +1,24 @@
+package spritz;
+
+import javax.annotation.Nonnull;
+import jsinterop.annotations.JsFunction;
+
+/**
+ * Functional interface for determining the delay before re-subscribing to a stream that emitted an error.
+ */
+@FunctionalInterface
+@JsFunction
+public interface RetryDelayFn
+{
+  /**
+   * Return the delay in milliseconds before re-subscribing to the upstream stream.
+   * The value MAY BE zero which implies that the re-subscribe should occur as soon as possible.
+   * A negative value indicates that no retry should be attempted and that the error should be emitted
+   * to the downstream subscriber.
+   *
+   * @param retryCount the number of the retry that is about to be attempted, starting at 1.
+   * @param error      the error emitted by the upstream stream.
+   * @return the delay in milliseconds or a negative value to abort retrying.
+   */
+  int getDelay( int retryCount, @Nonnull Throwable error );
+}
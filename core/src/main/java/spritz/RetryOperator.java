@@ -0,0 +1,133 @@
+package spritz;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import zemeckis.Cancelable;
+
+final class RetryOperator<T>
+  extends AbstractStream<T, T>
+{
+  private final int _maxRetries;
+  @Nonnull
+  private final RetryDelayFn _retryDelayFn;
+
+  RetryOperator( @Nullable final String name,
+                 @Nonnull final Stream<T> upstream,
+                 final int maxRetries,
+                 @Nonnull final RetryDelayFn retryDelayFn )
+  {
+    super( Spritz.areNamesEnabled() ? generateName( name, "retryWhen", String.valueOf( maxRetries ) ) : null, upstream );
+    assert maxRetries >= 0;
+    _maxRetries = maxRetries;
+    _retryDelayFn = Objects.requireNonNull( retryDelayFn );
+    warnIfUpstreamCannotError();
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final Subscriber<? super T> subscriber )
+  {
+    final WorkerSubscription<T> subscription = new WorkerSubscription<>( this, subscriber );
+    getUpstream().subscribe( subscription );
+    return subscription;
+  }
+
+  private static final class WorkerSubscription<T>
+    extends PassThroughSubscription<T, RetryOperator<T>>
+  {
+    private boolean _downstreamSubscribed;
+    /**
+     * The number of retries attempted since the last item was emitted.
+     */
+    private int _retryCount;
+    /**
+     * The task that will re-subscribe to upstream, if a retry is pending.
+     */
+    @Nullable
+    private Cancelable _retryTask;
+
+    WorkerSubscription( @Nonnull final RetryOperator<T> stream, @Nonnull final Subscriber<? super T> subscriber )
+    {
+      super( stream, subscriber );
+    }
+
+    @Override
+    public void onSubscribe( @Nonnull final Subscription subscription )
+    {
+      if ( _downstreamSubscribed )
+      {
+        setUpstream( subscription );
+      }
+      else
+      {
+        _downstreamSubscribed = true;
+        super.onSubscribe( subscription );
+      }
+    }
+
+    @Override
+    public void onItem( @Nonnull final T item )
+    {
+      // A successful item indicates that upstream has recovered so subsequent errors start a fresh backoff
+      _retryCount = 0;
+      super.onItem( item );
+    }
+
+    @Override
+    public void onError( @Nonnull final Throwable error )
+    {
+      final RetryOperator<T> stream = getStream();
+      if ( _retryCount >= stream._maxRetries )
+      {
+        super.onError( error );
+      }
+      else
+      {
+        final int delay;
+        try
+        {
+          delay = stream._retryDelayFn.getDelay( _retryCount + 1, error );
+        }
+        catch ( final Exception e )
+        {
+          super.onError( e );
+          return;
+        }
+        if ( delay < 0 )
+        {
+          super.onError( error );
+        }
+        else
+        {
+          _retryCount++;
+          _retryTask =
+            Scheduler.delayedTask( Spritz.areNamesEnabled() ? stream.getName() + ".retry" : null, this::retry, delay );
+        }
+      }
+    }
+
+    private void retry()
+    {
+      _retryTask = null;
+      if ( isNotDone() )
+      {
+        getStream().getUpstream().subscribe( this );
+      }
+    }
+
+    @Override
+    void doCancel()
+    {
+      if ( null != _retryTask )
+      {
+        _retryTask.cancel();
+        _retryTask = null;
+      }
+      else
+      {
+        super.doCancel();
+      }
+    }
+  }
+}
@@ -0,0 +1,229 @@
+package spritz;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import zemeckis.Cancelable;
+import zemeckis.VirtualProcessorUnit;
+import zemeckis.Zemeckis;
+
+/**
+ * Thin wrapper around the timer services used by time-based stream stages.
+ * All timers created by Spritz are expected to be created through this class so that
+ * they can be tracked by the {@link SubscriptionRegistry} when it is enabled.
+ */
+final class Scheduler
+{
+  /**
+   * An alternative source of time and timers. This is null unless replaced by a
+   * {@link VirtualTimeScheduler} during tests or benchmarks.
+   */
+  @Nullable
+  private static TimeSource c_timeSource;
+
+  private Scheduler()
+  {
+  }
+
+  /**
+   * Abstraction over the source of time and timers used by Spritz.
+   */
+  interface TimeSource
+  {
+    int now();
+
+    @Nonnull
+    Cancelable delayedTask( @Nullable String name, @Nonnull Runnable task, int delay );
+
+    @Nonnull
+    Cancelable periodicTask( @Nullable String name, @Nonnull Runnable task, int period );
+
+    void queue( @Nonnull VirtualProcessorUnit virtualProcessorUnit, @Nullable String name, @Nonnull Runnable task );
+  }
+
+  /**
+   * Specify the source of time and timers. Passing null will restore the default Zemeckis based timers.
+   *
+   * @param timeSource the time source.
+   */
+  static void setTimeSource( @Nullable final TimeSource timeSource )
+  {
+    c_timeSource = timeSource;
+  }
+
+  /**
+   * Return the current time in milliseconds.
+   *
+   * @return the current time in milliseconds.
+   */
+  static int now()
+  {
+    return null != c_timeSource ? c_timeSource.now() : Zemeckis.now();
+  }
+
+  /**
+   * Schedule a task to be executed once after the specified delay.
+   *
+   * @param name  the name of the task. Must be null unless {@link Spritz#areNamesEnabled()} returns true.
+   * @param task  the task to execute.
+   * @param delay the delay in milliseconds before the task is executed.
+   * @return the cancelable used to abort the task.
+   */
+  @Nonnull
+  static Cancelable delayedTask( @Nullable final String name, @Nonnull final Runnable task, final int delay )
+  {
+    if ( Spritz.isSubscriptionRegistryEnabled() )
+    {
+      final TrackedTask trackedTask = new TrackedTask( name, task, true );
+      trackedTask.setTask( doDelayedTask( name, trackedTask, delay ) );
+      return trackedTask;
+    }
+    else
+    {
+      return doDelayedTask( name, task, delay );
+    }
+  }
+
+  @Nonnull
+  private static Cancelable doDelayedTask( @Nullable final String name, @Nonnull final Runnable task, final int delay )
+  {
+    return null != c_timeSource ?
+           c_timeSource.delayedTask( name, task, delay ) :
+           Zemeckis.delayedTask( name, task, delay );
+  }
+
+  /**
+   * Schedule a task to be executed repeatedly with the specified period.
+   *
+   * @param name   the name of the task. Must be null unless {@link Spritz#areNamesEnabled()} returns true.
+   * @param task   the task to execute.
+   * @param period the period in milliseconds between executions of the task.
+   * @return the cancelable used to abort the task.
+   */
+  @Nonnull
+  static Cancelable periodicTask( @Nullable final String name, @Nonnull final Runnable task, final int period )
+  {
+    if ( Spritz.isSubscriptionRegistryEnabled() )
+    {
+      final TrackedTask trackedTask = new TrackedTask( name, task, false );
+      trackedTask.setTask( doPeriodicTask( name, trackedTask, period ) );
+      return trackedTask;
+    }
+    else
+    {
+      return doPeriodicTask( name, task, period );
+    }
+  }
+
+  @Nonnull
+  private static Cancelable doPeriodicTask( @Nullable final String name,
+                                            @Nonnull final Runnable task,
+                                            final int period )
+  {
+    return null != c_timeSource ?
+           c_timeSource.periodicTask( name, task, period ) :
+           Zemeckis.periodicTask( name, task, period );
+  }
+
+  /**
+   * Queue a task to be executed on the specified {@link VirtualProcessorUnit}.
+   * Stream stages that hand work to a VPU are expected to queue the work through this method so that
+   * a {@link VirtualTimeScheduler} can capture the task and execute it when the test drains it.
+   *
+   * @param virtualProcessorUnit the VPU on which the task is executed.
+   * @param name                 the name of the task. Must be null unless {@link Spritz#areNamesEnabled()} returns true.
+   * @param task                 the task to execute.
+   */
+  static void queue( @Nonnull final VirtualProcessorUnit virtualProcessorUnit,
+                     @Nullable final String name,
+                     @Nonnull final Runnable task )
+  {
+    if ( null != c_timeSource )
+    {
+      c_timeSource.queue( virtualProcessorUnit, name, task );
+    }
+    else
+    {
+      virtualProcessorUnit.queue( name, task );
+    }
+  }
+
+  /**
+   * A task that registers itself with the {@link SubscriptionRegistry} while it is pending.
+   */
+  static final class TrackedTask
+    implements Cancelable, Runnable
+  {
+    @Nullable
+    private final String _name;
+    @Nonnull
+    private final Runnable _task;
+    /**
+     * True if the task is removed from the registry after the first execution.
+     */
+    private final boolean _singleShot;
+    @Nullable
+    private Cancelable _cancelable;
+    private boolean _done;
+
+    TrackedTask( @Nullable final String name, @Nonnull final Runnable task, final boolean singleShot )
+    {
+      _name = Spritz.areNamesEnabled() ? Objects.requireNonNull( name ) : null;
+      _task = Objects.requireNonNull( task );
+      _singleShot = singleShot;
+      SubscriptionRegistry.get().registerTimer( this );
+    }
+
+    void setTask( @Nonnull final Cancelable cancelable )
+    {
+      _cancelable = Objects.requireNonNull( cancelable );
+    }
+
+    @Nullable
+    String getName()
+    {
+      return _name;
+    }
+
+    @Override
+    public void run()
+    {
+      if ( _singleShot )
+      {
+        markAsDone();
+      }
+      _task.run();
+    }
+
+    @Override
+    public void cancel()
+    {
+      markAsDone();
+      assert null != _cancelable;
+      _cancelable.cancel();
+    }
+
+    private void markAsDone()
+    {
+      if ( !_done )
+      {
+        _done = true;
+        SubscriptionRegistry.get().deregisterTimer( this );
+      }
+    }
+
+    @Nonnull
+    @Override
+    public String toString()
+    {
+      if ( Spritz.areNamesEnabled() )
+      {
+        return "Timer[" + _name + "]";
+      }
+      else
+      {
+        return super.toString();
+      }
+    }
+  }
+}
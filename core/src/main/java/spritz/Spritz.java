@@ -1,5 +1,6 @@
 package spritz;
 
+import javax.annotation.Nonnull;
 import org.realityforge.braincheck.BrainCheckConfig;
 
 /**
@@ -31,6 +32,28 @@ public final class Spritz
     return SpritzConfig.shouldValidateSubscriptions();
   }
 
+  /**
+   * Return true if the {@link SubscriptionRegistry} is enabled and will track active subscriptions and timers.
+   *
+   * @return true if the {@link SubscriptionRegistry} is enabled.
+   */
+  public static boolean isSubscriptionRegistryEnabled()
+  {
+    return SpritzConfig.isSubscriptionRegistryEnabled();
+  }
+
+  /**
+   * Return the registry that tracks active subscriptions and timers.
+   * This method should not be invoked unless {@link #isSubscriptionRegistryEnabled()} returns true.
+   *
+   * @return the subscription registry.
+   */
+  @Nonnull
+  public static SubscriptionRegistry getSubscriptionRegistry()
+  {
+    return SubscriptionRegistry.get();
+  }
+
   /**
    * Return true if invariants will be checked.
    *
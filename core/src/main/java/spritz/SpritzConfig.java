@@ -10,6 +10,7 @@ final class SpritzConfig
   private static final boolean PRODUCTION_MODE = PROVIDER.isProductionMode();
   private static boolean ENABLE_NAMES = PROVIDER.areNamesEnabled();
   private static boolean VALIDATE_SUBSCRIPTIONS = PROVIDER.shouldValidateSubscriptions();
+  private static boolean ENABLE_SUBSCRIPTION_REGISTRY = PROVIDER.isSubscriptionRegistryEnabled();
   private static final String LOGGER_TYPE = PROVIDER.loggerType();
 
   private SpritzConfig()
@@ -36,6 +37,11 @@ final class SpritzConfig
     return VALIDATE_SUBSCRIPTIONS;
   }
 
+  static boolean isSubscriptionRegistryEnabled()
+  {
+    return ENABLE_SUBSCRIPTION_REGISTRY;
+  }
+
   static String loggerType()
   {
     return LOGGER_TYPE;
@@ -66,6 +72,14 @@ final class SpritzConfig
                                                 isProductionMode() ? "false" : "true" ) );
     }
 
+    @GwtIncompatible
+    @Override
+    boolean isSubscriptionRegistryEnabled()
+    {
+      return "true".equals( System.getProperty( "spritz.enable_subscription_registry",
+                                                isProductionMode() ? "false" : "true" ) );
+    }
+
     @GwtIncompatible
     @Override
     String loggerType()
@@ -92,6 +106,11 @@ final class SpritzConfig
       return "true" == System.getProperty( "spritz.validate_subscriptions" );
     }
 
+    boolean isSubscriptionRegistryEnabled()
+    {
+      return "true" == System.getProperty( "spritz.enable_subscription_registry" );
+    }
+
     String loggerType()
     {
       /*
@@ -44,11 +44,13 @@ public final class SpritzTestUtil
     {
       disableNames();
       noValidateSubscriptions();
+      disableSubscriptionRegistry();
     }
     else
     {
       enableNames();
       validateSubscriptions();
+      enableSubscriptionRegistry();
     }
     resetState();
   }
@@ -60,6 +62,9 @@ public final class SpritzTestUtil
   private static void resetState()
   {
     setLogger( null );
+    SubscriptionRegistry.reset();
+    VirtualTimeScheduler.uninstall();
+    LoopbackWebSocketServer.uninstall();
   }
 
   /**
@@ -135,6 +140,32 @@ public final class SpritzTestUtil
     setConstant( "VALIDATE_SUBSCRIPTIONS", validateSubscriptions );
   }
 
+  /**
+   * Set `spritz.enable_subscription_registry` setting to true.
+   */
+  public static void enableSubscriptionRegistry()
+  {
+    setEnableSubscriptionRegistry( true );
+  }
+
+  /**
+   * Set `spritz.enable_subscription_registry` setting to false.
+   */
+  public static void disableSubscriptionRegistry()
+  {
+    setEnableSubscriptionRegistry( false );
+  }
+
+  /**
+   * Configure the `spritz.enable_subscription_registry` setting.
+   *
+   * @param value the setting.
+   */
+  private static void setEnableSubscriptionRegistry( final boolean value )
+  {
+    setConstant( "ENABLE_SUBSCRIPTION_REGISTRY", value );
+  }
+
   /**
    * Set the specified field name on SpritzConfig.
    */
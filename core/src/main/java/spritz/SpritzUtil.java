@@ -8,10 +8,45 @@ import javax.annotation.Nonnull;
  */
 final class SpritzUtil
 {
+  /**
+   * The maximum number of values included when describing the values of a source in the name of a stream.
+   */
+  static final int MAX_NAME_VALUES = 10;
+
   private SpritzUtil()
   {
   }
 
+  /**
+   * Return a description of the values suitable for use in the name of a stream.
+   * The values are joined with a comma and only the first {@link #MAX_NAME_VALUES} values are included
+   * so that describing a large source does not require stringifying every value.
+   *
+   * @param values the values.
+   * @return the description.
+   */
+  @Nonnull
+  static String describeValues( @Nonnull final Iterable<?> values )
+  {
+    final StringBuilder sb = new StringBuilder();
+    int count = 0;
+    for ( final Object value : values )
+    {
+      if ( 0 != count )
+      {
+        sb.append( ", " );
+      }
+      if ( MAX_NAME_VALUES == count )
+      {
+        sb.append( "..." );
+        break;
+      }
+      sb.append( value );
+      count++;
+    }
+    return sb.toString();
+  }
+
   /**
    * Return the string generated by specified supplier.
    * Typically this is used to delay instantiation of an error message until it is required.
@@ -33,6 +68,44 @@ final class SpritzUtil
     }
   }
 
+  /**
+   * Return the delay before the specified attempt when using exponential backoff.
+   * The delay doubles with each attempt, starting at {@code initialDelay} for the first attempt, and is
+   * capped at {@code maxDelay}.
+   *
+   * @param attempt      the attempt number, starting at 1.
+   * @param initialDelay the delay before the first attempt.
+   * @param maxDelay     the maximum delay.
+   * @return the delay before the attempt.
+   */
+  static int exponentialBackoff( final int attempt, final int initialDelay, final int maxDelay )
+  {
+    int delay = initialDelay;
+    for ( int i = 1; i < attempt && delay < maxDelay; i++ )
+    {
+      // Compare against half the max delay to avoid overflowing when doubling
+      delay = delay > maxDelay / 2 ? maxDelay : delay * 2;
+    }
+    return Math.min( delay, maxDelay );
+  }
+
+  /**
+   * Return the delay before the specified attempt when using exponential backoff with jitter.
+   * The delay is a random value between half and all of the delay returned by
+   * {@link #exponentialBackoff(int, int, int)}.
+   *
+   * @param attempt      the attempt number, starting at 1.
+   * @param initialDelay the delay before the first attempt.
+   * @param maxDelay     the maximum delay.
+   * @return the delay before the attempt.
+   */
+  static int jitteredExponentialBackoff( final int attempt, final int initialDelay, final int maxDelay )
+  {
+    final int delay = exponentialBackoff( attempt, initialDelay, maxDelay );
+    final int halfDelay = delay / 2;
+    return halfDelay + (int) ( Math.random() * ( delay - halfDelay + 1 ) );
+  }
+
   /**
    * Return string converted to stack trace.
    * This method uses explicit traversal to be compatible with GWT.
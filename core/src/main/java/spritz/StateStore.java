@@ -0,0 +1,29 @@
+package spritz;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A store that holds the latest checkpoint of the state of a stream stage.
+ * The store is used by {@link Stream#scan(AccumulatorFunction, Object, StateStore, int, int)} to restore
+ * the accumulated value when the stream is subscribed to and to save the accumulated value as it changes.
+ *
+ * @param <T> the type of the state.
+ */
+public interface StateStore<T>
+{
+  /**
+   * Return the last state saved to the store or null if no state has been saved.
+   *
+   * @return the last state saved to the store or null if no state has been saved.
+   */
+  @Nullable
+  T load();
+
+  /**
+   * Save the state, replacing any state previously saved.
+   *
+   * @param state the state.
+   */
+  void save( @Nonnull T state );
+}
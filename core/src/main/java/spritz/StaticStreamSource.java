@@ -4,24 +4,51 @@ import java.util.Arrays;
 import java.util.Objects;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import zemeckis.VirtualProcessorUnit;
 
 final class StaticStreamSource<T>
   extends Stream<T>
 {
   @Nonnull
   private final T[] _data;
+  /**
+   * The VirtualProcessorUnit on which subsequent chunks are emitted or null if all items are emitted synchronously.
+   */
+  @Nullable
+  private final VirtualProcessorUnit _virtualProcessorUnit;
+  /**
+   * The maximum number of items emitted per task when {@link #_virtualProcessorUnit} is specified.
+   */
+  private final int _chunkSize;
 
   StaticStreamSource( @Nullable final String name, @Nonnull final T[] data )
   {
-    super( Spritz.areNamesEnabled() ? generateName( name, "of", arrayToString( data ) ) : null );
+    this( name, data, null, 0 );
+  }
+
+  StaticStreamSource( @Nullable final String name,
+                      @Nonnull final T[] data,
+                      @Nullable final VirtualProcessorUnit virtualProcessorUnit,
+                      final int chunkSize )
+  {
+    super( Spritz.areNamesEnabled() ? name : null, true );
+    assert null == virtualProcessorUnit || chunkSize > 0;
     _data = Objects.requireNonNull( data );
+    _virtualProcessorUnit = virtualProcessorUnit;
+    _chunkSize = chunkSize;
   }
 
   @Nonnull
-  private static <T> String arrayToString( @Nonnull final T[] data )
+  @Override
+  String computeName()
   {
-    final String str = Arrays.asList( data ).toString();
-    return str.substring( 1, str.length() - 1 );
+    return generateName( null, "of", SpritzUtil.describeValues( Arrays.asList( _data ) ) );
+  }
+
+  @Override
+  boolean canError()
+  {
+    return false;
   }
 
   @Nonnull
@@ -42,19 +69,36 @@ final class StaticStreamSource<T>
       super( stream, subscriber );
     }
 
+    /**
+     * The index of the next item to emit.
+     */
+    private int _offset;
+
     void pushData()
     {
-      final T[] data = getStream()._data;
-      int offset = 0;
-      while ( offset < data.length && isNotDone() )
+      final StaticStreamSource<T> stream = getStream();
+      final T[] data = stream._data;
+      final int end =
+        null == stream._virtualProcessorUnit ? data.length : Math.min( data.length, _offset + stream._chunkSize );
+      while ( _offset < end && isNotDone() )
       {
-        final T item = data[ offset ];
-        offset++;
+        final T item = data[ _offset ];
+        _offset++;
         getSubscriber().onItem( item );
       }
       if ( isNotDone() )
       {
-        getSubscriber().onComplete();
+        if ( _offset < data.length )
+        {
+          assert null != stream._virtualProcessorUnit;
+          Scheduler.queue( stream._virtualProcessorUnit,
+                           Spritz.areNamesEnabled() ? stream.getName() : null,
+                           this::pushData );
+        }
+        else
+        {
+          getSubscriber().onComplete();
+        }
       }
     }
   }
@@ -1,11 +1,20 @@
 package spritz;
 
+import elemental2.core.Uint8Array;
+import elemental2.dom.Element;
+import elemental2.dom.Event;
+import elemental2.dom.EventTarget;
+import elemental2.dom.RequestInit;
+import elemental2.dom.Response;
+import elemental2.promise.Promise;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.concurrent.Callable;
+import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -13,8 +22,13 @@ import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import org.realityforge.braincheck.Guards;
+import spritz.dom.DelegatedEvent;
+import spritz.dom.FetchException;
+import spritz.dom.PromiseRejectedException;
 import spritz.dom.WebSocketConfig;
 import zemeckis.VirtualProcessorUnit;
+import zemeckis.Zemeckis;
 import static org.realityforge.braincheck.Guards.*;
 
 @SuppressWarnings( { "WeakerAccess", "unused" } )
@@ -29,19 +43,33 @@ public abstract class Stream<T>
   private static final int DEFAULT_MERGE_CONCURRENCY = 1024 * 1024;
   /**
    * A human consumable name for the stream. It should be non-null if {@link Spritz#areNamesEnabled()} returns
-   * true and <tt>null</tt> otherwise.
+   * true and <tt>null</tt> otherwise, unless the name is computed lazily in which case it is null until the
+   * name is first required.
    */
   @Nullable
-  private final String _name;
+  private String _name;
 
   Stream( @Nullable final String name )
+  {
+    this( name, false );
+  }
+
+  /**
+   * Create the stream.
+   *
+   * @param name     the name of the stream.
+   * @param lazyName true if the name may be null when names are enabled, in which case the name is computed by
+   *                 {@link #computeName()} when it is first required. This avoids the cost of generating names
+   *                 that are expensive to compute unless the name is used.
+   */
+  Stream( @Nullable final String name, final boolean lazyName )
   {
     if ( Spritz.shouldCheckApiInvariants() )
     {
       apiInvariant( () -> Spritz.areNamesEnabled() || null == name,
                     () -> "Spritz-0052: Stream passed a name '" + name + "' but Spritz.areNamesEnabled() is false" );
     }
-    _name = Spritz.areNamesEnabled() ? Objects.requireNonNull( name ) : null;
+    _name = Spritz.areNamesEnabled() && !lazyName ? Objects.requireNonNull( name ) : name;
   }
 
   /**
@@ -75,6 +103,51 @@ public abstract class Stream<T>
     return new StaticStreamSource<>( name, values );
   }
 
+  /**
+   * Creates a stream that emits the elements of the array as items and then emits the completion signal.
+   * Items are emitted in chunks of at most {@code chunkSize} items. The first chunk is emitted when the stream is
+   * subscribed to and each subsequent chunk is emitted in a separate task queued on the specified
+   * {@link VirtualProcessorUnit}. This allows large sources to be emitted without blocking the processor unit
+   * until all the items have been emitted.
+   *
+   * @param <T>                  the type of items contained in the stream.
+   * @param values               the values to emit.
+   * @param virtualProcessorUnit the processor unit on which to emit chunks after the first chunk.
+   * @param chunkSize            the maximum number of items to emit per task. Must be greater than 0.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static <T> Stream<T> fromArray( @Nonnull final T[] values,
+                                         @Nonnull final VirtualProcessorUnit virtualProcessorUnit,
+                                         final int chunkSize )
+  {
+    return fromArray( null, values, virtualProcessorUnit, chunkSize );
+  }
+
+  /**
+   * Creates a stream that emits the elements of the array as items and then emits the completion signal.
+   * Items are emitted in chunks of at most {@code chunkSize} items. The first chunk is emitted when the stream is
+   * subscribed to and each subsequent chunk is emitted in a separate task queued on the specified
+   * {@link VirtualProcessorUnit}. This allows large sources to be emitted without blocking the processor unit
+   * until all the items have been emitted.
+   *
+   * @param <T>                  the type of items contained in the stream.
+   * @param name                 a human consumable name for the stream.
+   * @param values               the values to emit.
+   * @param virtualProcessorUnit the processor unit on which to emit chunks after the first chunk.
+   * @param chunkSize            the maximum number of items to emit per task. Must be greater than 0.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static <T> Stream<T> fromArray( @Nullable final String name,
+                                         @Nonnull final T[] values,
+                                         @Nonnull final VirtualProcessorUnit virtualProcessorUnit,
+                                         final int chunkSize )
+  {
+    checkChunkSize( chunkSize );
+    return new StaticStreamSource<>( name, values, Objects.requireNonNull( virtualProcessorUnit ), chunkSize );
+  }
+
   /**
    * Creates a stream that emits no items and immediately emits a completion signal.
    *
@@ -167,6 +240,51 @@ public abstract class Stream<T>
     return new CollectionStreamSource<>( name, values );
   }
 
+  /**
+   * Creates a stream that emits items of the supplied collection.
+   * Items are emitted in chunks of at most {@code chunkSize} items. The first chunk is emitted when the stream is
+   * subscribed to and each subsequent chunk is emitted in a separate task queued on the specified
+   * {@link VirtualProcessorUnit}. This allows large sources to be emitted without blocking the processor unit
+   * until all the items have been emitted.
+   *
+   * @param <T>                  the type of items contained in the stream.
+   * @param values               the collection of values to emit.
+   * @param virtualProcessorUnit the processor unit on which to emit chunks after the first chunk.
+   * @param chunkSize            the maximum number of items to emit per task. Must be greater than 0.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static <T> Stream<T> fromCollection( @Nonnull final Collection<T> values,
+                                              @Nonnull final VirtualProcessorUnit virtualProcessorUnit,
+                                              final int chunkSize )
+  {
+    return fromCollection( null, values, virtualProcessorUnit, chunkSize );
+  }
+
+  /**
+   * Creates a stream that emits items of the supplied collection.
+   * Items are emitted in chunks of at most {@code chunkSize} items. The first chunk is emitted when the stream is
+   * subscribed to and each subsequent chunk is emitted in a separate task queued on the specified
+   * {@link VirtualProcessorUnit}. This allows large sources to be emitted without blocking the processor unit
+   * until all the items have been emitted.
+   *
+   * @param <T>                  the type of items contained in the stream.
+   * @param name                 a human consumable name for the stream.
+   * @param values               the collection of values to emit.
+   * @param virtualProcessorUnit the processor unit on which to emit chunks after the first chunk.
+   * @param chunkSize            the maximum number of items to emit per task. Must be greater than 0.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static <T> Stream<T> fromCollection( @Nullable final String name,
+                                              @Nonnull final Collection<T> values,
+                                              @Nonnull final VirtualProcessorUnit virtualProcessorUnit,
+                                              final int chunkSize )
+  {
+    checkChunkSize( chunkSize );
+    return new CollectionStreamSource<>( name, values, Objects.requireNonNull( virtualProcessorUnit ), chunkSize );
+  }
+
   /**
    * Creates a stream that emits items from the supplied {@link java.util.stream.Stream}.
    *
@@ -211,6 +329,55 @@ public abstract class Stream<T>
     return new CallableStreamSource<>( name, callable );
   }
 
+  /**
+   * Creates an infinite stream that emits items from the {@link Callable} parameter.
+   * The user must be very careful to add a subsequent stream stage that cancels the stream
+   * otherwise this source will continue to emit items forever.
+   * Items are emitted in chunks of at most {@code chunkSize} items. The first chunk is emitted when the stream is
+   * subscribed to and each subsequent chunk is emitted in a separate task queued on the specified
+   * {@link VirtualProcessorUnit}. This allows large sources to be emitted without blocking the processor unit
+   * until all the items have been emitted.
+   *
+   * @param <T>                  the type of items contained in the stream.
+   * @param callable             the function that generates values to emit.
+   * @param virtualProcessorUnit the processor unit on which to emit chunks after the first chunk.
+   * @param chunkSize            the maximum number of items to emit per task. Must be greater than 0.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static <T> Stream<T> fromCallable( @Nonnull final Callable<T> callable,
+                                            @Nonnull final VirtualProcessorUnit virtualProcessorUnit,
+                                            final int chunkSize )
+  {
+    return fromCallable( null, callable, virtualProcessorUnit, chunkSize );
+  }
+
+  /**
+   * Creates an infinite stream that emits items from the {@link Callable} parameter.
+   * The user must be very careful to add a subsequent stream stage that cancels the stream
+   * otherwise this source will continue to emit items forever.
+   * Items are emitted in chunks of at most {@code chunkSize} items. The first chunk is emitted when the stream is
+   * subscribed to and each subsequent chunk is emitted in a separate task queued on the specified
+   * {@link VirtualProcessorUnit}. This allows large sources to be emitted without blocking the processor unit
+   * until all the items have been emitted.
+   *
+   * @param <T>                  the type of items contained in the stream.
+   * @param name                 a human consumable name for the stream.
+   * @param callable             the function that generates values to emit.
+   * @param virtualProcessorUnit the processor unit on which to emit chunks after the first chunk.
+   * @param chunkSize            the maximum number of items to emit per task. Must be greater than 0.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static <T> Stream<T> fromCallable( @Nullable final String name,
+                                            @Nonnull final Callable<T> callable,
+                                            @Nonnull final VirtualProcessorUnit virtualProcessorUnit,
+                                            final int chunkSize )
+  {
+    checkChunkSize( chunkSize );
+    return new CallableStreamSource<>( name, callable, Objects.requireNonNull( virtualProcessorUnit ), chunkSize );
+  }
+
   /**
    * Creates an infinite stream that emits items from the {@link Supplier} parameter.
    * The user must be very careful to add a subsequent stream stage that cancels the stream
@@ -242,6 +409,54 @@ public abstract class Stream<T>
     return fromCallable( Spritz.areNamesEnabled() ? generateName( name, "fromSupplier" ) : null, supplier::get );
   }
 
+  /**
+   * Creates a stream that subscribes to a Reactive Streams publisher and emits the items it publishes.
+   * The stream requests {@code prefetch} items when it subscribes and requests more items once three quarters
+   * of the requested items have been emitted. The stream completes or errors when the publisher does and
+   * cancelling the subscription to the stream cancels the subscription to the publisher.
+   *
+   * <p>A {@code java.util.concurrent.Flow.Publisher} can be adapted to a Reactive Streams publisher via
+   * {@code org.reactivestreams.FlowAdapters.toPublisher(...)}.</p>
+   *
+   * @param <T>       the type of items contained in the stream.
+   * @param publisher the publisher.
+   * @param prefetch  the number of items to request from the publisher at a time.
+   * @return the new stream.
+   */
+  @SuppressWarnings( "NonJREEmulationClassesInClientCode" )
+  @GwtIncompatible
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static <T> Stream<T> fromPublisher( @Nonnull final org.reactivestreams.Publisher<T> publisher,
+                                             final int prefetch )
+  {
+    return fromPublisher( null, publisher, prefetch );
+  }
+
+  /**
+   * Creates a stream that subscribes to a Reactive Streams publisher and emits the items it publishes.
+   * The stream requests {@code prefetch} items when it subscribes and requests more items once three quarters
+   * of the requested items have been emitted. The stream completes or errors when the publisher does and
+   * cancelling the subscription to the stream cancels the subscription to the publisher.
+   *
+   * <p>A {@code java.util.concurrent.Flow.Publisher} can be adapted to a Reactive Streams publisher via
+   * {@code org.reactivestreams.FlowAdapters.toPublisher(...)}.</p>
+   *
+   * @param <T>       the type of items contained in the stream.
+   * @param name      a human consumable name for the stream.
+   * @param publisher the publisher.
+   * @param prefetch  the number of items to request from the publisher at a time.
+   * @return the new stream.
+   */
+  @SuppressWarnings( "NonJREEmulationClassesInClientCode" )
+  @GwtIncompatible
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static <T> Stream<T> fromPublisher( @Nullable final String name,
+                                             @Nonnull final org.reactivestreams.Publisher<T> publisher,
+                                             final int prefetch )
+  {
+    return new PublisherStreamSource<>( name, publisher, prefetch );
+  }
+
   /**
    * Creates a stream that completes when the {@link Runnable} parameter completes running.
    * The stream will signal an error if the runnable generates an error while running.
@@ -361,6 +576,55 @@ public abstract class Stream<T>
     return new RangeStreamSource( name, start, count );
   }
 
+  /**
+   * Create a stream that emits a sequence of numbers within a specified range.
+   * The stream create a sequence of [start, start + count).
+   * Items are emitted in chunks of at most {@code chunkSize} items. The first chunk is emitted when the stream is
+   * subscribed to and each subsequent chunk is emitted in a separate task queued on the specified
+   * {@link VirtualProcessorUnit}. This allows large sources to be emitted without blocking the processor unit
+   * until all the items have been emitted.
+   *
+   * @param start                the starting value of the range
+   * @param count                the number of items to emit
+   * @param virtualProcessorUnit the processor unit on which to emit chunks after the first chunk.
+   * @param chunkSize            the maximum number of items to emit per task. Must be greater than 0.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static Stream<Integer> range( final int start,
+                                       final int count,
+                                       @Nonnull final VirtualProcessorUnit virtualProcessorUnit,
+                                       final int chunkSize )
+  {
+    return range( null, start, count, virtualProcessorUnit, chunkSize );
+  }
+
+  /**
+   * Create a stream that emits a sequence of numbers within a specified range.
+   * The stream create a sequence of [start, start + count).
+   * Items are emitted in chunks of at most {@code chunkSize} items. The first chunk is emitted when the stream is
+   * subscribed to and each subsequent chunk is emitted in a separate task queued on the specified
+   * {@link VirtualProcessorUnit}. This allows large sources to be emitted without blocking the processor unit
+   * until all the items have been emitted.
+   *
+   * @param name                 a human consumable name for the stream.
+   * @param start                the starting value of the range
+   * @param count                the number of items to emit
+   * @param virtualProcessorUnit the processor unit on which to emit chunks after the first chunk.
+   * @param chunkSize            the maximum number of items to emit per task. Must be greater than 0.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static Stream<Integer> range( @Nullable final String name,
+                                       final int start,
+                                       final int count,
+                                       @Nonnull final VirtualProcessorUnit virtualProcessorUnit,
+                                       final int chunkSize )
+  {
+    checkChunkSize( chunkSize );
+    return new RangeStreamSource( name, start, count, Objects.requireNonNull( virtualProcessorUnit ), chunkSize );
+  }
+
   /**
    * Create a stream that emits sequential numbers every specified interval of time.
    * The stream create a sequence of [start, start + count).
@@ -388,6 +652,295 @@ public abstract class Stream<T>
     return new PeriodicStreamSource( name, period );
   }
 
+  /**
+   * Create a stream that emits the events of the specified type that are dispatched to the target.
+   * The stream never completes or errors. A single native listener is shared by every subscriber to a
+   * stream with the same target, type and listener options. The listener is added when the first subscriber
+   * subscribes and removed when the last subscriber cancels.
+   *
+   * @param target the event target.
+   * @param type   the type of event.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static Stream<Event> fromEvent( @Nonnull final EventTarget target, @Nonnull final String type )
+  {
+    return fromEvent( null, target, type );
+  }
+
+  /**
+   * Create a stream that emits the events of the specified type that are dispatched to the target.
+   * The stream never completes or errors. A single native listener is shared by every subscriber to a
+   * stream with the same target, type and listener options. The listener is added when the first subscriber
+   * subscribes and removed when the last subscriber cancels.
+   *
+   * @param name   a human consumable name for the stream.
+   * @param target the event target.
+   * @param type   the type of event.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static Stream<Event> fromEvent( @Nullable final String name,
+                                         @Nonnull final EventTarget target,
+                                         @Nonnull final String type )
+  {
+    return fromEvent( name, target, type, false, false );
+  }
+
+  /**
+   * Create a stream that emits the events of the specified type that are dispatched to the target.
+   * The stream never completes or errors. A single native listener is shared by every subscriber to a
+   * stream with the same target, type and listener options. The listener is added when the first subscriber
+   * subscribes and removed when the last subscriber cancels.
+   *
+   * @param target  the event target.
+   * @param type    the type of event.
+   * @param capture true to listen in the capture phase rather than the bubble phase.
+   * @param passive true if the listener never calls <code>preventDefault()</code>, which allows the browser
+   *                to scroll without waiting for the listener.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static Stream<Event> fromEvent( @Nonnull final EventTarget target,
+                                         @Nonnull final String type,
+                                         final boolean capture,
+                                         final boolean passive )
+  {
+    return fromEvent( null, target, type, capture, passive );
+  }
+
+  /**
+   * Create a stream that emits the events of the specified type that are dispatched to the target.
+   * The stream never completes or errors. A single native listener is shared by every subscriber to a
+   * stream with the same target, type and listener options. The listener is added when the first subscriber
+   * subscribes and removed when the last subscriber cancels.
+   *
+   * @param name    a human consumable name for the stream.
+   * @param target  the event target.
+   * @param type    the type of event.
+   * @param capture true to listen in the capture phase rather than the bubble phase.
+   * @param passive true if the listener never calls <code>preventDefault()</code>, which allows the browser
+   *                to scroll without waiting for the listener.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static Stream<Event> fromEvent( @Nullable final String name,
+                                         @Nonnull final EventTarget target,
+                                         @Nonnull final String type,
+                                         final boolean capture,
+                                         final boolean passive )
+  {
+    return new DomEventSource( name, target, type, capture, passive );
+  }
+
+  /**
+   * Create a stream that emits the events of the specified type dispatched to elements within the container
+   * that match the selector. A single native listener on the container replaces a listener on every matching
+   * element, which avoids the cost of adding listeners to a large number of elements. An event is emitted if
+   * the event target or one of its ancestors within the container matches the selector.
+   *
+   * @param container the element containing the elements that match the selector.
+   * @param type      the type of event.
+   * @param selector  the CSS selector that elements must match.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static Stream<DelegatedEvent> fromDelegatedEvent( @Nonnull final Element container,
+                                                           @Nonnull final String type,
+                                                           @Nonnull final String selector )
+  {
+    return fromDelegatedEvent( null, container, type, selector );
+  }
+
+  /**
+   * Create a stream that emits the events of the specified type dispatched to elements within the container
+   * that match the selector. A single native listener on the container replaces a listener on every matching
+   * element, which avoids the cost of adding listeners to a large number of elements. An event is emitted if
+   * the event target or one of its ancestors within the container matches the selector.
+   *
+   * @param name      a human consumable name for the stream.
+   * @param container the element containing the elements that match the selector.
+   * @param type      the type of event.
+   * @param selector  the CSS selector that elements must match.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static Stream<DelegatedEvent> fromDelegatedEvent( @Nullable final String name,
+                                                           @Nonnull final Element container,
+                                                           @Nonnull final String type,
+                                                           @Nonnull final String selector )
+  {
+    return fromDelegatedEvent( name, container, type, selector, false, false );
+  }
+
+  /**
+   * Create a stream that emits the events of the specified type dispatched to elements within the container
+   * that match the selector. A single native listener on the container replaces a listener on every matching
+   * element, which avoids the cost of adding listeners to a large number of elements. An event is emitted if
+   * the event target or one of its ancestors within the container matches the selector.
+   *
+   * @param name      a human consumable name for the stream.
+   * @param container the element containing the elements that match the selector.
+   * @param type      the type of event.
+   * @param selector  the CSS selector that elements must match.
+   * @param capture   true to listen in the capture phase rather than the bubble phase.
+   * @param passive   true if the listener never calls <code>preventDefault()</code>, which allows the browser
+   *                  to scroll without waiting for the listener.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static Stream<DelegatedEvent> fromDelegatedEvent( @Nullable final String name,
+                                                           @Nonnull final Element container,
+                                                           @Nonnull final String type,
+                                                           @Nonnull final String selector,
+                                                           final boolean capture,
+                                                           final boolean passive )
+  {
+    return new DelegatedEventOperator( name,
+                                       new DomEventSource( null, container, type, capture, passive ),
+                                       container,
+                                       selector );
+  }
+
+  /**
+   * Create a stream that performs a fetch of the url and emits the response then completes.
+   * Each subscription performs a separate request. Cancelling the subscription before the response is
+   * received aborts the request. Responses with an unsuccessful status are emitted as items and the
+   * stream emits a {@link FetchException} if the request fails.
+   *
+   * @param url the url to fetch.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static Stream<Response> fetch( @Nonnull final String url )
+  {
+    return fetch( null, url, null );
+  }
+
+  /**
+   * Create a stream that performs a fetch of the url and emits the response then completes.
+   * Each subscription performs a separate request. Cancelling the subscription before the response is
+   * received aborts the request. Responses with an unsuccessful status are emitted as items and the
+   * stream emits a {@link FetchException} if the request fails.
+   *
+   * @param url  the url to fetch.
+   * @param init the options for the request, if any. The signal is replaced by the signal used to abort the request.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static Stream<Response> fetch( @Nonnull final String url, @Nullable final RequestInit init )
+  {
+    return fetch( null, url, init );
+  }
+
+  /**
+   * Create a stream that performs a fetch of the url and emits the response then completes.
+   * Each subscription performs a separate request. Cancelling the subscription before the response is
+   * received aborts the request. Responses with an unsuccessful status are emitted as items and the
+   * stream emits a {@link FetchException} if the request fails.
+   *
+   * @param name a human consumable name for the stream.
+   * @param url  the url to fetch.
+   * @param init the options for the request, if any. The signal is replaced by the signal used to abort the request.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static Stream<Response> fetch( @Nullable final String name,
+                                        @Nonnull final String url,
+                                        @Nullable final RequestInit init )
+  {
+    return new FetchSource( name, url, init );
+  }
+
+  /**
+   * Create a stream that performs a fetch of the url and emits the chunks of the response body as they are
+   * received then completes. Cancelling the subscription aborts the request or, if the response has been
+   * received, cancels reading the body so the remainder of the body is not downloaded. The stream emits a
+   * {@link FetchException} if the request fails, the response has an unsuccessful status or the body can
+   * not be read.
+   *
+   * @param url the url to fetch.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static Stream<Uint8Array> fetchBody( @Nonnull final String url )
+  {
+    return fetchBody( null, url, null );
+  }
+
+  /**
+   * Create a stream that performs a fetch of the url and emits the chunks of the response body as they are
+   * received then completes. Cancelling the subscription aborts the request or, if the response has been
+   * received, cancels reading the body so the remainder of the body is not downloaded. The stream emits a
+   * {@link FetchException} if the request fails, the response has an unsuccessful status or the body can
+   * not be read.
+   *
+   * @param url  the url to fetch.
+   * @param init the options for the request, if any. The signal is replaced by the signal used to abort the request.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static Stream<Uint8Array> fetchBody( @Nonnull final String url, @Nullable final RequestInit init )
+  {
+    return fetchBody( null, url, init );
+  }
+
+  /**
+   * Create a stream that performs a fetch of the url and emits the chunks of the response body as they are
+   * received then completes. Cancelling the subscription aborts the request or, if the response has been
+   * received, cancels reading the body so the remainder of the body is not downloaded. The stream emits a
+   * {@link FetchException} if the request fails, the response has an unsuccessful status or the body can
+   * not be read.
+   *
+   * @param name a human consumable name for the stream.
+   * @param url  the url to fetch.
+   * @param init the options for the request, if any. The signal is replaced by the signal used to abort the request.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static Stream<Uint8Array> fetchBody( @Nullable final String name,
+                                              @Nonnull final String url,
+                                              @Nullable final RequestInit init )
+  {
+    return fetch( name, url, init )
+      .switchMap( response -> response.ok ?
+                              new FetchBodySource( null, response ) :
+                              fail( new FetchException( response, null ) ) );
+  }
+
+  /**
+   * Create a stream that emits the value that the promise resolves to and then completes.
+   * If the promise resolves to null or undefined then the stream completes without emitting an item.
+   * If the promise is rejected then the stream emits the rejection reason as an error, wrapping the reason
+   * in a {@link PromiseRejectedException} if it is not a {@link Throwable}.
+   *
+   * @param <T>     the type of the value that the promise resolves to.
+   * @param promise the promise.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static <T> Stream<T> fromPromise( @Nonnull final Promise<T> promise )
+  {
+    return fromPromise( null, promise );
+  }
+
+  /**
+   * Create a stream that emits the value that the promise resolves to and then completes.
+   * If the promise resolves to null or undefined then the stream completes without emitting an item.
+   * If the promise is rejected then the stream emits the rejection reason as an error, wrapping the reason
+   * in a {@link PromiseRejectedException} if it is not a {@link Throwable}.
+   *
+   * @param <T>     the type of the value that the promise resolves to.
+   * @param name    a human consumable name for the stream.
+   * @param promise the promise.
+   * @return the new stream.
+   */
+  @DocCategory( DocCategory.Type.CONSTRUCTION )
+  public static <T> Stream<T> fromPromise( @Nullable final String name, @Nonnull final Promise<T> promise )
+  {
+    return new PromiseSource<>( name, promise );
+  }
+
   @DocCategory( DocCategory.Type.CONSTRUCTION )
   public static WebSocketHub webSocket( @Nonnull final WebSocketConfig config )
   {
@@ -536,72 +1089,189 @@ public abstract class Stream<T>
   }
 
   /**
-   * Subscribe the eventEmitter to this stream and forward events from the stream to the emitter.
+   * Create a subject that records every item in a journal stored in the specified directory and
+   * replays the recorded items to new subscribers. See {@link #journaledReplaySubject(String, java.nio.file.Path, ItemCodec, int, int, int)}.
    *
-   * @param eventEmitter the eventEmitter.
-   * @return the subscription.
+   * @param <T>       the type of items emitted by the subject.
+   * @param directory the directory containing the journal.
+   * @param codec     the codec used to store items in the journal.
+   * @return the new subject.
    */
+  @SuppressWarnings( "NonJREEmulationClassesInClientCode" )
+  @GwtIncompatible
+  @DocCategory( DocCategory.Type.SUBJECT )
   @Nonnull
-  public final Subscription subscribe( @Nonnull final EventEmitter<T> eventEmitter )
+  public static <T> Subject<T> journaledReplaySubject( @Nonnull final java.nio.file.Path directory,
+                                                       @Nonnull final ItemCodec<T> codec )
   {
-    return subscribe( new ForwardToEventEmitterSubscriber<>( eventEmitter ) );
+    return journaledReplaySubject( null, directory, codec );
   }
 
   /**
-   * Subscribe the subscriber to this stream so that it can receive events.
+   * Create a subject that records every item in a journal stored in the specified directory and
+   * replays the recorded items to new subscribers. See {@link #journaledReplaySubject(String, java.nio.file.Path, ItemCodec, int, int, int)}.
    *
-   * @param subscriber the subscriber.
-   * @return the subscription.
+   * @param <T>       the type of items emitted by the subject.
+   * @param name      a human consumable name for the subject.
+   * @param directory the directory containing the journal.
+   * @param codec     the codec used to store items in the journal.
+   * @return the new subject.
    */
+  @SuppressWarnings( "NonJREEmulationClassesInClientCode" )
+  @GwtIncompatible
+  @DocCategory( DocCategory.Type.SUBJECT )
   @Nonnull
-  public final Subscription subscribe( @Nonnull final Subscriber<? super T> subscriber )
+  public static <T> Subject<T> journaledReplaySubject( @Nullable final String name,
+                                                       @Nonnull final java.nio.file.Path directory,
+                                                       @Nonnull final ItemCodec<T> codec )
   {
-    return doSubscribe( Spritz.shouldValidateSubscriptions() ? new ValidatingSubscriber<>( subscriber ) : subscriber );
+    return journaledReplaySubject( name,
+                                   directory,
+                                   codec,
+                                   JournaledReplaySubject.DEFAULT_SEGMENT_SIZE,
+                                   ReplaySubject.DEFAULT_VALUE,
+                                   ReplaySubject.DEFAULT_VALUE );
   }
 
-  @Nonnull
-  abstract Subscription doSubscribe( @Nonnull Subscriber<? super T> subscriber );
-
   /**
-   * Return a stream containing all the items from this stream that invokes the action
-   * parameter before signalling subscription.
+   * Create a subject that records items in a journal stored in the specified directory and
+   * replays the recorded items to new subscribers. See {@link #journaledReplaySubject(String, java.nio.file.Path, ItemCodec, int, int, int)}.
    *
-   * @param action the function called before signalling subscription.
-   * @return the new stream.
-   * @see #afterSubscribe(Consumer)
+   * @param <T>         the type of items emitted by the subject.
+   * @param directory   the directory containing the journal.
+   * @param codec       the codec used to store items in the journal.
+   * @param segmentSize the size in bytes of each segment file in the journal.
+   * @param maxSize     the maximum number of items replayed or -1 to replay all items.
+   * @param maxAge      the maximum age in milliseconds of items replayed or -1 to replay items of any age.
+   * @return the new subject.
    */
+  @SuppressWarnings( "NonJREEmulationClassesInClientCode" )
+  @GwtIncompatible
+  @DocCategory( DocCategory.Type.SUBJECT )
   @Nonnull
-  @DocCategory( DocCategory.Type.PEEKING )
-  public final Stream<T> peekSubscribe( @Nonnull final Consumer<Subscription> action )
+  public static <T> Subject<T> journaledReplaySubject( @Nonnull final java.nio.file.Path directory,
+                                                       @Nonnull final ItemCodec<T> codec,
+                                                       final int segmentSize,
+                                                       final int maxSize,
+                                                       final int maxAge )
   {
-    return peekSubscribe( null, action );
+    return journaledReplaySubject( null, directory, codec, segmentSize, maxSize, maxAge );
   }
 
   /**
-   * Return a stream containing all the items from this stream that invokes the action
-   * parameter before signalling subscription.
+   * Create a subject that records items in a journal stored in the specified directory and
+   * replays the recorded items to new subscribers.
+   * This behaves like {@link #replaySubject(String, int, int)} except that items are stored off-heap in
+   * an append-only sequence of memory-mapped segment files rather than in memory. Items are replayed by
+   * reading the segments sequentially and decoding each item with the codec. Items outside the retention
+   * limits are not replayed and a segment file is deleted once none of its items need to be retained.
    *
-   * @param name   the name specified by the user.
-   * @param action the function called before signalling subscription.
-   * @return the new stream.
-   * @see #afterSubscribe(Consumer)
+   * <p>A subject created over a directory that contains a journal written by an earlier subject,
+   * possibly in an earlier process, replays the items in that journal. Only one subject should use a
+   * directory at any one time.</p>
+   *
+   * @param <T>         the type of items emitted by the subject.
+   * @param name        a human consumable name for the subject.
+   * @param directory   the directory containing the journal.
+   * @param codec       the codec used to store items in the journal.
+   * @param segmentSize the size in bytes of each segment file in the journal.
+   * @param maxSize     the maximum number of items replayed or -1 to replay all items.
+   * @param maxAge      the maximum age in milliseconds of items replayed or -1 to replay items of any age.
+   * @return the new subject.
+   */
+  @SuppressWarnings( "NonJREEmulationClassesInClientCode" )
+  @GwtIncompatible
+  @DocCategory( DocCategory.Type.SUBJECT )
+  @Nonnull
+  public static <T> Subject<T> journaledReplaySubject( @Nullable final String name,
+                                                       @Nonnull final java.nio.file.Path directory,
+                                                       @Nonnull final ItemCodec<T> codec,
+                                                       final int segmentSize,
+                                                       final int maxSize,
+                                                       final int maxAge )
+  {
+    return new JournaledReplaySubject<>( name, directory, codec, segmentSize, maxSize, maxAge );
+  }
+
+  /**
+   * Subscribe the eventEmitter to this stream and forward events from the stream to the emitter.
+   *
+   * @param eventEmitter the eventEmitter.
+   * @return the subscription.
+   */
+  @Nonnull
+  public final Subscription subscribe( @Nonnull final EventEmitter<T> eventEmitter )
+  {
+    return subscribe( new ForwardToEventEmitterSubscriber<>( eventEmitter ) );
+  }
+
+  /**
+   * Subscribe the subscriber to this stream so that it can receive events.
+   *
+   * @param subscriber the subscriber.
+   * @return the subscription.
+   */
+  @Nonnull
+  public final Subscription subscribe( @Nonnull final Subscriber<? super T> subscriber )
+  {
+    final Subscriber<? super T> target =
+      Spritz.shouldValidateSubscriptions() ? new ValidatingSubscriber<>( subscriber ) : subscriber;
+    return doSubscribe( Spritz.isSubscriptionRegistryEnabled() ? new RegisteringSubscriber<>( target ) : target );
+  }
+
+  @Nonnull
+  abstract Subscription doSubscribe( @Nonnull Subscriber<? super T> subscriber );
+
+  private static void checkChunkSize( final int chunkSize )
+  {
+    if ( Spritz.shouldCheckApiInvariants() )
+    {
+      apiInvariant( () -> chunkSize > 0,
+                    () -> "Spritz-0062: Stream source passed a chunkSize '" + chunkSize +
+                          "' but the chunkSize must be greater than 0" );
+    }
+  }
+
+  /**
+   * Return a stream containing all the items from this stream that invokes the action
+   * parameter before signalling subscription.
+   *
+   * @param action the function called before signalling subscription.
+   * @return the new stream.
+   * @see #afterSubscribe(Consumer)
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.PEEKING )
+  public final Stream<T> peekSubscribe( @Nonnull final Consumer<Subscription> action )
+  {
+    return peekSubscribe( null, action );
+  }
+
+  /**
+   * Return a stream containing all the items from this stream that invokes the action
+   * parameter before signalling subscription.
+   *
+   * @param name   the name specified by the user.
+   * @param action the function called before signalling subscription.
+   * @return the new stream.
+   * @see #afterSubscribe(Consumer)
    */
   @Nonnull
   @DocCategory( DocCategory.Type.PEEKING )
   public final Stream<T> peekSubscribe( @Nullable final String name, @Nonnull final Consumer<Subscription> action )
   {
-    return compose( s -> new PeekOperator<>( Spritz.areNamesEnabled() ? generateName( name, "onSubscribe" ) : null,
-                                             s,
-                                             action,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null ) );
+    return compose( s -> PeekOperator.create( Spritz.areNamesEnabled() ? generateName( name, "onSubscribe" ) : null,
+                                              s,
+                                              action,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null ) );
   }
 
   /**
@@ -632,18 +1302,18 @@ public abstract class Stream<T>
   @DocCategory( DocCategory.Type.PEEKING )
   public final Stream<T> afterSubscribe( @Nullable final String name, @Nonnull final Consumer<Subscription> action )
   {
-    return compose( s -> new PeekOperator<>( Spritz.areNamesEnabled() ? generateName( name, "afterSubscribe" ) : null,
-                                             s,
-                                             null,
-                                             action,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null ) );
+    return compose( s -> PeekOperator.create( Spritz.areNamesEnabled() ? generateName( name, "afterSubscribe" ) : null,
+                                              s,
+                                              null,
+                                              action,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null ) );
   }
 
   /**
@@ -674,18 +1344,18 @@ public abstract class Stream<T>
   @DocCategory( DocCategory.Type.PEEKING )
   public final Stream<T> peek( @Nullable final String name, @Nonnull final Consumer<? super T> action )
   {
-    return compose( s -> new PeekOperator<>( Spritz.areNamesEnabled() ? generateName( name, "peek" ) : null,
-                                             s,
-                                             null,
-                                             null,
-                                             action,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null ) );
+    return compose( s -> PeekOperator.create( Spritz.areNamesEnabled() ? generateName( name, "peek" ) : null,
+                                              s,
+                                              null,
+                                              null,
+                                              action,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null ) );
   }
 
   /**
@@ -714,18 +1384,18 @@ public abstract class Stream<T>
   @DocCategory( DocCategory.Type.PEEKING )
   public final Stream<T> afterNext( @Nullable final String name, @Nonnull final Consumer<? super T> action )
   {
-    return compose( s -> new PeekOperator<>( Spritz.areNamesEnabled() ? generateName( name, "afterNext" ) : null,
-                                             s,
-                                             null,
-                                             null,
-                                             null,
-                                             action,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null ) );
+    return compose( s -> PeekOperator.create( Spritz.areNamesEnabled() ? generateName( name, "afterNext" ) : null,
+                                              s,
+                                              null,
+                                              null,
+                                              null,
+                                              action,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null ) );
   }
 
   /**
@@ -756,18 +1426,18 @@ public abstract class Stream<T>
   @DocCategory( DocCategory.Type.PEEKING )
   public final Stream<T> peekError( @Nullable final String name, @Nonnull final Consumer<Throwable> action )
   {
-    return compose( s -> new PeekOperator<>( Spritz.areNamesEnabled() ? generateName( name, "onError" ) : null,
-                                             s,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             action,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null ) );
+    return compose( s -> PeekOperator.create( Spritz.areNamesEnabled() ? generateName( name, "onError" ) : null,
+                                              s,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              action,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null ) );
   }
 
   /**
@@ -798,18 +1468,18 @@ public abstract class Stream<T>
   @DocCategory( DocCategory.Type.PEEKING )
   public final Stream<T> afterError( @Nullable final String name, @Nonnull final Consumer<Throwable> action )
   {
-    return compose( s -> new PeekOperator<>( Spritz.areNamesEnabled() ? generateName( name, "afterError" ) : null,
-                                             s,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             action,
-                                             null,
-                                             null,
-                                             null,
-                                             null ) );
+    return compose( s -> PeekOperator.create( Spritz.areNamesEnabled() ? generateName( name, "afterError" ) : null,
+                                              s,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              action,
+                                              null,
+                                              null,
+                                              null,
+                                              null ) );
   }
 
   /**
@@ -840,18 +1510,18 @@ public abstract class Stream<T>
   @DocCategory( DocCategory.Type.PEEKING )
   public final Stream<T> peekComplete( @Nullable final String name, @Nonnull final Runnable action )
   {
-    return compose( s -> new PeekOperator<>( Spritz.areNamesEnabled() ? generateName( name, "onComplete" ) : null,
-                                             s,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             action,
-                                             null,
-                                             null,
-                                             null ) );
+    return compose( s -> PeekOperator.create( Spritz.areNamesEnabled() ? generateName( name, "onComplete" ) : null,
+                                              s,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              action,
+                                              null,
+                                              null,
+                                              null ) );
   }
 
   /**
@@ -882,18 +1552,18 @@ public abstract class Stream<T>
   @DocCategory( DocCategory.Type.PEEKING )
   public final Stream<T> afterComplete( @Nullable final String name, @Nonnull final Runnable action )
   {
-    return compose( s -> new PeekOperator<>( Spritz.areNamesEnabled() ? generateName( name, "afterComplete" ) : null,
-                                             s,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             action,
-                                             null,
-                                             null ) );
+    return compose( s -> PeekOperator.create( Spritz.areNamesEnabled() ? generateName( name, "afterComplete" ) : null,
+                                              s,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              action,
+                                              null,
+                                              null ) );
   }
 
   /**
@@ -924,18 +1594,18 @@ public abstract class Stream<T>
   @DocCategory( DocCategory.Type.PEEKING )
   public final Stream<T> peekCancel( @Nullable final String name, @Nonnull final Runnable action )
   {
-    return compose( s -> new PeekOperator<>( Spritz.areNamesEnabled() ? generateName( name, "onCancel" ) : null,
-                                             s,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             action,
-                                             null ) );
+    return compose( s -> PeekOperator.create( Spritz.areNamesEnabled() ? generateName( name, "onCancel" ) : null,
+                                              s,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              action,
+                                              null ) );
   }
 
   /**
@@ -966,18 +1636,18 @@ public abstract class Stream<T>
   @DocCategory( DocCategory.Type.PEEKING )
   public final Stream<T> afterCancel( @Nullable final String name, @Nonnull final Runnable action )
   {
-    return compose( s -> new PeekOperator<>( Spritz.areNamesEnabled() ? generateName( name, "afterCancel" ) : null,
-                                             s,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             action ) );
+    return compose( s -> PeekOperator.create( Spritz.areNamesEnabled() ? generateName( name, "afterCancel" ) : null,
+                                              s,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              action ) );
   }
 
   /**
@@ -1014,18 +1684,18 @@ public abstract class Stream<T>
   @DocCategory( DocCategory.Type.PEEKING )
   public final Stream<T> peekTerminate( @Nullable final String name, @Nonnull final Runnable action )
   {
-    return compose( s -> new PeekOperator<>( Spritz.areNamesEnabled() ? generateName( name, "peekTerminate" ) : null,
-                                             s,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             e -> action.run(),
-                                             null,
-                                             action,
-                                             null,
-                                             action,
-                                             null ) );
+    return compose( s -> PeekOperator.create( Spritz.areNamesEnabled() ? generateName( name, "peekTerminate" ) : null,
+                                              s,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              e -> action.run(),
+                                              null,
+                                              action,
+                                              null,
+                                              action,
+                                              null ) );
   }
 
   /**
@@ -1062,18 +1732,18 @@ public abstract class Stream<T>
   @DocCategory( DocCategory.Type.PEEKING )
   public final Stream<T> afterTerminate( @Nullable final String name, @Nonnull final Runnable action )
   {
-    return compose( s -> new PeekOperator<>( Spritz.areNamesEnabled() ? generateName( name, "afterTerminate" ) : null,
-                                             s,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             null,
-                                             e -> action.run(),
-                                             null,
-                                             action,
-                                             null,
-                                             action ) );
+    return compose( s -> PeekOperator.create( Spritz.areNamesEnabled() ? generateName( name, "afterTerminate" ) : null,
+                                              s,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              null,
+                                              e -> action.run(),
+                                              null,
+                                              action,
+                                              null,
+                                              action ) );
   }
 
   /**
@@ -1887,6 +2557,40 @@ public abstract class Stream<T>
     return compose( s -> new MapOperator<>( name, s, mapper ) );
   }
 
+  /**
+   * Process items emitted by this stream using a subscriber that implements one or more stages.
+   * See {@link #fuse(String, Function)}.
+   *
+   * @param <DownstreamT> the type of the items that the fused subscriber emits.
+   * @param factory       the function that creates the fused subscriber for each subscription.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.TRANSFORMATION )
+  public final <DownstreamT> Stream<DownstreamT> fuse( @Nonnull final Function<Subscriber<? super DownstreamT>, FusedSubscriber<T, DownstreamT>> factory )
+  {
+    return fuse( null, factory );
+  }
+
+  /**
+   * Process items emitted by this stream using a subscriber that implements one or more stages.
+   * The subscriber is created for each subscription and is passed the downstream subscriber.
+   * This is the extension point used by the classes generated from {@link FusedPipeline} templates
+   * and is rarely invoked directly.
+   *
+   * @param <DownstreamT> the type of the items that the fused subscriber emits.
+   * @param name          the name specified by the user.
+   * @param factory       the function that creates the fused subscriber for each subscription.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.TRANSFORMATION )
+  public final <DownstreamT> Stream<DownstreamT> fuse( @Nullable final String name,
+                                                       @Nonnull final Function<Subscriber<? super DownstreamT>, FusedSubscriber<T, DownstreamT>> factory )
+  {
+    return compose( s -> new FusedOperator<>( name, s, factory ) );
+  }
+
   /**
    * Transform items emitted by this stream to a constant {@code value}.
    *
@@ -1998,6 +2702,82 @@ public abstract class Stream<T>
     return map( mapper ).compose( s -> new SwitchOperator<>( null, s ) );
   }
 
+  /**
+   * Map each input item to a promise and emit the values that the promises resolve to.
+   * The items are mapped to promises one at a time and the next item is not mapped until the
+   * promise created for the previous item has resolved, so values are emitted in the same order as
+   * the input items. This is equivalent to {@link #mergeMapPromise(Function, int)} with a
+   * <code>maxConcurrency</code> set to <code>1</code>.
+   *
+   * @param <DownstreamT> the type of the items that this stream emits.
+   * @param mapper        the function to map the items to promises.
+   * @return the new stream.
+   * @see #concatMap(Function)
+   */
+  @Nonnull
+  @DocCategory( { DocCategory.Type.TRANSFORMATION, DocCategory.Type.MERGING } )
+  public final <DownstreamT> Stream<DownstreamT> concatMapPromise( @Nonnull final Function<T, Promise<DownstreamT>> mapper )
+  {
+    return mergeMapPromise( mapper, 1 );
+  }
+
+  /**
+   * Map each input item to a promise and emit the values that the promises resolve to.
+   * At most <code>maxConcurrency</code> promises are pending at any one time and items received while
+   * the limit is reached are mapped as earlier promises resolve. Values are emitted in the order that the
+   * promises resolve. A promise that resolves to null or undefined emits no value. The stream emits an error
+   * if any promise is rejected. Unlike mapping each item to a stream created by {@link #fromPromise(Promise)}
+   * and merging the streams, this does not create a stream and an inner subscription for each item.
+   *
+   * @param <DownstreamT>  the type of the items that this stream emits.
+   * @param mapper         the function to map the items to promises.
+   * @param maxConcurrency the maximum number of promises that can be pending at one time.
+   * @return the new stream.
+   * @see #mergeMap(Function, int)
+   */
+  @Nonnull
+  @DocCategory( { DocCategory.Type.TRANSFORMATION, DocCategory.Type.MERGING } )
+  public final <DownstreamT> Stream<DownstreamT> mergeMapPromise( @Nonnull final Function<T, Promise<DownstreamT>> mapper,
+                                                                  final int maxConcurrency )
+  {
+    return compose( s -> new PromiseMapOperator<>( s, mapper, maxConcurrency, false ) );
+  }
+
+  /**
+   * Map each input item to a promise and emit the values that the promises resolve to.
+   * Invoking this method is equivalent to invoking {@link #mergeMapPromise(Function, int)} and passing the
+   * default maximum concurrency.
+   *
+   * @param <DownstreamT> the type of the items that this stream emits.
+   * @param mapper        the function to map the items to promises.
+   * @return the new stream.
+   * @see #mergeMap(Function)
+   */
+  @Nonnull
+  @DocCategory( { DocCategory.Type.TRANSFORMATION, DocCategory.Type.MERGING } )
+  public final <DownstreamT> Stream<DownstreamT> mergeMapPromise( @Nonnull final Function<T, Promise<DownstreamT>> mapper )
+  {
+    return mergeMapPromise( mapper, DEFAULT_MERGE_CONCURRENCY );
+  }
+
+  /**
+   * Map each input item to a promise and emit the value that the most recent promise resolves to.
+   * When an item is received while a promise is pending, the pending promise is superseded and the value
+   * that it resolves to, or the reason it is rejected with, is ignored. Promises can not be cancelled so any
+   * work that they perform continues in the background.
+   *
+   * @param <DownstreamT> the type of the items that this stream emits.
+   * @param mapper        the function to map the items to promises.
+   * @return the new stream.
+   * @see #switchMap(Function)
+   */
+  @Nonnull
+  @DocCategory( { DocCategory.Type.TRANSFORMATION, DocCategory.Type.MERGING } )
+  public final <DownstreamT> Stream<DownstreamT> switchMapPromise( @Nonnull final Function<T, Promise<DownstreamT>> mapper )
+  {
+    return compose( s -> new PromiseMapOperator<>( s, mapper, 1, true ) );
+  }
+
   /**
    * Map each input item to a stream and emit the items from the most recently
    * mapped stream. The stream that the input item is mapped to is the active stream
@@ -2141,6 +2921,97 @@ public abstract class Stream<T>
     return compose( s -> new ScanOperator<>( name, s, accumulatorFunction, initialValue ) );
   }
 
+  /**
+   * Apply an accumulator function to each item in the stream emit the accumulated value, checkpointing
+   * the accumulated value to a store. See {@link #scan(String, AccumulatorFunction, Object, StateStore, int, int)}.
+   *
+   * @param <DownstreamT>          the type of the items that the {@code accumulatorFunction} function emits.
+   * @param accumulatorFunction    the function to use to accumulate the values.
+   * @param initialValue           the initial value to begin accumulation from if the store contains no value.
+   * @param stateStore             the store used to save and restore the accumulated value.
+   * @param checkpointItemInterval the number of items after which the accumulated value is saved or 0 to not save based on the number of items.
+   * @param checkpointPeriod       the time in milliseconds after which the accumulated value is saved or 0 to not save periodically.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final <DownstreamT> Stream<DownstreamT> scan( @Nonnull final AccumulatorFunction<T, DownstreamT> accumulatorFunction,
+                                                       @Nonnull final DownstreamT initialValue,
+                                                       @Nonnull final StateStore<DownstreamT> stateStore,
+                                                       final int checkpointItemInterval,
+                                                       final int checkpointPeriod )
+  {
+    return scan( null, accumulatorFunction, initialValue, stateStore, checkpointItemInterval, checkpointPeriod );
+  }
+
+  /**
+   * Apply an accumulator function to each item in the stream emit the accumulated value, checkpointing
+   * the accumulated value to a store.
+   * When the stream is subscribed to, the accumulated value is restored from the store and accumulation
+   * begins from the restored value rather than the initial value. The accumulated value is saved to the
+   * store after every {@code checkpointItemInterval} items, every {@code checkpointPeriod} milliseconds
+   * and when the subscription completes, errors or is cancelled. Only values that have not already been
+   * saved are saved. Errors saving the value are reported as uncaught errors and do not terminate the stream.
+   * Checkpoints triggered by the item count are saved by a task scheduled when the count is reached rather than
+   * while the item is delivered, so a slow store does not delay items. Saves never run concurrently.
+   *
+   * <p>The accumulated value is passed to the store and emitted downstream and thus the accumulator
+   * function should return a new value rather than modifying the accumulated value.</p>
+   *
+   * @param <DownstreamT>          the type of the items that the {@code accumulatorFunction} function emits.
+   * @param name                   the name specified by the user.
+   * @param accumulatorFunction    the function to use to accumulate the values.
+   * @param initialValue           the initial value to begin accumulation from if the store contains no value.
+   * @param stateStore             the store used to save and restore the accumulated value.
+   * @param checkpointItemInterval the number of items after which the accumulated value is saved or 0 to not save based on the number of items.
+   * @param checkpointPeriod       the time in milliseconds after which the accumulated value is saved or 0 to not save periodically.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final <DownstreamT> Stream<DownstreamT> scan( @Nullable final String name,
+                                                       @Nonnull final AccumulatorFunction<T, DownstreamT> accumulatorFunction,
+                                                       @Nonnull final DownstreamT initialValue,
+                                                       @Nonnull final StateStore<DownstreamT> stateStore,
+                                                       final int checkpointItemInterval,
+                                                       final int checkpointPeriod )
+  {
+    return compose( s -> new CheckpointedScanOperator<>( name,
+                                                         s,
+                                                         accumulatorFunction,
+                                                         initialValue,
+                                                         stateStore,
+                                                         checkpointItemInterval,
+                                                         checkpointPeriod ) );
+  }
+
+  /**
+   * Collect all the items emitted by the stream into a list and emit the list when the stream completes.
+   * If the stream errors then no list is emitted. The list is emitted even if the stream is empty.
+   *
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final Stream<List<T>> toList()
+  {
+    return toList( null );
+  }
+
+  /**
+   * Collect all the items emitted by the stream into a list and emit the list when the stream completes.
+   * If the stream errors then no list is emitted. The list is emitted even if the stream is empty.
+   *
+   * @param name the name specified by the user.
+   * @return the new stream.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ACCUMULATING )
+  public final Stream<List<T>> toList( @Nullable final String name )
+  {
+    return compose( s -> new ToListOperator<>( name, s ) );
+  }
+
   /**
    * Invoke the {@link Subscriber#onSubscribe(Subscription)} on upstream on the specified {@link VirtualProcessorUnit}.
    *
@@ -2201,6 +3072,209 @@ public abstract class Stream<T>
     return compose( s -> new ObserveOnOperator<>( name, s, virtualProcessorUnit ) );
   }
 
+  /**
+   * Emit signals and items on the specified {@link VirtualProcessorUnit}, merging items that are received
+   * while a previous item is waiting to be emitted. At most one item is held while the task on the VPU is
+   * pending and each item received is merged into the held item using the merge function. This adapts to the
+   * rate at which the downstream actually consumes items, unlike the time-based {@link #sample(int)} and
+   * {@link #throttle(int)} operators.
+   *
+   * @param virtualProcessorUnit the VPU on which to invoke signals and emit items.
+   * @param mergeFn              the function that merges the held item and the received item into the item held.
+   * @return the new stream.
+   * @see #onBackpressureLatest(VirtualProcessorUnit)
+   * @see #onBackpressureDrop(VirtualProcessorUnit, Consumer)
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final Stream<T> conflate( @Nonnull final VirtualProcessorUnit virtualProcessorUnit,
+                                   @Nonnull final BinaryOperator<T> mergeFn )
+  {
+    return conflate( null, virtualProcessorUnit, mergeFn );
+  }
+
+  /**
+   * Emit signals and items on the specified {@link VirtualProcessorUnit}, merging items that are received
+   * while a previous item is waiting to be emitted. At most one item is held while the task on the VPU is
+   * pending and each item received is merged into the held item using the merge function. This adapts to the
+   * rate at which the downstream actually consumes items, unlike the time-based {@link #sample(int)} and
+   * {@link #throttle(int)} operators.
+   *
+   * @param name                 the name specified by the user.
+   * @param virtualProcessorUnit the VPU on which to invoke signals and emit items.
+   * @param mergeFn              the function that merges the held item and the received item into the item held.
+   * @return the new stream.
+   * @see #onBackpressureLatest(String, VirtualProcessorUnit)
+   * @see #onBackpressureDrop(String, VirtualProcessorUnit, Consumer)
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final Stream<T> conflate( @Nullable final String name,
+                                   @Nonnull final VirtualProcessorUnit virtualProcessorUnit,
+                                   @Nonnull final BinaryOperator<T> mergeFn )
+  {
+    Objects.requireNonNull( mergeFn );
+    return compose( s -> new ObserveOnOperator<>( name, "conflate", s, virtualProcessorUnit, mergeFn ) );
+  }
+
+  /**
+   * Emit signals and items on the specified {@link VirtualProcessorUnit}, emitting only the latest item
+   * received while a previous item is waiting to be emitted. Items replaced by a later item are never emitted.
+   *
+   * @param virtualProcessorUnit the VPU on which to invoke signals and emit items.
+   * @return the new stream.
+   * @see #conflate(VirtualProcessorUnit, BinaryOperator)
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final Stream<T> onBackpressureLatest( @Nonnull final VirtualProcessorUnit virtualProcessorUnit )
+  {
+    return onBackpressureLatest( null, virtualProcessorUnit );
+  }
+
+  /**
+   * Emit signals and items on the specified {@link VirtualProcessorUnit}, emitting only the latest item
+   * received while a previous item is waiting to be emitted. Items replaced by a later item are never emitted.
+   *
+   * @param name                 the name specified by the user.
+   * @param virtualProcessorUnit the VPU on which to invoke signals and emit items.
+   * @return the new stream.
+   * @see #conflate(String, VirtualProcessorUnit, BinaryOperator)
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final Stream<T> onBackpressureLatest( @Nullable final String name,
+                                               @Nonnull final VirtualProcessorUnit virtualProcessorUnit )
+  {
+    return compose( s -> new ObserveOnOperator<>( name,
+                                                  "onBackpressureLatest",
+                                                  s,
+                                                  virtualProcessorUnit,
+                                                  ( held, item ) -> item ) );
+  }
+
+  /**
+   * Emit signals and items on the specified {@link VirtualProcessorUnit}, dropping items that are received
+   * while a previous item is waiting to be emitted. Each dropped item is passed to the onDrop function.
+   *
+   * @param virtualProcessorUnit the VPU on which to invoke signals and emit items.
+   * @param onDrop               the function invoked with each item that is dropped.
+   * @return the new stream.
+   * @see #conflate(VirtualProcessorUnit, BinaryOperator)
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final Stream<T> onBackpressureDrop( @Nonnull final VirtualProcessorUnit virtualProcessorUnit,
+                                             @Nonnull final Consumer<T> onDrop )
+  {
+    return onBackpressureDrop( null, virtualProcessorUnit, onDrop );
+  }
+
+  /**
+   * Emit signals and items on the specified {@link VirtualProcessorUnit}, dropping items that are received
+   * while a previous item is waiting to be emitted. Each dropped item is passed to the onDrop function.
+   *
+   * @param name                 the name specified by the user.
+   * @param virtualProcessorUnit the VPU on which to invoke signals and emit items.
+   * @param onDrop               the function invoked with each item that is dropped.
+   * @return the new stream.
+   * @see #conflate(String, VirtualProcessorUnit, BinaryOperator)
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final Stream<T> onBackpressureDrop( @Nullable final String name,
+                                             @Nonnull final VirtualProcessorUnit virtualProcessorUnit,
+                                             @Nonnull final Consumer<T> onDrop )
+  {
+    Objects.requireNonNull( onDrop );
+    return compose( s -> new ObserveOnOperator<>( name,
+                                                  "onBackpressureDrop",
+                                                  s,
+                                                  virtualProcessorUnit,
+                                                  ( held, item ) -> {
+                                                    onDrop.accept( item );
+                                                    return held;
+                                                  } ) );
+  }
+
+  /**
+   * Emit signals and items in the next animation frame.
+   * All the items received between frames are emitted in a single <code>requestAnimationFrame</code>
+   * callback, so work performed by downstream stages is aligned with the browser's frame clock. Browsers do
+   * not run animation frames in hidden tabs, so items are buffered until the tab is visible again.
+   * Use {@link #sampleByAnimationFrame()} if only the latest item is needed to render the frame.
+   *
+   * @return the new stream.
+   * @see #observeOn(VirtualProcessorUnit)
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final Stream<T> observeOnAnimationFrame()
+  {
+    return observeOnAnimationFrame( null );
+  }
+
+  /**
+   * Emit signals and items in the next animation frame.
+   * All the items received between frames are emitted in a single <code>requestAnimationFrame</code>
+   * callback, so work performed by downstream stages is aligned with the browser's frame clock. Browsers do
+   * not run animation frames in hidden tabs, so items are buffered until the tab is visible again.
+   * Use {@link #sampleByAnimationFrame(String)} if only the latest item is needed to render the frame.
+   *
+   * @param name the name specified by the user.
+   * @return the new stream.
+   * @see #observeOn(String, VirtualProcessorUnit)
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final Stream<T> observeOnAnimationFrame( @Nullable final String name )
+  {
+    return compose( s -> new ObserveOnOperator<>( name,
+                                                  "observeOnAnimationFrame",
+                                                  s,
+                                                  Zemeckis.animationFrameVpu(),
+                                                  null ) );
+  }
+
+  /**
+   * Emit the latest item received before each animation frame in the <code>requestAnimationFrame</code> callback.
+   * Items replaced by a later item before the frame are never emitted. This replaces approximations such as
+   * <code>sample(16)</code>, which drift relative to the frame clock and keep waking the CPU while the tab is
+   * hidden. Browsers do not run animation frames in hidden tabs, so only the latest item is held until the tab
+   * is visible again.
+   *
+   * @return the new stream.
+   * @see #onBackpressureLatest(VirtualProcessorUnit)
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final Stream<T> sampleByAnimationFrame()
+  {
+    return sampleByAnimationFrame( null );
+  }
+
+  /**
+   * Emit the latest item received before each animation frame in the <code>requestAnimationFrame</code> callback.
+   * Items replaced by a later item before the frame are never emitted. This replaces approximations such as
+   * <code>sample(16)</code>, which drift relative to the frame clock and keep waking the CPU while the tab is
+   * hidden. Browsers do not run animation frames in hidden tabs, so only the latest item is held until the tab
+   * is visible again.
+   *
+   * @param name the name specified by the user.
+   * @return the new stream.
+   * @see #onBackpressureLatest(String, VirtualProcessorUnit)
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.SCHEDULING )
+  public final Stream<T> sampleByAnimationFrame( @Nullable final String name )
+  {
+    return compose( s -> new ObserveOnOperator<>( name,
+                                                  "sampleByAnimationFrame",
+                                                  s,
+                                                  Zemeckis.animationFrameVpu(),
+                                                  ( held, item ) -> item ) );
+  }
+
   /**
    * When an upstream emits an error then replace upstream with the stream returned by the supplied function rather
    * than emitting an error to downstream. If the function throws an exception or returns null then the original
@@ -2309,6 +3383,114 @@ public abstract class Stream<T>
     return repeat( Integer.MAX_VALUE );
   }
 
+  /**
+   * When an upstream emits an error then re-subscribe to upstream after a delay rather than emitting an error to downstream.
+   * The delay is determined by invoking the {@code retryDelayFn} function. If the function returns a negative delay
+   * or {@code maxRetries} retries have already been attempted then the error is emitted to downstream. The retry
+   * count is reset when upstream emits an item. Cancelling the subscription while a retry is pending cancels the retry.
+   *
+   * @param maxRetries   the maximum number of consecutive retries.
+   * @param retryDelayFn the function that returns the delay in milliseconds before each retry.
+   * @return the new stream.
+   * @see #retryWithExponentialBackoff(int, int, int)
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ERROR_HANDLING )
+  public final Stream<T> retryWhen( final int maxRetries, @Nonnull final RetryDelayFn retryDelayFn )
+  {
+    return retryWhen( null, maxRetries, retryDelayFn );
+  }
+
+  /**
+   * When an upstream emits an error then re-subscribe to upstream after a delay rather than emitting an error to downstream.
+   * The delay is determined by invoking the {@code retryDelayFn} function. If the function returns a negative delay
+   * or {@code maxRetries} retries have already been attempted then the error is emitted to downstream. The retry
+   * count is reset when upstream emits an item. Cancelling the subscription while a retry is pending cancels the retry.
+   *
+   * @param name         the name specified by the user.
+   * @param maxRetries   the maximum number of consecutive retries.
+   * @param retryDelayFn the function that returns the delay in milliseconds before each retry.
+   * @return the new stream.
+   * @see #retryWithExponentialBackoff(String, int, int, int)
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ERROR_HANDLING )
+  public final Stream<T> retryWhen( @Nullable final String name,
+                                    final int maxRetries,
+                                    @Nonnull final RetryDelayFn retryDelayFn )
+  {
+    return compose( s -> new RetryOperator<>( name, s, maxRetries, retryDelayFn ) );
+  }
+
+  /**
+   * When an upstream emits an error then re-subscribe to upstream after an exponentially increasing delay.
+   * This is equivalent to invoking {@link #retryWithExponentialBackoff(int, int, int)} with an initial
+   * delay of 100 milliseconds and a maximum delay of 30 seconds.
+   *
+   * @param maxRetries the maximum number of consecutive retries.
+   * @return the new stream.
+   * @see #retryWithExponentialBackoff(int, int, int)
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ERROR_HANDLING )
+  public final Stream<T> retryWithExponentialBackoff( final int maxRetries )
+  {
+    return retryWithExponentialBackoff( maxRetries, 100, 30000 );
+  }
+
+  /**
+   * When an upstream emits an error then re-subscribe to upstream after an exponentially increasing delay.
+   * The delay before the n-th retry is capped at {@code maxDelay} and is calculated as
+   * {@code min(maxDelay, initialDelay * 2^(n-1))}. A random jitter is applied so that the actual delay is
+   * between half and all of the calculated delay. The jitter avoids many clients that failed at the same time
+   * re-subscribing at the same time. The retry count is reset when upstream emits an item.
+   *
+   * @param maxRetries   the maximum number of consecutive retries.
+   * @param initialDelay the delay in milliseconds before the first retry.
+   * @param maxDelay     the maximum delay in milliseconds before any retry.
+   * @return the new stream.
+   * @see #retryWhen(int, RetryDelayFn)
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ERROR_HANDLING )
+  public final Stream<T> retryWithExponentialBackoff( final int maxRetries, final int initialDelay, final int maxDelay )
+  {
+    return retryWithExponentialBackoff( null, maxRetries, initialDelay, maxDelay );
+  }
+
+  /**
+   * When an upstream emits an error then re-subscribe to upstream after an exponentially increasing delay.
+   * The delay before the n-th retry is capped at {@code maxDelay} and is calculated as
+   * {@code min(maxDelay, initialDelay * 2^(n-1))}. A random jitter is applied so that the actual delay is
+   * between half and all of the calculated delay. The jitter avoids many clients that failed at the same time
+   * re-subscribing at the same time. The retry count is reset when upstream emits an item.
+   *
+   * @param name         the name specified by the user.
+   * @param maxRetries   the maximum number of consecutive retries.
+   * @param initialDelay the delay in milliseconds before the first retry.
+   * @param maxDelay     the maximum delay in milliseconds before any retry.
+   * @return the new stream.
+   * @see #retryWhen(String, int, RetryDelayFn)
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.ERROR_HANDLING )
+  public final Stream<T> retryWithExponentialBackoff( @Nullable final String name,
+                                                      final int maxRetries,
+                                                      final int initialDelay,
+                                                      final int maxDelay )
+  {
+    assert initialDelay > 0;
+    assert maxDelay >= initialDelay;
+    final String actualName =
+      Spritz.areNamesEnabled() ?
+      generateName( name, "retryWithExponentialBackoff", maxRetries + "," + initialDelay + "," + maxDelay ) :
+      null;
+    return retryWhen( actualName,
+                      maxRetries,
+                      ( retryCount, error ) ->
+                        SpritzUtil.jitteredExponentialBackoff( retryCount, initialDelay, maxDelay ) );
+  }
+
   /**
    * Create a multicast, {@link ConnectableStream} that shares a single subscription to this stream.
    * The new stream emits to downstream {@link Subscriber}s only those items that are emitted subsequent
@@ -2490,6 +3672,51 @@ public abstract class Stream<T>
     return publish().refCount();
   }
 
+  /**
+   * Create a stream that shares a single subscription to this stream between all subscribers and
+   * replays the most recent items to late subscribers. As long as there is at least one Subscriber
+   * this stream will be subscribed to the source Stream, and the subscription is retained for {@code maxAge}
+   * after the last Subscriber cancels. Items are retained for replay until they are evicted due to the number
+   * of items retained exceeding {@code maxSize} or the item being older than {@code maxAge}. If the source
+   * Stream completes or emits an error then later subscribers receive the retained items followed by the
+   * terminal signal. This is equivalent to {@code publishReplay( maxSize, maxAge ).refCount( maxAge )}.
+   *
+   * @param maxSize the maximum number of items to replay.
+   * @param maxAge  the oldest age of items to replay.
+   * @return the new stream.
+   * @see StreamCache
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.UNKNOWN )
+  public final Stream<T> cache( final int maxSize, final int maxAge )
+  {
+    return cache( null, maxSize, maxAge );
+  }
+
+  /**
+   * Create a stream that shares a single subscription to this stream between all subscribers and
+   * replays the most recent items to late subscribers. As long as there is at least one Subscriber
+   * this stream will be subscribed to the source Stream, and the subscription is retained for {@code maxAge}
+   * after the last Subscriber cancels. Items are retained for replay until they are evicted due to the number
+   * of items retained exceeding {@code maxSize} or the item being older than {@code maxAge}. If the source
+   * Stream completes or emits an error then later subscribers receive the retained items followed by the
+   * terminal signal. This is equivalent to {@code publishReplay( maxSize, maxAge ).refCount( maxAge )}.
+   *
+   * @param name    the name specified by the user.
+   * @param maxSize the maximum number of items to replay.
+   * @param maxAge  the oldest age of items to replay.
+   * @return the new stream.
+   * @see StreamCache
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.UNKNOWN )
+  public final Stream<T> cache( @Nullable final String name, final int maxSize, final int maxAge )
+  {
+    final String actualName =
+      Spritz.areNamesEnabled() ? generateName( name, "cache", maxSize + "," + maxAge ) : null;
+    return publishReplay( actualName, maxSize, maxAge ).refCount( maxAge );
+  }
+
   /**
    * Publish emitted items and signals to the specified subject.
    * When downstream stages subscribe they are subscribed to the subject.
@@ -2566,6 +3793,85 @@ public abstract class Stream<T>
     return subscribe( new ForEachSubscriber<>( action ) );
   }
 
+  /**
+   * Return a Reactive Streams publisher that publishes the items emitted by this stream.
+   * Each subscriber to the publisher results in a separate subscription to this stream. This stream
+   * can not be slowed down so items emitted before the subscriber has requested them are buffered. If more
+   * than {@code bufferSize} items are buffered then the subscription to this stream is cancelled and the
+   * subscriber is sent an {@link IllegalStateException}.
+   *
+   * <p>The publisher can be adapted to a {@code java.util.concurrent.Flow.Publisher} via
+   * {@code org.reactivestreams.FlowAdapters.toFlowPublisher(...)}.</p>
+   *
+   * @param bufferSize the maximum number of items buffered for a subscriber.
+   * @return the publisher.
+   */
+  @SuppressWarnings( "NonJREEmulationClassesInClientCode" )
+  @Nonnull
+  @GwtIncompatible
+  @DocCategory( DocCategory.Type.UNKNOWN )
+  public final org.reactivestreams.Publisher<T> toPublisher( final int bufferSize )
+  {
+    return StreamPublisher.create( this, bufferSize );
+  }
+
+  /**
+   * Subscribe to the stream and return a promise that resolves to the first item emitted by the stream.
+   * The subscription is cancelled once the first item is received. If the stream completes without emitting
+   * an item then the promise resolves to null and if the stream errors then the promise is rejected with the
+   * error.
+   *
+   * @return the promise.
+   */
+  @Nonnull
+  @DocCategory( DocCategory.Type.UNKNOWN )
+  public final Promise<T> toPromise()
+  {
+    return new Promise<>( ( resolve, reject ) -> subscribe( new PromiseSubscriber<>( resolve, reject ) ) );
+  }
+
+  /**
+   * Subscribe to the stream and return a future that completes with the first item emitted by the stream.
+   * The subscription is cancelled once the first item is received. If the stream completes without emitting
+   * an item then the future completes exceptionally with a {@link NoSuchElementException} and if the stream
+   * errors then the future completes exceptionally with the error. Use {@code last().toCompletableFuture()}
+   * to complete with the last item or {@code toList().toCompletableFuture()} to complete with every item.
+   *
+   * @return the future.
+   */
+  @SuppressWarnings( "NonJREEmulationClassesInClientCode" )
+  @Nonnull
+  @GwtIncompatible
+  @DocCategory( DocCategory.Type.UNKNOWN )
+  public final java.util.concurrent.CompletableFuture<T> toCompletableFuture()
+  {
+    final FutureSubscriber<T> subscriber = new FutureSubscriber<>();
+    subscribe( subscriber );
+    return subscriber.getFuture();
+  }
+
+  /**
+   * Return an iterable that consumes the stream through a bounded queue.
+   * Each call to {@link Iterable#iterator()} subscribes to the stream on a new daemon thread. At most
+   * {@code prefetch} items are queued and the thread emitting items blocks while the queue is full, so the
+   * thread consuming the iterator controls the pace at which a synchronous stream is consumed. If the stream
+   * errors then the error is rethrown from {@link java.util.Iterator#hasNext()}, wrapped in a
+   * {@link java.util.concurrent.CompletionException} if it is a checked exception. A consumer that stops
+   * iterating before the stream terminates must close the iterator, typically via a try-with-resources
+   * statement, so that the subscription is cancelled and the emitting thread is released.
+   *
+   * @param prefetch the maximum number of items queued before the emitting thread blocks.
+   * @return the iterable.
+   */
+  @SuppressWarnings( "NonJREEmulationClassesInClientCode" )
+  @Nonnull
+  @GwtIncompatible
+  @DocCategory( DocCategory.Type.UNKNOWN )
+  public final BlockingIterable<T> toBlockingIterable( final int prefetch )
+  {
+    return new BlockingIterable<>( this, prefetch );
+  }
+
   /**
    * Compost this stream with another stream and return the new stream.
    * This method is used to compose chains of stream operations.
@@ -2595,10 +3901,55 @@ public abstract class Stream<T>
       apiInvariant( Spritz::areNamesEnabled,
                     () -> "Spritz-0053: Stream.getName() invoked when Spritz.areNamesEnabled() is false" );
     }
-    assert null != _name;
+    if ( null == _name )
+    {
+      _name = computeName();
+    }
     return _name;
   }
 
+  /**
+   * Compute the name of a stream that was created with a lazy name and no name specified.
+   * This method should NOT be invoked unless {@link Spritz#areNamesEnabled()} returns <code>true</code>.
+   * Streams that are created with a lazy name MUST override this method.
+   *
+   * @return the name of the stream.
+   */
+  @Nonnull
+  String computeName()
+  {
+    if ( Spritz.shouldCheckInvariants() )
+    {
+      Guards.fail( () -> "Spritz-0063: Stream.computeName() invoked on a stream that was not created with a lazy " +
+                         "name or that does not override computeName()" );
+    }
+    throw new IllegalStateException();
+  }
+
+  /**
+   * Return true if the stream may emit the completion signal.
+   * Streams that can never complete return false so that operators that require completion can be
+   * detected when the stream is assembled and can avoid allocating state that would never be used.
+   *
+   * @return true if the stream may emit the completion signal.
+   */
+  boolean canComplete()
+  {
+    return true;
+  }
+
+  /**
+   * Return true if the stream may emit the error signal.
+   * Streams that can never error return false so that operators that handle errors can be detected
+   * when the stream is assembled.
+   *
+   * @return true if the stream may emit the error signal.
+   */
+  boolean canError()
+  {
+    return true;
+  }
+
   /**
    * Return the qualified name of the stream.
    * The qualified name includes the local name suffixed to the upstream name.
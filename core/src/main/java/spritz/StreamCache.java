@@ -0,0 +1,176 @@
+package spritz;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A cache of streams keyed by a value.
+ * The first time a stream is requested for a key the loader is invoked to create the stream and
+ * the stream is wrapped so that all subscribers share a single upstream subscription and late subscribers
+ * receive the last item emitted. Subsequent requests for the same key return the same shared stream until
+ * the entry is evicted.
+ *
+ * <p>The upstream subscription is retained for {@code maxAge} milliseconds after the last subscriber
+ * cancels, so repeating a lookup after an earlier subscriber has cancelled does not invoke the loader's
+ * stream again. If the loader's stream completes or emits an error then later subscribers receive the
+ * retained item followed by the terminal signal rather than re-subscribing to the loader's stream.</p>
+ *
+ * <p>Entries are evicted when the number of entries exceeds {@code maxEntries}, in which case the least recently
+ * accessed entry is evicted, or when the entry is older than {@code maxAge} milliseconds. Evicting an entry does
+ * not affect existing subscribers of the stream, it just means that the next request for the key will invoke the
+ * loader again.</p>
+ *
+ * @param <K> the type of the key.
+ * @param <T> the type of the items emitted by the cached streams.
+ */
+public final class StreamCache<K, T>
+{
+  /**
+   * A human consumable name for the cache. Must be null unless {@link Spritz#areNamesEnabled()} returns true.
+   */
+  @Nullable
+  private final String _name;
+  /**
+   * The function that creates the upstream stream for a key.
+   */
+  @Nonnull
+  private final Function<K, Stream<T>> _loader;
+  /**
+   * The maximum number of entries retained in the cache.
+   */
+  private final int _maxEntries;
+  /**
+   * The maximum time in milliseconds that an entry and the item it replays is retained.
+   */
+  private final int _maxAge;
+  /**
+   * The entries in the cache, ordered from least recently accessed to most recently accessed.
+   */
+  @Nonnull
+  private final LinkedHashMap<K, Entry<T>> _entries = new LinkedHashMap<K, Entry<T>>( 16, 0.75F, true )
+  {
+    @Override
+    protected boolean removeEldestEntry( @Nonnull final Map.Entry<K, Entry<T>> eldest )
+    {
+      return size() > _maxEntries;
+    }
+  };
+
+  /**
+   * Create the cache.
+   *
+   * @param loader     the function invoked to create the stream for a key.
+   * @param maxEntries the maximum number of entries retained in the cache.
+   * @param maxAge     the maximum time in milliseconds that an entry is retained.
+   */
+  public StreamCache( @Nonnull final Function<K, Stream<T>> loader, final int maxEntries, final int maxAge )
+  {
+    this( null, loader, maxEntries, maxAge );
+  }
+
+  /**
+   * Create the cache.
+   *
+   * @param name       the name specified by the user.
+   * @param loader     the function invoked to create the stream for a key.
+   * @param maxEntries the maximum number of entries retained in the cache.
+   * @param maxAge     the maximum time in milliseconds that an entry is retained.
+   */
+  public StreamCache( @Nullable final String name,
+                      @Nonnull final Function<K, Stream<T>> loader,
+                      final int maxEntries,
+                      final int maxAge )
+  {
+    assert maxEntries > 0;
+    assert maxAge > 0;
+    _name = Spritz.areNamesEnabled() ? Stream.generateName( name, "cache", maxEntries + "," + maxAge ) : null;
+    _loader = Objects.requireNonNull( loader );
+    _maxEntries = maxEntries;
+    _maxAge = maxAge;
+  }
+
+  /**
+   * Return the stream for the specified key, creating the stream if it is not present in the cache or the
+   * cached entry has expired.
+   *
+   * @param key the key.
+   * @return the stream.
+   */
+  @Nonnull
+  public Stream<T> get( @Nonnull final K key )
+  {
+    final int now = Scheduler.now();
+    final Entry<T> existing = _entries.get( key );
+    if ( null != existing && existing._time + _maxAge >= now )
+    {
+      return existing._stream;
+    }
+    else
+    {
+      final String name = Spritz.areNamesEnabled() ? _name + "[" + key + "]" : null;
+      final Stream<T> stream = _loader.apply( key ).publishReplay( name, 1, _maxAge ).refCount( _maxAge );
+      _entries.put( key, new Entry<>( now, stream ) );
+      return stream;
+    }
+  }
+
+  /**
+   * Remove the entry for the specified key if present.
+   *
+   * @param key the key.
+   */
+  public void invalidate( @Nonnull final K key )
+  {
+    _entries.remove( key );
+  }
+
+  /**
+   * Remove all entries from the cache.
+   */
+  public void invalidateAll()
+  {
+    _entries.clear();
+  }
+
+  /**
+   * Return the number of entries in the cache.
+   * This may include entries that have expired but have yet to be evicted.
+   *
+   * @return the number of entries in the cache.
+   */
+  public int size()
+  {
+    return _entries.size();
+  }
+
+  @Nonnull
+  @Override
+  public String toString()
+  {
+    if ( Spritz.areNamesEnabled() )
+    {
+      return "StreamCache[" + _name + "]";
+    }
+    else
+    {
+      return super.toString();
+    }
+  }
+
+  private static final class Entry<T>
+  {
+    private final int _time;
+    @Nonnull
+    private final Stream<T> _stream;
+
+    Entry( final int time, @Nonnull final Stream<T> stream )
+    {
+      _time = time;
+      _stream = Objects.requireNonNull( stream );
+    }
+  }
+}
@@ -0,0 +1,291 @@
+package spritz;
+
+import java.util.ArrayDeque;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.reactivestreams.Publisher;
+
+/**
+ * A Reactive Streams {@link Publisher} that publishes the items emitted by a Spritz stream.
+ * Each Reactive Streams subscriber results in a separate subscription to the stream. As Spritz streams
+ * can not be slowed down, items that are emitted before the subscriber has requested them are held in a
+ * bounded buffer. If the buffer overflows then the stream subscription is cancelled and the subscriber is
+ * sent an error rather than allowing memory usage to grow without bound.
+ */
+@GwtIncompatible
+final class StreamPublisher<T>
+  implements Publisher<T>
+{
+  @Nonnull
+  private final Stream<T> _stream;
+  private final int _bufferSize;
+
+  /**
+   * Create a publisher for the stream.
+   * The factory returns the interface type so that the classes that invoke it do not reference the
+   * Reactive Streams types when they are verified. This allows Spritz to be used without the optional
+   * Reactive Streams dependency when the adapters are not used.
+   */
+  @Nonnull
+  static <T> Publisher<T> create( @Nonnull final Stream<T> stream, final int bufferSize )
+  {
+    return new StreamPublisher<>( stream, bufferSize );
+  }
+
+  private StreamPublisher( @Nonnull final Stream<T> stream, final int bufferSize )
+  {
+    assert bufferSize > 0;
+    _stream = Objects.requireNonNull( stream );
+    _bufferSize = bufferSize;
+  }
+
+  @Override
+  public void subscribe( @Nonnull final org.reactivestreams.Subscriber<? super T> subscriber )
+  {
+    final Bridge<T> bridge = new Bridge<>( subscriber, _bufferSize );
+    subscriber.onSubscribe( bridge );
+    bridge.subscribe( _stream );
+  }
+
+  /**
+   * The bridge between a Spritz stream and a Reactive Streams subscriber.
+   * The state is guarded by the bridge monitor but signals are delivered to the subscriber and the
+   * stream subscription is cancelled outside the monitor, so that a subscriber that calls back into
+   * the bridge from another thread while it holds its own locks can not deadlock with the stream.
+   */
+  private static final class Bridge<T>
+    implements org.reactivestreams.Subscription, Subscriber<T>
+  {
+    @Nonnull
+    private final org.reactivestreams.Subscriber<? super T> _subscriber;
+    private final int _bufferSize;
+    @Nonnull
+    private final ArrayDeque<T> _buffer = new ArrayDeque<>();
+    @Nullable
+    private Subscription _subscription;
+    /**
+     * The number of items requested by the subscriber that have yet to be delivered.
+     */
+    private long _requested;
+    /**
+     * The error received from the stream that has yet to be delivered, if any.
+     */
+    @Nullable
+    private Throwable _pendingError;
+    private boolean _pendingComplete;
+    /**
+     * Flag set when the subscriber has cancelled or a terminal signal has been delivered.
+     */
+    private boolean _done;
+    /**
+     * Flag set while a thread is delivering signals. Other threads and re-entrant requests (Rule 3.3)
+     * only update the state and leave the delivery to the draining thread.
+     */
+    private boolean _draining;
+
+    Bridge( @Nonnull final org.reactivestreams.Subscriber<? super T> subscriber, final int bufferSize )
+    {
+      _subscriber = Objects.requireNonNull( subscriber );
+      _bufferSize = bufferSize;
+    }
+
+    void subscribe( @Nonnull final Stream<T> stream )
+    {
+      if ( !isDone() )
+      {
+        stream.subscribe( this );
+      }
+    }
+
+    private synchronized boolean isDone()
+    {
+      return _done;
+    }
+
+    @Override
+    public void onSubscribe( @Nonnull final Subscription subscription )
+    {
+      final boolean done;
+      synchronized ( this )
+      {
+        _subscription = subscription;
+        done = _done;
+      }
+      if ( done )
+      {
+        subscription.cancel();
+      }
+    }
+
+    @Override
+    public void onItem( @Nonnull final T item )
+    {
+      Subscription toCancel = null;
+      synchronized ( this )
+      {
+        if ( _done )
+        {
+          return;
+        }
+        else if ( _buffer.size() >= _bufferSize )
+        {
+          toCancel = _subscription;
+          _buffer.clear();
+          _pendingError =
+            new IllegalStateException( "Subscriber did not request items fast enough and the buffer of " +
+                                       _bufferSize + " items overflowed" );
+        }
+        else
+        {
+          _buffer.add( item );
+        }
+      }
+      cancel( toCancel );
+      drain();
+    }
+
+    @Override
+    public void onError( @Nonnull final Throwable error )
+    {
+      synchronized ( this )
+      {
+        if ( _done || null != _pendingError )
+        {
+          return;
+        }
+        _pendingError = error;
+      }
+      drain();
+    }
+
+    @Override
+    public void onComplete()
+    {
+      synchronized ( this )
+      {
+        if ( _done || null != _pendingError )
+        {
+          return;
+        }
+        _pendingComplete = true;
+      }
+      drain();
+    }
+
+    @Override
+    public void request( final long count )
+    {
+      Subscription toCancel = null;
+      synchronized ( this )
+      {
+        if ( _done )
+        {
+          return;
+        }
+        else if ( count <= 0 )
+        {
+          // Rule 3.9: Non-positive requests must result in an error
+          toCancel = _subscription;
+          _buffer.clear();
+          _pendingError = new IllegalArgumentException( "Rule 3.9: Request count must be positive but was " + count );
+        }
+        else
+        {
+          final long requested = _requested + count;
+          // Saturate at Long.MAX_VALUE which Rule 3.17 treats as unbounded
+          _requested = requested < 0 ? Long.MAX_VALUE : requested;
+        }
+      }
+      cancel( toCancel );
+      drain();
+    }
+
+    @Override
+    public void cancel()
+    {
+      final Subscription toCancel;
+      synchronized ( this )
+      {
+        if ( _done )
+        {
+          return;
+        }
+        _done = true;
+        _buffer.clear();
+        toCancel = _subscription;
+      }
+      cancel( toCancel );
+    }
+
+    private void cancel( @Nullable final Subscription subscription )
+    {
+      if ( null != subscription )
+      {
+        subscription.cancel();
+      }
+    }
+
+    private void drain()
+    {
+      synchronized ( this )
+      {
+        if ( _draining )
+        {
+          return;
+        }
+        _draining = true;
+      }
+      try
+      {
+        while ( true )
+        {
+          T item = null;
+          Throwable error = null;
+          synchronized ( this )
+          {
+            if ( !_done && _requested > 0 && !_buffer.isEmpty() )
+            {
+              if ( Long.MAX_VALUE != _requested )
+              {
+                _requested--;
+              }
+              item = _buffer.poll();
+            }
+            else if ( !_done && _buffer.isEmpty() && ( null != _pendingError || _pendingComplete ) )
+            {
+              _done = true;
+              error = _pendingError;
+            }
+            else
+            {
+              // Nothing can be delivered until the state changes and the thread that changes it will drain
+              _draining = false;
+              return;
+            }
+          }
+          if ( null != item )
+          {
+            _subscriber.onNext( item );
+          }
+          else if ( null != error )
+          {
+            _subscriber.onError( error );
+          }
+          else
+          {
+            _subscriber.onComplete();
+          }
+        }
+      }
+      catch ( final Throwable t )
+      {
+        synchronized ( this )
+        {
+          _draining = false;
+        }
+        throw t;
+      }
+    }
+  }
+}
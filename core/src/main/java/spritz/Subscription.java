@@ -20,6 +20,10 @@ public abstract class Subscription
     if ( isNotDone() )
     {
       markAsDone();
+      if ( Spritz.isSubscriptionRegistryEnabled() )
+      {
+        SubscriptionRegistry.get().deregisterSubscription( this );
+      }
       doCancel();
     }
   }
@@ -0,0 +1,160 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import static org.realityforge.braincheck.Guards.*;
+
+/**
+ * Registry that tracks every live {@link Subscription} and every pending timer task created by Spritz.
+ * The registry is only present when {@link Spritz#isSubscriptionRegistryEnabled()} returns true and is
+ * intended to help track down subscriptions that are never cancelled and timers that are never released.
+ *
+ * <p>Every stage in a stream pipeline creates a separate subscription so a single call to
+ * {@link Stream#subscribe(Subscriber)} on a pipeline will result in one registered subscription per
+ * stage. The qualified name of each subscription describes the chain of upstream stages.</p>
+ *
+ * <p>Subscriptions and timers may be registered and deregistered from timer callbacks and other threads
+ * so every access to the registry state is guarded by the registry monitor.</p>
+ */
+public final class SubscriptionRegistry
+{
+  /**
+   * The singleton instance. Lazily created when first accessed.
+   */
+  @Nullable
+  private static SubscriptionRegistry c_registry;
+  /**
+   * The set of subscriptions that have been created and have not yet been cancelled or completed.
+   */
+  @Nonnull
+  private final Set<Subscription> _subscriptions = new LinkedHashSet<>();
+  /**
+   * The set of timer tasks that have been scheduled and have not yet been cancelled or executed.
+   */
+  @Nonnull
+  private final Set<Scheduler.TrackedTask> _timers = new LinkedHashSet<>();
+
+  private SubscriptionRegistry()
+  {
+  }
+
+  /**
+   * Return the singleton registry.
+   * This should only be invoked when {@link Spritz#isSubscriptionRegistryEnabled()} returns true.
+   *
+   * @return the registry.
+   */
+  @Nonnull
+  static synchronized SubscriptionRegistry get()
+  {
+    if ( Spritz.shouldCheckApiInvariants() )
+    {
+      apiInvariant( Spritz::isSubscriptionRegistryEnabled,
+                    () -> "Spritz-0054: Attempted to access the SubscriptionRegistry but " +
+                          "Spritz.isSubscriptionRegistryEnabled() returns false" );
+    }
+    if ( null == c_registry )
+    {
+      c_registry = new SubscriptionRegistry();
+    }
+    return c_registry;
+  }
+
+  /**
+   * Discard the current registry and all the state it contains.
+   * This is only expected to be invoked from tests.
+   */
+  static synchronized void reset()
+  {
+    c_registry = null;
+  }
+
+  synchronized void registerSubscription( @Nonnull final Subscription subscription )
+  {
+    _subscriptions.add( subscription );
+  }
+
+  synchronized void deregisterSubscription( @Nonnull final Subscription subscription )
+  {
+    _subscriptions.remove( subscription );
+  }
+
+  synchronized void registerTimer( @Nonnull final Scheduler.TrackedTask task )
+  {
+    _timers.add( task );
+  }
+
+  synchronized void deregisterTimer( @Nonnull final Scheduler.TrackedTask task )
+  {
+    _timers.remove( task );
+  }
+
+  /**
+   * Return the number of subscriptions that are currently active.
+   *
+   * @return the number of subscriptions that are currently active.
+   */
+  public synchronized int getActiveSubscriptionCount()
+  {
+    return _subscriptions.size();
+  }
+
+  /**
+   * Return an unmodifiable copy of the subscriptions that are currently active.
+   *
+   * @return an unmodifiable copy of the subscriptions that are currently active.
+   */
+  @Nonnull
+  public synchronized List<Subscription> getActiveSubscriptions()
+  {
+    return Collections.unmodifiableList( new ArrayList<>( _subscriptions ) );
+  }
+
+  /**
+   * Return the number of timer tasks that have been scheduled and have not been cancelled or completed.
+   * A non-zero value when no streams are expected to be active usually indicates a leaked subscription.
+   *
+   * @return the number of pending timer tasks.
+   */
+  public synchronized int getActiveTimerCount()
+  {
+    return _timers.size();
+  }
+
+  /**
+   * Return a human readable description of the active subscription graph and pending timers.
+   * Each active subscription is listed on a separate line using the qualified name of the stage
+   * that created it, followed by each pending timer.
+   *
+   * @return a human readable description of the active subscription graph.
+   */
+  @Nonnull
+  public String describe()
+  {
+    // Copy the state so that the descriptions are generated outside the monitor
+    final List<Subscription> subscriptions;
+    final List<Scheduler.TrackedTask> timers;
+    synchronized ( this )
+    {
+      subscriptions = new ArrayList<>( _subscriptions );
+      timers = new ArrayList<>( _timers );
+    }
+    final StringBuilder sb = new StringBuilder();
+    sb.append( "Subscriptions: " ).append( subscriptions.size() ).append( '\n' );
+    for ( final Subscription subscription : subscriptions )
+    {
+      sb.append( "  " ).append( subscription ).append( '\n' );
+    }
+    sb.append( "Timers: " ).append( timers.size() ).append( '\n' );
+    for ( final Scheduler.TrackedTask timer : timers )
+    {
+      sb.append( "  " ).append( timer ).append( '\n' );
+    }
+    return sb.toString();
+  }
+}
@@ -11,6 +11,18 @@ final class SwitchOperator<T>
     super( Spritz.areNamesEnabled() ? generateName( name, "switch" ) : null, upstream );
   }
 
+  @Override
+  boolean canComplete()
+  {
+    return true;
+  }
+
+  @Override
+  boolean canError()
+  {
+    return true;
+  }
+
   @Nonnull
   @Override
   Subscription doSubscribe( @Nonnull final Subscriber<? super T> subscriber )
@@ -19,6 +19,12 @@ final class TakeWhileOperator<T>
     _predicate = Objects.requireNonNull( predicate );
   }
 
+  @Override
+  boolean canComplete()
+  {
+    return true;
+  }
+
   @Nonnull
   @Override
   Subscription doSubscribe( @Nonnull final Subscriber<? super T> subscriber )
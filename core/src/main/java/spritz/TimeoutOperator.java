@@ -3,7 +3,6 @@ package spritz;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import zemeckis.Cancelable;
-import zemeckis.Zemeckis;
 
 final class TimeoutOperator<T>
   extends AbstractStream<T, T>
@@ -17,6 +16,12 @@ final class TimeoutOperator<T>
     assert timeoutTime > 0;
   }
 
+  @Override
+  boolean canError()
+  {
+    return true;
+  }
+
   @Nonnull
   @Override
   Subscription doSubscribe( @Nonnull final Subscriber<? super T> subscriber )
@@ -29,21 +34,18 @@ final class TimeoutOperator<T>
   private static final class WorkerSubscription<T>
     extends PassThroughSubscription<T, TimeoutOperator<T>>
   {
-    private int _lastTime;
     @Nonnull
     private Cancelable _task;
 
     WorkerSubscription( @Nonnull final TimeoutOperator<T> stream, @Nonnull final Subscriber<? super T> subscriber )
     {
       super( stream, subscriber );
-      recordLastTime();
       _task = scheduleTimeout();
     }
 
     @Override
     public void onItem( @Nonnull final T item )
     {
-      recordLastTime();
       _task.cancel();
       _task = scheduleTimeout();
       super.onItem( item );
@@ -63,17 +65,25 @@ final class TimeoutOperator<T>
       super.onComplete();
     }
 
-    private void recordLastTime()
+    @Override
+    void doCancel()
     {
-      _lastTime = Zemeckis.now();
+      _task.cancel();
+      super.doCancel();
     }
 
     @Nonnull
     private Cancelable scheduleTimeout()
     {
-      return Zemeckis.delayedTask( Spritz.areNamesEnabled() ? getStream().getName() : null,
-                                   () -> super.onError( new TimeoutException() ),
-                                   _lastTime + getStream()._timeoutTime );
+      return Scheduler.delayedTask( Spritz.areNamesEnabled() ? getStream().getName() : null,
+                                    this::onTimeout,
+                                    getStream()._timeoutTime );
+    }
+
+    private void onTimeout()
+    {
+      getUpstream().cancel();
+      super.onError( new TimeoutException() );
     }
   }
 }
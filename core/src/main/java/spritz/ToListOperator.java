@@ -0,0 +1,66 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+final class ToListOperator<T>
+  extends AbstractStream<T, List<T>>
+{
+  ToListOperator( @Nullable final String name, @Nonnull final Stream<T> upstream )
+  {
+    super( Spritz.areNamesEnabled() ? generateName( name, "toList" ) : null, upstream );
+    warnIfUpstreamCannotComplete();
+  }
+
+  @Nonnull
+  @Override
+  Subscription doSubscribe( @Nonnull final Subscriber<? super List<T>> subscriber )
+  {
+    final WorkerSubscription<T> subscription = new WorkerSubscription<>( this, subscriber );
+    getUpstream().subscribe( subscription );
+    return subscription;
+  }
+
+  private static final class WorkerSubscription<T>
+    extends AbstractOperatorSubscription<T, List<T>, ToListOperator<T>>
+  {
+    @Nonnull
+    private List<T> _items = new ArrayList<>();
+
+    WorkerSubscription( @Nonnull final ToListOperator<T> stream, @Nonnull final Subscriber<? super List<T>> subscriber )
+    {
+      super( stream, subscriber );
+    }
+
+    @Override
+    public void onItem( @Nonnull final T item )
+    {
+      // Items are never emitted if the upstream stage never completes so avoid retaining them
+      if ( getStream().upstreamCanComplete() )
+      {
+        _items.add( item );
+      }
+    }
+
+    @Override
+    public void onComplete()
+    {
+      final List<T> items = _items;
+      _items = new ArrayList<>();
+      getSubscriber().onItem( items );
+      if ( isNotDone() )
+      {
+        super.onComplete();
+      }
+    }
+
+    @Override
+    public void onError( @Nonnull final Throwable error )
+    {
+      _items.clear();
+      super.onError( error );
+    }
+  }
+}
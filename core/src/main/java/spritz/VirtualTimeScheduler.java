@@ -0,0 +1,272 @@
+package spritz;
+
+import java.util.Objects;
+import java.util.PriorityQueue;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import zemeckis.Cancelable;
+import zemeckis.VirtualProcessorUnit;
+import static org.realityforge.braincheck.Guards.*;
+
+/**
+ * A scheduler that replaces the real clock with a virtual clock that is advanced explicitly.
+ * While the scheduler is installed, all time-based stream stages (i.e. {@link Stream#timeout(int)},
+ * {@link Stream#debounce(int)}, {@link Stream#throttle(int)}, {@link Stream#sample(int)},
+ * {@link Stream#periodic(int)} and the max age of replay subjects) use the virtual clock and
+ * timer tasks are only executed when the virtual clock is advanced past the time they are due.
+ *
+ * <p>This makes it possible to test time-based pipelines deterministically and to simulate hours
+ * of timer-driven traffic in milliseconds. Tasks are executed on the thread that advances the clock
+ * and the clock is set to the time that a task is due before the task is executed.</p>
+ *
+ * <p>Tasks that stream stages queue on a {@link VirtualProcessorUnit} (i.e. {@link Stream#observeOn(VirtualProcessorUnit)})
+ * are also captured while the scheduler is installed. They are treated as tasks due at the current time and
+ * are executed in the order they were queued by {@link #triggerActions()} or when the clock is advanced, so that
+ * tests can observe the state of a pipeline between VPU tasks.</p>
+ *
+ * <p>Tasks may be scheduled and cancelled from other threads, such as the thread that feeds a
+ * {@link Stream#toBlockingIterable(int)} iterator. The scheduler state is guarded by the scheduler
+ * monitor but tasks are executed outside the monitor.</p>
+ *
+ * <pre>{@code
+ * final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+ * try
+ * {
+ *   Stream.periodic( 100 ).take( 3 ).forEach( System.out::println );
+ *   scheduler.advanceTimeBy( 300 );
+ * }
+ * finally
+ * {
+ *   VirtualTimeScheduler.uninstall();
+ * }
+ * }</pre>
+ */
+@GwtIncompatible
+public final class VirtualTimeScheduler
+{
+  @Nonnull
+  private final PriorityQueue<Task> _tasks = new PriorityQueue<>();
+  /**
+   * The current virtual time.
+   */
+  private int _now;
+  /**
+   * Counter used to order tasks scheduled for the same time in the order that they were scheduled.
+   */
+  private long _nextSequence;
+
+  /**
+   * Create a scheduler and install it as the source of time and timers for Spritz.
+   *
+   * @return the new scheduler.
+   */
+  @Nonnull
+  public static VirtualTimeScheduler install()
+  {
+    final VirtualTimeScheduler scheduler = new VirtualTimeScheduler();
+    Scheduler.setTimeSource( scheduler.new VirtualTimeSource() );
+    return scheduler;
+  }
+
+  /**
+   * Remove the currently installed scheduler (if any) and restore the default timers.
+   * Any tasks pending in the virtual scheduler are discarded.
+   */
+  public static void uninstall()
+  {
+    Scheduler.setTimeSource( null );
+  }
+
+  private VirtualTimeScheduler()
+  {
+  }
+
+  /**
+   * Return the current virtual time.
+   *
+   * @return the current virtual time.
+   */
+  public synchronized int now()
+  {
+    return _now;
+  }
+
+  /**
+   * Return the number of tasks that are scheduled but have not yet been executed or cancelled.
+   *
+   * @return the number of pending tasks.
+   */
+  public synchronized int getPendingTaskCount()
+  {
+    return _tasks.size();
+  }
+
+  /**
+   * Advance the virtual clock by the specified amount, executing any tasks that become due in order.
+   *
+   * @param delay the time in milliseconds to advance the clock by.
+   */
+  public void advanceTimeBy( final int delay )
+  {
+    if ( Spritz.shouldCheckApiInvariants() )
+    {
+      apiInvariant( () -> delay >= 0,
+                    () -> "Spritz-0055: VirtualTimeScheduler.advanceTimeBy(...) passed a negative delay '" + delay + "'" );
+    }
+    advanceTimeTo( now() + delay );
+  }
+
+  /**
+   * Advance the virtual clock to the specified time, executing any tasks that become due in order.
+   *
+   * @param time the time in milliseconds to advance the clock to.
+   */
+  public void advanceTimeTo( final int time )
+  {
+    if ( Spritz.shouldCheckApiInvariants() )
+    {
+      final int now = now();
+      apiInvariant( () -> time >= now,
+                    () -> "Spritz-0056: VirtualTimeScheduler.advanceTimeTo(...) passed a time '" + time +
+                          "' that is before the current time '" + now + "'" );
+    }
+    Task task;
+    while ( null != ( task = pollDueTask( time ) ) )
+    {
+      task._task.run();
+    }
+    synchronized ( this )
+    {
+      _now = time;
+    }
+  }
+
+  /**
+   * Execute any tasks that are due at the current time without advancing the clock.
+   */
+  public void triggerActions()
+  {
+    advanceTimeTo( now() );
+  }
+
+  /**
+   * Execute the next task that is due at the current time without advancing the clock.
+   * This is useful to observe a pipeline between the tasks that it queues on a {@link VirtualProcessorUnit}.
+   *
+   * @return true if a task was executed, false if no task is due at the current time.
+   */
+  public boolean triggerNextAction()
+  {
+    final Task task = pollDueTask( now() );
+    if ( null != task )
+    {
+      task._task.run();
+      return true;
+    }
+    else
+    {
+      return false;
+    }
+  }
+
+  /**
+   * Remove and return the next task that is due at or before the specified time, setting the clock
+   * to the time the task is due and rescheduling the task if it is periodic.
+   */
+  @Nullable
+  private synchronized Task pollDueTask( final int time )
+  {
+    final Task task = _tasks.peek();
+    if ( null != task && task._time <= time )
+    {
+      _tasks.poll();
+      _now = task._time;
+      if ( task._period > 0 )
+      {
+        schedule( task, _now + task._period );
+      }
+      return task;
+    }
+    else
+    {
+      return null;
+    }
+  }
+
+  private void schedule( @Nonnull final Task task, final int time )
+  {
+    task._time = time;
+    task._sequence = _nextSequence++;
+    _tasks.add( task );
+  }
+
+  @Nonnull
+  private synchronized Cancelable scheduleTask( @Nonnull final Runnable runnable, final int delay, final int period )
+  {
+    final Task task = new Task( runnable, period );
+    schedule( task, _now + Math.max( 0, delay ) );
+    return () -> cancelTask( task );
+  }
+
+  private synchronized void cancelTask( @Nonnull final Task task )
+  {
+    _tasks.remove( task );
+  }
+
+  private final class VirtualTimeSource
+    implements Scheduler.TimeSource
+  {
+    @Override
+    public int now()
+    {
+      return VirtualTimeScheduler.this.now();
+    }
+
+    @Nonnull
+    @Override
+    public Cancelable delayedTask( @Nullable final String name, @Nonnull final Runnable task, final int delay )
+    {
+      return scheduleTask( task, delay, 0 );
+    }
+
+    @Nonnull
+    @Override
+    public Cancelable periodicTask( @Nullable final String name, @Nonnull final Runnable task, final int period )
+    {
+      // A period of 0 would never allow the clock to advance so treat it as the smallest possible period
+      final int actualPeriod = Math.max( 1, period );
+      return scheduleTask( task, actualPeriod, actualPeriod );
+    }
+
+    @Override
+    public void queue( @Nonnull final VirtualProcessorUnit virtualProcessorUnit,
+                       @Nullable final String name,
+                       @Nonnull final Runnable task )
+    {
+      scheduleTask( task, 0, 0 );
+    }
+  }
+
+  private static final class Task
+    implements Comparable<Task>
+  {
+    @Nonnull
+    private final Runnable _task;
+    private final int _period;
+    private int _time;
+    private long _sequence;
+
+    Task( @Nonnull final Runnable task, final int period )
+    {
+      _task = Objects.requireNonNull( task );
+      _period = period;
+    }
+
+    @Override
+    public int compareTo( @Nonnull final Task other )
+    {
+      final int result = Integer.compare( _time, other._time );
+      return 0 != result ? result : Long.compare( _sequence, other._sequence );
+    }
+  }
+}
@@ -1,10 +1,10 @@
 package spritz;
 
 import elemental2.dom.WebSocket;
-import java.util.ArrayList;
 import java.util.Objects;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import spritz.dom.BinaryFraming;
 import spritz.dom.WebSocketCloseCompleted;
 import spritz.dom.WebSocketCloseException;
 import spritz.dom.WebSocketCloseRequest;
@@ -13,6 +13,7 @@ import spritz.dom.WebSocketMessageRequest;
 import spritz.dom.WebSocketOpenCompleted;
 import spritz.dom.WebSocketRequest;
 import spritz.dom.WebSocketResponse;
+import zemeckis.Zemeckis;
 
 public final class WebSocketHub
   extends Hub<WebSocketRequest, WebSocketResponse>
@@ -20,12 +21,35 @@ public final class WebSocketHub
   private static final int DEFAULT_ERROR_CODE = 4000;
   @Nonnull
   private final WebSocketConfig _config;
+  /**
+   * Requests received while the socket is not open. These are sent once the socket opens.
+   */
   @Nullable
-  private ArrayList<WebSocketRequest> _input;
+  private CircularBuffer<WebSocketRequest> _input;
   @Nullable
   private WebSocket _webSocket;
   @Nullable
   private ForwardToHubDownstreamSubscriber<WebSocketResponse> _subscriber;
+  /**
+   * The string messages that have been coalesced but not yet sent, if batching is enabled.
+   * The batch is retained when the socket closes and is sent once the socket reopens.
+   */
+  @Nullable
+  private StringBuilder _batch;
+  /**
+   * The size of the coalesced messages in bytes when encoded as UTF-8.
+   */
+  private int _batchSize;
+  /**
+   * Flag set when a task has been scheduled to send the coalesced messages.
+   */
+  private boolean _flushScheduled;
+  /**
+   * The number of reconnect attempts since the socket was last open.
+   * The attempts are counted here rather than by the retry stage as the source emits a
+   * {@link WebSocketCloseCompleted} response before every error which would reset the retry stage.
+   */
+  private int _reconnectAttempts;
 
   WebSocketHub( @Nullable final String name, @Nonnull final WebSocketConfig config )
   {
@@ -33,6 +57,61 @@ public final class WebSocketHub
     _config = Objects.requireNonNull( config );
   }
 
+  /**
+   * Return a stream that splits each binary message received over the socket into one or more messages
+   * and emits the result of decoding each message. Each frame is decoded as a single message. Other
+   * responses are dropped. The config should specify a binary type of {@code "arraybuffer"}.
+   *
+   * @param <T>     the type of the decoded messages.
+   * @param decoder the decoder used to decode each message.
+   * @return the new stream.
+   */
+  @Nonnull
+  public <T> Stream<T> binaryFrames( @Nonnull final BinaryMessageDecoder<T> decoder )
+  {
+    return binaryFrames( BinaryFraming.NONE, decoder );
+  }
+
+  /**
+   * Return a stream that splits each binary message received over the socket into one or more messages
+   * and emits the result of decoding each message. The decoder is passed a view over the bytes of each
+   * message so the received buffer is never copied. Other responses are dropped. If a frame does not
+   * match the framing then the stream emits an error. The config should specify a binary type of
+   * {@code "arraybuffer"}.
+   *
+   * @param <T>     the type of the decoded messages.
+   * @param framing describes how messages are packed into each frame.
+   * @param decoder the decoder used to decode each message.
+   * @return the new stream.
+   */
+  @Nonnull
+  public <T> Stream<T> binaryFrames( @Nonnull final BinaryFraming framing,
+                                     @Nonnull final BinaryMessageDecoder<T> decoder )
+  {
+    return binaryFrames( null, framing, decoder );
+  }
+
+  /**
+   * Return a stream that splits each binary message received over the socket into one or more messages
+   * and emits the result of decoding each message. The decoder is passed a view over the bytes of each
+   * message so the received buffer is never copied. Other responses are dropped. If a frame does not
+   * match the framing then the stream emits an error. The config should specify a binary type of
+   * {@code "arraybuffer"}.
+   *
+   * @param <T>     the type of the decoded messages.
+   * @param name    the name specified by the user.
+   * @param framing describes how messages are packed into each frame.
+   * @param decoder the decoder used to decode each message.
+   * @return the new stream.
+   */
+  @Nonnull
+  public <T> Stream<T> binaryFrames( @Nullable final String name,
+                                     @Nonnull final BinaryFraming framing,
+                                     @Nonnull final BinaryMessageDecoder<T> decoder )
+  {
+    return compose( s -> new BinaryFramesOperator<>( name, s, framing, decoder ) );
+  }
+
   @Override
   void completeSubscribe( @Nonnull final DownstreamSubscription subscription )
   {
@@ -41,7 +120,20 @@ public final class WebSocketHub
       final WebSocketSource source =
         new WebSocketSource( Spritz.areNamesEnabled() ? getName() + ".source()" : null, _config );
       _subscriber = new ForwardToHubDownstreamSubscriber<>( this );
-      source.subscribe( _subscriber );
+      if ( _config.isReconnectEnabled() )
+      {
+        // Connection failures re-subscribe to the source, creating a new socket, rather than
+        // terminating the hub. Requests received while reconnecting are buffered until the socket opens.
+        source
+          .retryWhen( Spritz.areNamesEnabled() ? getName() + ".reconnect()" : null,
+                      Integer.MAX_VALUE,
+                      ( retryCount, error ) -> nextReconnectDelay() )
+          .subscribe( _subscriber );
+      }
+      else
+      {
+        source.subscribe( _subscriber );
+      }
     }
   }
 
@@ -54,12 +146,22 @@ public final class WebSocketHub
     }
     else if ( item instanceof WebSocketMessageRequest )
     {
-      _webSocket.send( ( (WebSocketMessageRequest) item ).getData() );
+      final WebSocket.SendDataUnionType data = ( (WebSocketMessageRequest) item ).getData();
+      if ( _config.isBatchingEnabled() && data.isString() )
+      {
+        addToBatch( data.asString() );
+      }
+      else
+      {
+        flushBatch();
+        WebSocketSource.getTransport().send( _webSocket, data );
+      }
     }
     else
     {
       assert item instanceof WebSocketCloseRequest;
       final WebSocketCloseRequest closeRequest = (WebSocketCloseRequest) item;
+      flushBatch();
       close( closeRequest.getCode(), closeRequest.getReason() );
     }
   }
@@ -69,6 +171,7 @@ public final class WebSocketHub
   {
     if ( null != _webSocket )
     {
+      flushBatch();
       if ( error instanceof WebSocketCloseException )
       {
         final WebSocketCloseException e = (WebSocketCloseException) error;
@@ -98,7 +201,8 @@ public final class WebSocketHub
   {
     if ( null != _webSocket )
     {
-      _webSocket.close();
+      flushBatch();
+      WebSocketSource.getTransport().close( _webSocket, 0, null );
     }
     else if ( isNotDone() )
     {
@@ -113,24 +217,25 @@ public final class WebSocketHub
     if ( item instanceof WebSocketOpenCompleted )
     {
       _webSocket = item.getWebSocket();
+      _reconnectAttempts = 0;
       if ( null != _input )
       {
-        for ( final WebSocketRequest request : _input )
+        final CircularBuffer<WebSocketRequest> input = _input;
+        _input = null;
+        WebSocketRequest request;
+        while ( isNotDone() && null != _webSocket && null != ( request = input.pop() ) )
         {
-          if ( isDone() )
-          {
-            break;
-          }
-          else
-          {
-            performNext( request );
-          }
+          performNext( request );
         }
-        _input = null;
       }
+      // Send any messages coalesced before the socket closed or during replay immediately
+      // rather than waiting for the scheduled task
+      flushBatch();
     }
     else if ( item instanceof WebSocketCloseCompleted )
     {
+      // Any coalesced messages were accepted before the socket closed so they are retained
+      // and sent ahead of the buffered requests when the socket reopens
       _webSocket = null;
     }
   }
@@ -159,27 +264,125 @@ public final class WebSocketHub
     }
   }
 
+  /**
+   * Return the delay before the next reconnect attempt or -1 if the maximum number of attempts has been reached.
+   */
+  private int nextReconnectDelay()
+  {
+    if ( _reconnectAttempts >= _config.getMaxReconnectAttempts() )
+    {
+      return -1;
+    }
+    else
+    {
+      _reconnectAttempts++;
+      return SpritzUtil.jitteredExponentialBackoff( _reconnectAttempts,
+                                                    _config.getReconnectInitialDelay(),
+                                                    _config.getReconnectMaxDelay() );
+    }
+  }
+
   private void bufferRequest( @Nonnull final WebSocketRequest item )
   {
     assert isNotDone();
     assert null == _webSocket;
     if ( null == _input )
     {
-      _input = new ArrayList<>();
+      _input = new CircularBuffer<>( 10 );
+    }
+    final int maxBufferedRequests = _config.getMaxBufferedRequests();
+    if ( 0 != maxBufferedRequests && _input.size() >= maxBufferedRequests )
+    {
+      // Drop the oldest request so that a long disconnection does not grow the buffer without bound
+      _input.pop();
     }
     _input.add( item );
   }
 
-  private void close( final int code, @Nullable final String reason )
+  private void addToBatch( @Nonnull final String message )
   {
-    assert null != _webSocket;
-    if ( null == reason )
+    final String separator = _config.getBatchSeparator();
+    assert null != separator;
+    final int maxBatchSize = _config.getMaxBatchSize();
+    final int messageSize = utf8Length( message );
+    if ( null != _batch && 0 != maxBatchSize && _batchSize + utf8Length( separator ) + messageSize > maxBatchSize )
+    {
+      flushBatch();
+    }
+    if ( null == _batch )
     {
-      _webSocket.close( code );
+      _batch = new StringBuilder( message );
+      _batchSize = messageSize;
     }
     else
     {
-      _webSocket.close( code, reason );
+      _batch.append( separator ).append( message );
+      _batchSize += utf8Length( separator ) + messageSize;
+    }
+    if ( !_flushScheduled )
+    {
+      _flushScheduled = true;
+      Scheduler.queue( Zemeckis.microTaskVpu(),
+                       Spritz.areNamesEnabled() ? getName() + ".flush" : null,
+                       this::onFlushTask );
+    }
+  }
+
+  private void onFlushTask()
+  {
+    _flushScheduled = false;
+    flushBatch();
+  }
+
+  /**
+   * Send any coalesced messages as a single frame.
+   * The messages are retained if the socket is not open.
+   */
+  private void flushBatch()
+  {
+    if ( null != _batch && null != _webSocket )
+    {
+      final String data = _batch.toString();
+      _batch = null;
+      _batchSize = 0;
+      WebSocketSource.getTransport().sendText( _webSocket, data );
+    }
+  }
+
+  /**
+   * Return the number of bytes required to encode the string using UTF-8.
+   */
+  static int utf8Length( @Nonnull final String value )
+  {
+    final int length = value.length();
+    int size = 0;
+    for ( int i = 0; i < length; i++ )
+    {
+      final char ch = value.charAt( i );
+      if ( ch < 0x80 )
+      {
+        size += 1;
+      }
+      else if ( ch < 0x800 )
+      {
+        size += 2;
+      }
+      else if ( Character.isHighSurrogate( ch ) && i + 1 < length && Character.isLowSurrogate( value.charAt( i + 1 ) ) )
+      {
+        size += 4;
+        i++;
+      }
+      else
+      {
+        size += 3;
+      }
     }
+    return size;
+  }
+
+  private void close( final int code, @Nullable final String reason )
+  {
+    assert null != _webSocket;
+    WebSocketSource.getTransport().close( _webSocket, code, reason );
   }
 }
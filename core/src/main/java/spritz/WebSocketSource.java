@@ -1,8 +1,9 @@
 package spritz;
 
+import elemental2.core.ArrayBuffer;
+import elemental2.dom.Blob;
 import elemental2.dom.CloseEvent;
 import elemental2.dom.Event;
-import elemental2.dom.MessageEvent;
 import elemental2.dom.WebSocket;
 import java.util.Objects;
 import javax.annotation.Nonnull;
@@ -19,6 +20,12 @@ import spritz.dom.WebSocketStringMessage;
 final class WebSocketSource
   extends Stream<WebSocketResponse>
 {
+  /**
+   * An alternative transport. This is null unless replaced by a {@link LoopbackWebSocketServer}
+   * during tests or benchmarks.
+   */
+  @Nullable
+  private static WebSocketTransport c_transport;
   @Nonnull
   private final WebSocketConfig _config;
 
@@ -28,6 +35,27 @@ final class WebSocketSource
     _config = Objects.requireNonNull( config );
   }
 
+  /**
+   * Specify the transport used to create sockets. Passing null will restore the browser transport.
+   *
+   * @param transport the transport.
+   */
+  static void setTransport( @Nullable final WebSocketTransport transport )
+  {
+    c_transport = transport;
+  }
+
+  /**
+   * Return the transport used to create and interact with sockets.
+   *
+   * @return the transport.
+   */
+  @Nonnull
+  static WebSocketTransport getTransport()
+  {
+    return null != c_transport ? c_transport : BrowserWebSocketTransport.INSTANCE;
+  }
+
   @Nonnull
   @Override
   Subscription doSubscribe( @Nonnull final Subscriber<? super WebSocketResponse> subscriber )
@@ -40,8 +68,17 @@ final class WebSocketSource
 
   private static final class WorkerSubscription
     extends AbstractStreamSubscription<WebSocketResponse, WebSocketSource>
+    implements WebSocketTransport.Listener
   {
+    @Nonnull
+    private final WebSocketTransport _transport = getTransport();
     private WebSocket _webSocket;
+    /**
+     * The error event received prior to the close event, if any.
+     * The browser always fires a close event after an error event so the error is signalled when the socket closes.
+     */
+    @Nullable
+    private Event _errorEvent;
 
     WorkerSubscription( @Nonnull final WebSocketSource stream,
                         @Nonnull final Subscriber<? super WebSocketResponse> subscriber )
@@ -51,27 +88,16 @@ final class WebSocketSource
 
     void connect()
     {
-      final WebSocketConfig config = getStream()._config;
-      final String url = config.getUrl();
-      final String[] protocols = config.getProtocols();
-      _webSocket = null == protocols ? new WebSocket( url ) : new WebSocket( url, protocols );
-      final String binaryType = config.getBinaryType();
-      if ( null != binaryType )
-      {
-        _webSocket.binaryType = binaryType;
-      }
-      _webSocket.onerror = this::onWebSocketError;
-      _webSocket.onmessage = this::onWebSocketMessage;
-      _webSocket.onopen = e -> onWebSocketOpen();
-      _webSocket.onclose = this::onWebSocketClose;
+      _webSocket = _transport.connect( getStream()._config, this );
     }
 
-    private void onWebSocketOpen()
+    @Override
+    public void onOpen()
     {
       if ( isDone() )
       {
         // The subscription has been cancelled before the connection completed
-        _webSocket.close();
+        _transport.close( _webSocket, 0, null );
       }
       else
       {
@@ -79,36 +105,49 @@ final class WebSocketSource
       }
     }
 
-    private void onWebSocketMessage( @Nonnull final MessageEvent<WebSocket.OnmessageFn.EventMessageEventTypeParameterUnionType> event )
+    @Override
+    public void onStringMessage( @Nonnull final String data )
+    {
+      if ( shouldDeliverMessage() )
+      {
+        doNext( new WebSocketStringMessage( _webSocket, data ) );
+      }
+    }
+
+    @Override
+    public void onArrayBufferMessage( @Nonnull final ArrayBuffer data )
+    {
+      if ( shouldDeliverMessage() )
+      {
+        doNext( new WebSocketArrayBufferMessage( _webSocket, data ) );
+      }
+    }
+
+    @Override
+    public void onBlobMessage( @Nonnull final Blob data )
+    {
+      if ( shouldDeliverMessage() )
+      {
+        doNext( new WebSocketBlobMessage( _webSocket, data ) );
+      }
+    }
+
+    private boolean shouldDeliverMessage()
     {
       if ( isDone() )
       {
         // The subscription has been cancelled before the message received
-        if ( WebSocket.OPEN == _webSocket.readyState || WebSocket.CONNECTING == _webSocket.readyState )
-        {
-          _webSocket.close();
-        }
+        closeIfOpenOrConnecting();
+        return false;
       }
       else
       {
-        final WebSocket.OnmessageFn.EventMessageEventTypeParameterUnionType data = event.data;
-        if ( data.isString() )
-        {
-          doNext( new WebSocketStringMessage( _webSocket, data.asString() ) );
-        }
-        else if ( data.isArrayBuffer() )
-        {
-          doNext( new WebSocketArrayBufferMessage( _webSocket, data.asArrayBuffer() ) );
-        }
-        else
-        {
-          assert data.isBlob();
-          doNext( new WebSocketBlobMessage( _webSocket, data.asBlob() ) );
-        }
+        return true;
       }
     }
 
-    private void onWebSocketClose( @Nonnull final CloseEvent event )
+    @Override
+    public void onClose( @Nonnull final CloseEvent event )
     {
       if ( isNotDone() )
       {
@@ -119,24 +158,30 @@ final class WebSocketSource
         }
         else
         {
-          onError( new WebSocketErrorException( event ) );
+          onError( new WebSocketErrorException( null != _errorEvent ? _errorEvent : event ) );
         }
       }
     }
 
-    private void onWebSocketError( @Nonnull final Event event )
+    @Override
+    public void onError( @Nonnull final Event event )
     {
       if ( isDone() )
       {
         // The subscription has been cancelled before the error received
-        if ( WebSocket.OPEN == _webSocket.readyState || WebSocket.CONNECTING == _webSocket.readyState )
-        {
-          _webSocket.close();
-        }
+        closeIfOpenOrConnecting();
       }
       else
       {
-        onError( new WebSocketErrorException( event ) );
+        _errorEvent = event;
+      }
+    }
+
+    private void closeIfOpenOrConnecting()
+    {
+      if ( _transport.isOpenOrConnecting( _webSocket ) )
+      {
+        _transport.close( _webSocket, 0, null );
       }
     }
 
@@ -147,11 +192,13 @@ final class WebSocketSource
 
     private void onError( @Nonnull final Throwable error )
     {
+      markAsDone();
       getSubscriber().onError( error );
     }
 
     private void onComplete()
     {
+      markAsDone();
       getSubscriber().onComplete();
     }
   }
@@ -0,0 +1,63 @@
+package spritz;
+
+import elemental2.core.ArrayBuffer;
+import elemental2.dom.Blob;
+import elemental2.dom.CloseEvent;
+import elemental2.dom.Event;
+import elemental2.dom.WebSocket;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import spritz.dom.WebSocketConfig;
+
+/**
+ * Abstraction over the creation of and interaction with WebSockets.
+ * The default transport uses the browser WebSocket implementation. An alternative transport can be
+ * installed via {@link WebSocketSource#setTransport(WebSocketTransport)} so that the WebSocket stages
+ * can be exercised outside a browser, i.e. by the {@link LoopbackWebSocketServer}.
+ */
+interface WebSocketTransport
+{
+  /**
+   * Create a socket that connects to the url specified by the config.
+   * The listener is notified of events on the socket and MUST NOT be notified before this method returns.
+   *
+   * @param config   the config describing the socket.
+   * @param listener the listener notified of events on the socket.
+   * @return the socket.
+   */
+  @Nonnull
+  WebSocket connect( @Nonnull WebSocketConfig config, @Nonnull Listener listener );
+
+  void send( @Nonnull WebSocket webSocket, @Nonnull WebSocket.SendDataUnionType data );
+
+  void sendText( @Nonnull WebSocket webSocket, @Nonnull String data );
+
+  /**
+   * Close the socket.
+   *
+   * @param webSocket the socket.
+   * @param code      the close code or 0 to close without specifying a code.
+   * @param reason    the reason, if any. Must be null if the code is 0.
+   */
+  void close( @Nonnull WebSocket webSocket, int code, @Nullable String reason );
+
+  boolean isOpenOrConnecting( @Nonnull WebSocket webSocket );
+
+  /**
+   * The listener notified of events on a socket created by the transport.
+   */
+  interface Listener
+  {
+    void onOpen();
+
+    void onStringMessage( @Nonnull String data );
+
+    void onArrayBufferMessage( @Nonnull ArrayBuffer data );
+
+    void onBlobMessage( @Nonnull Blob data );
+
+    void onError( @Nonnull Event event );
+
+    void onClose( @Nonnull CloseEvent event );
+  }
+}
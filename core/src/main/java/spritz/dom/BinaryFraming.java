@@ -0,0 +1,86 @@
+package spritz.dom;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Describes how logical messages are packed into a binary WebSocket frame.
+ * A frame either contains a single message or a sequence of messages where each message is preceded by an
+ * unsigned integer header that contains the length of the message in bytes.
+ */
+public final class BinaryFraming
+{
+  /**
+   * Framing where each frame contains exactly one message.
+   */
+  @Nonnull
+  public static final BinaryFraming NONE = new BinaryFraming( 0, false );
+  /**
+   * The size of the length header in bytes. 0 indicates the frame contains a single message.
+   */
+  private final int _headerSize;
+  /**
+   * True if the length header is encoded in little-endian byte order, false if big-endian.
+   */
+  private final boolean _littleEndian;
+
+  /**
+   * Return framing where each message is preceded by an unsigned 8-bit length.
+   *
+   * @return the framing.
+   */
+  @Nonnull
+  public static BinaryFraming uint8()
+  {
+    return new BinaryFraming( 1, false );
+  }
+
+  /**
+   * Return framing where each message is preceded by an unsigned 16-bit length.
+   *
+   * @param littleEndian true if the length is encoded in little-endian byte order, false if big-endian.
+   * @return the framing.
+   */
+  @Nonnull
+  public static BinaryFraming uint16( final boolean littleEndian )
+  {
+    return new BinaryFraming( 2, littleEndian );
+  }
+
+  /**
+   * Return framing where each message is preceded by an unsigned 32-bit length.
+   *
+   * @param littleEndian true if the length is encoded in little-endian byte order, false if big-endian.
+   * @return the framing.
+   */
+  @Nonnull
+  public static BinaryFraming uint32( final boolean littleEndian )
+  {
+    return new BinaryFraming( 4, littleEndian );
+  }
+
+  private BinaryFraming( final int headerSize, final boolean littleEndian )
+  {
+    _headerSize = headerSize;
+    _littleEndian = littleEndian;
+  }
+
+  /**
+   * Return the size of the length header in bytes or 0 if each frame contains a single message.
+   *
+   * @return the size of the length header in bytes.
+   */
+  public int getHeaderSize()
+  {
+    return _headerSize;
+  }
+
+  /**
+   * Return true if the length header is encoded in little-endian byte order, false if big-endian.
+   *
+   * @return true if the length header is encoded in little-endian byte order.
+   */
+  public boolean isLittleEndian()
+  {
+    return _littleEndian;
+  }
+}
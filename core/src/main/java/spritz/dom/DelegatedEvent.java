@@ -0,0 +1,46 @@
+package spritz.dom;
+
+import elemental2.dom.Element;
+import elemental2.dom.Event;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+
+/**
+ * An event dispatched within a container that was matched against the selector of a delegated event stream.
+ */
+public final class DelegatedEvent
+{
+  @Nonnull
+  private final Event _event;
+  @Nonnull
+  private final Element _matchedElement;
+
+  public DelegatedEvent( @Nonnull final Event event, @Nonnull final Element matchedElement )
+  {
+    _event = Objects.requireNonNull( event );
+    _matchedElement = Objects.requireNonNull( matchedElement );
+  }
+
+  /**
+   * Return the underlying event.
+   *
+   * @return the underlying event.
+   */
+  @Nonnull
+  public Event getEvent()
+  {
+    return _event;
+  }
+
+  /**
+   * Return the closest element to the event target that matched the selector.
+   * This is the element that the listener would have been attached to if delegation was not used.
+   *
+   * @return the closest element to the event target that matched the selector.
+   */
+  @Nonnull
+  public Element getMatchedElement()
+  {
+    return _matchedElement;
+  }
+}
@@ -0,0 +1,58 @@
+package spritz.dom;
+
+import elemental2.dom.Response;
+import javax.annotation.Nullable;
+
+/**
+ * An error generated performing a fetch.
+ * The error either indicates that the request failed, in which case the reason is present, or that the server
+ * returned a response with an unsuccessful status, in which case the response is present.
+ */
+public final class FetchException
+  extends Exception
+{
+  /**
+   * The response if the error was generated by an unsuccessful response or the response body could not be read.
+   */
+  @Nullable
+  private final Response _response;
+  /**
+   * The value that the underlying promise was rejected with, if any.
+   */
+  @Nullable
+  private final Object _reason;
+
+  /**
+   * Create exception to wrap the underlying response and/or rejection reason.
+   *
+   * @param response the response, if any.
+   * @param reason   the rejection reason, if any.
+   */
+  public FetchException( @Nullable final Response response, @Nullable final Object reason )
+  {
+    _response = response;
+    _reason = reason;
+  }
+
+  /**
+   * Return the response if the error was generated by an unsuccessful response or the response body could not be read.
+   *
+   * @return the response if any.
+   */
+  @Nullable
+  public Response getResponse()
+  {
+    return _response;
+  }
+
+  /**
+   * Return the value that the underlying promise was rejected with, if any.
+   *
+   * @return the rejection reason if any.
+   */
+  @Nullable
+  public Object getReason()
+  {
+    return _reason;
+  }
+}
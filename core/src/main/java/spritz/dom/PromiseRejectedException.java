@@ -0,0 +1,37 @@
+package spritz.dom;
+
+import javax.annotation.Nullable;
+
+/**
+ * An error generated when a promise is rejected with a value that is not a {@link Throwable}.
+ */
+public final class PromiseRejectedException
+  extends Exception
+{
+  /**
+   * The value that the promise was rejected with.
+   */
+  @Nullable
+  private final Object _reason;
+
+  /**
+   * Create exception to wrap the value that the promise was rejected with.
+   *
+   * @param reason the rejection reason.
+   */
+  public PromiseRejectedException( @Nullable final Object reason )
+  {
+    _reason = reason;
+  }
+
+  /**
+   * Return the value that the promise was rejected with.
+   *
+   * @return the rejection reason.
+   */
+  @Nullable
+  public Object getReason()
+  {
+    return _reason;
+  }
+}
@@ -12,6 +12,35 @@ public final class WebSocketConfig
   private final String[] _protocols;
   @Nullable
   private final String _binaryType;
+  /**
+   * The string used to join string messages that are coalesced into a single frame.
+   * If null then messages are not coalesced and each message is sent in a separate frame.
+   */
+  @Nullable
+  private final String _batchSeparator;
+  /**
+   * The maximum size in bytes of a frame containing coalesced messages. A value of 0 indicates no limit.
+   * A single message larger than this limit is still sent, but in a frame of its own.
+   */
+  private final int _maxBatchSize;
+  /**
+   * The maximum number of consecutive attempts to reconnect after the connection fails.
+   * A value of 0 indicates that the hub does not reconnect.
+   */
+  private final int _maxReconnectAttempts;
+  /**
+   * The delay in milliseconds before the first reconnect attempt. Subsequent attempts back off exponentially.
+   */
+  private final int _reconnectInitialDelay;
+  /**
+   * The maximum delay in milliseconds between reconnect attempts.
+   */
+  private final int _reconnectMaxDelay;
+  /**
+   * The maximum number of requests buffered while the socket is not open. A value of 0 indicates no limit.
+   * When the limit is reached the oldest buffered request is dropped.
+   */
+  private final int _maxBufferedRequests;
 
   public WebSocketConfig( @Nonnull final String url )
   {
@@ -22,9 +51,46 @@ public final class WebSocketConfig
                           @Nullable final String[] protocols,
                           @Nullable final String binaryType )
   {
+    this( url, protocols, binaryType, null, 0, 0, 0, 0, 0 );
+  }
+
+  private WebSocketConfig( @Nonnull final String url,
+                           @Nullable final String[] protocols,
+                           @Nullable final String binaryType,
+                           @Nullable final String batchSeparator,
+                           final int maxBatchSize,
+                           final int maxReconnectAttempts,
+                           final int reconnectInitialDelay,
+                           final int reconnectMaxDelay,
+                           final int maxBufferedRequests )
+  {
+    assert maxBatchSize >= 0;
+    assert maxReconnectAttempts >= 0;
+    assert 0 == maxReconnectAttempts || reconnectInitialDelay > 0;
+    assert reconnectMaxDelay >= reconnectInitialDelay;
+    assert maxBufferedRequests >= 0;
     _url = Objects.requireNonNull( url );
     _protocols = protocols;
     _binaryType = binaryType;
+    _batchSeparator = batchSeparator;
+    _maxBatchSize = maxBatchSize;
+    _maxReconnectAttempts = maxReconnectAttempts;
+    _reconnectInitialDelay = reconnectInitialDelay;
+    _reconnectMaxDelay = reconnectMaxDelay;
+    _maxBufferedRequests = maxBufferedRequests;
+  }
+
+  /**
+   * Return a builder for a config that connects to the specified url.
+   * The builder is used to enable the optional batching and reconnect modes.
+   *
+   * @param url the url to connect to.
+   * @return the builder.
+   */
+  @Nonnull
+  public static Builder builder( @Nonnull final String url )
+  {
+    return new Builder( url );
   }
 
   @Nonnull
@@ -44,4 +110,181 @@ public final class WebSocketConfig
   {
     return _binaryType;
   }
+
+  @Nullable
+  public String getBatchSeparator()
+  {
+    return _batchSeparator;
+  }
+
+  public boolean isBatchingEnabled()
+  {
+    return null != _batchSeparator;
+  }
+
+  public int getMaxBatchSize()
+  {
+    return _maxBatchSize;
+  }
+
+  public boolean isReconnectEnabled()
+  {
+    return 0 != _maxReconnectAttempts;
+  }
+
+  public int getMaxReconnectAttempts()
+  {
+    return _maxReconnectAttempts;
+  }
+
+  public int getReconnectInitialDelay()
+  {
+    return _reconnectInitialDelay;
+  }
+
+  public int getReconnectMaxDelay()
+  {
+    return _reconnectMaxDelay;
+  }
+
+  public int getMaxBufferedRequests()
+  {
+    return _maxBufferedRequests;
+  }
+
+  /**
+   * Builder used to create a {@link WebSocketConfig}.
+   */
+  public static final class Builder
+  {
+    @Nonnull
+    private final String _url;
+    @Nullable
+    private String[] _protocols;
+    @Nullable
+    private String _binaryType;
+    @Nullable
+    private String _batchSeparator;
+    private int _maxBatchSize;
+    private int _maxReconnectAttempts;
+    private int _reconnectInitialDelay;
+    private int _reconnectMaxDelay;
+    private int _maxBufferedRequests;
+
+    private Builder( @Nonnull final String url )
+    {
+      _url = Objects.requireNonNull( url );
+    }
+
+    /**
+     * Specify the sub-protocols.
+     *
+     * @param protocols the sub-protocols, if any.
+     * @return the builder.
+     */
+    @Nonnull
+    public Builder protocols( @Nullable final String... protocols )
+    {
+      _protocols = protocols;
+      return this;
+    }
+
+    /**
+     * Specify the type of binary data.
+     *
+     * @param binaryType the type of binary data, if specified.
+     * @return the builder.
+     */
+    @Nonnull
+    public Builder binaryType( @Nullable final String binaryType )
+    {
+      _binaryType = binaryType;
+      return this;
+    }
+
+    /**
+     * Coalesce string messages sent within the same task into a single frame.
+     * The messages are joined using the batch separator and it is the responsibility of the server to split
+     * the frame back into separate messages. Non-string messages are never coalesced.
+     *
+     * @param batchSeparator the string used to join coalesced messages or null to disable coalescing.
+     * @return the builder.
+     */
+    @Nonnull
+    public Builder batchSeparator( @Nullable final String batchSeparator )
+    {
+      _batchSeparator = batchSeparator;
+      return this;
+    }
+
+    /**
+     * Specify the maximum size of a coalesced frame.
+     * A single message larger than this limit is still sent, but in a frame of its own.
+     *
+     * @param maxBatchSize the maximum number of bytes in a coalesced frame or 0 for no limit.
+     * @return the builder.
+     */
+    @Nonnull
+    public Builder maxBatchSize( final int maxBatchSize )
+    {
+      _maxBatchSize = maxBatchSize;
+      return this;
+    }
+
+    /**
+     * Reconnect when the connection fails.
+     * The hub waits before each reconnect attempt using exponential backoff with jitter, starting at
+     * {@code initialDelay} and capped at {@code maxDelay}. Requests sent while the socket is not open are
+     * buffered and sent once the socket is open. Downstream subscribers receive the
+     * {@link WebSocketCloseCompleted} and {@link WebSocketOpenCompleted} responses for each reconnect but do not
+     * need to re-subscribe. A failure is emitted downstream once {@code maxAttempts} consecutive attempts
+     * have failed. A connection that is closed cleanly is not reconnected.
+     *
+     * @param maxAttempts  the maximum number of consecutive reconnect attempts or 0 to disable reconnecting.
+     * @param initialDelay the delay in milliseconds before the first reconnect attempt.
+     * @param maxDelay     the maximum delay in milliseconds before any reconnect attempt.
+     * @return the builder.
+     */
+    @Nonnull
+    public Builder reconnect( final int maxAttempts, final int initialDelay, final int maxDelay )
+    {
+      _maxReconnectAttempts = maxAttempts;
+      _reconnectInitialDelay = initialDelay;
+      _reconnectMaxDelay = maxDelay;
+      return this;
+    }
+
+    /**
+     * Specify the maximum number of requests buffered while the socket is not open.
+     * When the limit is reached the oldest buffered request is dropped.
+     *
+     * @param maxBufferedRequests the maximum number of buffered requests or 0 for no limit.
+     * @return the builder.
+     */
+    @Nonnull
+    public Builder maxBufferedRequests( final int maxBufferedRequests )
+    {
+      _maxBufferedRequests = maxBufferedRequests;
+      return this;
+    }
+
+    /**
+     * Create the config.
+     *
+     * @return the config.
+     */
+    @Nonnull
+    public WebSocketConfig build()
+    {
+      return new WebSocketConfig( _url,
+                                  _protocols,
+                                  _binaryType,
+                                  _batchSeparator,
+                                  _maxBatchSize,
+                                  _maxReconnectAttempts,
+                                  _reconnectInitialDelay,
+                                  _reconnectMaxDelay,
+                                  _maxBufferedRequests );
+    }
+  }
 }
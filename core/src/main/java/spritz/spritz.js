@@ -13,5 +13,8 @@ spritz.enable_names = goog.define('spritz.enable_names', 'false');
 /** @define {string} */
 spritz.validate_subscriptions = goog.define('spritz.validate_subscriptions', 'false');
 
+/** @define {string} */
+spritz.enable_subscription_registry = goog.define('spritz.enable_subscription_registry', 'false');
+
 /** @define {string} */
 spritz.logger = goog.define('spritz.logger', 'none');
@@ -0,0 +1,178 @@
+package spritz;
+
+import elemental2.core.ArrayBuffer;
+import elemental2.dom.WebSocket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import org.testng.annotations.Test;
+import spritz.dom.BinaryFraming;
+import spritz.dom.WebSocketArrayBufferMessage;
+import spritz.dom.WebSocketResponse;
+import static org.testng.Assert.*;
+
+public class BinaryFramesOperatorTest
+  extends AbstractTest
+{
+  @Test
+  public void readLength_uint8()
+  {
+    final int[] frame = { 0, 0xFE };
+    assertEquals( BinaryFramesOperator.readLength( BinaryFraming.uint8(), i -> frame[ i ], 1 ), 254 );
+  }
+
+  @Test
+  public void readLength_uint16()
+  {
+    final int[] frame = { 0, 0x01, 0x02 };
+    assertEquals( BinaryFramesOperator.readLength( BinaryFraming.uint16( false ), i -> frame[ i ], 1 ), 0x0102 );
+    assertEquals( BinaryFramesOperator.readLength( BinaryFraming.uint16( true ), i -> frame[ i ], 1 ), 0x0201 );
+  }
+
+  @Test
+  public void readLength_uint32()
+  {
+    final int[] frame = { 0, 0x01, 0x02, 0x03, 0x04 };
+    assertEquals( BinaryFramesOperator.readLength( BinaryFraming.uint32( false ), i -> frame[ i ], 1 ), 0x01020304 );
+    assertEquals( BinaryFramesOperator.readLength( BinaryFraming.uint32( true ), i -> frame[ i ], 1 ), 0x04030201 );
+  }
+
+  @Test
+  public void readLength_uint32ExceedsMaxInt()
+  {
+    final int[] frame = { 0x80, 0, 0, 0 };
+    assertEquals( BinaryFramesOperator.readLength( BinaryFraming.uint32( false ), i -> frame[ i ], 0 ), -1 );
+    assertEquals( BinaryFramesOperator.readLength( BinaryFraming.uint32( true ), i -> frame[ i ], 0 ), 128 );
+  }
+
+  @Test
+  public void splitFrame()
+  {
+    final int[] frame = { 0, 2, 'a', 'b', 0, 0, 0, 1, 'c' };
+    final List<String> messages = new ArrayList<>();
+
+    final int result = split( BinaryFraming.uint16( false ), frame, frame.length, messages );
+
+    // An empty message is permitted
+    assertEquals( result, -1 );
+    assertEquals( messages, Arrays.asList( "2:2", "6:0", "8:1" ) );
+  }
+
+  @Test
+  public void splitFrame_littleEndian()
+  {
+    final int[] frame = { 1, 0, 0, 0, 'a', 2, 0, 0, 0, 'b', 'c' };
+    final List<String> messages = new ArrayList<>();
+
+    assertEquals( split( BinaryFraming.uint32( true ), frame, frame.length, messages ), -1 );
+    assertEquals( messages, Arrays.asList( "4:1", "9:2" ) );
+  }
+
+  @Test
+  public void splitFrame_truncatedHeader()
+  {
+    final int[] frame = { 0, 1, 'a', 0 };
+    final List<String> messages = new ArrayList<>();
+
+    // The second header starts at offset 3 but only 1 byte of the 2 byte header is present
+    assertEquals( split( BinaryFraming.uint16( false ), frame, frame.length, messages ), 3 );
+    assertEquals( messages, Arrays.asList( "2:1" ) );
+  }
+
+  @Test
+  public void splitFrame_truncatedMessage()
+  {
+    final int[] frame = { 2, 'a', 'b', 3, 'c', 'd' };
+    final List<String> messages = new ArrayList<>();
+
+    assertEquals( split( BinaryFraming.uint8(), frame, frame.length, messages ), 3 );
+    assertEquals( messages, Arrays.asList( "1:2" ) );
+  }
+
+  @Test
+  public void splitFrame_lengthExceedsMaxInt()
+  {
+    final int[] frame = { 0xFF, 0xFF, 0xFF, 0xFF, 'a' };
+    final List<String> messages = new ArrayList<>();
+
+    assertEquals( split( BinaryFraming.uint32( false ), frame, frame.length, messages ), 0 );
+    assertEquals( messages.size(), 0 );
+  }
+
+  @Test
+  public void splitFrame_handlerStops()
+  {
+    final int[] frame = { 1, 'a', 1, 'b' };
+    final AtomicInteger count = new AtomicInteger();
+
+    final int result = BinaryFramesOperator.splitFrame( BinaryFraming.uint8(), i -> frame[ i ], frame.length,
+                                                        ( start, length ) -> {
+                                                          count.incrementAndGet();
+                                                          return false;
+                                                        } );
+
+    assertEquals( result, -1 );
+    assertEquals( count.get(), 1 );
+  }
+
+  @Test
+  public void malformedFrameCancelsUpstreamAndEmitsError()
+  {
+    final AtomicInteger cancelCount = new AtomicInteger();
+    final List<Throwable> errors = new ArrayList<>();
+    final List<Integer> items = new ArrayList<>();
+    final Subject<WebSocketResponse> subject = Stream.subject();
+    new BinaryFramesOperator<>( null,
+                                subject.peekCancel( cancelCount::incrementAndGet ),
+                                BinaryFraming.uint16( true ),
+                                view -> 1 )
+      .peekError( errors::add )
+      .forEach( items::add );
+
+    // The frame is too short to contain the header so the header is never read
+    subject.next( new WebSocketArrayBufferMessage( new WebSocket( "ws://example.com" ), newBuffer( 1 ) ) );
+
+    assertEquals( items.size(), 0 );
+    assertEquals( cancelCount.get(), 1 );
+    assertEquals( errors.size(), 1 );
+    assertEquals( errors.get( 0 ).getMessage(),
+                  "Binary frame of 1 bytes contains a truncated message starting at offset 0" );
+  }
+
+  @Test
+  public void noFramingDecodesEachFrame()
+  {
+    final AtomicInteger decodeCount = new AtomicInteger();
+    final List<Integer> items = new ArrayList<>();
+    final Subject<WebSocketResponse> subject = Stream.subject();
+    new BinaryFramesOperator<>( null, subject, BinaryFraming.NONE, view -> decodeCount.incrementAndGet() )
+      .forEach( items::add );
+
+    subject.next( new WebSocketArrayBufferMessage( new WebSocket( "ws://example.com" ), newBuffer( 3 ) ) );
+    subject.next( new WebSocketArrayBufferMessage( new WebSocket( "ws://example.com" ), newBuffer( 5 ) ) );
+
+    assertEquals( items, Arrays.asList( 1, 2 ) );
+  }
+
+  private int split( @Nonnull final BinaryFraming framing,
+                     @Nonnull final int[] frame,
+                     final int size,
+                     @Nonnull final List<String> messages )
+  {
+    return BinaryFramesOperator.splitFrame( framing, i -> frame[ i ], size, ( start, length ) -> {
+      messages.add( start + ":" + length );
+      return true;
+    } );
+  }
+
+  @Nonnull
+  private ArrayBuffer newBuffer( final int size )
+  {
+    // The browser buffer can not be created outside a browser so only the size is populated
+    final ArrayBuffer buffer = new ArrayBuffer( size );
+    buffer.byteLength = size;
+    return buffer;
+  }
+}
@@ -0,0 +1,133 @@
+package spritz;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class CheckpointedScanOperatorTest
+  extends AbstractTest
+{
+  @Test
+  public void restoresAndCheckpointsEveryNItems()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final TestStateStore store = new TestStateStore( 10 );
+    final Subject<Integer> subject = Stream.subject();
+    final List<Integer> items = new ArrayList<>();
+    subject.scan( ( item, total ) -> item + total, 0, store, 2, 0 ).forEach( items::add );
+
+    subject.next( 1 );
+    subject.next( 2 );
+    // The checkpoint is scheduled rather than saved inline with the item
+    assertEquals( items, Arrays.asList( 11, 13 ) );
+    assertEquals( store._saved, new ArrayList<>() );
+    assertEquals( scheduler.getPendingTaskCount(), 1 );
+
+    // Items that arrive before the checkpoint runs are included in the checkpoint
+    subject.next( 3 );
+    assertEquals( scheduler.getPendingTaskCount(), 1 );
+    scheduler.triggerActions();
+    assertEquals( store._saved, Arrays.asList( 16 ) );
+
+    subject.next( 4 );
+    assertEquals( scheduler.getPendingTaskCount(), 0 );
+    subject.next( 5 );
+    assertEquals( store._saved, Arrays.asList( 16 ) );
+
+    // Completion cancels the pending checkpoint and saves the latest value
+    subject.complete();
+    assertEquals( items, Arrays.asList( 11, 13, 16, 20, 25 ) );
+    assertEquals( store._saved, Arrays.asList( 16, 25 ) );
+    assertEquals( scheduler.getPendingTaskCount(), 0 );
+  }
+
+  @Test
+  public void checkpointsPeriodicallyAndOnCancel()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final TestStateStore store = new TestStateStore( null );
+    final Subject<Integer> subject = Stream.subject();
+    final Subscription subscription =
+      subject.scan( ( item, total ) -> item + total, 0, store, 0, 100 ).forEach( v -> {
+      } );
+
+    subject.next( 1 );
+    subject.next( 2 );
+    assertEquals( store._saved, new ArrayList<>() );
+
+    scheduler.advanceTimeBy( 100 );
+    assertEquals( store._saved, Arrays.asList( 3 ) );
+
+    // No checkpoint is made if the value has not changed
+    scheduler.advanceTimeBy( 100 );
+    assertEquals( store._saved, Arrays.asList( 3 ) );
+
+    subject.next( 3 );
+    subscription.cancel();
+    assertEquals( store._saved, Arrays.asList( 3, 6 ) );
+
+    scheduler.advanceTimeBy( 100 );
+    assertEquals( store._saved, Arrays.asList( 3, 6 ) );
+  }
+
+  @Test
+  public void fileStateStoreResumes()
+    throws IOException
+  {
+    final Path directory = Files.createTempDirectory( "spritz-state" );
+    final Path file = directory.resolve( "state" );
+    try
+    {
+      final FileStateStore<String> store = new FileStateStore<>( file, ItemCodec.UTF8 );
+      assertNull( store.load() );
+
+      final List<String> items1 = new ArrayList<>();
+      Stream.of( 1, 2, 3 ).scan( ( item, value ) -> value + item, "", store, 10, 0 ).forEach( items1::add );
+      assertEquals( items1, Arrays.asList( "1", "12", "123" ) );
+      assertEquals( store.load(), "123" );
+
+      final List<String> items2 = new ArrayList<>();
+      Stream.of( 4 ).scan( ( item, value ) -> value + item, "", store, 10, 0 ).forEach( items2::add );
+      assertEquals( items2, Arrays.asList( "1234" ) );
+    }
+    finally
+    {
+      Files.deleteIfExists( file );
+      Files.delete( directory );
+    }
+  }
+
+  private static final class TestStateStore
+    implements StateStore<Integer>
+  {
+    @Nullable
+    private final Integer _initial;
+    @Nonnull
+    private final List<Integer> _saved = new ArrayList<>();
+
+    TestStateStore( @Nullable final Integer initial )
+    {
+      _initial = initial;
+    }
+
+    @Nullable
+    @Override
+    public Integer load()
+    {
+      return _initial;
+    }
+
+    @Override
+    public void save( @Nonnull final Integer state )
+    {
+      _saved.add( state );
+    }
+  }
+}
@@ -0,0 +1,157 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import org.testng.annotations.Test;
+import zemeckis.VirtualProcessorUnit;
+import zemeckis.Zemeckis;
+import static org.testng.Assert.*;
+
+public class ChunkedStreamSourceTest
+  extends AbstractTest
+{
+  @Test
+  public void fromArray()
+  {
+    assertChunkedEmission( Stream.fromArray( new Integer[]{ 1, 2, 3, 4, 5 }, vpu(), 2 ) );
+  }
+
+  @Test
+  public void fromCollection()
+  {
+    assertChunkedEmission( Stream.fromCollection( Arrays.asList( 1, 2, 3, 4, 5 ), vpu(), 2 ) );
+  }
+
+  @Test
+  public void range()
+  {
+    assertChunkedEmission( Stream.range( 1, 5, vpu(), 2 ) );
+  }
+
+  @Test
+  public void fromCallable()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final AtomicInteger counter = new AtomicInteger();
+    final List<Integer> items = new ArrayList<>();
+    final Subscription subscription =
+      Stream.fromCallable( counter::incrementAndGet, vpu(), 2 ).forEach( items::add );
+
+    assertEquals( items, Arrays.asList( 1, 2 ) );
+    assertTrue( scheduler.triggerNextAction() );
+    assertEquals( items, Arrays.asList( 1, 2, 3, 4 ) );
+
+    // Cancelling between chunks stops the source before the queued chunk runs
+    subscription.cancel();
+    assertTrue( scheduler.triggerNextAction() );
+    assertFalse( scheduler.triggerNextAction() );
+    assertEquals( items, Arrays.asList( 1, 2, 3, 4 ) );
+    assertEquals( counter.get(), 4 );
+  }
+
+  @Test
+  public void cancelBetweenChunks()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final RecordingSubscriber subscriber = new RecordingSubscriber();
+    final Subscription subscription = Stream.range( 1, 5, vpu(), 2 ).subscribe( subscriber );
+
+    assertEquals( subscriber._events, Arrays.asList( "subscribe", "item:1", "item:2" ) );
+    subscription.cancel();
+
+    scheduler.triggerActions();
+    assertEquals( subscriber._events, Arrays.asList( "subscribe", "item:1", "item:2" ) );
+    assertEquals( scheduler.getPendingTaskCount(), 0 );
+  }
+
+  @Test
+  public void cancelWithinChunk()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final List<Integer> items = new ArrayList<>();
+    final Subscription[] subscription = new Subscription[ 1 ];
+    subscription[ 0 ] = Stream.fromArray( new Integer[]{ 1, 2, 3, 4, 5 }, vpu(), 2 ).forEach( v -> {
+      items.add( v );
+      if ( 3 == v )
+      {
+        subscription[ 0 ].cancel();
+      }
+    } );
+
+    scheduler.triggerActions();
+    assertEquals( items, Arrays.asList( 1, 2, 3 ) );
+    assertEquals( scheduler.getPendingTaskCount(), 0 );
+  }
+
+  @Test
+  public void invalidChunkSize()
+  {
+    final Integer[] values = { 1, 2, 3 };
+    final String message = "Spritz-0062: Stream source passed a chunkSize '0' but the chunkSize must be greater than 0";
+    assertInvariantFailure( () -> Stream.fromArray( values, vpu(), 0 ), message );
+    assertInvariantFailure( () -> Stream.fromCollection( Arrays.asList( values ), vpu(), 0 ), message );
+    assertInvariantFailure( () -> Stream.range( 1, 3, vpu(), 0 ), message );
+    assertInvariantFailure( () -> Stream.fromCallable( () -> 1, vpu(), 0 ), message );
+  }
+
+  private void assertChunkedEmission( @Nonnull final Stream<Integer> stream )
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final RecordingSubscriber subscriber = new RecordingSubscriber();
+    stream.subscribe( subscriber );
+
+    // The first chunk is emitted when subscribed and the next chunk is queued on the VPU
+    assertEquals( subscriber._events, Arrays.asList( "subscribe", "item:1", "item:2" ) );
+    assertEquals( scheduler.getPendingTaskCount(), 1 );
+
+    assertTrue( scheduler.triggerNextAction() );
+    assertEquals( subscriber._events, Arrays.asList( "subscribe", "item:1", "item:2", "item:3", "item:4" ) );
+    assertEquals( scheduler.getPendingTaskCount(), 1 );
+
+    // The last chunk is partial and is followed by completion
+    assertTrue( scheduler.triggerNextAction() );
+    assertEquals( subscriber._events,
+                  Arrays.asList( "subscribe", "item:1", "item:2", "item:3", "item:4", "item:5", "complete" ) );
+    assertFalse( scheduler.triggerNextAction() );
+  }
+
+  @Nonnull
+  private VirtualProcessorUnit vpu()
+  {
+    return Zemeckis.macroTaskVpu();
+  }
+
+  private static final class RecordingSubscriber
+    implements Subscriber<Integer>
+  {
+    @Nonnull
+    private final List<String> _events = new ArrayList<>();
+
+    @Override
+    public void onSubscribe( @Nonnull final Subscription subscription )
+    {
+      _events.add( "subscribe" );
+    }
+
+    @Override
+    public void onItem( @Nonnull final Integer item )
+    {
+      _events.add( "item:" + item );
+    }
+
+    @Override
+    public void onError( @Nonnull final Throwable error )
+    {
+      _events.add( "error" );
+    }
+
+    @Override
+    public void onComplete()
+    {
+      _events.add( "complete" );
+    }
+  }
+}
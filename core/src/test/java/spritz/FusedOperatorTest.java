@@ -0,0 +1,62 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class FusedOperatorTest
+  extends AbstractTest
+{
+  @Test
+  public void itemsAndSignals()
+  {
+    final List<String> events = new ArrayList<>();
+    final Stream<String> stream = Stream.of( 1, 2, 3, 4 ).<String>fuse( DoubleIfEven::new );
+    assertEquals( stream.getQualifiedName(), "of(1, 2, 3, 4).fuse()" );
+
+    final Subscription subscription =
+      stream.peekComplete( () -> events.add( "complete" ) ).forEach( events::add );
+
+    assertEquals( events, Arrays.asList( "4", "8", "complete" ) );
+    assertEquals( subscription.toString(), "Subscription[of(1, 2, 3, 4).fuse().onComplete()]" );
+  }
+
+  @Test
+  public void cancelPropagatesUpstream()
+  {
+    final List<String> events = new ArrayList<>();
+    final Subject<Integer> subject = Stream.subject();
+    final Subscription subscription =
+      subject
+        .peekCancel( () -> events.add( "cancel" ) )
+        .<String>fuse( "MyPipeline", DoubleIfEven::new )
+        .forEach( events::add );
+
+    subject.next( 2 );
+    subscription.cancel();
+    assertEquals( events, Arrays.asList( "4", "cancel" ) );
+  }
+
+  private static final class DoubleIfEven
+    extends FusedSubscriber<Integer, String>
+  {
+    DoubleIfEven( @Nonnull final Subscriber<? super String> downstream )
+    {
+      super( downstream );
+    }
+
+    @Override
+    public void onItem( @Nonnull final Integer item )
+    {
+      if ( 0 != item % 2 )
+      {
+        return;
+      }
+      final Integer value = item * 2;
+      getDownstream().onItem( String.valueOf( value ) );
+    }
+  }
+}
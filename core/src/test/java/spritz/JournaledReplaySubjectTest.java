@@ -0,0 +1,174 @@
+package spritz;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.annotation.Nonnull;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class JournaledReplaySubjectTest
+  extends AbstractTest
+{
+  private Path _directory;
+
+  @BeforeMethod
+  @Override
+  protected void beforeTest()
+  {
+    super.beforeTest();
+    try
+    {
+      _directory = Files.createTempDirectory( "spritz-journal" );
+    }
+    catch ( final IOException e )
+    {
+      throw new AssertionError( e );
+    }
+  }
+
+  @AfterMethod
+  @Override
+  protected void afterTest()
+  {
+    try
+    {
+      for ( final Path path : Files.walk( _directory )
+        .sorted( Comparator.reverseOrder() )
+        .collect( Collectors.toList() ) )
+      {
+        Files.delete( path );
+      }
+    }
+    catch ( final IOException e )
+    {
+      throw new AssertionError( e );
+    }
+    super.afterTest();
+  }
+
+  @Test
+  public void replaysRecordedItems()
+  {
+    final Subject<String> subject = Stream.journaledReplaySubject( _directory, ItemCodec.UTF8 );
+    final List<String> items1 = new ArrayList<>();
+    subject.forEach( items1::add );
+
+    subject.next( "A" );
+    subject.next( "" );
+    subject.next( "C" );
+
+    final List<String> items2 = new ArrayList<>();
+    subject.forEach( items2::add );
+    subject.next( "D" );
+
+    assertEquals( items1, Arrays.asList( "A", "", "C", "D" ) );
+    assertEquals( items2, Arrays.asList( "A", "", "C", "D" ) );
+  }
+
+  @Test
+  public void maxSizeDeletesWholeSegments()
+  {
+    // Each record is 12 bytes of header and 1 byte of data so 4 records fit in each segment
+    final Subject<String> subject = Stream.journaledReplaySubject( _directory, ItemCodec.UTF8, 52, 3, -1 );
+    for ( final String item : Arrays.asList( "A", "B", "C", "D", "E", "F", "G", "H", "I" ) )
+    {
+      subject.next( item );
+    }
+
+    // The segment containing A-D is deleted as the newer segments contain 5 items. The segment containing
+    // E-H is retained as the segment containing I holds fewer than 3 items, but only the last 3 items are replayed
+    final Journal journal = ( (JournaledReplaySubject<String>) subject ).getJournal();
+    assertEquals( journal.getSegmentCount(), 2 );
+    assertEquals( journal.size(), 5 );
+    assertEquals( collect( subject ), Arrays.asList( "G", "H", "I" ) );
+  }
+
+  @Test
+  public void maxAge()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final Subject<String> subject = Stream.journaledReplaySubject( _directory, ItemCodec.UTF8, 52, -1, 100 );
+
+    subject.next( "A" );
+    scheduler.advanceTimeBy( 60 );
+    subject.next( "B" );
+    scheduler.advanceTimeBy( 60 );
+    subject.next( "C" );
+
+    assertEquals( collect( subject ), Arrays.asList( "B", "C" ) );
+  }
+
+  @Test
+  public void resumesExistingJournal()
+  {
+    final Subject<String> subject1 = Stream.journaledReplaySubject( _directory, ItemCodec.UTF8, 52, -1, -1 );
+    for ( final String item : Arrays.asList( "A", "B", "C", "D", "E" ) )
+    {
+      subject1.next( item );
+    }
+    subject1.complete();
+
+    final Subject<String> subject2 = Stream.journaledReplaySubject( _directory, ItemCodec.UTF8, 52, -1, -1 );
+    assertEquals( collect( subject2 ), Arrays.asList( "A", "B", "C", "D", "E" ) );
+
+    subject2.next( "F" );
+    assertEquals( collect( subject2 ), Arrays.asList( "A", "B", "C", "D", "E", "F" ) );
+  }
+
+  @Test
+  public void tornRecordIsSkippedAndOverwritten()
+    throws Exception
+  {
+    final Subject<String> subject1 = Stream.journaledReplaySubject( _directory, ItemCodec.UTF8, 52, -1, -1 );
+    subject1.next( "A" );
+    subject1.next( "B" );
+    subject1.complete();
+
+    // Simulate a process that stopped after writing the header and data of the third record but before
+    // writing the record size. Each record is 12 bytes of header and 1 byte of data.
+    final Path segment;
+    try ( java.util.stream.Stream<Path> files = Files.list( _directory ) )
+    {
+      segment = files.filter( f -> f.toString().endsWith( ".journal" ) ).findFirst().orElseThrow( AssertionError::new );
+    }
+    try ( FileChannel channel = FileChannel.open( segment, StandardOpenOption.WRITE ) )
+    {
+      final ByteBuffer record = ByteBuffer.allocate( 13 );
+      record.putInt( 0 ).putLong( 42 ).put( "C".getBytes( StandardCharsets.UTF_8 ) ).flip();
+      channel.write( record, 26 );
+    }
+
+    final Subject<String> subject2 = Stream.journaledReplaySubject( _directory, ItemCodec.UTF8, 52, -1, -1 );
+    final Journal journal = ( (JournaledReplaySubject<String>) subject2 ).getJournal();
+    assertEquals( journal.size(), 2 );
+    assertEquals( collect( subject2 ), Arrays.asList( "A", "B" ) );
+
+    // The next record is written over the torn record
+    subject2.next( "D" );
+    subject2.complete();
+
+    final Subject<String> subject3 = Stream.journaledReplaySubject( _directory, ItemCodec.UTF8, 52, -1, -1 );
+    assertEquals( ( (JournaledReplaySubject<String>) subject3 ).getJournal().getSegmentCount(), 1 );
+    assertEquals( collect( subject3 ), Arrays.asList( "A", "B", "D" ) );
+  }
+
+  @Nonnull
+  private List<String> collect( @Nonnull final Subject<String> subject )
+  {
+    final List<String> items = new ArrayList<>();
+    subject.forEach( items::add ).cancel();
+    return items;
+  }
+}
@@ -0,0 +1,129 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.testng.annotations.Test;
+import spritz.dom.WebSocketCloseCompleted;
+import spritz.dom.WebSocketCloseRequest;
+import spritz.dom.WebSocketConfig;
+import spritz.dom.WebSocketErrorException;
+import spritz.dom.WebSocketMessageRequest;
+import spritz.dom.WebSocketOpenCompleted;
+import spritz.dom.WebSocketResponse;
+import spritz.dom.WebSocketStringMessage;
+import static org.testng.Assert.*;
+
+public class LoopbackWebSocketServerTest
+  extends AbstractTest
+{
+  @Test
+  public void requestsBufferedBeforeOpenAndMessagesFannedOut()
+  {
+    final LoopbackWebSocketServer server = LoopbackWebSocketServer.install();
+    final WebSocketHub hub = Stream.webSocket( new WebSocketConfig( "ws://example.com" ) );
+    final List<String> events1 = new ArrayList<>();
+    final List<String> events2 = new ArrayList<>();
+
+    hub.forEach( r -> events1.add( describe( r ) ) );
+    hub.forEach( r -> events2.add( describe( r ) ) );
+
+    assertEquals( server.getConnections().size(), 1 );
+    final LoopbackWebSocketServer.Connection connection = server.getConnection( 0 );
+    assertEquals( connection.getUrl(), "ws://example.com" );
+
+    hub.next( new WebSocketMessageRequest( LoopbackWebSocketServer.text( "A" ) ) );
+    hub.next( new WebSocketMessageRequest( LoopbackWebSocketServer.text( "B" ) ) );
+    assertEquals( connection.getReceived(), new ArrayList<>() );
+
+    connection.open();
+    assertEquals( connection.getReceived(), Arrays.asList( "A", "B" ) );
+
+    connection.sendText( "C" );
+    hub.next( new WebSocketCloseRequest( 3001, "Done" ) );
+
+    final List<String> expected = Arrays.asList( "open", "message:C", "close:3001:true" );
+    assertEquals( events1, expected );
+    assertEquals( events2, expected );
+    assertTrue( connection.isClosed() );
+    assertEquals( connection.getCloseCode(), 3001 );
+    assertEquals( connection.getCloseReason(), "Done" );
+  }
+
+  @Test
+  public void replayAndReconnect()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final LoopbackWebSocketServer server = LoopbackWebSocketServer.install();
+    server.setAutoOpen( true );
+    final WebSocketHub hub =
+      Stream.webSocket( WebSocketConfig.builder( "ws://example.com" )
+                          .reconnect( 3, 100, 1000 )
+                          .maxBufferedRequests( 2 )
+                          .build() );
+    final List<String> events = new ArrayList<>();
+    final List<Throwable> errors = new ArrayList<>();
+
+    hub.peekError( errors::add ).forEach( r -> events.add( describe( r ) ) );
+    scheduler.triggerActions();
+
+    final LoopbackWebSocketServer.Connection connection1 = server.getConnection( 0 );
+    assertTrue( connection1.isOpen() );
+
+    connection1.replay( Arrays.asList( "1", "2", "3", "4", "5" ), 10, 2 );
+    scheduler.advanceTimeBy( 20 );
+    assertEquals( events, Arrays.asList( "open", "message:1", "message:2", "message:3", "message:4" ) );
+
+    events.clear();
+    connection1.fail();
+
+    // Requests sent while disconnected are buffered and the oldest are dropped when the buffer is full
+    hub.next( new WebSocketMessageRequest( LoopbackWebSocketServer.text( "X" ) ) );
+    hub.next( new WebSocketMessageRequest( LoopbackWebSocketServer.text( "Y" ) ) );
+    hub.next( new WebSocketMessageRequest( LoopbackWebSocketServer.text( "Z" ) ) );
+
+    scheduler.advanceTimeBy( 1000 );
+    assertEquals( server.getConnections().size(), 2 );
+    assertEquals( server.getActiveConnectionCount(), 1 );
+
+    final LoopbackWebSocketServer.Connection connection2 = server.getConnection( 1 );
+    assertTrue( connection2.isOpen() );
+    assertEquals( connection2.getReceived(), Arrays.asList( "Y", "Z" ) );
+    assertEquals( events, Arrays.asList( "close:1006:false", "open" ) );
+    assertEquals( errors, new ArrayList<>() );
+
+    // A connection that opens resets the retry count so only consecutive failures exhaust the retries
+    server.setAutoOpen( false );
+    connection2.fail();
+    for ( int i = 2; i < 5; i++ )
+    {
+      scheduler.advanceTimeBy( 10000 );
+      server.getConnection( i ).fail();
+    }
+
+    assertEquals( server.getConnections().size(), 5 );
+    assertEquals( errors.size(), 1 );
+    assertTrue( errors.get( 0 ) instanceof WebSocketErrorException );
+  }
+
+  private String describe( final WebSocketResponse response )
+  {
+    if ( response instanceof WebSocketOpenCompleted )
+    {
+      return "open";
+    }
+    else if ( response instanceof WebSocketStringMessage )
+    {
+      return "message:" + ( (WebSocketStringMessage) response ).getData();
+    }
+    else if ( response instanceof WebSocketCloseCompleted )
+    {
+      final WebSocketCloseCompleted close = (WebSocketCloseCompleted) response;
+      return "close:" + close.getCode() + ":" + close.wasClean();
+    }
+    else
+    {
+      return response.getClass().getSimpleName();
+    }
+  }
+}
@@ -0,0 +1,225 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.testng.annotations.Test;
+import zemeckis.VirtualProcessorUnit;
+import zemeckis.Zemeckis;
+import static org.testng.Assert.*;
+
+public class ObserveOnOperatorTest
+  extends AbstractTest
+{
+  @Test
+  public void observeOn_deliversSubscribeOnceAndBatchesItems()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final Subject<Integer> subject = Stream.subject();
+    final RecordingSubscriber subscriber = new RecordingSubscriber();
+    subject.observeOn( vpu() ).subscribe( subscriber );
+
+    assertEquals( subscriber._events, new ArrayList<>() );
+    assertEquals( scheduler.getPendingTaskCount(), 1 );
+
+    // Items received while a task is queued are delivered by the queued task
+    subject.next( 1 );
+    subject.next( 2 );
+    assertEquals( scheduler.getPendingTaskCount(), 1 );
+
+    scheduler.triggerActions();
+    assertEquals( subscriber._events, Arrays.asList( "subscribe", "item:1", "item:2" ) );
+
+    subject.next( 3 );
+    assertEquals( subscriber._events, Arrays.asList( "subscribe", "item:1", "item:2" ) );
+    scheduler.triggerActions();
+    assertEquals( subscriber._events, Arrays.asList( "subscribe", "item:1", "item:2", "item:3" ) );
+    assertEquals( scheduler.getPendingTaskCount(), 0 );
+  }
+
+  @Test
+  public void observeOn_completeDeliveredAfterPendingItems()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final Subject<Integer> subject = Stream.subject();
+    final RecordingSubscriber subscriber = new RecordingSubscriber();
+    subject.observeOn( vpu() ).subscribe( subscriber );
+
+    subject.next( 1 );
+    subject.next( 2 );
+    subject.complete();
+    assertEquals( subscriber._events, new ArrayList<>() );
+
+    scheduler.triggerActions();
+    assertEquals( subscriber._events, Arrays.asList( "subscribe", "item:1", "item:2", "complete" ) );
+  }
+
+  @Test
+  public void observeOn_errorDeliveredAfterPendingItems()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final Subject<Integer> subject = Stream.subject();
+    final RecordingSubscriber subscriber = new RecordingSubscriber();
+    subject.observeOn( vpu() ).subscribe( subscriber );
+    scheduler.triggerActions();
+
+    subject.next( 1 );
+    subject.error( new IllegalStateException() );
+    assertEquals( subscriber._events, Arrays.asList( "subscribe" ) );
+
+    scheduler.triggerActions();
+    assertEquals( subscriber._events, Arrays.asList( "subscribe", "item:1", "error:IllegalStateException" ) );
+  }
+
+  @Test
+  public void observeOn_cancelBeforeFirstTaskCancelsUpstream()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final Subject<Integer> subject = Stream.subject();
+    final List<String> upstreamEvents = new ArrayList<>();
+    final RecordingSubscriber subscriber = new RecordingSubscriber();
+    final Subscription subscription =
+      subject.peekCancel( () -> upstreamEvents.add( "cancel" ) ).observeOn( vpu() ).subscribe( subscriber );
+
+    subject.next( 1 );
+    subscription.cancel();
+    assertEquals( upstreamEvents, Arrays.asList( "cancel" ) );
+
+    // The queued task emits nothing once the subscription has been cancelled
+    scheduler.triggerActions();
+    subject.next( 2 );
+    scheduler.triggerActions();
+    assertEquals( subscriber._events, Arrays.asList( "subscribe" ) );
+  }
+
+  @Test
+  public void observeOn_cancelStopsEmittingPendingItems()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final Subject<Integer> subject = Stream.subject();
+    final List<Integer> items = new ArrayList<>();
+    final Subscription[] subscription = new Subscription[ 1 ];
+    subscription[ 0 ] = subject.observeOn( vpu() ).forEach( v -> {
+      items.add( v );
+      if ( 2 == v )
+      {
+        subscription[ 0 ].cancel();
+      }
+    } );
+
+    subject.next( 1 );
+    subject.next( 2 );
+    subject.next( 3 );
+    subject.complete();
+    scheduler.triggerActions();
+
+    assertEquals( items, Arrays.asList( 1, 2 ) );
+  }
+
+  @Test
+  public void conflate_mergesItemsReceivedBetweenTasks()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final Subject<Integer> subject = Stream.subject();
+    final RecordingSubscriber subscriber = new RecordingSubscriber();
+    subject.conflate( vpu(), Integer::sum ).subscribe( subscriber );
+    scheduler.triggerActions();
+
+    subject.next( 1 );
+    subject.next( 2 );
+    subject.next( 3 );
+    assertEquals( scheduler.getPendingTaskCount(), 1 );
+    scheduler.triggerActions();
+
+    subject.next( 4 );
+    subject.complete();
+    scheduler.triggerActions();
+
+    assertEquals( subscriber._events, Arrays.asList( "subscribe", "item:6", "item:4", "complete" ) );
+  }
+
+  @Test
+  public void onBackpressureLatest_replacesPendingItem()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final Subject<Integer> subject = Stream.subject();
+    final RecordingSubscriber subscriber = new RecordingSubscriber();
+    subject.onBackpressureLatest( vpu() ).subscribe( subscriber );
+
+    subject.next( 1 );
+    subject.next( 2 );
+    subject.next( 3 );
+    scheduler.triggerActions();
+
+    subject.next( 4 );
+    subject.next( 5 );
+    subject.error( new IllegalStateException() );
+    scheduler.triggerActions();
+
+    assertEquals( subscriber._events,
+                  Arrays.asList( "subscribe", "item:3", "item:5", "error:IllegalStateException" ) );
+  }
+
+  @Test
+  public void onBackpressureDrop_keepsPendingItemAndReportsDroppedItems()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final Subject<Integer> subject = Stream.subject();
+    final List<Integer> dropped = new ArrayList<>();
+    final RecordingSubscriber subscriber = new RecordingSubscriber();
+    subject.onBackpressureDrop( vpu(), dropped::add ).subscribe( subscriber );
+
+    subject.next( 1 );
+    subject.next( 2 );
+    subject.next( 3 );
+    scheduler.triggerActions();
+
+    subject.next( 4 );
+    scheduler.triggerActions();
+    subject.next( 5 );
+    subject.next( 6 );
+    subject.complete();
+    scheduler.triggerActions();
+
+    assertEquals( subscriber._events, Arrays.asList( "subscribe", "item:1", "item:4", "item:5", "complete" ) );
+    assertEquals( dropped, Arrays.asList( 2, 3, 6 ) );
+  }
+
+  @Nonnull
+  private VirtualProcessorUnit vpu()
+  {
+    return Zemeckis.macroTaskVpu();
+  }
+
+  private static final class RecordingSubscriber
+    implements Subscriber<Integer>
+  {
+    @Nonnull
+    private final List<String> _events = new ArrayList<>();
+
+    @Override
+    public void onSubscribe( @Nonnull final Subscription subscription )
+    {
+      _events.add( "subscribe" );
+    }
+
+    @Override
+    public void onItem( @Nonnull final Integer item )
+    {
+      _events.add( "item:" + item );
+    }
+
+    @Override
+    public void onError( @Nonnull final Throwable error )
+    {
+      _events.add( "error:" + error.getClass().getSimpleName() );
+    }
+
+    @Override
+    public void onComplete()
+    {
+      _events.add( "complete" );
+    }
+  }
+}
@@ -0,0 +1,82 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class PeekOperatorTest
+  extends AbstractTest
+{
+  @Test
+  public void consecutivePeeksAreMerged()
+  {
+    final Stream<Integer> upstream = Stream.of( 1 );
+    final Stream<Integer> stream =
+      upstream
+        .peek( v -> {
+        } )
+        .peekComplete( () -> {
+        } )
+        .afterNext( v -> {
+        } );
+
+    assertTrue( stream instanceof PeekOperator );
+    assertEquals( ( (PeekOperator<Integer>) stream ).getUpstream(), upstream );
+    assertEquals( stream.getQualifiedName(), "of(1).peek().onComplete().afterNext()" );
+    // The qualified name is computed once and cached
+    assertSame( stream.getQualifiedName(), stream.getQualifiedName() );
+  }
+
+  @Test
+  public void mergedHooksPreserveOrder()
+  {
+    final List<String> events = new ArrayList<>();
+    Stream.of( 1 )
+      .peekSubscribe( s -> events.add( "a.onSubscribe" ) )
+      .afterSubscribe( s -> events.add( "a.afterSubscribe" ) )
+      .peek( v -> events.add( "a.onItem" ) )
+      .afterNext( v -> events.add( "a.afterItem" ) )
+      .peekComplete( () -> events.add( "a.onComplete" ) )
+      .afterComplete( () -> events.add( "a.afterComplete" ) )
+      .peekSubscribe( s -> events.add( "b.onSubscribe" ) )
+      .afterSubscribe( s -> events.add( "b.afterSubscribe" ) )
+      .peek( v -> events.add( "b.onItem" ) )
+      .afterNext( v -> events.add( "b.afterItem" ) )
+      .peekComplete( () -> events.add( "b.onComplete" ) )
+      .afterComplete( () -> events.add( "b.afterComplete" ) )
+      .forEach( v -> events.add( "item" ) );
+
+    assertEquals( events,
+                  Arrays.asList( "a.onSubscribe",
+                                 "b.onSubscribe",
+                                 "b.afterSubscribe",
+                                 "a.afterSubscribe",
+                                 "a.onItem",
+                                 "b.onItem",
+                                 "item",
+                                 "b.afterItem",
+                                 "a.afterItem",
+                                 "a.onComplete",
+                                 "b.onComplete",
+                                 "b.afterComplete",
+                                 "a.afterComplete" ) );
+  }
+
+  @Test
+  public void mergedCancelHooksPreserveOrder()
+  {
+    final List<String> events = new ArrayList<>();
+    Stream.never()
+      .peekCancel( () -> events.add( "a.onCancel" ) )
+      .afterCancel( () -> events.add( "a.afterCancel" ) )
+      .peekCancel( () -> events.add( "b.onCancel" ) )
+      .afterCancel( () -> events.add( "b.afterCancel" ) )
+      .forEach( v -> {
+      } )
+      .cancel();
+
+    assertEquals( events, Arrays.asList( "b.onCancel", "a.onCancel", "a.afterCancel", "b.afterCancel" ) );
+  }
+}
@@ -0,0 +1,252 @@
+package spritz;
+
+import elemental2.promise.IThenable;
+import elemental2.promise.Promise;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import org.testng.annotations.Test;
+import spritz.dom.PromiseRejectedException;
+import static org.testng.Assert.*;
+
+public class PromiseMapOperatorTest
+  extends AbstractTest
+{
+  @Test
+  public void mergeMapPromise_limitsConcurrency()
+  {
+    final Subject<Integer> subject = Stream.subject();
+    final List<DeferredPromise<String>> promises = new ArrayList<>();
+    final RecordingSubscriber subscriber = new RecordingSubscriber();
+    subject.mergeMapPromise( v -> newPromise( promises ), 2 ).subscribe( subscriber );
+
+    subject.next( 1 );
+    subject.next( 2 );
+    subject.next( 3 );
+    assertEquals( promises.size(), 2 );
+
+    // Settling a promise maps the next pending item
+    promises.get( 1 ).fulfill( "b" );
+    assertEquals( promises.size(), 3 );
+
+    // Completion is deferred until the last pending promise has settled
+    subject.complete();
+    promises.get( 2 ).fulfill( "c" );
+    assertEquals( subscriber._events, Arrays.asList( "subscribe", "item:b", "item:c" ) );
+
+    promises.get( 0 ).fulfill( "a" );
+    assertEquals( subscriber._events, Arrays.asList( "subscribe", "item:b", "item:c", "item:a", "complete" ) );
+  }
+
+  @Test
+  public void mergeMapPromise_nullValueEmitsNoItem()
+  {
+    final Subject<Integer> subject = Stream.subject();
+    final List<DeferredPromise<String>> promises = new ArrayList<>();
+    final RecordingSubscriber subscriber = new RecordingSubscriber();
+    subject.concatMapPromise( v -> newPromise( promises ) ).subscribe( subscriber );
+
+    subject.next( 1 );
+    subject.complete();
+    promises.get( 0 ).fulfill( null );
+
+    assertEquals( subscriber._events, Arrays.asList( "subscribe", "complete" ) );
+  }
+
+  @Test
+  public void switchMapPromise_ignoresStalePromises()
+  {
+    final Subject<Integer> subject = Stream.subject();
+    final List<DeferredPromise<String>> promises = new ArrayList<>();
+    final RecordingSubscriber subscriber = new RecordingSubscriber();
+    subject.switchMapPromise( v -> newPromise( promises ) ).subscribe( subscriber );
+
+    subject.next( 1 );
+    subject.next( 2 );
+    subject.complete();
+    assertEquals( promises.size(), 2 );
+
+    promises.get( 0 ).fulfill( "a" );
+    promises.get( 0 ).fail( "ignored" );
+    assertEquals( subscriber._events, Arrays.asList( "subscribe" ) );
+
+    promises.get( 1 ).fulfill( "b" );
+    assertEquals( subscriber._events, Arrays.asList( "subscribe", "item:b", "complete" ) );
+  }
+
+  @Test
+  public void promiseRejected_emitsError()
+  {
+    final AtomicInteger cancelCount = new AtomicInteger();
+    final Subject<Integer> subject = Stream.subject();
+    final List<DeferredPromise<String>> promises = new ArrayList<>();
+    final RecordingSubscriber subscriber = new RecordingSubscriber();
+    subject.peekCancel( cancelCount::incrementAndGet )
+      .concatMapPromise( v -> newPromise( promises ) )
+      .subscribe( subscriber );
+
+    subject.next( 1 );
+    subject.next( 2 );
+    promises.get( 0 ).fail( "failed" );
+
+    // The pending item is discarded rather than mapped
+    assertEquals( promises.size(), 1 );
+    assertEquals( cancelCount.get(), 1 );
+    assertEquals( subscriber._events, Arrays.asList( "subscribe", "error" ) );
+    assertTrue( subscriber._error instanceof PromiseRejectedException );
+    assertEquals( ( (PromiseRejectedException) subscriber._error ).getReason(), "failed" );
+  }
+
+  @Test
+  public void mapperThrows_emitsError()
+  {
+    final AtomicInteger cancelCount = new AtomicInteger();
+    final IllegalStateException error = new IllegalStateException();
+    final Subject<Integer> subject = Stream.subject();
+    final List<DeferredPromise<String>> promises = new ArrayList<>();
+    final RecordingSubscriber subscriber = new RecordingSubscriber();
+    subject.peekCancel( cancelCount::incrementAndGet )
+      .mergeMapPromise( v -> {
+        if ( 2 == v )
+        {
+          throw error;
+        }
+        return newPromise( promises );
+      } )
+      .subscribe( subscriber );
+
+    subject.next( 1 );
+    subject.next( 2 );
+
+    assertEquals( cancelCount.get(), 1 );
+    assertEquals( subscriber._events, Arrays.asList( "subscribe", "error" ) );
+    assertSame( subscriber._error, error );
+
+    // Promises that settle after the error are ignored
+    promises.get( 0 ).fulfill( "a" );
+    assertEquals( subscriber._events, Arrays.asList( "subscribe", "error" ) );
+  }
+
+  @Test
+  public void mapperThrowsForPendingItem_emitsError()
+  {
+    final IllegalStateException error = new IllegalStateException();
+    final Subject<Integer> subject = Stream.subject();
+    final List<DeferredPromise<String>> promises = new ArrayList<>();
+    final RecordingSubscriber subscriber = new RecordingSubscriber();
+    subject
+      .concatMapPromise( v -> {
+        if ( 2 == v )
+        {
+          throw error;
+        }
+        return newPromise( promises );
+      } )
+      .subscribe( subscriber );
+
+    subject.next( 1 );
+    subject.next( 2 );
+    subject.complete();
+    promises.get( 0 ).fulfill( "a" );
+
+    assertEquals( subscriber._events, Arrays.asList( "subscribe", "item:a", "error" ) );
+    assertSame( subscriber._error, error );
+  }
+
+  @Test
+  public void mapperReturnsNull_emitsError()
+  {
+    final Subject<Integer> subject = Stream.subject();
+    final RecordingSubscriber subscriber = new RecordingSubscriber();
+    subject.<String>switchMapPromise( v -> null ).subscribe( subscriber );
+
+    subject.next( 1 );
+
+    assertEquals( subscriber._events, Arrays.asList( "subscribe", "error" ) );
+    assertTrue( subscriber._error instanceof NullPointerException );
+  }
+
+  @Nonnull
+  private Promise<String> newPromise( @Nonnull final List<DeferredPromise<String>> promises )
+  {
+    final DeferredPromise<String> promise = new DeferredPromise<>();
+    promises.add( promise );
+    return promise;
+  }
+
+  /**
+   * A promise that records the callbacks passed to then() so that it can be settled by the test.
+   */
+  private static final class DeferredPromise<T>
+    extends Promise<T>
+  {
+    @Nullable
+    private IThenable.ThenOnFulfilledCallbackFn<? super T, ?> _onFulfilled;
+    @Nullable
+    private IThenable.ThenOnRejectedCallbackFn<?> _onRejected;
+
+    DeferredPromise()
+    {
+      super( ( resolve, reject ) -> {
+      } );
+    }
+
+    @Override
+    public <V> Promise<V> then( @Nonnull final IThenable.ThenOnFulfilledCallbackFn<? super T, ? extends V> onFulfilled,
+                                @Nonnull final IThenable.ThenOnRejectedCallbackFn<? extends V> onRejected )
+    {
+      _onFulfilled = onFulfilled;
+      _onRejected = onRejected;
+      return null;
+    }
+
+    void fulfill( @Nullable final T value )
+    {
+      assert null != _onFulfilled;
+      _onFulfilled.onInvoke( value );
+    }
+
+    void fail( @Nonnull final Object reason )
+    {
+      assert null != _onRejected;
+      _onRejected.onInvoke( reason );
+    }
+  }
+
+  private static final class RecordingSubscriber
+    implements Subscriber<String>
+  {
+    @Nonnull
+    private final List<String> _events = new ArrayList<>();
+    @Nullable
+    private Throwable _error;
+
+    @Override
+    public void onSubscribe( @Nonnull final Subscription subscription )
+    {
+      _events.add( "subscribe" );
+    }
+
+    @Override
+    public void onItem( @Nonnull final String item )
+    {
+      _events.add( "item:" + item );
+    }
+
+    @Override
+    public void onError( @Nonnull final Throwable error )
+    {
+      _events.add( "error" );
+      _error = error;
+    }
+
+    @Override
+    public void onComplete()
+    {
+      _events.add( "complete" );
+    }
+  }
+}
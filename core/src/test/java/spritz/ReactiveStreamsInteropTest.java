@@ -0,0 +1,208 @@
+package spritz;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class ReactiveStreamsInteropTest
+  extends AbstractTest
+{
+  @Test
+  public void toPublisher_deliversRequestedItems()
+  {
+    final RecordingSubscriber subscriber = new RecordingSubscriber();
+    Stream.of( 1, 2, 3 ).toPublisher( 10 ).subscribe( subscriber );
+
+    assertEquals( subscriber._items, new ArrayList<>() );
+    assertFalse( subscriber._complete );
+
+    subscriber._subscription.request( 2 );
+    assertEquals( subscriber._items, Arrays.asList( 1, 2 ) );
+    assertFalse( subscriber._complete );
+
+    subscriber._subscription.request( 1 );
+    assertEquals( subscriber._items, Arrays.asList( 1, 2, 3 ) );
+    assertTrue( subscriber._complete );
+  }
+
+  @Test
+  public void toPublisher_bufferOverflow()
+  {
+    final RecordingSubscriber subscriber = new RecordingSubscriber();
+    Stream.of( 1, 2, 3 ).toPublisher( 2 ).subscribe( subscriber );
+
+    assertEquals( subscriber._items, new ArrayList<>() );
+    assertTrue( subscriber._error instanceof IllegalStateException );
+    assertFalse( subscriber._complete );
+  }
+
+  @Test
+  public void toPublisher_nonPositiveRequest()
+  {
+    final RecordingSubscriber subscriber = new RecordingSubscriber();
+    Stream.of( 1, 2, 3 ).toPublisher( 10 ).subscribe( subscriber );
+
+    subscriber._subscription.request( 0 );
+    assertTrue( subscriber._error instanceof IllegalArgumentException );
+  }
+
+  @Test
+  public void toPublisher_requestFromAnotherThreadDuringOnNext()
+    throws Exception
+  {
+    final List<Integer> items = new ArrayList<>();
+    final List<Thread> threads = new ArrayList<>();
+    final org.reactivestreams.Subscription[] subscription = new org.reactivestreams.Subscription[ 1 ];
+    Stream.of( 1, 2, 3 ).toPublisher( 10 ).subscribe( new org.reactivestreams.Subscriber<Integer>()
+    {
+      @Override
+      public void onSubscribe( final org.reactivestreams.Subscription s )
+      {
+        subscription[ 0 ] = s;
+      }
+
+      @Override
+      public void onNext( final Integer item )
+      {
+        items.add( item );
+        if ( 1 == item )
+        {
+          // The subscriber waits for a request made on another thread while it is receiving an item
+          final Thread thread = new Thread( () -> subscription[ 0 ].request( 2 ) );
+          threads.add( thread );
+          thread.start();
+          try
+          {
+            thread.join( 5000 );
+          }
+          catch ( final InterruptedException ie )
+          {
+            throw new AssertionError( ie );
+          }
+        }
+      }
+
+      @Override
+      public void onError( final Throwable error )
+      {
+      }
+
+      @Override
+      public void onComplete()
+      {
+      }
+    } );
+
+    subscription[ 0 ].request( 1 );
+
+    assertFalse( threads.get( 0 ).isAlive() );
+    // The thread that was delivering items delivers the items requested by the other thread
+    assertEquals( items, Arrays.asList( 1, 2, 3 ) );
+  }
+
+  @Test
+  public void fromPublisher_roundTrip()
+  {
+    final List<Integer> items = new ArrayList<>();
+    final List<String> signals = new ArrayList<>();
+    Stream.fromPublisher( Stream.range( 1, 10 ).toPublisher( 10 ), 4 )
+      .peekComplete( () -> signals.add( "complete" ) )
+      .forEach( items::add );
+
+    assertEquals( items, Arrays.asList( 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 ) );
+    assertEquals( signals, Arrays.asList( "complete" ) );
+  }
+
+  @Test
+  public void fromPublisher_cancelPropagatesUpstream()
+  {
+    final List<String> signals = new ArrayList<>();
+    final Subject<Integer> subject = Stream.subject();
+    final Subscription subscription =
+      Stream.fromPublisher( subject.peekCancel( () -> signals.add( "cancel" ) ).toPublisher( 10 ), 4 )
+        .forEach( v -> {
+        } );
+
+    assertEquals( signals, new ArrayList<>() );
+    subscription.cancel();
+    assertEquals( signals, Arrays.asList( "cancel" ) );
+  }
+
+  @Test
+  public void streamUsableWithoutReactiveStreams()
+    throws Exception
+  {
+    final String compileTarget = System.getProperty( "spritz.core.compile_target" );
+    assertNotNull( compileTarget, "Expected System.getProperty( \"spritz.core.compile_target\" ) to return directory" );
+    final URL[] urls = new URL[]{ new File( compileTarget ).toURI().toURL() };
+
+    // Load the Spritz classes in isolation from a loader that can not see the optional Reactive Streams dependency
+    try ( URLClassLoader loader = new URLClassLoader( urls, getClass().getClassLoader() )
+    {
+      @Override
+      protected Class<?> loadClass( final String name, final boolean resolve )
+        throws ClassNotFoundException
+      {
+        if ( name.startsWith( "org.reactivestreams." ) )
+        {
+          throw new ClassNotFoundException( name );
+        }
+        else if ( name.startsWith( "spritz." ) )
+        {
+          synchronized ( getClassLoadingLock( name ) )
+          {
+            final Class<?> type = findLoadedClass( name );
+            return null != type ? type : findClass( name );
+          }
+        }
+        else
+        {
+          return super.loadClass( name, resolve );
+        }
+      }
+    } )
+    {
+      // Initializing the class verifies it, which fails if the verifier needs to load a Reactive Streams type
+      final Class<?> type = Class.forName( "spritz.Stream", true, loader );
+      assertEquals( type.getClassLoader(), loader );
+    }
+  }
+
+  private static final class RecordingSubscriber
+    implements org.reactivestreams.Subscriber<Integer>
+  {
+    private final List<Integer> _items = new ArrayList<>();
+    private org.reactivestreams.Subscription _subscription;
+    private Throwable _error;
+    private boolean _complete;
+
+    @Override
+    public void onSubscribe( final org.reactivestreams.Subscription subscription )
+    {
+      _subscription = subscription;
+    }
+
+    @Override
+    public void onNext( final Integer item )
+    {
+      _items.add( item );
+    }
+
+    @Override
+    public void onError( final Throwable error )
+    {
+      _error = error;
+    }
+
+    @Override
+    public void onComplete()
+    {
+      _complete = true;
+    }
+  }
+}
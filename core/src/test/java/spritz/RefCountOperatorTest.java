@@ -0,0 +1,55 @@
+package spritz;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class RefCountOperatorTest
+  extends AbstractTest
+{
+  @Test
+  public void gracePeriod_reusesConnection()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final AtomicInteger subscribeCount = new AtomicInteger();
+    final AtomicInteger cancelCount = new AtomicInteger();
+    final Stream<Integer> stream =
+      Stream.<Integer>never()
+        .peekSubscribe( s -> subscribeCount.incrementAndGet() )
+        .peekCancel( cancelCount::incrementAndGet )
+        .publish()
+        .refCount( 100 );
+
+    stream.forEach( v -> {
+    } ).cancel();
+    scheduler.advanceTimeBy( 50 );
+
+    final Subscription subscription = stream.forEach( v -> {
+    } );
+    scheduler.advanceTimeBy( 100 );
+
+    assertEquals( subscribeCount.get(), 1 );
+    assertEquals( cancelCount.get(), 0 );
+
+    subscription.cancel();
+    scheduler.advanceTimeBy( 99 );
+    assertEquals( cancelCount.get(), 0 );
+
+    scheduler.advanceTimeBy( 1 );
+    assertEquals( cancelCount.get(), 1 );
+    assertEquals( scheduler.getPendingTaskCount(), 0 );
+  }
+
+  @Test
+  public void noGracePeriod_disconnectsImmediately()
+  {
+    final AtomicInteger cancelCount = new AtomicInteger();
+    final Stream<Integer> stream =
+      Stream.<Integer>never().peekCancel( cancelCount::incrementAndGet ).publish().refCount();
+
+    stream.forEach( v -> {
+    } ).cancel();
+
+    assertEquals( cancelCount.get(), 1 );
+  }
+}
@@ -0,0 +1,120 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class RetryOperatorTest
+  extends AbstractTest
+{
+  @Test
+  public void retryWhen_resubscribesAfterDelay()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final List<String> events = new ArrayList<>();
+    final List<Integer> retryCounts = new ArrayList<>();
+
+    Stream.<Integer>fail( new IllegalStateException() )
+      .peekSubscribe( s -> events.add( "subscribe@" + scheduler.now() ) )
+      .retryWhen( 2, ( retryCount, error ) -> {
+        retryCounts.add( retryCount );
+        return retryCount * 100;
+      } )
+      .peekError( e -> events.add( "error@" + scheduler.now() ) )
+      .forEach( v -> {
+      } );
+
+    assertEquals( events, Arrays.asList( "subscribe@0" ) );
+
+    scheduler.advanceTimeBy( 100 );
+    assertEquals( events, Arrays.asList( "subscribe@0", "subscribe@100" ) );
+
+    scheduler.advanceTimeBy( 200 );
+    assertEquals( events, Arrays.asList( "subscribe@0", "subscribe@100", "subscribe@300", "error@300" ) );
+    assertEquals( retryCounts, Arrays.asList( 1, 2 ) );
+    assertEquals( scheduler.getPendingTaskCount(), 0 );
+  }
+
+  @Test
+  public void retryWhen_negativeDelayAbortsRetry()
+  {
+    final List<String> events = new ArrayList<>();
+
+    Stream.<Integer>fail( new IllegalStateException() )
+      .peekSubscribe( s -> events.add( "subscribe" ) )
+      .retryWhen( 5, ( retryCount, error ) -> -1 )
+      .peekError( e -> events.add( "error" ) )
+      .forEach( v -> {
+      } );
+
+    assertEquals( events, Arrays.asList( "subscribe", "error" ) );
+  }
+
+  @Test
+  public void retryWhen_itemResetsRetryCount()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final List<Integer> retryCounts = new ArrayList<>();
+    final List<Integer> items = new ArrayList<>();
+
+    Stream.of( 1 )
+      .append( Stream.fail( new IllegalStateException() ) )
+      .retryWhen( 1, ( retryCount, error ) -> {
+        retryCounts.add( retryCount );
+        return 10;
+      } )
+      .take( 3 )
+      .forEach( items::add );
+
+    scheduler.advanceTimeBy( 100 );
+
+    assertEquals( items, Arrays.asList( 1, 1, 1 ) );
+    assertEquals( retryCounts, Arrays.asList( 1, 1 ) );
+  }
+
+  @Test
+  public void cancelWhileRetryPending()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final List<String> events = new ArrayList<>();
+
+    final Subscription subscription =
+      Stream.<Integer>fail( new IllegalStateException() )
+        .peekSubscribe( s -> events.add( "subscribe" ) )
+        .retryWithExponentialBackoff( 3 )
+        .forEach( v -> {
+        } );
+
+    assertEquals( scheduler.getPendingTaskCount(), 1 );
+    subscription.cancel();
+    assertEquals( scheduler.getPendingTaskCount(), 0 );
+
+    scheduler.advanceTimeBy( 100000 );
+    assertEquals( events, Arrays.asList( "subscribe" ) );
+  }
+
+  @Test
+  public void retryWithExponentialBackoff_delaysIncreaseWithJitter()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final List<Integer> subscribeTimes = new ArrayList<>();
+
+    Stream.<Integer>fail( new IllegalStateException() )
+      .peekSubscribe( s -> subscribeTimes.add( scheduler.now() ) )
+      .retryWithExponentialBackoff( 4, 100, 300 )
+      .forEach( v -> {
+      } );
+
+    scheduler.advanceTimeBy( 100000 );
+
+    assertEquals( subscribeTimes.size(), 5 );
+    final int[] expected = new int[]{ 100, 200, 300, 300 };
+    for ( int i = 0; i < expected.length; i++ )
+    {
+      final int delay = subscribeTimes.get( i + 1 ) - subscribeTimes.get( i );
+      assertTrue( delay >= expected[ i ] / 2 && delay <= expected[ i ], "Delay " + delay + " for retry " + i );
+    }
+  }
+}
@@ -22,6 +22,16 @@ public class SpritzUtilTest
                                  "java.lang.RuntimeException: X\n" ) );
   }
 
+  @Test
+  public void exponentialBackoff()
+  {
+    assertEquals( SpritzUtil.exponentialBackoff( 1, 100, 1000 ), 100 );
+    assertEquals( SpritzUtil.exponentialBackoff( 2, 100, 1000 ), 200 );
+    assertEquals( SpritzUtil.exponentialBackoff( 4, 100, 1000 ), 800 );
+    assertEquals( SpritzUtil.exponentialBackoff( 5, 100, 1000 ), 1000 );
+    assertEquals( SpritzUtil.exponentialBackoff( Integer.MAX_VALUE, 100, Integer.MAX_VALUE ), Integer.MAX_VALUE );
+  }
+
   @Test
   public void throwableToString()
   {
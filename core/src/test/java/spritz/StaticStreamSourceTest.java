@@ -1,5 +1,7 @@
 package spritz;
 
+import java.util.Arrays;
+import javax.annotation.Nonnull;
 import org.testng.annotations.Test;
 import static org.testng.Assert.*;
 
@@ -13,10 +15,42 @@ public class StaticStreamSourceTest
     assertEquals( stream.getName(), "of(1, 2, 3)" );
   }
 
+  @Test
+  public void getName_defaultTruncatesLargeSources()
+  {
+    final Integer[] values = new Integer[ 1000 ];
+    for ( int i = 0; i < values.length; i++ )
+    {
+      values[ i ] = i;
+    }
+    final Stream<Integer> stream = Stream.of( values );
+    assertEquals( stream.getName(), "of(0, 1, 2, 3, 4, 5, 6, 7, 8, 9, ...)" );
+    assertEquals( Stream.fromCollection( Arrays.asList( values ) ).getName(),
+                  "fromCollection([0, 1, 2, 3, 4, 5, 6, 7, 8, 9, ...])" );
+  }
+
   @Test
   public void getName_specified()
   {
     final Stream<Integer> stream = Stream.of( "dataIn()", 1, 2, 3 );
     assertEquals( stream.getName(), "dataIn()" );
   }
+
+  @Test
+  public void getName_lazyNameNotComputed()
+  {
+    final Stream<Integer> stream = new Stream<Integer>( null, true )
+    {
+      @Nonnull
+      @Override
+      Subscription doSubscribe( @Nonnull final Subscriber<? super Integer> subscriber )
+      {
+        throw new UnsupportedOperationException();
+      }
+    };
+
+    assertInvariantFailure( stream::getName,
+                            "Spritz-0063: Stream.computeName() invoked on a stream that was not created with a lazy " +
+                            "name or that does not override computeName()" );
+  }
 }
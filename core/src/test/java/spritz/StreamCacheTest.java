@@ -0,0 +1,214 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class StreamCacheTest
+  extends AbstractTest
+{
+  @Test
+  public void sharesUpstreamPerKey()
+  {
+    final List<Integer> loads = new ArrayList<>();
+    final StreamCache<Integer, Integer> cache = new StreamCache<>( key -> {
+      loads.add( key );
+      final Stream<Integer> value = Stream.of( key * 10 );
+      return value.append( Stream.never() );
+    }, 10, 1000 );
+    VirtualTimeScheduler.install();
+
+    final List<Integer> items = new ArrayList<>();
+    final Subscription subscription1 = cache.get( 1 ).forEach( items::add );
+    final Subscription subscription2 = cache.get( 1 ).forEach( items::add );
+
+    assertEquals( loads, Arrays.asList( 1 ) );
+    assertEquals( items, Arrays.asList( 10, 10 ) );
+
+    subscription1.cancel();
+    subscription2.cancel();
+  }
+
+  @Test
+  public void emitsMoreItemsThanReplayed()
+  {
+    final Subject<Integer> subject = Stream.subject();
+    final StreamCache<Integer, Integer> cache = new StreamCache<>( key -> subject, 10, 1000 );
+    VirtualTimeScheduler.install();
+
+    final List<Integer> items1 = new ArrayList<>();
+    cache.get( 1 ).forEach( items1::add );
+    subject.next( 1 );
+    subject.next( 2 );
+    subject.next( 3 );
+
+    // Late subscribers receive the last item only
+    final List<Integer> items2 = new ArrayList<>();
+    cache.get( 1 ).forEach( items2::add );
+
+    assertEquals( items1, Arrays.asList( 1, 2, 3 ) );
+    assertEquals( items2, Arrays.asList( 3 ) );
+  }
+
+  @Test
+  public void subscribeAfterLoaderCompletes()
+  {
+    final List<Integer> loads = new ArrayList<>();
+    final StreamCache<Integer, Integer> cache = new StreamCache<>( key -> {
+      loads.add( key );
+      return Stream.of( key * 10 );
+    }, 10, 1000 );
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+
+    final List<String> signals1 = new ArrayList<>();
+    cache.get( 1 ).peekComplete( () -> signals1.add( "complete" ) ).forEach( v -> signals1.add( "item:" + v ) );
+    scheduler.advanceTimeBy( 500 );
+
+    // The completed subject is replayed rather than the loader stream being subscribed to again
+    final List<String> signals2 = new ArrayList<>();
+    cache.get( 1 ).peekComplete( () -> signals2.add( "complete" ) ).forEach( v -> signals2.add( "item:" + v ) );
+
+    assertEquals( loads, Arrays.asList( 1 ) );
+    assertEquals( signals1, Arrays.asList( "item:10", "complete" ) );
+    assertEquals( signals2, Arrays.asList( "item:10", "complete" ) );
+  }
+
+  @Test
+  public void subscribeAfterEarlierSubscriberCancels()
+  {
+    final AtomicInteger subscribeCount = new AtomicInteger();
+    final AtomicInteger cancelCount = new AtomicInteger();
+    final Subject<Integer> subject = Stream.subject();
+    final StreamCache<Integer, Integer> cache = new StreamCache<>( key -> subject
+      .peekSubscribe( s -> subscribeCount.incrementAndGet() )
+      .peekCancel( cancelCount::incrementAndGet ), 10, 1000 );
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+
+    final List<Integer> items1 = new ArrayList<>();
+    cache.get( 1 ).forEach( items1::add ).cancel();
+    subject.next( 1 );
+    cache.get( 1 ).forEach( items1::add ).cancel();
+    subject.next( 2 );
+    scheduler.advanceTimeBy( 999 );
+
+    // The upstream subscription is retained after the subscriber cancels so the lookup reuses it
+    final List<Integer> items2 = new ArrayList<>();
+    final Subscription subscription = cache.get( 1 ).forEach( items2::add );
+    assertEquals( subscribeCount.get(), 1 );
+    assertEquals( cancelCount.get(), 0 );
+    assertEquals( items1, Arrays.asList( 1 ) );
+    assertEquals( items2, Arrays.asList( 2 ) );
+
+    // Once no subscriber is present for the max age the upstream subscription is released
+    subscription.cancel();
+    scheduler.advanceTimeBy( 1000 );
+    assertEquals( cancelCount.get(), 1 );
+    assertEquals( scheduler.getPendingTaskCount(), 0 );
+  }
+
+  @Test
+  public void evictsLeastRecentlyUsed()
+  {
+    final List<Integer> loads = new ArrayList<>();
+    final StreamCache<Integer, Integer> cache = new StreamCache<>( key -> {
+      loads.add( key );
+      return Stream.of( key * 10 + loads.size() );
+    }, 2, 1000 );
+    VirtualTimeScheduler.install();
+
+    final List<Integer> items = new ArrayList<>();
+    cache.get( 1 ).forEach( items::add );
+    cache.get( 2 ).forEach( items::add );
+    cache.get( 1 ).forEach( items::add );
+    cache.get( 3 ).forEach( items::add );
+    assertEquals( cache.size(), 2 );
+
+    cache.get( 1 ).forEach( items::add );
+    cache.get( 2 ).forEach( items::add );
+    assertEquals( loads, Arrays.asList( 1, 2, 3, 2 ) );
+    // The evicted key is loaded again and emits the newly loaded item
+    assertEquals( items, Arrays.asList( 11, 22, 11, 33, 11, 24 ) );
+  }
+
+  @Test
+  public void evictsByAge()
+  {
+    final List<Integer> loads = new ArrayList<>();
+    final StreamCache<Integer, Integer> cache = new StreamCache<>( key -> {
+      loads.add( key );
+      return Stream.of( key * 10 + loads.size() );
+    }, 2, 100 );
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+
+    final List<Integer> items = new ArrayList<>();
+    cache.get( 1 ).forEach( items::add );
+    scheduler.advanceTimeBy( 100 );
+    cache.get( 1 ).forEach( items::add );
+    scheduler.advanceTimeBy( 1 );
+    cache.get( 1 ).forEach( items::add );
+
+    assertEquals( loads, Arrays.asList( 1, 1 ) );
+    assertEquals( items, Arrays.asList( 11, 11, 12 ) );
+  }
+
+  @Test
+  public void cacheEmitsMoreThanMaxSizeItems()
+  {
+    VirtualTimeScheduler.install();
+    final Subject<Integer> subject = Stream.subject();
+    final Stream<Integer> stream = subject.cache( 2, 1000 );
+
+    final List<Integer> items1 = new ArrayList<>();
+    stream.forEach( items1::add );
+    subject.next( 1 );
+    subject.next( 2 );
+    subject.next( 3 );
+    subject.next( 4 );
+
+    final List<Integer> items2 = new ArrayList<>();
+    stream.forEach( items2::add );
+
+    assertEquals( items1, Arrays.asList( 1, 2, 3, 4 ) );
+    assertEquals( items2, Arrays.asList( 3, 4 ) );
+  }
+
+  @Test
+  public void cacheEmitsMoreThanSingleItem()
+  {
+    VirtualTimeScheduler.install();
+    final Subject<Integer> subject = Stream.subject();
+    final Stream<Integer> stream = subject.cache( 1, 1000 );
+
+    final List<Integer> items1 = new ArrayList<>();
+    stream.forEach( items1::add );
+    subject.next( 1 );
+    subject.next( 2 );
+
+    final List<Integer> items2 = new ArrayList<>();
+    stream.forEach( items2::add );
+
+    assertEquals( items1, Arrays.asList( 1, 2 ) );
+    assertEquals( items2, Arrays.asList( 2 ) );
+  }
+
+  @Test
+  public void cacheReplaysTerminalSignal()
+  {
+    final AtomicInteger subscribeCount = new AtomicInteger();
+    VirtualTimeScheduler.install();
+    final Stream<Integer> stream =
+      Stream.of( 1, 2, 3 ).peekSubscribe( s -> subscribeCount.incrementAndGet() ).cache( 2, 1000 );
+
+    final List<String> signals = new ArrayList<>();
+    stream.peekComplete( () -> signals.add( "complete" ) ).forEach( v -> signals.add( "item:" + v ) );
+    stream.peekComplete( () -> signals.add( "complete" ) ).forEach( v -> signals.add( "item:" + v ) );
+
+    assertEquals( subscribeCount.get(), 1 );
+    // The first subscriber receives every item while later subscribers receive the retained items
+    assertEquals( signals,
+                  Arrays.asList( "item:1", "item:2", "item:3", "complete", "item:2", "item:3", "complete" ) );
+  }
+}
@@ -0,0 +1,120 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class StreamCapabilitiesTest
+  extends AbstractTest
+{
+  @Test
+  public void sources()
+  {
+    assertTrue( Stream.of( 1, 2, 3 ).canComplete() );
+    assertFalse( Stream.of( 1, 2, 3 ).canError() );
+    assertTrue( Stream.range( 1, 3 ).canComplete() );
+    assertFalse( Stream.range( 1, 3 ).canError() );
+    assertFalse( Stream.never().canComplete() );
+    assertFalse( Stream.never().canError() );
+    assertFalse( Stream.fail( new Error() ).canComplete() );
+    assertTrue( Stream.fail( new Error() ).canError() );
+    assertFalse( Stream.periodic( 100 ).canComplete() );
+    assertFalse( Stream.periodic( 100 ).canError() );
+  }
+
+  @Test
+  public void operatorsPropagateCapabilities()
+  {
+    final Stream<Integer> stream = Stream.of( 1, 2, 3 ).map( v -> v * 2 ).filter( v -> v > 2 );
+    assertTrue( stream.canComplete() );
+    assertFalse( stream.canError() );
+
+    final Stream<Integer> periodic = Stream.periodic( 100 ).skip( 1 );
+    assertFalse( periodic.canComplete() );
+    assertFalse( periodic.canError() );
+
+    // Operators can introduce signals that the upstream never emits
+    assertTrue( Stream.periodic( 100 ).take( 2 ).canComplete() );
+    assertTrue( Stream.periodic( 100 ).timeout( 10 ).canError() );
+    assertTrue( Stream.of( 1 ).errorIfEmpty( Error::new ).canError() );
+    assertFalse( Stream.never().errorIfEmpty( Error::new ).canError() );
+    assertTrue( Stream.fail( new Error() ).rescue( e -> Stream.of( 1 ) ).canComplete() );
+  }
+
+  @Test
+  public void warnsWhenCompletionIsRequiredButNeverEmitted()
+  {
+    Stream.periodic( 100 ).last();
+    Stream.periodic( 100 ).toList();
+    Stream.periodic( 100 ).defaultIfEmpty( 1 );
+    Stream.periodic( 100 ).errorIfEmpty( Error::new );
+    // Streams that can complete do not generate warnings
+    Stream.of( 1, 2, 3 ).last();
+
+    final ArrayList<TestLogger.LogEntry> entries = getTestLogger().getEntries();
+    assertEquals( entries.size(), 4 );
+    for ( final TestLogger.LogEntry entry : entries )
+    {
+      assertTrue( entry.getMessage().startsWith( "Spritz-0060: Stream '" ) );
+      assertTrue( entry.getMessage().endsWith( "' waits for the completion signal " +
+                                               "but the upstream stream never completes." ) );
+      assertNull( entry.getThrowable() );
+    }
+  }
+
+  @Test
+  public void warnsWhenErrorIsHandledButNeverEmitted()
+  {
+    Stream.of( 1, 2, 3 ).rescue( e -> Stream.of( 4 ) );
+    Stream.of( 1, 2, 3 ).retryWhen( 3, ( count, error ) -> 10 );
+    // Streams that can error do not generate warnings
+    Stream.fail( new Error() ).retryWhen( 3, ( count, error ) -> 10 );
+
+    final ArrayList<TestLogger.LogEntry> entries = getTestLogger().getEntries();
+    assertEquals( entries.size(), 2 );
+    for ( final TestLogger.LogEntry entry : entries )
+    {
+      assertTrue( entry.getMessage().startsWith( "Spritz-0061: Stream '" ) );
+      assertTrue( entry.getMessage().endsWith( "' handles the error signal " +
+                                               "but the upstream stream never emits an error." ) );
+    }
+  }
+
+  @Test
+  public void warningsOmittedWhenNamesDisabled()
+  {
+    SpritzTestUtil.disableNames();
+    Stream.periodic( 100 ).last();
+    Stream.of( 1, 2, 3 ).retryWhen( 3, ( count, error ) -> 10 );
+
+    assertTrue( getTestLogger().getEntries().isEmpty() );
+  }
+
+  @Test
+  public void lastOnStreamThatNeverCompletes()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final List<Integer> items = new ArrayList<>();
+    final Subscription subscription = Stream.periodic( 10 ).last( 2 ).forEach( items::add );
+
+    scheduler.advanceTimeBy( 100 );
+    subscription.cancel();
+
+    assertTrue( items.isEmpty() );
+  }
+
+  @Test
+  public void defaultIfEmptyOnStreamThatNeverCompletes()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final List<Integer> items = new ArrayList<>();
+    final Subscription subscription = Stream.periodic( 10 ).defaultIfEmpty( 42 ).forEach( items::add );
+
+    scheduler.advanceTimeBy( 35 );
+    subscription.cancel();
+
+    assertEquals( items, Arrays.asList( 0, 1, 2 ) );
+  }
+}
@@ -0,0 +1,88 @@
+package spritz;
+
+import java.util.concurrent.atomic.AtomicReference;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class SubscriptionRegistryTest
+  extends AbstractTest
+{
+  @Test
+  public void completedSubscriptionsAreReleased()
+  {
+    final SubscriptionRegistry registry = Spritz.getSubscriptionRegistry();
+
+    Stream.of( 1, 2, 3 ).map( v -> v * 2 ).forEach( v -> {
+    } );
+
+    assertEquals( registry.getActiveSubscriptionCount(), 0 );
+  }
+
+  @Test
+  public void cancelledSubscriptionsAreReleased()
+  {
+    final SubscriptionRegistry registry = Spritz.getSubscriptionRegistry();
+
+    final Subscription subscription = Stream.never().timeout( 100 ).forEach( v -> {
+    } );
+
+    assertEquals( registry.getActiveSubscriptionCount(), 2 );
+    assertEquals( registry.getActiveTimerCount(), 1 );
+    assertEquals( registry.describe(),
+                  "Subscriptions: 2\n" +
+                  "  Subscription[never()]\n" +
+                  "  Subscription[never().timeout(100)]\n" +
+                  "Timers: 1\n" +
+                  "  Timer[timeout(100)]\n" );
+
+    subscription.cancel();
+
+    assertEquals( registry.getActiveSubscriptionCount(), 0 );
+    assertEquals( registry.getActiveTimerCount(), 0 );
+  }
+
+  @Test( timeOut = 30000 )
+  public void describeWhileSubscribingOnAnotherThread()
+    throws Exception
+  {
+    final SubscriptionRegistry registry = Spritz.getSubscriptionRegistry();
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    final Thread thread = new Thread( () -> {
+      try
+      {
+        for ( int i = 0; i < 10000; i++ )
+        {
+          Stream.never().map( v -> v ).forEach( v -> {
+          } ).cancel();
+        }
+      }
+      catch ( final Throwable t )
+      {
+        failure.set( t );
+      }
+    } );
+    thread.start();
+
+    // Describing the registry must not observe a partially updated set while the other thread mutates it
+    while ( thread.isAlive() )
+    {
+      registry.describe();
+      registry.getActiveSubscriptions();
+    }
+    thread.join();
+
+    assertNull( failure.get() );
+    assertEquals( registry.getActiveSubscriptionCount(), 0 );
+  }
+
+  @Test
+  public void getSubscriptionRegistry_whenDisabled()
+  {
+    SpritzTestUtil.disableSubscriptionRegistry();
+
+    assertInvariantFailure( Spritz::getSubscriptionRegistry,
+                            "Spritz-0054: Attempted to access the SubscriptionRegistry but " +
+                            "Spritz.isSubscriptionRegistryEnabled() returns false" );
+  }
+}
@@ -0,0 +1,141 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class TerminalOperationsTest
+  extends AbstractTest
+{
+  @Test
+  public void toList()
+  {
+    final List<List<Integer>> results = new ArrayList<>();
+    Stream.of( 1, 2, 3 ).toList().forEach( results::add );
+
+    assertEquals( results, Collections.singletonList( Arrays.asList( 1, 2, 3 ) ) );
+  }
+
+  @Test
+  public void toList_empty()
+  {
+    final List<List<Integer>> results = new ArrayList<>();
+    Stream.<Integer>empty().toList().forEach( results::add );
+
+    assertEquals( results, Collections.singletonList( Collections.emptyList() ) );
+  }
+
+  @Test
+  public void toCompletableFuture()
+    throws Exception
+  {
+    final List<String> signals = new ArrayList<>();
+    final CompletableFuture<Integer> future =
+      Stream.of( 1, 2, 3 ).peekCancel( () -> signals.add( "cancel" ) ).toCompletableFuture();
+
+    assertTrue( future.isDone() );
+    assertEquals( future.get(), (Integer) 1 );
+    assertEquals( signals, Collections.singletonList( "cancel" ) );
+    assertEquals( Stream.of( 1, 2, 3 ).last().toCompletableFuture().get(), (Integer) 3 );
+  }
+
+  @Test
+  public void toCompletableFuture_empty()
+  {
+    final CompletableFuture<Integer> future = Stream.<Integer>empty().toCompletableFuture();
+
+    final ExecutionException exception = expectThrows( ExecutionException.class, future::get );
+    assertTrue( exception.getCause() instanceof NoSuchElementException );
+  }
+
+  @Test
+  public void toBlockingIterable()
+  {
+    final List<Integer> items = new ArrayList<>();
+    for ( final Integer item : Stream.range( 1, 100 ).toBlockingIterable( 4 ) )
+    {
+      items.add( item );
+    }
+
+    assertEquals( items.size(), 100 );
+    assertEquals( items.get( 0 ), (Integer) 1 );
+    assertEquals( items.get( 99 ), (Integer) 100 );
+  }
+
+  @Test
+  public void toBlockingIterable_error()
+  {
+    final Iterator<Integer> iterator =
+      Stream.of( 1 ).append( Stream.fail( new IllegalStateException() ) ).toBlockingIterable( 4 ).iterator();
+
+    assertTrue( iterator.hasNext() );
+    assertEquals( iterator.next(), (Integer) 1 );
+    assertThrows( IllegalStateException.class, iterator::hasNext );
+  }
+
+  @Test
+  public void toBlockingIterable_closeCancelsUpstream()
+    throws Exception
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final CountDownLatch subscribed = new CountDownLatch( 1 );
+    final CountDownLatch cancelled = new CountDownLatch( 1 );
+    final List<Integer> items = new ArrayList<>();
+    try ( final CloseableIterator<Integer> iterator =
+            Stream.periodic( 10 )
+              .peekSubscribe( s -> subscribed.countDown() )
+              .peekCancel( cancelled::countDown )
+              .toBlockingIterable( 1 )
+              .iterator() )
+    {
+      assertTrue( subscribed.await( 5, TimeUnit.SECONDS ) );
+      // The periodic source schedules its timer after the subscribe signal has been delivered
+      while ( 0 == scheduler.getPendingTaskCount() )
+      {
+        Thread.sleep( 1 );
+      }
+      while ( items.size() < 2 )
+      {
+        // Emit a single item so the queue never fills and the emitting thread never blocks
+        scheduler.advanceTimeBy( 10 );
+        assertTrue( iterator.hasNext() );
+        items.add( iterator.next() );
+      }
+      scheduler.advanceTimeBy( 10 );
+      // The consumer abandons the iterator with an item still queued
+    }
+
+    assertEquals( items, Arrays.asList( 0, 1 ) );
+    assertTrue( cancelled.await( 5, TimeUnit.SECONDS ) );
+    // The periodic task that emits items has been cancelled
+    assertEquals( scheduler.getPendingTaskCount(), 0 );
+  }
+
+  @Test
+  public void toBlockingIterable_closeReleasesBlockedProducer()
+    throws Exception
+  {
+    final CountDownLatch cancelled = new CountDownLatch( 1 );
+    final CloseableIterator<Integer> iterator =
+      Stream.range( 1, 1000 ).peekCancel( cancelled::countDown ).toBlockingIterable( 2 ).iterator();
+
+    assertTrue( iterator.hasNext() );
+    assertEquals( iterator.next(), (Integer) 1 );
+    iterator.close();
+
+    assertTrue( cancelled.await( 5, TimeUnit.SECONDS ) );
+    assertFalse( iterator.hasNext() );
+    assertThrows( NoSuchElementException.class, iterator::next );
+    // Closing is idempotent
+    iterator.close();
+  }
+}
@@ -0,0 +1,127 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class VirtualTimeSchedulerTest
+  extends AbstractTest
+{
+  @Test
+  public void periodic()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final List<Integer> items = new ArrayList<>();
+
+    Stream.periodic( 100 ).take( 3 ).forEach( items::add );
+
+    scheduler.advanceTimeBy( 99 );
+    assertEquals( items, new ArrayList<>() );
+
+    scheduler.advanceTimeBy( 1 );
+    assertEquals( items, Arrays.asList( 0 ) );
+
+    scheduler.advanceTimeTo( 1000 );
+    assertEquals( items, Arrays.asList( 0, 1, 2 ) );
+    assertEquals( scheduler.now(), 1000 );
+    assertEquals( scheduler.getPendingTaskCount(), 0 );
+  }
+
+  @Test
+  public void debounce()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final List<Integer> items = new ArrayList<>();
+    final Subject<Integer> subject = Stream.subject();
+
+    subject.debounce( 50 ).forEach( items::add );
+
+    subject.next( 1 );
+    scheduler.advanceTimeBy( 40 );
+    subject.next( 2 );
+    scheduler.advanceTimeBy( 40 );
+    assertEquals( items, new ArrayList<>() );
+
+    scheduler.advanceTimeBy( 10 );
+    assertEquals( items, Arrays.asList( 2 ) );
+  }
+
+  @Test
+  public void timeout()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final Subject<Integer> subject = Stream.subject();
+    final RecordingSubscriber<Integer> subscriber = new RecordingSubscriber<>();
+
+    subject.timeout( 100 ).subscribe( subscriber );
+
+    scheduler.advanceTimeBy( 80 );
+    subject.next( 1 );
+    scheduler.advanceTimeBy( 80 );
+    assertNull( subscriber._error );
+
+    scheduler.advanceTimeBy( 20 );
+    assertTrue( subscriber._error instanceof TimeoutException );
+    assertEquals( subscriber._items, Arrays.asList( 1 ) );
+    assertEquals( Spritz.getSubscriptionRegistry().getActiveSubscriptionCount(), 0 );
+  }
+
+  @Test
+  public void replaySubjectMaxAge()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final Subject<Integer> subject = Stream.replaySubjectWithMaxAge( 100 );
+
+    subject.next( 1 );
+    scheduler.advanceTimeBy( 60 );
+    subject.next( 2 );
+    scheduler.advanceTimeBy( 60 );
+
+    final List<Integer> items = new ArrayList<>();
+    subject.forEach( items::add );
+    assertEquals( items, Arrays.asList( 2 ) );
+  }
+
+  @Test
+  public void advanceTimeTo_inPast()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    scheduler.advanceTimeBy( 10 );
+
+    assertInvariantFailure( () -> scheduler.advanceTimeTo( 5 ),
+                            "Spritz-0056: VirtualTimeScheduler.advanceTimeTo(...) passed a time '5' " +
+                            "that is before the current time '10'" );
+  }
+
+  private static final class RecordingSubscriber<T>
+    implements Subscriber<T>
+  {
+    private final List<T> _items = new ArrayList<>();
+    private Throwable _error;
+
+    @Override
+    public void onSubscribe( @Nonnull final Subscription subscription )
+    {
+    }
+
+    @Override
+    public void onItem( @Nonnull final T item )
+    {
+      _items.add( item );
+    }
+
+    @Override
+    public void onError( @Nonnull final Throwable error )
+    {
+      _error = error;
+    }
+
+    @Override
+    public void onComplete()
+    {
+    }
+  }
+}
@@ -0,0 +1,225 @@
+package spritz;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.annotation.Nonnull;
+import org.testng.annotations.Test;
+import spritz.dom.WebSocketConfig;
+import spritz.dom.WebSocketErrorException;
+import spritz.dom.WebSocketMessageRequest;
+import spritz.dom.WebSocketOpenCompleted;
+import spritz.dom.WebSocketResponse;
+import static org.testng.Assert.*;
+
+public class WebSocketHubTest
+  extends AbstractTest
+{
+  @Test
+  public void reconnectStopsAfterMaxReconnectAttempts()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final LoopbackWebSocketServer server = LoopbackWebSocketServer.install();
+    final WebSocketHub hub =
+      Stream.webSocket( WebSocketConfig.builder( "ws://example.com" ).reconnect( 2, 100, 1000 ).build() );
+    final List<WebSocketResponse> responses = new ArrayList<>();
+    final List<Throwable> errors = new ArrayList<>();
+
+    hub.peekError( errors::add ).forEach( responses::add );
+
+    server.getConnection( 0 ).open();
+    server.getConnection( 0 ).fail();
+
+    // The first reconnect is delayed by between half and all of the initial delay
+    scheduler.advanceTimeBy( 49 );
+    assertEquals( server.getConnections().size(), 1 );
+    scheduler.advanceTimeBy( 51 );
+    assertEquals( server.getConnections().size(), 2 );
+
+    server.getConnection( 1 ).fail();
+    scheduler.advanceTimeBy( 200 );
+    assertEquals( server.getConnections().size(), 3 );
+    assertEquals( errors.size(), 0 );
+
+    // The second consecutive failure exhausts the reconnect attempts
+    server.getConnection( 2 ).fail();
+    assertEquals( errors.size(), 1 );
+    assertTrue( errors.get( 0 ) instanceof WebSocketErrorException );
+
+    scheduler.advanceTimeBy( 100000 );
+    assertEquals( server.getConnections().size(), 3 );
+    assertEquals( server.getActiveConnectionCount(), 0 );
+    assertEquals( responses.stream().filter( r -> r instanceof WebSocketOpenCompleted ).count(), 1 );
+  }
+
+  @Test
+  public void reconnectDisabledTerminatesOnFailure()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final LoopbackWebSocketServer server = LoopbackWebSocketServer.install();
+    final WebSocketHub hub = Stream.webSocket( new WebSocketConfig( "ws://example.com" ) );
+    final List<Throwable> errors = new ArrayList<>();
+
+    hub.peekError( errors::add ).forEach( r -> {
+    } );
+
+    server.getConnection( 0 ).open();
+    server.getConnection( 0 ).fail();
+
+    scheduler.advanceTimeBy( 100000 );
+    assertEquals( server.getConnections().size(), 1 );
+    assertEquals( errors.size(), 1 );
+  }
+
+  @Test
+  public void utf8Length()
+  {
+    assertEquals( WebSocketHub.utf8Length( "" ), 0 );
+    assertEquals( WebSocketHub.utf8Length( "abc" ), 3 );
+    assertEquals( WebSocketHub.utf8Length( "\u00e9" ), 2 );
+    assertEquals( WebSocketHub.utf8Length( "\u20ac" ), 3 );
+    // A surrogate pair encodes a single code point
+    assertEquals( WebSocketHub.utf8Length( "\uD83D\uDE00" ), 4 );
+    assertEquals( WebSocketHub.utf8Length( "a\uD83D\uDE00b" ), 6 );
+    // Unpaired surrogates are encoded as the replacement character
+    assertEquals( WebSocketHub.utf8Length( "\uD83D" ), 3 );
+    assertEquals( WebSocketHub.utf8Length( "\uDE00a" ), 4 );
+  }
+
+  @Test
+  public void batchSplitsAtMaxBatchSize()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final LoopbackWebSocketServer server = LoopbackWebSocketServer.install();
+    final WebSocketHub hub =
+      Stream.webSocket( WebSocketConfig.builder( "ws://example.com" )
+                          .batchSeparator( "|" )
+                          .maxBatchSize( 10 )
+                          .build() );
+    hub.forEach( r -> {
+    } );
+    final LoopbackWebSocketServer.Connection connection = server.getConnection( 0 );
+    connection.open();
+
+    // The separator is included in the size so "abc|def|gh" exactly fills the batch
+    send( hub, "abc" );
+    send( hub, "def" );
+    send( hub, "gh" );
+    assertEquals( connection.getReceived().size(), 0 );
+
+    send( hub, "i" );
+    assertEquals( connection.getReceived(), Arrays.asList( "abc|def|gh" ) );
+
+    // A message larger than the max batch size is sent in a frame of its own
+    send( hub, "jklmnopqrstu" );
+    assertEquals( connection.getReceived(), Arrays.asList( "abc|def|gh", "i" ) );
+
+    scheduler.triggerActions();
+    assertEquals( connection.getReceived(), Arrays.asList( "abc|def|gh", "i", "jklmnopqrstu" ) );
+  }
+
+  @Test
+  public void batchSizeCountsEncodedBytes()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final LoopbackWebSocketServer server = LoopbackWebSocketServer.install();
+    final WebSocketHub hub =
+      Stream.webSocket( WebSocketConfig.builder( "ws://example.com" )
+                          .batchSeparator( "\u20ac" )
+                          .maxBatchSize( 8 )
+                          .build() );
+    hub.forEach( r -> {
+    } );
+    final LoopbackWebSocketServer.Connection connection = server.getConnection( 0 );
+    connection.open();
+
+    // The separator is 3 bytes so "ab\u20accd" is 7 bytes and adding "e" would take the batch to 11 bytes
+    send( hub, "ab" );
+    send( hub, "cd" );
+    send( hub, "e" );
+    assertEquals( connection.getReceived(), Arrays.asList( "ab\u20accd" ) );
+
+    // Each surrogate pair is 4 bytes so the second emoji does not fit alongside the first
+    scheduler.triggerActions();
+    send( hub, "\uD83D\uDE00" );
+    send( hub, "\uD83D\uDE00" );
+    scheduler.triggerActions();
+    assertEquals( connection.getReceived(),
+                  Arrays.asList( "ab\u20accd", "e", "\uD83D\uDE00", "\uD83D\uDE00" ) );
+  }
+
+  @Test
+  public void batchRetainedWhileReconnecting()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final LoopbackWebSocketServer server = LoopbackWebSocketServer.install();
+    final WebSocketHub hub =
+      Stream.webSocket( WebSocketConfig.builder( "ws://example.com" )
+                          .batchSeparator( "|" )
+                          .reconnect( 2, 100, 1000 )
+                          .build() );
+    hub.forEach( r -> {
+    } );
+    server.getConnection( 0 ).open();
+
+    send( hub, "a" );
+    send( hub, "b" );
+    server.getConnection( 0 ).fail();
+    assertEquals( server.getConnection( 0 ).getReceived().size(), 0 );
+
+    // Requests sent while reconnecting are buffered and coalesced behind the retained messages once reconnected
+    send( hub, "c" );
+    scheduler.advanceTimeBy( 100 );
+    assertEquals( server.getConnections().size(), 2 );
+
+    server.getConnection( 1 ).open();
+    assertEquals( server.getConnection( 1 ).getReceived(), Arrays.asList( "a|b|c" ) );
+  }
+
+  @Test
+  public void batchCoalescesMessagesSentInSameTask()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final LoopbackWebSocketServer server = LoopbackWebSocketServer.install();
+    final WebSocketHub hub =
+      Stream.webSocket( WebSocketConfig.builder( "ws://example.com" ).batchSeparator( "|" ).build() );
+    hub.forEach( r -> {
+    } );
+    final LoopbackWebSocketServer.Connection connection = server.getConnection( 0 );
+    connection.open();
+
+    send( hub, "a" );
+    send( hub, "b" );
+    assertEquals( connection.getReceived().size(), 0 );
+
+    scheduler.triggerActions();
+    assertEquals( connection.getReceived(), Arrays.asList( "a|b" ) );
+
+    send( hub, "c" );
+    scheduler.triggerActions();
+    assertEquals( connection.getReceived(), Arrays.asList( "a|b", "c" ) );
+  }
+
+  @Test
+  public void batchingDisabledSendsEachMessage()
+  {
+    final VirtualTimeScheduler scheduler = VirtualTimeScheduler.install();
+    final LoopbackWebSocketServer server = LoopbackWebSocketServer.install();
+    final WebSocketHub hub = Stream.webSocket( new WebSocketConfig( "ws://example.com" ) );
+    hub.forEach( r -> {
+    } );
+    final LoopbackWebSocketServer.Connection connection = server.getConnection( 0 );
+    connection.open();
+
+    send( hub, "a" );
+    send( hub, "b" );
+
+    assertEquals( connection.getReceived(), Arrays.asList( "a", "b" ) );
+    assertEquals( scheduler.getPendingTaskCount(), 0 );
+  }
+
+  private void send( @Nonnull final WebSocketHub hub, @Nonnull final String message )
+  {
+    hub.next( new WebSocketMessageRequest( LoopbackWebSocketServer.text( message ) ) );
+  }
+}
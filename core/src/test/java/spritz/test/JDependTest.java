@@ -32,11 +32,16 @@ public class JDependTest
     final JavaPackage jsinterop = constraint.addPackage( "jsinterop.annotations" );
     final JavaPackage elementalCore = constraint.addPackage( "elemental2.core" );
     final JavaPackage elementalDom = constraint.addPackage( "elemental2.dom" );
+    final JavaPackage elementalPromise = constraint.addPackage( "elemental2.promise" );
+    final JavaPackage reactiveStreams = constraint.addPackage( "org.reactivestreams" );
 
     spritz.dependsUpon( zemeckis );
     spritz.dependsUpon( jsinterop );
     spritz.dependsUpon( braincheck );
+    spritz.dependsUpon( elementalCore );
     spritz.dependsUpon( elementalDom );
+    spritz.dependsUpon( elementalPromise );
+    spritz.dependsUpon( reactiveStreams );
 
     dom.dependsUpon( elementalCore );
     dom.dependsUpon( elementalDom );
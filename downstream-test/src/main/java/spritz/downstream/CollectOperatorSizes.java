@@ -0,0 +1,243 @@
+package spritz.downstream;
+
+import gir.Gir;
+import gir.GirException;
+import gir.io.Exec;
+import gir.io.FileUtil;
+import gir.sys.SystemProperty;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.Nonnull;
+
+/**
+ * Compile a minimal GWT program for each operator and record the number of bytes that the operator adds
+ * to the output when compared to a baseline program that only subscribes to a source.
+ */
+public final class CollectOperatorSizes
+{
+  /**
+   * The name of the program that all other programs are compared against.
+   */
+  static final String BASELINE = "baseline";
+  /**
+   * The expressions compiled into each program keyed by operator name. The expressions are
+   * evaluated in a context where <code>source</code> is a <code>Stream&lt;Integer&gt;</code>.
+   */
+  @Nonnull
+  private static final Map<String, String> OPERATORS = new LinkedHashMap<>();
+
+  static
+  {
+    OPERATORS.put( BASELINE, "source" );
+    OPERATORS.put( "map", "source.map( v -> v + 1 )" );
+    OPERATORS.put( "filter", "source.filter( v -> v > 1 )" );
+    OPERATORS.put( "peek", "source.peek( v -> DomGlobal.console.log( v ) )" );
+    OPERATORS.put( "scan", "source.scan( ( v, acc ) -> v + acc, 0 )" );
+    OPERATORS.put( "skip", "source.skip( 2 )" );
+    OPERATORS.put( "skipWhile", "source.skipWhile( v -> v < 5 )" );
+    OPERATORS.put( "take", "source.take( 2 )" );
+    OPERATORS.put( "takeWhile", "source.takeWhile( v -> v < 5 )" );
+    OPERATORS.put( "last", "source.last()" );
+    OPERATORS.put( "distinct", "source.distinct()" );
+    OPERATORS.put( "skipRepeats", "source.skipRepeats()" );
+    OPERATORS.put( "toList", "source.toList()" );
+    OPERATORS.put( "defaultIfEmpty", "source.defaultIfEmpty( 42 )" );
+    OPERATORS.put( "errorIfEmpty", "source.errorIfEmpty( IllegalStateException::new )" );
+    OPERATORS.put( "startWith", "source.startWith( 42 )" );
+    OPERATORS.put( "mergeMap", "source.mergeMap( v -> Stream.of( v, v ) )" );
+    OPERATORS.put( "concatMap", "source.concatMap( v -> Stream.of( v, v ) )" );
+    OPERATORS.put( "switchMap", "source.switchMap( v -> Stream.of( v, v ) )" );
+    OPERATORS.put( "exhaustMap", "source.exhaustMap( v -> Stream.of( v, v ) )" );
+    OPERATORS.put( "debounce", "source.debounce( 10 )" );
+    OPERATORS.put( "throttle", "source.throttle( 10 )" );
+    OPERATORS.put( "sample", "source.sample( 10 )" );
+    OPERATORS.put( "timeout", "source.timeout( 10 )" );
+    OPERATORS.put( "rescue", "source.rescue( e -> Stream.of( 42 ) )" );
+    OPERATORS.put( "retryWhen", "source.retryWhen( 3, ( count, error ) -> 10 )" );
+    OPERATORS.put( "share", "source.share()" );
+    OPERATORS.put( "observeOnAnimationFrame", "source.observeOnAnimationFrame()" );
+    OPERATORS.put( "sampleByAnimationFrame", "source.sampleByAnimationFrame()" );
+  }
+
+  public static void main( final String[] args )
+  {
+    try
+    {
+      run();
+    }
+    catch ( final Exception e )
+    {
+      System.err.println( "Failed command." );
+      e.printStackTrace( System.err );
+      System.exit( 42 );
+    }
+  }
+
+  private static void run()
+    throws Exception
+  {
+    Gir.go( () -> {
+      final Path workingDirectory = WorkspaceUtil.setupWorkingDirectory();
+      final Path baseDirectory = workingDirectory.resolve( "operator_sizes" );
+      FileUtil.deleteDirIfExists( baseDirectory );
+      final Path sourceDirectory = baseDirectory.resolve( "src" );
+      final Path warDirectory = baseDirectory.resolve( "war" );
+
+      final List<String> modules = new ArrayList<>();
+      for ( final Map.Entry<String, String> entry : OPERATORS.entrySet() )
+      {
+        modules.add( emitProgram( sourceDirectory, entry.getKey(), entry.getValue() ) );
+      }
+
+      compile( sourceDirectory, warDirectory, baseDirectory.resolve( "gen" ), modules );
+
+      final long baselineSize = getOutputSize( warDirectory, BASELINE );
+      final OrderedProperties properties = new OrderedProperties();
+      properties.setProperty( BASELINE + ".size", String.valueOf( baselineSize ) );
+      for ( final String operator : OPERATORS.keySet() )
+      {
+        if ( !BASELINE.equals( operator ) )
+        {
+          final long size = getOutputSize( warDirectory, operator ) - baselineSize;
+          properties.setProperty( operator + ".size", String.valueOf( size ) );
+        }
+      }
+
+      Gir.messenger().info( "Operator Sizes" );
+      properties.keySet().forEach( k -> Gir.messenger().info( k + ": " + properties.get( k ) ) );
+
+      final Path statisticsFile = workingDirectory.resolve( "operator_sizes.properties" );
+      Gir.messenger().info( "Writing operator sizes to " + statisticsFile + "." );
+      WorkspaceUtil.writeProperties( statisticsFile, properties );
+
+      if ( WorkspaceUtil.storeStatistics() )
+      {
+        final Path path = WorkspaceUtil.getFixtureDirectory().resolve( "operator_sizes.properties" );
+        final OrderedProperties fixtureStatistics =
+          path.toFile().exists() ? OrderedProperties.load( path ) : new OrderedProperties();
+        fixtureStatistics.mergeWithPrefix( properties, WorkspaceUtil.getVersion() + "." );
+        Gir.messenger().info( "Updating fixture operator sizes at " + path + "." );
+        WorkspaceUtil.writeProperties( path, fixtureStatistics );
+      }
+    } );
+  }
+
+  /**
+   * Write the entry point and module descriptor for the program that measures an operator.
+   *
+   * @return the name of the GWT module.
+   */
+  @Nonnull
+  private static String emitProgram( @Nonnull final Path sourceDirectory,
+                                     @Nonnull final String operator,
+                                     @Nonnull final String expression )
+  {
+    final String packageName = "spritz.sizes." + operator;
+    final Path packageDirectory = sourceDirectory.resolve( packageName.replace( '.', File.separatorChar ) );
+    final String javaSource =
+      "package " + packageName + ";\n" +
+      "\n" +
+      "import com.google.gwt.core.client.EntryPoint;\n" +
+      "import elemental2.dom.DomGlobal;\n" +
+      "import spritz.Stream;\n" +
+      "\n" +
+      "public final class SizeTest\n" +
+      "  implements EntryPoint\n" +
+      "{\n" +
+      "  @Override\n" +
+      "  public void onModuleLoad()\n" +
+      "  {\n" +
+      "    final Stream<Integer> source = Stream.range( 0, 10 );\n" +
+      "    " + expression + ".forEach( v -> DomGlobal.console.log( v ) );\n" +
+      "  }\n" +
+      "}\n";
+    final String moduleSource =
+      "<module rename-to='" + operator + "'>\n" +
+      "  <inherits name='com.google.gwt.core.Core'/>\n" +
+      "  <inherits name='spritz.Spritz'/>\n" +
+      "\n" +
+      "  <source path='' includes='SizeTest.java'/>\n" +
+      "\n" +
+      "  <entry-point class='" + packageName + ".SizeTest'/>\n" +
+      "  <collapse-all-properties/>\n" +
+      "</module>\n";
+    writeFile( packageDirectory.resolve( "SizeTest.java" ), javaSource );
+    writeFile( packageDirectory.resolve( "SizeTest.gwt.xml" ), moduleSource );
+    return packageName + ".SizeTest";
+  }
+
+  private static void compile( @Nonnull final Path sourceDirectory,
+                               @Nonnull final Path warDirectory,
+                               @Nonnull final Path genDirectory,
+                               @Nonnull final List<String> modules )
+  {
+    final String classpath =
+      sourceDirectory + File.pathSeparator + SystemProperty.get( "spritz.operator_sizes.gwt_classpath" );
+    final List<String> command = new ArrayList<>();
+    command.add( "java" );
+    command.add( "-Xms512M" );
+    command.add( "-Xmx1024M" );
+    command.add( "-Dgwt.watchFileChanges=false" );
+    command.add( "-cp" );
+    command.add( classpath );
+    command.add( "com.google.gwt.dev.Compiler" );
+    command.add( "-war" );
+    command.add( warDirectory.toString() );
+    command.add( "-gen" );
+    command.add( genDirectory.toString() );
+    command.add( "-style" );
+    command.add( "OBFUSCATED" );
+    command.add( "-optimize" );
+    command.add( "9" );
+    command.add( "-XnocheckCasts" );
+    command.add( "-XnoclassMetadata" );
+    command.add( "-strict" );
+    command.addAll( modules );
+    Exec.system( command.toArray( new String[ 0 ] ) );
+  }
+
+  /**
+   * Return the size of the javascript emitted for the program.
+   * The programs collapse all properties so a single permutation is expected.
+   */
+  private static long getOutputSize( @Nonnull final Path warDirectory, @Nonnull final String operator )
+    throws IOException
+  {
+    final Path outputDirectory = warDirectory.resolve( operator );
+    final long size =
+      Files.list( outputDirectory )
+        .filter( p -> p.getFileName().toString().endsWith( ".cache.js" ) )
+        .mapToLong( WorkspaceUtil::getFileSize )
+        .sum();
+    if ( 0 == size )
+    {
+      final String message = "Failed to locate compiled javascript for operator '" + operator + "' in " +
+                             outputDirectory;
+      Gir.messenger().error( message );
+      throw new GirException( message );
+    }
+    return size;
+  }
+
+  private static void writeFile( @Nonnull final Path path, @Nonnull final String content )
+  {
+    try
+    {
+      Files.createDirectories( path.getParent() );
+      Files.write( path, content.getBytes( StandardCharsets.UTF_8 ) );
+    }
+    catch ( final IOException ioe )
+    {
+      final String message = "Failed to write file: " + path;
+      Gir.messenger().error( message, ioe );
+      throw new GirException( message, ioe );
+    }
+  }
+}
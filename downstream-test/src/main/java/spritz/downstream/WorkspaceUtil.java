@@ -27,7 +27,7 @@ final class WorkspaceUtil
   {
   }
 
-  private static boolean storeStatistics()
+  static boolean storeStatistics()
   {
     return System.getProperty( "spritz.deploy_test.store_statistics", "false" ).equals( "true" );
   }
@@ -44,7 +44,7 @@ final class WorkspaceUtil
   }
 
   @Nonnull
-  private static Path getFixtureDirectory()
+  static Path getFixtureDirectory()
   {
     return Paths.get( SystemProperty.get( "spritz.deploy_test.fixture_dir" ) ).toAbsolutePath().normalize();
   }
@@ -56,7 +56,7 @@ final class WorkspaceUtil
   }
 
   @Nonnull
-  private static Path setupWorkingDirectory()
+  static Path setupWorkingDirectory()
   {
     final Path workingDirectory =
       Paths.get( SystemProperty.get( "spritz.deploy_test.work_dir" ) ).toAbsolutePath().normalize();
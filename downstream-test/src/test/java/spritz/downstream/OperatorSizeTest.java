@@ -0,0 +1,60 @@
+package spritz.downstream;
+
+import gir.sys.SystemProperty;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import javax.annotation.Nonnull;
+import org.testng.annotations.Test;
+import static org.testng.Assert.*;
+
+public class OperatorSizeTest
+{
+  @Test
+  public void operatorSizesWithinBudget()
+    throws Exception
+  {
+    final String nextVersion = SystemProperty.get( "spritz.next.version" );
+    final String previousVersion = SystemProperty.get( "spritz.prev.version" );
+    // The number of bytes that an operator can grow before it is considered a regression
+    final long threshold = Long.parseLong( System.getProperty( "spritz.operator_sizes.threshold", "100" ) );
+
+    final Properties operatorSizes = WorkspaceTestUtil.loadOperatorSizes();
+    final Properties fixtureSizes = WorkspaceTestUtil.loadFixtureOperatorSizes();
+
+    final List<String> problems = new ArrayList<>();
+    for ( final String key : operatorSizes.stringPropertyNames() )
+    {
+      final long size = Long.parseLong( operatorSizes.getProperty( key ) );
+      final String nextVersionFixtureSize = fixtureSizes.getProperty( nextVersion + "." + key );
+      final String previousVersionFixtureSize = fixtureSizes.getProperty( previousVersion + "." + key );
+      final String fixtureVersion = null != nextVersionFixtureSize ? nextVersion : previousVersion;
+      final String fixtureSize =
+        null != nextVersionFixtureSize ? nextVersionFixtureSize : previousVersionFixtureSize;
+      final String operator = extractOperator( key );
+      if ( null == fixtureSize )
+      {
+        problems.add( "Operator '" + operator + "' has a size of " + size + " bytes but no size is " +
+                      "configured for the versions '" + nextVersion + "' or '" + previousVersion + "'." );
+      }
+      else if ( size > Long.parseLong( fixtureSize ) + threshold )
+      {
+        problems.add( "Operator '" + operator + "' has a size of " + size + " bytes which exceeds the size " +
+                      "configured for the version '" + fixtureVersion + "' of " + fixtureSize + " bytes by more " +
+                      "than the threshold of " + threshold + " bytes." );
+      }
+    }
+
+    if ( !problems.isEmpty() )
+    {
+      fail( String.join( "\n", problems ) + "\nThe operator sizes can be updated by running " +
+            "'buildr update_downstream_build_stats' and committing the changes if the new sizes are acceptable." );
+    }
+  }
+
+  @Nonnull
+  private String extractOperator( @Nonnull final String key )
+  {
+    return key.substring( 0, key.length() - ".size".length() );
+  }
+}
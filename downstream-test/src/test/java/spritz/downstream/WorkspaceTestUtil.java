@@ -109,4 +109,19 @@ final class WorkspaceTestUtil
   {
     return loadProperties( getFixtureDir().resolve( "statistics.properties" ).toFile() );
   }
+
+  @Nonnull
+  static Properties loadOperatorSizes()
+    throws IOException
+  {
+    return loadProperties( getWorkDir().resolve( "operator_sizes.properties" ).toFile() );
+  }
+
+  @Nonnull
+  static Properties loadFixtureOperatorSizes()
+    throws IOException
+  {
+    final File file = getFixtureDir().resolve( "operator_sizes.properties" ).toFile();
+    return file.exists() ? loadProperties( file ) : new Properties();
+  }
 }
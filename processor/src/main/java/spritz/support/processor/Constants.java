@@ -5,6 +5,11 @@ final class Constants
   static final String META_DATA_SOURCE = "spritz.MetaDataSource";
   static final String DOC_CATEGORY = "spritz.DocCategory";
   static final String SOURCE_CATEGORY = "spritz.SourceCategory";
+  static final String FUSED_PIPELINE = "spritz.FusedPipeline";
+  static final String FUSED_MAP = "spritz.FusedPipeline.Map";
+  static final String FUSED_FILTER = "spritz.FusedPipeline.Filter";
+  static final String FUSED_SCAN = "spritz.FusedPipeline.Scan";
+  static final String FUSED_CLASS_PREFIX = "Fused_";
 
   private Constants()
   {
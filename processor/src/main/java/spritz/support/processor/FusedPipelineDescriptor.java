@@ -0,0 +1,69 @@
+package spritz.support.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+
+/**
+ * A template annotated with {@code @FusedPipeline} and the stages that it declares.
+ */
+final class FusedPipelineDescriptor
+{
+  @Nonnull
+  private final TypeElement _typeElement;
+  @Nonnull
+  private final List<FusedStageDescriptor> _stages = new ArrayList<>();
+  @Nonnull
+  private final TypeMirror _inputType;
+  @Nonnull
+  private final TypeMirror _outputType;
+
+  FusedPipelineDescriptor( @Nonnull final TypeElement typeElement,
+                           @Nonnull final List<FusedStageDescriptor> stages,
+                           @Nonnull final TypeMirror inputType,
+                           @Nonnull final TypeMirror outputType )
+  {
+    assert !stages.isEmpty();
+    _typeElement = Objects.requireNonNull( typeElement );
+    _stages.addAll( stages );
+    _inputType = Objects.requireNonNull( inputType );
+    _outputType = Objects.requireNonNull( outputType );
+  }
+
+  @Nonnull
+  TypeElement getTypeElement()
+  {
+    return _typeElement;
+  }
+
+  @Nonnull
+  List<FusedStageDescriptor> getStages()
+  {
+    return _stages;
+  }
+
+  /**
+   * Return the type of the items that the pipeline accepts.
+   *
+   * @return the type of the items that the pipeline accepts.
+   */
+  @Nonnull
+  TypeMirror getInputType()
+  {
+    return _inputType;
+  }
+
+  /**
+   * Return the type of the items that the pipeline emits.
+   *
+   * @return the type of the items that the pipeline emits.
+   */
+  @Nonnull
+  TypeMirror getOutputType()
+  {
+    return _outputType;
+  }
+}
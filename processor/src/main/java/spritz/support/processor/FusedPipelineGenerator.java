@@ -0,0 +1,178 @@
+package spritz.support.processor;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.FieldSpec;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.WildcardTypeName;
+import javax.annotation.Nonnull;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+
+/**
+ * Generates the {@code FusedSubscriber} subclass for a template annotated with {@code @FusedPipeline}.
+ */
+final class FusedPipelineGenerator
+{
+  private static final ClassName NONNULL_CLASSNAME = ClassName.get( "javax.annotation", "Nonnull" );
+  private static final ClassName STREAM_CLASSNAME = ClassName.get( "spritz", "Stream" );
+  private static final ClassName SUBSCRIBER_CLASSNAME = ClassName.get( "spritz", "Subscriber" );
+  private static final ClassName FUSED_SUBSCRIBER_CLASSNAME = ClassName.get( "spritz", "FusedSubscriber" );
+
+  private FusedPipelineGenerator()
+  {
+  }
+
+  @Nonnull
+  static JavaFile buildJavaFile( @Nonnull final FusedPipelineDescriptor pipeline )
+  {
+    final TypeElement element = pipeline.getTypeElement();
+    final String packageName = getPackageElement( element ).getQualifiedName().toString();
+    return JavaFile.builder( packageName, buildType( packageName, pipeline ) )
+      .skipJavaLangImports( true )
+      .indent( "  " )
+      .build();
+  }
+
+  @Nonnull
+  private static TypeSpec buildType( @Nonnull final String packageName, @Nonnull final FusedPipelineDescriptor pipeline )
+  {
+    final TypeElement element = pipeline.getTypeElement();
+    final ClassName template = ClassName.get( element );
+    final ClassName self = ClassName.get( packageName, getGeneratedClassName( element ) );
+    final TypeName inputType = TypeName.get( pipeline.getInputType() );
+    final TypeName outputType = TypeName.get( pipeline.getOutputType() );
+
+    final TypeSpec.Builder builder =
+      TypeSpec.classBuilder( self.simpleName() )
+        .addOriginatingElement( element )
+        .addJavadoc( "Pipeline generated from the {@link $T} template.\n", template )
+        .superclass( ParameterizedTypeName.get( FUSED_SUBSCRIBER_CLASSNAME, inputType, outputType ) );
+    if ( element.getModifiers().contains( Modifier.PUBLIC ) )
+    {
+      builder.addModifiers( Modifier.PUBLIC );
+    }
+    builder.addModifiers( Modifier.FINAL );
+
+    final MethodSpec.Builder constructor =
+      MethodSpec.constructorBuilder()
+        .addModifiers( Modifier.PRIVATE )
+        .addParameter( ParameterSpec.builder( ParameterizedTypeName.get( SUBSCRIBER_CLASSNAME,
+                                                                         WildcardTypeName.supertypeOf( outputType ) ),
+                                              "downstream",
+                                              Modifier.FINAL )
+                         .addAnnotation( NONNULL_CLASSNAME )
+                         .build() )
+        .addStatement( "super( downstream )" );
+
+    final MethodSpec.Builder onItem =
+      MethodSpec.methodBuilder( "onItem" )
+        .addAnnotation( Override.class )
+        .addModifiers( Modifier.PUBLIC )
+        .addParameter( ParameterSpec.builder( inputType, "item", Modifier.FINAL )
+                         .addAnnotation( NONNULL_CLASSNAME )
+                         .build() );
+
+    String value = "item";
+    int index = 0;
+    for ( final FusedStageDescriptor stage : pipeline.getStages() )
+    {
+      index++;
+      final ExecutableElement method = stage.getMethod();
+      final String methodName = method.getSimpleName().toString();
+      final FusedStageDescriptor.Kind kind = stage.getKind();
+      if ( FusedStageDescriptor.Kind.MAP == kind )
+      {
+        final String variable = "value" + index;
+        onItem.addStatement( "final $T $N = $T.$N( $N )",
+                             TypeName.get( method.getReturnType() ),
+                             variable,
+                             template,
+                             methodName,
+                             value );
+        value = variable;
+      }
+      else if ( FusedStageDescriptor.Kind.FILTER == kind )
+      {
+        onItem
+          .beginControlFlow( "if ( !$T.$N( $N ) )", template, methodName, value )
+          .addStatement( "return" )
+          .endControlFlow();
+      }
+      else
+      {
+        final String field = "_state" + index;
+        builder.addField( FieldSpec.builder( TypeName.get( method.getReturnType() ), field, Modifier.PRIVATE )
+                            .addAnnotation( NONNULL_CLASSNAME )
+                            .build() );
+        constructor.addStatement( "$N = $T.$N()",
+                                  field,
+                                  template,
+                                  stage.getInitialValueMethod().getSimpleName().toString() );
+        onItem.addStatement( "$N = $T.$N( $N, $N )", field, template, methodName, value, field );
+        value = field;
+      }
+    }
+    onItem.addStatement( "getDownstream().onItem( $N )", value );
+
+    builder.addMethod( constructor.build() );
+    builder.addMethod( MethodSpec.methodBuilder( "fuse" )
+                         .addJavadoc( "Apply the pipeline to the specified stream.\n\n" +
+                                      "@param stream the stream.\n" +
+                                      "@return the new stream.\n" )
+                         .addModifiers( Modifier.PUBLIC, Modifier.STATIC )
+                         .addAnnotation( NONNULL_CLASSNAME )
+                         .returns( ParameterizedTypeName.get( STREAM_CLASSNAME, outputType ) )
+                         .addParameter( ParameterSpec.builder( ParameterizedTypeName.get( STREAM_CLASSNAME, inputType ),
+                                                               "stream",
+                                                               Modifier.FINAL )
+                                          .addAnnotation( NONNULL_CLASSNAME )
+                                          .build() )
+                         .addStatement( "return stream.<$T>fuse( $S, $T::new )",
+                                        outputType,
+                                        "fuse(" + element.getSimpleName() + ")",
+                                        self )
+                         .build() );
+    builder.addMethod( onItem.build() );
+    return builder.build();
+  }
+
+  /**
+   * Return the name of the generated class.
+   * The name of a nested template includes the names of the enclosing types separated by underscores.
+   *
+   * @param element the template.
+   * @return the name of the generated class.
+   */
+  @Nonnull
+  private static String getGeneratedClassName( @Nonnull final TypeElement element )
+  {
+    final StringBuilder name = new StringBuilder( element.getSimpleName() );
+    Element enclosing = element.getEnclosingElement();
+    while ( ElementKind.PACKAGE != enclosing.getKind() )
+    {
+      name.insert( 0, enclosing.getSimpleName() + "_" );
+      enclosing = enclosing.getEnclosingElement();
+    }
+    return Constants.FUSED_CLASS_PREFIX + name;
+  }
+
+  @Nonnull
+  private static PackageElement getPackageElement( @Nonnull final Element element )
+  {
+    Element enclosing = element.getEnclosingElement();
+    while ( ElementKind.PACKAGE != enclosing.getKind() )
+    {
+      enclosing = enclosing.getEnclosingElement();
+    }
+    return (PackageElement) enclosing;
+  }
+}
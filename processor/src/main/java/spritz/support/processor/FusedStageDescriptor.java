@@ -0,0 +1,58 @@
+package spritz.support.processor;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.lang.model.element.ExecutableElement;
+
+/**
+ * A stage within a fused pipeline.
+ */
+final class FusedStageDescriptor
+{
+  enum Kind
+  {
+    MAP,
+    FILTER,
+    SCAN
+  }
+
+  @Nonnull
+  private final Kind _kind;
+  @Nonnull
+  private final ExecutableElement _method;
+  /**
+   * The method that returns the initial accumulated value if the stage is a scan.
+   */
+  @Nullable
+  private final ExecutableElement _initialValueMethod;
+
+  FusedStageDescriptor( @Nonnull final Kind kind,
+                        @Nonnull final ExecutableElement method,
+                        @Nullable final ExecutableElement initialValueMethod )
+  {
+    assert ( Kind.SCAN == kind ) == ( null != initialValueMethod );
+    _kind = Objects.requireNonNull( kind );
+    _method = Objects.requireNonNull( method );
+    _initialValueMethod = initialValueMethod;
+  }
+
+  @Nonnull
+  Kind getKind()
+  {
+    return _kind;
+  }
+
+  @Nonnull
+  ExecutableElement getMethod()
+  {
+    return _method;
+  }
+
+  @Nonnull
+  ExecutableElement getInitialValueMethod()
+  {
+    assert null != _initialValueMethod;
+    return _initialValueMethod;
+  }
+}
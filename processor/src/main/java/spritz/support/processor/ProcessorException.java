@@ -0,0 +1,27 @@
+package spritz.support.processor;
+
+import java.util.Objects;
+import javax.annotation.Nonnull;
+import javax.lang.model.element.Element;
+
+/**
+ * Exception raised when the source code is invalid and the processor reports an error against an element.
+ */
+final class ProcessorException
+  extends RuntimeException
+{
+  @Nonnull
+  private final Element _element;
+
+  ProcessorException( @Nonnull final String message, @Nonnull final Element element )
+  {
+    super( message );
+    _element = Objects.requireNonNull( element );
+  }
+
+  @Nonnull
+  Element getElement()
+  {
+    return _element;
+  }
+}
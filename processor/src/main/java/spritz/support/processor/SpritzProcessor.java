@@ -5,6 +5,7 @@ import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.text.BreakIterator;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
@@ -28,19 +29,23 @@ import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
 import javax.lang.model.element.ExecutableElement;
 import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.DeclaredType;
 import javax.lang.model.type.ExecutableType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.Types;
 import javax.tools.FileObject;
 import javax.tools.StandardLocation;
 import static javax.tools.Diagnostic.Kind.*;
 
 /**
- * Annotation processor that analyzes Spritz source and generates documentation and test infrastructure.
+ * Annotation processor that analyzes Spritz source and generates documentation, test infrastructure and fused pipelines.
  */
 @AutoService( Processor.class )
-@SupportedAnnotationTypes( Constants.META_DATA_SOURCE )
+@SupportedAnnotationTypes( { Constants.META_DATA_SOURCE, Constants.FUSED_PIPELINE } )
 @SupportedSourceVersion( SourceVersion.RELEASE_8 )
 public final class SpritzProcessor
   extends AbstractProcessor
@@ -57,8 +62,16 @@ public final class SpritzProcessor
   {
     final TypeElement annotation =
       processingEnv.getElementUtils().getTypeElement( Constants.META_DATA_SOURCE );
-    final Set<? extends Element> elements = env.getElementsAnnotatedWith( annotation );
-    processElements( elements );
+    if ( null != annotation )
+    {
+      processElements( env.getElementsAnnotatedWith( annotation ) );
+    }
+    final TypeElement fusedPipeline =
+      processingEnv.getElementUtils().getTypeElement( Constants.FUSED_PIPELINE );
+    if ( null != fusedPipeline )
+    {
+      processFusedPipelines( env.getElementsAnnotatedWith( fusedPipeline ) );
+    }
     if ( env.processingOver() )
     {
       processDocCategoryIfPresent();
@@ -137,6 +150,209 @@ public final class SpritzProcessor
     }
   }
 
+  private void processFusedPipelines( @Nonnull final Collection<? extends Element> elements )
+  {
+    for ( final Element element : elements )
+    {
+      try
+      {
+        final FusedPipelineDescriptor pipeline = parseFusedPipeline( (TypeElement) element );
+        FusedPipelineGenerator.buildJavaFile( pipeline ).writeTo( processingEnv.getFiler() );
+      }
+      catch ( final ProcessorException e )
+      {
+        processingEnv.getMessager().printMessage( ERROR, e.getMessage(), e.getElement() );
+      }
+      catch ( final Throwable e )
+      {
+        processingEnv.getMessager().printMessage( ERROR, generateFatalErrorMessage( e ), element );
+      }
+    }
+  }
+
+  @Nonnull
+  private FusedPipelineDescriptor parseFusedPipeline( @Nonnull final TypeElement element )
+  {
+    if ( ElementKind.CLASS != element.getKind() && ElementKind.INTERFACE != element.getKind() )
+    {
+      throw new ProcessorException( "@FusedPipeline target must be a class or an interface", element );
+    }
+    else if ( !element.getTypeParameters().isEmpty() )
+    {
+      throw new ProcessorException( "@FusedPipeline target must not have type parameters", element );
+    }
+    else if ( element.getModifiers().contains( Modifier.PRIVATE ) )
+    {
+      throw new ProcessorException( "@FusedPipeline target must not be private", element );
+    }
+    else if ( NestingKind.TOP_LEVEL != element.getNestingKind() &&
+              ( NestingKind.MEMBER != element.getNestingKind() ||
+                ( ElementKind.CLASS == element.getKind() && !element.getModifiers().contains( Modifier.STATIC ) ) ) )
+    {
+      throw new ProcessorException( "@FusedPipeline target must be a top-level type or a static nested type",
+                                    element );
+    }
+
+    final Types typeUtils = processingEnv.getTypeUtils();
+    final List<FusedStageDescriptor> stages = new ArrayList<>();
+    TypeMirror inputType = null;
+    TypeMirror type = null;
+    for ( final Element member : element.getEnclosedElements() )
+    {
+      if ( ElementKind.METHOD == member.getKind() )
+      {
+        final ExecutableElement method = (ExecutableElement) member;
+        final FusedStageDescriptor stage = parseFusedStage( element, method );
+        if ( null != stage )
+        {
+          final TypeMirror parameterType = method.getParameters().get( 0 ).asType();
+          if ( null == type )
+          {
+            inputType = parameterType;
+          }
+          else if ( !typeUtils.isAssignable( type, parameterType ) )
+          {
+            throw new ProcessorException( getStageAnnotationName( stage.getKind() ) + " target has a parameter " +
+                                          "of type " + parameterType + " that is not assignable from the type " +
+                                          type + " emitted by the previous stage", method );
+          }
+          if ( FusedStageDescriptor.Kind.FILTER != stage.getKind() )
+          {
+            type = method.getReturnType();
+          }
+          else if ( null == type )
+          {
+            type = parameterType;
+          }
+          stages.add( stage );
+        }
+      }
+    }
+    if ( stages.isEmpty() )
+    {
+      throw new ProcessorException( "@FusedPipeline target must contain at least one method annotated with " +
+                                    "@FusedPipeline.Map, @FusedPipeline.Filter or @FusedPipeline.Scan", element );
+    }
+    assert null != inputType;
+    return new FusedPipelineDescriptor( element, stages, inputType, type );
+  }
+
+  @Nullable
+  private FusedStageDescriptor parseFusedStage( @Nonnull final TypeElement element,
+                                                @Nonnull final ExecutableElement method )
+  {
+    final AnnotationMirror map = findAnnotationByType( method, Constants.FUSED_MAP );
+    final AnnotationMirror filter = findAnnotationByType( method, Constants.FUSED_FILTER );
+    final AnnotationMirror scan = findAnnotationByType( method, Constants.FUSED_SCAN );
+    final int count = ( null != map ? 1 : 0 ) + ( null != filter ? 1 : 0 ) + ( null != scan ? 1 : 0 );
+    if ( 0 == count )
+    {
+      return null;
+    }
+    else if ( count > 1 )
+    {
+      throw new ProcessorException( "Method must not be annotated with more than one of @FusedPipeline.Map, " +
+                                    "@FusedPipeline.Filter or @FusedPipeline.Scan", method );
+    }
+    final FusedStageDescriptor.Kind kind =
+      null != map ? FusedStageDescriptor.Kind.MAP :
+      null != filter ? FusedStageDescriptor.Kind.FILTER :
+      FusedStageDescriptor.Kind.SCAN;
+    final String annotationName = getStageAnnotationName( kind );
+    ensureStaticAccessibleMethod( annotationName, method );
+    final int expectedParameterCount = FusedStageDescriptor.Kind.SCAN == kind ? 2 : 1;
+    if ( expectedParameterCount != method.getParameters().size() )
+    {
+      throw new ProcessorException( annotationName + " target must have exactly " + expectedParameterCount +
+                                    ( 1 == expectedParameterCount ? " parameter" : " parameters" ), method );
+    }
+    else if ( method.getParameters().get( 0 ).asType().getKind().isPrimitive() )
+    {
+      throw new ProcessorException( annotationName + " target must not have a parameter of a primitive type",
+                                    method );
+    }
+
+    final TypeMirror returnType = method.getReturnType();
+    if ( FusedStageDescriptor.Kind.FILTER == kind )
+    {
+      if ( TypeKind.BOOLEAN != returnType.getKind() )
+      {
+        throw new ProcessorException( annotationName + " target must return a boolean", method );
+      }
+      return new FusedStageDescriptor( kind, method, null );
+    }
+    else if ( TypeKind.DECLARED != returnType.getKind() && TypeKind.ARRAY != returnType.getKind() )
+    {
+      throw new ProcessorException( annotationName + " target must return a reference type", method );
+    }
+    else if ( FusedStageDescriptor.Kind.MAP == kind )
+    {
+      return new FusedStageDescriptor( kind, method, null );
+    }
+    else
+    {
+      final Types typeUtils = processingEnv.getTypeUtils();
+      if ( !typeUtils.isSameType( returnType, method.getParameters().get( 1 ).asType() ) )
+      {
+        throw new ProcessorException( annotationName + " target must have a second parameter with the same " +
+                                      "type as the return type", method );
+      }
+      final AnnotationValue value = findAnnotationValueNoDefaults( scan, "initialValue" );
+      assert null != value;
+      final String initialValueName = (String) value.getValue();
+      final ExecutableElement initialValueMethod =
+        (ExecutableElement) element.getEnclosedElements()
+          .stream()
+          .filter( e -> ElementKind.METHOD == e.getKind() &&
+                        e.getSimpleName().toString().equals( initialValueName ) &&
+                        ( (ExecutableElement) e ).getParameters().isEmpty() )
+          .findFirst()
+          .orElse( null );
+      if ( null == initialValueMethod )
+      {
+        throw new ProcessorException( annotationName + " target specified an initialValue of '" +
+                                      initialValueName + "' but no method with that name and no " +
+                                      "parameters exists", method );
+      }
+      ensureStaticAccessibleMethod( "@FusedPipeline.Scan initialValue", initialValueMethod );
+      if ( !typeUtils.isAssignable( initialValueMethod.getReturnType(), returnType ) )
+      {
+        throw new ProcessorException( "@FusedPipeline.Scan initialValue method must return a type that is " +
+                                      "assignable to " + returnType, initialValueMethod );
+      }
+      return new FusedStageDescriptor( kind, method, initialValueMethod );
+    }
+  }
+
+  private void ensureStaticAccessibleMethod( @Nonnull final String annotationName,
+                                             @Nonnull final ExecutableElement method )
+  {
+    if ( !method.getModifiers().contains( Modifier.STATIC ) )
+    {
+      throw new ProcessorException( annotationName + " target must be static", method );
+    }
+    else if ( method.getModifiers().contains( Modifier.PRIVATE ) )
+    {
+      throw new ProcessorException( annotationName + " target must not be private", method );
+    }
+    else if ( !method.getTypeParameters().isEmpty() )
+    {
+      throw new ProcessorException( annotationName + " target must not have type parameters", method );
+    }
+    else if ( !method.getThrownTypes().isEmpty() )
+    {
+      throw new ProcessorException( annotationName + " target must not declare any exceptions", method );
+    }
+  }
+
+  @Nonnull
+  private String getStageAnnotationName( @Nonnull final FusedStageDescriptor.Kind kind )
+  {
+    return FusedStageDescriptor.Kind.MAP == kind ? "@FusedPipeline.Map" :
+           FusedStageDescriptor.Kind.FILTER == kind ? "@FusedPipeline.Filter" :
+           "@FusedPipeline.Scan";
+  }
+
   @Nonnull
   private String generateFatalErrorMessage( @Nonnull final Throwable e )
   {
@@ -247,7 +463,6 @@ public final class SpritzProcessor
       filter( a -> a.getAnnotationType().toString().equals( annotationClassName ) ).findFirst().orElse( null );
   }
 
-  @SuppressWarnings( "SameParameterValue" )
   @Nullable
   private AnnotationValue findAnnotationValueNoDefaults( @Nonnull final AnnotationMirror annotation,
                                                          @Nonnull final String parameterName )
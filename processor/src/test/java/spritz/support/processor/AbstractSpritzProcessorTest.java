@@ -13,6 +13,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import javax.annotation.Nonnull;
 import javax.tools.JavaFileObject;
@@ -52,6 +53,40 @@ abstract class AbstractSpritzProcessorTest
                              expectedOutputs );
   }
 
+  void assertSuccessfulFusedPipelineCompile( @Nonnull final String classname, @Nonnull final String generatedClassname )
+    throws Exception
+  {
+    assertSuccessfulCompile( fusedPipelineInputs( classname ),
+                             Collections.singletonList( "expected/" + toPath( generatedClassname ) + ".java" ) );
+  }
+
+  void assertFailedFusedPipelineCompile( @Nonnull final String classname, @Nonnull final String errorMessageFragment )
+  {
+    assert_().
+      about( JavaSourcesSubjectFactory.javaSources() ).
+      that( fusedPipelineInputs( classname ) ).
+      processedWith( new SpritzProcessor() ).
+      failsToCompile().
+      withErrorContaining( errorMessageFragment );
+  }
+
+  @Nonnull
+  private List<JavaFileObject> fusedPipelineInputs( @Nonnull final String classname )
+  {
+    // The generated code is compiled against minimal stand-ins for the core classes it references
+    return Arrays.asList( fixture( "input/spritz/FusedPipeline.java" ),
+                          fixture( "input/stubs/spritz/FusedSubscriber.java" ),
+                          fixture( "input/stubs/spritz/Stream.java" ),
+                          fixture( "input/stubs/spritz/Subscriber.java" ),
+                          fixture( "input/" + toPath( classname ) + ".java" ) );
+  }
+
+  @Nonnull
+  private String toPath( @Nonnull final String classname )
+  {
+    return classname.replace( '.', '/' );
+  }
+
   private void assertSuccessfulCompile( @Nonnull final List<JavaFileObject> inputs,
                                         @Nonnull final List<String> outputs )
     throws Exception
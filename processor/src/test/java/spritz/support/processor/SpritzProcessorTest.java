@@ -31,4 +31,48 @@ public class SpritzProcessorTest
   {
     assertSuccessfulCompile( classname );
   }
+
+  @DataProvider( name = "successfulFusedPipelineCompiles" )
+  public Object[][] successfulFusedPipelineCompiles()
+  {
+    return new Object[][]
+      {
+        new Object[]{ "com.example.fused.FilterOnlyPipeline", "com.example.fused.Fused_FilterOnlyPipeline" },
+        new Object[]{ "com.example.fused.MapFilterScanPipeline", "com.example.fused.Fused_MapFilterScanPipeline" },
+        new Object[]{ "com.example.fused.NestedPipeline", "com.example.fused.Fused_NestedPipeline_Inner" }
+      };
+  }
+
+  @Test( dataProvider = "successfulFusedPipelineCompiles" )
+  public void processSuccessfulFusedPipelineCompile( @Nonnull final String classname,
+                                                     @Nonnull final String generatedClassname )
+    throws Exception
+  {
+    assertSuccessfulFusedPipelineCompile( classname, generatedClassname );
+  }
+
+  @DataProvider( name = "failedFusedPipelineCompiles" )
+  public Object[][] failedFusedPipelineCompiles()
+  {
+    return new Object[][]
+      {
+        new Object[]{ "com.example.fused.FilterNotBooleanPipeline",
+                      "@FusedPipeline.Filter target must return a boolean" },
+        new Object[]{ "com.example.fused.IncompatibleStagesPipeline",
+                      "@FusedPipeline.Map target has a parameter of type java.lang.String that is not assignable from the type java.lang.Integer emitted by the previous stage" },
+        new Object[]{ "com.example.fused.MissingInitialValuePipeline",
+                      "@FusedPipeline.Scan target specified an initialValue of 'zero' but no method with that name and no parameters exists" },
+        new Object[]{ "com.example.fused.NonStaticStagePipeline",
+                      "@FusedPipeline.Map target must be static" },
+        new Object[]{ "com.example.fused.NoStagesPipeline",
+                      "@FusedPipeline target must contain at least one method annotated with @FusedPipeline.Map, @FusedPipeline.Filter or @FusedPipeline.Scan" }
+      };
+  }
+
+  @Test( dataProvider = "failedFusedPipelineCompiles" )
+  public void processFailedFusedPipelineCompile( @Nonnull final String classname,
+                                                 @Nonnull final String errorMessageFragment )
+  {
+    assertFailedFusedPipelineCompile( classname, errorMessageFragment );
+  }
 }
@@ -0,0 +1,37 @@
+package com.example.fused;
+
+import javax.annotation.Nonnull;
+import spritz.FusedSubscriber;
+import spritz.Stream;
+import spritz.Subscriber;
+
+/**
+ * Pipeline generated from the {@link FilterOnlyPipeline} template.
+ */
+final class Fused_FilterOnlyPipeline extends FusedSubscriber<String, String> {
+  private Fused_FilterOnlyPipeline(@Nonnull final Subscriber<? super String> downstream) {
+    super( downstream );
+  }
+
+  /**
+   * Apply the pipeline to the specified stream.
+   *
+   * @param stream the stream.
+   * @return the new stream.
+   */
+  @Nonnull
+  public static Stream<String> fuse(@Nonnull final Stream<String> stream) {
+    return stream.<String>fuse( "fuse(FilterOnlyPipeline)", Fused_FilterOnlyPipeline::new );
+  }
+
+  @Override
+  public void onItem(@Nonnull final String item) {
+    if ( !FilterOnlyPipeline.isNotEmpty( item ) ) {
+      return;
+    }
+    if ( !FilterOnlyPipeline.isShort( item ) ) {
+      return;
+    }
+    getDownstream().onItem( item );
+  }
+}
@@ -0,0 +1,41 @@
+package com.example.fused;
+
+import javax.annotation.Nonnull;
+import spritz.FusedSubscriber;
+import spritz.Stream;
+import spritz.Subscriber;
+
+/**
+ * Pipeline generated from the {@link MapFilterScanPipeline} template.
+ */
+public final class Fused_MapFilterScanPipeline extends FusedSubscriber<String, String> {
+  @Nonnull
+  private Long _state3;
+
+  private Fused_MapFilterScanPipeline(@Nonnull final Subscriber<? super String> downstream) {
+    super( downstream );
+    _state3 = MapFilterScanPipeline.zero();
+  }
+
+  /**
+   * Apply the pipeline to the specified stream.
+   *
+   * @param stream the stream.
+   * @return the new stream.
+   */
+  @Nonnull
+  public static Stream<String> fuse(@Nonnull final Stream<String> stream) {
+    return stream.<String>fuse( "fuse(MapFilterScanPipeline)", Fused_MapFilterScanPipeline::new );
+  }
+
+  @Override
+  public void onItem(@Nonnull final String item) {
+    final Integer value1 = MapFilterScanPipeline.length( item );
+    if ( !MapFilterScanPipeline.isNotEmpty( value1 ) ) {
+      return;
+    }
+    _state3 = MapFilterScanPipeline.total( value1, _state3 );
+    final String value4 = MapFilterScanPipeline.describe( _state3 );
+    getDownstream().onItem( value4 );
+  }
+}
@@ -0,0 +1,32 @@
+package com.example.fused;
+
+import javax.annotation.Nonnull;
+import spritz.FusedSubscriber;
+import spritz.Stream;
+import spritz.Subscriber;
+
+/**
+ * Pipeline generated from the {@link NestedPipeline.Inner} template.
+ */
+public final class Fused_NestedPipeline_Inner extends FusedSubscriber<String, String[]> {
+  private Fused_NestedPipeline_Inner(@Nonnull final Subscriber<? super String[]> downstream) {
+    super( downstream );
+  }
+
+  /**
+   * Apply the pipeline to the specified stream.
+   *
+   * @param stream the stream.
+   * @return the new stream.
+   */
+  @Nonnull
+  public static Stream<String[]> fuse(@Nonnull final Stream<String> stream) {
+    return stream.<String[]>fuse( "fuse(Inner)", Fused_NestedPipeline_Inner::new );
+  }
+
+  @Override
+  public void onItem(@Nonnull final String item) {
+    final String[] value1 = NestedPipeline.Inner.split( item );
+    getDownstream().onItem( value1 );
+  }
+}
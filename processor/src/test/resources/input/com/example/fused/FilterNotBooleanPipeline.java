@@ -0,0 +1,13 @@
+package com.example.fused;
+
+import spritz.FusedPipeline;
+
+@FusedPipeline
+public final class FilterNotBooleanPipeline
+{
+  @FusedPipeline.Filter
+  static Boolean isNotEmpty( final String value )
+  {
+    return !value.isEmpty();
+  }
+}
@@ -0,0 +1,19 @@
+package com.example.fused;
+
+import spritz.FusedPipeline;
+
+@FusedPipeline
+interface FilterOnlyPipeline
+{
+  @FusedPipeline.Filter
+  static boolean isNotEmpty( final String value )
+  {
+    return !value.isEmpty();
+  }
+
+  @FusedPipeline.Filter
+  static boolean isShort( final CharSequence value )
+  {
+    return value.length() < 10;
+  }
+}
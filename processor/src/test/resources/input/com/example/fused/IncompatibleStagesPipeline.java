@@ -0,0 +1,19 @@
+package com.example.fused;
+
+import spritz.FusedPipeline;
+
+@FusedPipeline
+public final class IncompatibleStagesPipeline
+{
+  @FusedPipeline.Map
+  static Integer length( final String value )
+  {
+    return value.length();
+  }
+
+  @FusedPipeline.Map
+  static String trim( final String value )
+  {
+    return value.trim();
+  }
+}
@@ -0,0 +1,42 @@
+package com.example.fused;
+
+import spritz.FusedPipeline;
+
+@FusedPipeline
+public final class MapFilterScanPipeline
+{
+  @FusedPipeline.Map
+  static Integer length( final String value )
+  {
+    return value.length();
+  }
+
+  @FusedPipeline.Filter
+  static boolean isNotEmpty( final Integer length )
+  {
+    return length > 0;
+  }
+
+  @FusedPipeline.Scan( initialValue = "zero" )
+  static Long total( final Number length, final Long total )
+  {
+    return total + length.longValue();
+  }
+
+  @FusedPipeline.Map
+  static String describe( final Long total )
+  {
+    return "Total: " + total;
+  }
+
+  static Long zero()
+  {
+    return 0L;
+  }
+
+  // Methods that are not annotated are not part of the pipeline
+  static String notAStage( final String value )
+  {
+    return value;
+  }
+}
@@ -0,0 +1,13 @@
+package com.example.fused;
+
+import spritz.FusedPipeline;
+
+@FusedPipeline
+public final class MissingInitialValuePipeline
+{
+  @FusedPipeline.Scan( initialValue = "zero" )
+  static Integer total( final Integer value, final Integer total )
+  {
+    return value + total;
+  }
+}
@@ -0,0 +1,16 @@
+package com.example.fused;
+
+import spritz.FusedPipeline;
+
+public final class NestedPipeline
+{
+  @FusedPipeline
+  public static final class Inner
+  {
+    @FusedPipeline.Map
+    static String[] split( final String value )
+    {
+      return value.split( "," );
+    }
+  }
+}
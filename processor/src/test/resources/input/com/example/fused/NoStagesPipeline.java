@@ -0,0 +1,12 @@
+package com.example.fused;
+
+import spritz.FusedPipeline;
+
+@FusedPipeline
+public final class NoStagesPipeline
+{
+  static String notAStage( final String value )
+  {
+    return value;
+  }
+}
@@ -0,0 +1,13 @@
+package com.example.fused;
+
+import spritz.FusedPipeline;
+
+@FusedPipeline
+public final class NonStaticStagePipeline
+{
+  @FusedPipeline.Map
+  String length( final String value )
+  {
+    return value;
+  }
+}
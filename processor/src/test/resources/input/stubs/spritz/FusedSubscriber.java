@@ -0,0 +1,24 @@
+package spritz;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A minimal stand-in for the FusedSubscriber class used when compiling fused pipeline fixtures.
+ */
+public abstract class FusedSubscriber<UpstreamT, DownstreamT>
+  implements Subscriber<UpstreamT>
+{
+  @Nonnull
+  private final Subscriber<? super DownstreamT> _downstream;
+
+  protected FusedSubscriber( @Nonnull final Subscriber<? super DownstreamT> downstream )
+  {
+    _downstream = downstream;
+  }
+
+  @Nonnull
+  protected final Subscriber<? super DownstreamT> getDownstream()
+  {
+    return _downstream;
+  }
+}
@@ -0,0 +1,18 @@
+package spritz;
+
+import java.util.function.Function;
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+
+/**
+ * A minimal stand-in for the Stream class used when compiling fused pipeline fixtures.
+ */
+public abstract class Stream<T>
+{
+  @Nonnull
+  public final <DownstreamT> Stream<DownstreamT> fuse( @Nullable final String name,
+                                                       @Nonnull final Function<Subscriber<? super DownstreamT>, FusedSubscriber<T, DownstreamT>> factory )
+  {
+    throw new UnsupportedOperationException();
+  }
+}
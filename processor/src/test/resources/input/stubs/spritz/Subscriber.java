@@ -0,0 +1,11 @@
+package spritz;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A minimal stand-in for the Subscriber interface used when compiling fused pipeline fixtures.
+ */
+public interface Subscriber<T>
+{
+  void onItem( @Nonnull T item );
+}